@@ -1,11 +1,45 @@
 package com.research;
 
+import com.research.audit.AuditLog;
+import com.research.batch.BatchRunner;
+import com.research.id.IdAllocator;
+import com.research.index.RequestDedupCache;
+import com.research.ipc.LaneControlServer;
+import com.research.model.AnomalyRules;
+import com.research.model.GateLane;
+import com.research.model.Resident;
+import com.research.model.RetentionPolicy;
+import com.research.model.SlotCapacity;
+import com.research.model.Vehicle;
 import com.research.repository.*;
 import com.research.service.*;
 import com.research.ui.*;
+import com.research.util.ConsoleUtil;
+import com.research.web.DashboardServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
     public static void main(String[] args) {
+        // --batch [file|-]: run commands non-interactively; results go to stdout, everything else to stderr
+        boolean batch = args.length > 0 && "--batch".equals(args[0]);
+        PrintStream messages = batch ? System.err : System.out;
+
         // Instantiate repositories
         ResidentRepository residentRepository = new ResidentRepository();
         VehicleTypeRepository vehicleTypeRepository = new VehicleTypeRepository();
@@ -20,13 +54,130 @@ public class Main {
         VehicleService vehicleService = new VehicleService(vehicleRepository);
         GateLaneService gateLaneService = new GateLaneService(gateLaneRepository);
         GatePassService gatePassService = new GatePassService(gatePassRepository);
+        gatePassService.setDedupCache(new RequestDedupCache());
         VisitReservationService visitReservationService = new VisitReservationService(visitReservationRepository);
+        PlateMatchService plateMatchService = new PlateMatchService(vehicleRepository, visitReservationRepository);
+        GateAccessService gateAccessService = new GateAccessService(vehicleRepository, visitReservationRepository);
+        vehicleService.cascadeResidentDeletes(residentRepository);
+
+        // Server-assigned ids, kept unique across restarts by the reservations in <id.dir>/*.ids
+        Path idDirectory = Path.of(System.getProperty("id.dir", "."));
+        IdAllocator residentIds = new IdAllocator(idDirectory.resolve("resident.ids"), IdAllocator.DEFAULT_BLOCK_SIZE);
+        IdAllocator vehicleIds = new IdAllocator(idDirectory.resolve("vehicle.ids"), IdAllocator.DEFAULT_BLOCK_SIZE);
+        IdAllocator passIds = new IdAllocator(idDirectory.resolve("gate-pass.ids"), IdAllocator.DEFAULT_BLOCK_SIZE);
+        IdAllocator reservationIds = new IdAllocator(idDirectory.resolve("reservation.ids"),
+                IdAllocator.DEFAULT_BLOCK_SIZE);
+        residentService.setIdAllocator(residentIds);
+        vehicleService.setIdAllocator(vehicleIds);
+        gatePassService.setIdAllocator(passIds);
+        visitReservationService.setIdAllocator(reservationIds);
+        visitReservationService.setSlotCapacity(new SlotCapacity(10, 40));
+
+        // Audit trail: gate pass transitions and admin changes, written off the request path
+        AuditLog auditLog = new AuditLog(Path.of(System.getProperty("audit.file", "gate-audit.log")),
+                AuditLog.DEFAULT_CAPACITY, AuditLog.DEFAULT_MAX_BATCH,
+                AuditLog.OverloadPolicy.valueOf(System.getProperty("audit.overload", "BLOCK")));
+        Runtime.getRuntime().addShutdownHook(new Thread(auditLog::close));
+        gatePassService.addTransitionListener(auditLog::recordTransition);
+        residentRepository.addListener(auditLog.changesOf("Resident", Resident::getId, Resident::getUnitNumber));
+        vehicleRepository.addListener(auditLog.changesOf("Vehicle", Vehicle::getId,
+                vehicle -> vehicle.isAllowed() ? "ALLOWED" : "BLOCKED"));
+        gateLaneRepository.addListener(auditLog.changesOf("GateLane", GateLane::getId,
+                lane -> String.valueOf(lane.getStatus())));
+
+        // Retention: 30 days of raw passes, 90 days of hourly rollups, daily rollups after that
+        TrafficRetentionService trafficRetentionService = new TrafficRetentionService(gatePassRepository,
+                new RetentionPolicy(Duration.ofDays(30), Duration.ofDays(90)));
+        ScheduledExecutorService maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleAtFixedRate(() -> trafficRetentionService.compact(LocalDateTime.now()), 1, 60,
+                TimeUnit.MINUTES);
+
+        TrafficSketchService trafficSketchService = new TrafficSketchService();
+        gatePassService.addTransitionListener(trafficSketchService);
+
+        // Security alerts: lane bursts, 3 denials in 10 minutes, no exit within 3 days
+        AnomalyDetectionService anomalyDetectionService = new AnomalyDetectionService(
+                new AnomalyRules(3, Duration.ofMinutes(10), Duration.ofDays(3)));
+        anomalyDetectionService.addAlertListener(alert -> messages.println("\nALERT: " + alert));
+        gatePassService.addTransitionListener(anomalyDetectionService);
+        maintenance.scheduleAtFixedRate(() -> anomalyDetectionService.advanceTo(LocalDateTime.now()), 1, 1,
+                TimeUnit.MINUTES);
+
+        // Lane scheduling from learned demand; applied automatically only with -Dlanes.autoSchedule=true
+        DemandForecastService demandForecastService = new DemandForecastService();
+        gatePassService.addTransitionListener(demandForecastService);
+        LaneScheduleService laneScheduleService = new LaneScheduleService(gateLaneService, demandForecastService,
+                0.15, Duration.ofMinutes(15), 1);
+        boolean autoSchedule = Boolean.getBoolean("lanes.autoSchedule");
+        maintenance.scheduleAtFixedRate(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            demandForecastService.advanceTo(now);
+            if (autoSchedule) {
+                laneScheduleService.apply(now);
+            }
+        }, 0, 15, TimeUnit.MINUTES);
+
+        // Push updates for display boards and barrier controllers, delivered off the gate path
+        ExecutorService updateDelivery = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "gate-updates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        GateUpdateHub gateUpdateHub = new GateUpdateHub(updateDelivery, 1024);
+        gateLaneRepository.addListener(gateUpdateHub);
+        gatePassService.addTransitionListener(gateUpdateHub);
+
+        // Live dashboard feed, served only with -Ddashboard.port=<port>
+        String dashboardPort = System.getProperty("dashboard.port");
+        if (dashboardPort != null) {
+            DashboardService dashboardService = new DashboardService(gateLaneService);
+            gatePassService.addTransitionListener(dashboardService);
+            DashboardServer dashboardServer = new DashboardServer(
+                    new InetSocketAddress(Integer.parseInt(dashboardPort)), dashboardService::snapshot,
+                    Duration.ofSeconds(1));
+            dashboardServer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(dashboardServer::close));
+            messages.println("Dashboard: http://localhost:" + dashboardServer.getPort() + "/dashboard");
+        }
+
+        // Binary protocol for co-located lane controllers, only with -Dlane.socket=<path>
+        String laneSocket = System.getProperty("lane.socket");
+        if (laneSocket != null) {
+            LaneControlServer laneControlServer = new LaneControlServer(Path.of(laneSocket), gatePassService,
+                    gateLaneService, vehicleService);
+            laneControlServer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(laneControlServer::close));
+            messages.println("Lane controllers: " + laneControlServer.getSocketFile());
+        }
+
+        // Lane queues: emergency vehicles first, other classes by priority with aging
+        LaneQueueService laneQueueService = new LaneQueueService(gatePassService);
+
+        if (batch) {
+            BatchRunner batchRunner = new BatchRunner(residentService, vehicleTypeService, vehicleService,
+                    gateLaneService, gatePassService, visitReservationService, gateAccessService);
+            BatchRunner.Summary summary;
+            try (Reader input = args.length > 1 && !"-".equals(args[1])
+                    ? Files.newBufferedReader(Path.of(args[1]))
+                    : new InputStreamReader(System.in, StandardCharsets.UTF_8)) {
+                summary = batchRunner.run(input, new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Batch input failed", ex);
+            }
+            messages.println(summary);
+            System.exit(summary.getFailed() == 0 ? 0 : 1);
+        }
 
         // Instantiate Menus
         ResidentMenu residentMenu = new ResidentMenu(residentService);
-        VehicleMenu vehicleMenu = new VehicleMenu(vehicleService);
-        GateLaneMenu gateLaneMenu = new GateLaneMenu(gateLaneService);
-        TrafficMenu trafficMenu = new TrafficMenu(gatePassService);
+        VehicleMenu vehicleMenu = new VehicleMenu(vehicleService, plateMatchService);
+        GateLaneMenu gateLaneMenu = new GateLaneMenu(gateLaneService, laneScheduleService);
+        TrafficMenu trafficMenu = new TrafficMenu(gatePassService, gateAccessService, trafficRetentionService,
+                trafficSketchService, laneQueueService, vehicleService, gateLaneService);
         VisitorMenu visitorMenu = new VisitorMenu(visitReservationService);
 
         // Main menu loop
@@ -57,11 +208,9 @@ public class Main {
     }
 
     private static int getChoice() {
-        System.out.print("\nSelect an option: ");
+        // the menus' shared scanner: a new Scanner per call would lose input already buffered by the last one
         try {
-            return Integer.parseInt(System.console() != null
-                    ? System.console().readLine()
-                    : new java.util.Scanner(System.in).nextLine());
+            return Integer.parseInt(ConsoleUtil.prompt("\nSelect an option: ").trim());
         } catch (NumberFormatException ex) {
             return -1;
         }
@@ -0,0 +1,8 @@
+package com.research.audit;
+
+public enum AuditEventType {
+    PASS_TRANSITION,
+    ENTITY_SAVED,
+    ENTITY_DELETED,
+    RECORDS_DROPPED
+}
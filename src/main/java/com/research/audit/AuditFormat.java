@@ -0,0 +1,111 @@
+package com.research.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk layout of an audit log: an 8-byte header ({@code "GAUD"}, format version) followed by frames of
+ * {@code [int payload length][int CRC32 of payload][payload]}. A payload is
+ * {@code long sequence, long timestamp, byte type, int entity id} and three length-prefixed UTF-8 strings
+ * (entity kind, from state, to state; length -1 for {@code null}).
+ */
+final class AuditFormat {
+    static final int MAGIC = 0x47415544;
+    static final int VERSION = 1;
+    static final int HEADER_LENGTH = 8;
+    static final int FRAME_OVERHEAD = 8;
+    // longer strings are truncated
+    static final int MAX_STRING_BYTES = 4096;
+
+    private static final int FIXED_PAYLOAD = 8 + 8 + 1 + 4 + 3 * 2;
+    static final int MAX_PAYLOAD = FIXED_PAYLOAD + 3 * MAX_STRING_BYTES;
+    private static final AuditEventType[] TYPES = AuditEventType.values();
+
+    private AuditFormat() {
+    }
+
+    static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION).flip();
+    }
+
+    /**
+     * Appends the framed record under {@code sequence} to {@code buffer}, growing it if needed, and returns the
+     * buffer written to.
+     */
+    static ByteBuffer encode(AuditRecord record, long sequence, ByteBuffer buffer, CRC32 crc) {
+        byte[] kind = bytes(record.getEntityKind());
+        byte[] from = bytes(record.getFromState());
+        byte[] to = bytes(record.getToState());
+        int payload = FIXED_PAYLOAD + length(kind) + length(from) + length(to);
+        if (buffer.remaining() < FRAME_OVERHEAD + payload) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + FRAME_OVERHEAD + payload));
+            buffer.flip();
+            buffer = larger.put(buffer);
+        }
+        int frameStart = buffer.position();
+        buffer.putInt(payload).putInt(0);
+        int payloadStart = buffer.position();
+        buffer.putLong(sequence)
+                .putLong(record.getTimestampMillis())
+                .put((byte) record.getType().ordinal())
+                .putInt(record.getEntityId());
+        putString(buffer, kind);
+        putString(buffer, from);
+        putString(buffer, to);
+        crc.reset();
+        crc.update(buffer.array(), payloadStart, payload);
+        buffer.putInt(frameStart + 4, (int) crc.getValue());
+        return buffer;
+    }
+
+    /**
+     * Decodes one payload, or returns {@code null} if it is malformed.
+     */
+    static AuditRecord decode(ByteBuffer payload) {
+        try {
+            long sequence = payload.getLong();
+            long timestamp = payload.getLong();
+            int type = payload.get();
+            int entityId = payload.getInt();
+            if (type < 0 || type >= TYPES.length) {
+                return null;
+            }
+            return new AuditRecord(sequence, timestamp, TYPES[type], getString(payload), entityId,
+                    getString(payload), getString(payload));
+        } catch (RuntimeException malformed) {
+            return null;
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > MAX_STRING_BYTES ? Arrays.copyOf(bytes, MAX_STRING_BYTES) : bytes;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,304 @@
+package com.research.audit;
+
+import com.research.model.GatePass;
+import com.research.model.GatePassStatus;
+import com.research.repository.RepositoryListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary audit log of gate pass transitions and admin changes.
+ *
+ * <p>Callers only enqueue: {@link #append} puts the record on a bounded queue and returns. A single writer
+ * thread drains the queue in batches of up to {@code maxBatch} records, writes each batch with one channel write
+ * and makes it durable with one {@code fsync} (group commit), so the cost of a sync is shared by everything that
+ * arrived while the previous one was in flight. Sequence numbers are assigned by the writer, in file order.
+ *
+ * <p>When the queue is full, {@link OverloadPolicy#BLOCK} makes the caller wait for room (nothing is lost, lane
+ * latency absorbs the overload) and {@link OverloadPolicy#DROP} discards the record and counts it; the writer
+ * then logs a {@link AuditEventType#RECORDS_DROPPED} record with the count, so a gap is always visible in the
+ * file. Reopening an existing log continues its sequence after truncating a torn tail.
+ *
+ * <p>Appends run after the change they record is saved, so they never throw: once the log is closed or its writer
+ * has failed on a disk error, records are refused and counted ({@link #getRefusedCount()}) and the gate keeps
+ * working without an audit trail. The failure is printed once and reported by {@link #getFailure()},
+ * {@link #flush()} and {@link #close()}.
+ */
+public class AuditLog implements Closeable {
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_MAX_BATCH = 1024;
+    private static final long IDLE_POLL_MILLIS = 50;
+
+    public enum OverloadPolicy {
+        BLOCK,
+        DROP
+    }
+
+    private final FileChannel channel;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int maxBatch;
+    private final OverloadPolicy policy;
+    private final Thread writer;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong refused = new AtomicLong();
+    private final Object progress = new Object();
+    private long processed;
+    private volatile long written;
+    private volatile long batches;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    // writer thread only
+    private final CRC32 crc = new CRC32();
+    private final List<AuditRecord> batch;
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private long lastSequence;
+    private long droppedReported;
+
+    public AuditLog(Path file) {
+        this(file, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, OverloadPolicy.BLOCK);
+    }
+
+    public AuditLog(Path file, int capacity, int maxBatch, OverloadPolicy policy) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = maxBatch;
+        this.policy = policy;
+        this.batch = new ArrayList<>(maxBatch);
+        try {
+            this.channel = open(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open audit log " + file, ex);
+        }
+        writer = new Thread(this::run, "audit-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Enqueues a record. Returns {@code false} if it was dropped by the overload policy or refused because the log
+     * is closed or has failed.
+     */
+    public boolean append(AuditEventType type, String entityKind, int entityId, String fromState, String toState) {
+        if (closed || failure != null) {
+            refused.incrementAndGet();
+            return false;
+        }
+        AuditRecord record = new AuditRecord(0, System.currentTimeMillis(), type, entityKind, entityId, fromState,
+                toState);
+        if (policy == OverloadPolicy.DROP) {
+            if (!queue.offer(record)) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } else {
+            try {
+                // a failed writer no longer drains the queue, so don't wait for room forever
+                while (!queue.offer(record, IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (failure != null) {
+                        refused.incrementAndGet();
+                        return false;
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                dropped.incrementAndGet();
+                return false;
+            }
+        }
+        accepted.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Matches {@code GatePassTransitionListener}, so it can be registered as {@code auditLog::recordTransition}.
+     */
+    public void recordTransition(GatePass pass, GatePassStatus from, GatePassStatus to) {
+        append(AuditEventType.PASS_TRANSITION, "GatePass", pass.getId(), from == null ? null : from.name(), to.name());
+    }
+
+    /**
+     * A repository listener logging saves and deletes of {@code entityKind}, with {@code stateOf} as the new state.
+     */
+    public <T> RepositoryListener<T> changesOf(String entityKind, ToIntFunction<T> idOf, Function<T, String> stateOf) {
+        return new RepositoryListener<>() {
+            @Override
+            public void onSave(T entity) {
+                append(AuditEventType.ENTITY_SAVED, entityKind, idOf.applyAsInt(entity), null, stateOf.apply(entity));
+            }
+
+            @Override
+            public void onDelete(T entity) {
+                append(AuditEventType.ENTITY_DELETED, entityKind, idOf.applyAsInt(entity), stateOf.apply(entity), null);
+            }
+        };
+    }
+
+    /**
+     * Waits until every record accepted before this call is on disk.
+     */
+    public void flush() {
+        long target = accepted.get();
+        synchronized (progress) {
+            while (processed < target && failure == null) {
+                try {
+                    progress.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * Stops accepting records, writes out everything queued and closes the file.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.join();
+            // appends racing with close may have landed after the writer's last poll
+            if (failure == null && (!queue.isEmpty() || dropped.get() > droppedReported)) {
+                queue.drainTo(batch);
+                writeBatch();
+            }
+            channel.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            failure = ex;
+        }
+        checkFailure();
+    }
+
+    public long getWrittenCount() {
+        return written;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Records refused because the log was closed or its writer had failed.
+     */
+    public long getRefusedCount() {
+        return refused.get();
+    }
+
+    /**
+     * The disk error that stopped the writer, or {@code null}.
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    public long getBatchCount() {
+        return batches;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void run() {
+        try {
+            while (!closed || !queue.isEmpty()) {
+                AuditRecord first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatch - 1);
+                }
+                if (!batch.isEmpty() || dropped.get() > droppedReported) {
+                    writeBatch();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            failure = ex;
+            System.err.println("Audit log write failed, further records are refused: " + ex);
+            synchronized (progress) {
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        buffer.clear();
+        long droppedNow = dropped.get();
+        if (droppedNow > droppedReported) {
+            AuditRecord gap = new AuditRecord(0, System.currentTimeMillis(), AuditEventType.RECORDS_DROPPED,
+                    "AuditLog", 0, null, String.valueOf(droppedNow - droppedReported));
+            buffer = AuditFormat.encode(gap, ++lastSequence, buffer, crc);
+            droppedReported = droppedNow;
+        }
+        for (AuditRecord record : batch) {
+            buffer = AuditFormat.encode(record, ++lastSequence, buffer, crc);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        written += batch.size();
+        batches++;
+        synchronized (progress) {
+            processed += batch.size();
+            progress.notifyAll();
+        }
+        batch.clear();
+    }
+
+    private FileChannel open(Path file) throws IOException {
+        long validLength = 0;
+        if (Files.exists(file) && Files.size(file) >= AuditFormat.HEADER_LENGTH) {
+            try (AuditLogReader reader = new AuditLogReader(file)) {
+                for (AuditRecord record = reader.next(); record != null; record = reader.next()) {
+                    lastSequence = record.getSequence();
+                }
+                validLength = reader.validLength();
+            }
+        }
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        opened.truncate(validLength);
+        opened.position(validLength);
+        if (validLength == 0) {
+            ByteBuffer header = AuditFormat.header();
+            while (header.hasRemaining()) {
+                opened.write(header);
+            }
+        }
+        opened.force(true);
+        return opened;
+    }
+
+    private void checkFailure() {
+        IOException cause = failure;
+        if (cause != null) {
+            throw new UncheckedIOException("Audit log write failed", cause);
+        }
+    }
+}
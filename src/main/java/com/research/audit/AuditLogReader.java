@@ -0,0 +1,111 @@
+package com.research.audit;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Sequential reader for files written by {@link AuditLog}. Reading stops at the first frame that is incomplete
+ * or fails its checksum, which is what a crash in the middle of a batch leaves behind; {@link #validLength()}
+ * then tells where the intact prefix ends.
+ *
+ * <p>Run as {@code java com.research.audit.AuditLogReader <file> [type]} to print a log.
+ */
+public class AuditLogReader implements Closeable {
+    private final DataInputStream in;
+    private final CRC32 crc = new CRC32();
+    private long validLength;
+    private boolean exhausted;
+
+    public AuditLogReader(Path file) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        try {
+            if (in.readInt() != AuditFormat.MAGIC || in.readInt() != AuditFormat.VERSION) {
+                throw new IOException("Not an audit log: " + file);
+            }
+        } catch (EOFException ex) {
+            in.close();
+            throw new IOException("Not an audit log: " + file, ex);
+        }
+        validLength = AuditFormat.HEADER_LENGTH;
+    }
+
+    /**
+     * The next intact record, or {@code null} at the end of the log or at a torn/corrupt tail.
+     */
+    public AuditRecord next() throws IOException {
+        if (exhausted) {
+            return null;
+        }
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length <= 0 || length > AuditFormat.MAX_PAYLOAD) {
+                return stop();
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            crc.reset();
+            crc.update(payload);
+            AuditRecord record = (int) crc.getValue() == checksum ? AuditFormat.decode(ByteBuffer.wrap(payload)) : null;
+            if (record == null) {
+                return stop();
+            }
+            validLength += AuditFormat.FRAME_OVERHEAD + length;
+            return record;
+        } catch (EOFException ex) {
+            return stop();
+        }
+    }
+
+    /**
+     * Bytes from the start of the file up to the end of the last record returned by {@link #next()}.
+     */
+    public long validLength() {
+        return validLength;
+    }
+
+    private AuditRecord stop() {
+        exhausted = true;
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    public static List<AuditRecord> readAll(Path file) throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        try (AuditLogReader reader = new AuditLogReader(file)) {
+            for (AuditRecord record = reader.next(); record != null; record = reader.next()) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: AuditLogReader <file> [PASS_TRANSITION|ENTITY_SAVED|ENTITY_DELETED|RECORDS_DROPPED]");
+            System.exit(2);
+        }
+        AuditEventType filter = args.length > 1 ? AuditEventType.valueOf(args[1]) : null;
+        Path file = Path.of(args[0]);
+        long count = 0;
+        try (AuditLogReader reader = new AuditLogReader(file)) {
+            for (AuditRecord record = reader.next(); record != null; record = reader.next()) {
+                if (filter == null || record.getType() == filter) {
+                    System.out.println(record);
+                    count++;
+                }
+            }
+            long trailing = Files.size(file) - reader.validLength();
+            System.out.println(count + " records" + (trailing > 0 ? ", " + trailing + " trailing bytes ignored" : ""));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.research.audit;
+
+import java.time.Instant;
+
+/**
+ * One entry of the audit log. {@code sequence} is assigned by the log writer, so records read back from a file
+ * are gap-free and ordered; {@code fromState} and {@code toState} may be {@code null}.
+ */
+public final class AuditRecord {
+    private final long sequence;
+    private final long timestampMillis;
+    private final AuditEventType type;
+    private final String entityKind;
+    private final int entityId;
+    private final String fromState;
+    private final String toState;
+
+    public AuditRecord(long sequence, long timestampMillis, AuditEventType type, String entityKind, int entityId,
+                       String fromState, String toState) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.type = type;
+        this.entityKind = entityKind;
+        this.entityId = entityId;
+        this.fromState = fromState;
+        this.toState = toState;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public AuditEventType getType() {
+        return type;
+    }
+
+    public String getEntityKind() {
+        return entityKind;
+    }
+
+    public int getEntityId() {
+        return entityId;
+    }
+
+    public String getFromState() {
+        return fromState;
+    }
+
+    public String getToState() {
+        return toState;
+    }
+
+    @Override
+    public String toString() {
+        return sequence + " " + Instant.ofEpochMilli(timestampMillis) + " " + type + " " + entityKind + "#"
+                + entityId + " " + (fromState == null ? "-" : fromState) + " -> " + (toState == null ? "-" : toState);
+    }
+}
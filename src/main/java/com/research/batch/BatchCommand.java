@@ -0,0 +1,306 @@
+package com.research.batch;
+
+import com.research.exception.InputMismatchException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One parsed batch line: a command name and its named arguments, all kept as text until a command asks for them.
+ * Missing or malformed arguments raise {@link InputMismatchException}.
+ */
+public class BatchCommand {
+    private final long lineNumber;
+    private final boolean json;
+    private final String name;
+    private final Map<String, String> args;
+
+    BatchCommand(long lineNumber, boolean json, String name, Map<String, String> args) {
+        this.lineNumber = lineNumber;
+        this.json = json;
+        this.name = name;
+        this.args = args;
+    }
+
+    static boolean isBlankOrComment(String line) {
+        int start = skipWhitespace(line);
+        return start == line.length() || line.charAt(start) == '#';
+    }
+
+    /**
+     * Parses a text line ({@code lane.add id=3 number=3 capacity=20}) or a JSON line
+     * ({@code {"cmd":"lane.open","id":3}}).
+     */
+    static BatchCommand parse(long lineNumber, String line) {
+        int start = skipWhitespace(line);
+        Map<String, String> args = new HashMap<>(8);
+        if (line.charAt(start) == '{') {
+            new JsonLine(line, start).parseInto(args);
+            String name = args.remove("cmd");
+            if (name == null) {
+                throw new InputMismatchException("Missing \"cmd\"");
+            }
+            return new BatchCommand(lineNumber, true, name, args);
+        }
+        int end = start;
+        while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+            end++;
+        }
+        String name = line.substring(start, end);
+        new TextLine(line, end).parseInto(args);
+        return new BatchCommand(lineNumber, false, name, args);
+    }
+
+    private static int skipWhitespace(String line) {
+        int start = 0;
+        while (start < line.length() && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public boolean isJson() {
+        return json;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String text(String key) {
+        String value = args.get(key);
+        if (value == null) {
+            throw new InputMismatchException("Missing argument: " + key);
+        }
+        return value;
+    }
+
+    public String text(String key, String defaultValue) {
+        return args.getOrDefault(key, defaultValue);
+    }
+
+    public int integer(String key) {
+        return parseInt(key, text(key));
+    }
+
+    public Integer integer(String key, Integer defaultValue) {
+        String value = args.get(key);
+        return value == null ? defaultValue : Integer.valueOf(parseInt(key, value));
+    }
+
+    public boolean bool(String key, boolean defaultValue) {
+        String value = args.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public LocalDate date(String key) {
+        try {
+            return LocalDate.parse(text(key));
+        } catch (DateTimeParseException ex) {
+            throw new InputMismatchException("Not a date (yyyy-MM-dd): " + key);
+        }
+    }
+
+    public LocalTime time(String key) {
+        try {
+            return LocalTime.parse(text(key));
+        } catch (DateTimeParseException ex) {
+            throw new InputMismatchException("Not a time (HH:mm): " + key);
+        }
+    }
+
+    public LocalDateTime dateTime(String key, LocalDateTime defaultValue) {
+        String value = args.get(key);
+        try {
+            return value == null ? defaultValue : LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new InputMismatchException("Not a date-time (yyyy-MM-ddTHH:mm): " + key);
+        }
+    }
+
+    private static int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new InputMismatchException("Not a number: " + key);
+        }
+    }
+
+    /**
+     * {@code key=value} pairs separated by whitespace; values may be double-quoted with {@code \"} and
+     * {@code \\} escapes.
+     */
+    private static class TextLine {
+        private final String line;
+        private int at;
+
+        TextLine(String line, int at) {
+            this.line = line;
+            this.at = at;
+        }
+
+        void parseInto(Map<String, String> args) {
+            while (true) {
+                while (at < line.length() && Character.isWhitespace(line.charAt(at))) {
+                    at++;
+                }
+                if (at == line.length()) {
+                    return;
+                }
+                int keyStart = at;
+                while (at < line.length() && line.charAt(at) != '=' && !Character.isWhitespace(line.charAt(at))) {
+                    at++;
+                }
+                if (at == line.length() || line.charAt(at) != '=') {
+                    throw new InputMismatchException("Expected key=value at column " + (keyStart + 1));
+                }
+                String key = line.substring(keyStart, at++);
+                args.put(key, at < line.length() && line.charAt(at) == '"' ? quoted() : bare());
+            }
+        }
+
+        private String bare() {
+            int start = at;
+            while (at < line.length() && !Character.isWhitespace(line.charAt(at))) {
+                at++;
+            }
+            return line.substring(start, at);
+        }
+
+        private String quoted() {
+            StringBuilder value = new StringBuilder();
+            for (at++; at < line.length(); at++) {
+                char c = line.charAt(at);
+                if (c == '"') {
+                    at++;
+                    return value.toString();
+                }
+                if (c == '\\' && at + 1 < line.length()) {
+                    c = line.charAt(++at);
+                }
+                value.append(c);
+            }
+            throw new InputMismatchException("Unterminated quote");
+        }
+    }
+
+    /**
+     * A flat JSON object: string keys; string, number, boolean or null values (null means absent).
+     */
+    private static class JsonLine {
+        private final String line;
+        private int at;
+
+        JsonLine(String line, int at) {
+            this.line = line;
+            this.at = at;
+        }
+
+        void parseInto(Map<String, String> args) {
+            expect('{');
+            if (peek() == '}') {
+                at++;
+                return;
+            }
+            while (true) {
+                String key = string();
+                expect(':');
+                String value = value();
+                if (value != null) {
+                    args.put(key, value);
+                }
+                char next = peek();
+                at++;
+                if (next == '}') {
+                    return;
+                }
+                if (next != ',') {
+                    throw malformed();
+                }
+            }
+        }
+
+        private String value() {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            int start = at;
+            while (at < line.length() && ",} \t".indexOf(line.charAt(at)) < 0) {
+                at++;
+            }
+            String literal = line.substring(start, at);
+            if (literal.isEmpty() || literal.startsWith("{") || literal.startsWith("[")) {
+                throw malformed();
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            for (; at < line.length(); at++) {
+                char c = line.charAt(at);
+                if (c == '"') {
+                    at++;
+                    return value.toString();
+                }
+                if (c == '\\' && at + 1 < line.length()) {
+                    c = line.charAt(++at);
+                    switch (c) {
+                        case 'n' -> c = '\n';
+                        case 't' -> c = '\t';
+                        case 'r' -> c = '\r';
+                        case 'b' -> c = '\b';
+                        case 'f' -> c = '\f';
+                        case 'u' -> {
+                            if (at + 4 >= line.length()) {
+                                throw malformed();
+                            }
+                            try {
+                                c = (char) Integer.parseInt(line.substring(at + 1, at + 5), 16);
+                            } catch (NumberFormatException ex) {
+                                throw malformed();
+                            }
+                            at += 4;
+                        }
+                        default -> {
+                            // \" \\ \/ stand for themselves
+                        }
+                    }
+                }
+                value.append(c);
+            }
+            throw malformed();
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw malformed();
+            }
+            at++;
+        }
+
+        private char peek() {
+            while (at < line.length() && Character.isWhitespace(line.charAt(at))) {
+                at++;
+            }
+            if (at == line.length()) {
+                throw malformed();
+            }
+            return line.charAt(at);
+        }
+
+        private InputMismatchException malformed() {
+            return new InputMismatchException("Malformed JSON at column " + (at + 1));
+        }
+    }
+}
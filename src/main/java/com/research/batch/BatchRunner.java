@@ -0,0 +1,261 @@
+package com.research.batch;
+
+import com.research.exception.InputMismatchException;
+import com.research.model.*;
+import com.research.service.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Non-interactive mode: executes a stream of commands against the services, one per line, and writes one result
+ * line per command. Text lines ({@code pass.approve id=7}) get tab-separated results ({@code 3 OK} or
+ * {@code 3 ERROR NotFoundException GatePass not found: 7}, tabs between fields); JSON lines
+ * ({@code {"cmd":"pass.approve","id":7}}) get JSON results. A failing command does not stop the batch.
+ * Commands adding residents, vehicles, passes or reservations may leave out {@code id} when the service assigns
+ * ids; the result is then the id assigned.
+ *
+ * <p>Input and output are buffered and nothing is flushed per command, so throughput is bound by the services.
+ */
+public class BatchRunner {
+    private final Map<String, Command> commands = new HashMap<>();
+
+    @FunctionalInterface
+    private interface Command {
+        /**
+         * Runs the command and returns its result text, or {@code null} for none.
+         */
+        String run(BatchCommand command);
+    }
+
+    public static class Summary {
+        private final long executed;
+        private final long failed;
+        private final long elapsedNanos;
+
+        Summary(long executed, long failed, long elapsedNanos) {
+            this.executed = executed;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getExecuted() {
+            return executed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("%d commands, %d failed, %.3f s (%.0f commands/s)", executed, failed, seconds,
+                    seconds == 0 ? 0 : executed / seconds);
+        }
+    }
+
+    public BatchRunner(ResidentService residentService, VehicleTypeService vehicleTypeService,
+                       VehicleService vehicleService, GateLaneService gateLaneService,
+                       GatePassService gatePassService, VisitReservationService visitReservationService,
+                       GateAccessService gateAccessService) {
+        commands.put("resident.add", c -> {
+            Integer id = c.integer("id", null);
+            Resident resident = new Resident(id == null ? residentService.nextId() : id, c.text("name"),
+                    c.text("email", null), c.text("phone", null), c.text("unit"));
+            residentService.addResident(resident);
+            return assigned(id, resident.getId());
+        });
+        commands.put("resident.delete", c -> {
+            residentService.deleteResident(c.integer("id"));
+            return null;
+        });
+        commands.put("vehicletype.add", c -> {
+            vehicleTypeService.addVehicleType(new compoundgatetraffic.model.VehicleType(c.integer("id"),
+                    c.text("name"), c.text("description", null)));
+            return null;
+        });
+        commands.put("vehicle.add", c -> {
+            Integer owner = c.integer("owner", null);
+            Integer type = c.integer("type", null);
+            Integer id = c.integer("id", null);
+            Vehicle vehicle = new Vehicle(id == null ? vehicleService.nextId() : id, c.text("plate"),
+                    owner == null ? null : residentService.getResidentById(owner),
+                    type == null ? null : vehicleTypeService.getTypeById(type), c.bool("allowed", true));
+            vehicleService.registerVehicle(vehicle);
+            return assigned(id, vehicle.getId());
+        });
+        commands.put("vehicle.delete", c -> {
+            vehicleService.deleteVehicle(c.integer("id"));
+            return null;
+        });
+        commands.put("lane.add", c -> {
+            gateLaneService.addLane(new GateLane(c.integer("id"), c.integer("number"), c.integer("capacity"),
+                    GateLaneStatus.valueOf(c.text("status", "CLOSED"))));
+            return null;
+        });
+        commands.put("lane.open", c -> {
+            gateLaneService.openLane(c.integer("id"));
+            return null;
+        });
+        commands.put("lane.close", c -> {
+            gateLaneService.closeLane(c.integer("id"));
+            return null;
+        });
+        commands.put("pass.request", c -> {
+            Integer vehicle = c.integer("vehicle", null);
+            Integer lane = c.integer("lane", null);
+            Integer id = c.integer("id", null);
+            GatePass pass = new GatePass(id == null ? gatePassService.nextId() : id,
+                    vehicle == null ? null : vehicleService.getVehicleById(vehicle),
+                    lane == null ? null : gateLaneService.getLaneById(lane),
+                    GatePassDirection.valueOf(c.text("direction", "ENTRY")), GatePassStatus.PENDING,
+                    c.dateTime("time", LocalDateTime.now()));
+            String priority = c.text("priority", null);
+            if (priority != null) {
+                pass.setPriority(PassPriority.valueOf(priority));
+            }
+            GatePass requested = gatePassService.requestGatePass(pass, c.text("key", null));
+            return requested == pass ? assigned(id, pass.getId()) : "repeats pass " + requested.getId();
+        });
+        commands.put("pass.approve", c -> {
+            gatePassService.approvePass(c.integer("id"));
+            return null;
+        });
+        commands.put("pass.deny", c -> {
+            gatePassService.denyPass(c.integer("id"));
+            return null;
+        });
+        commands.put("pass.complete", c -> {
+            gatePassService.completePass(c.integer("id"));
+            return null;
+        });
+        commands.put("reservation.add", c -> {
+            Integer id = c.integer("id", null);
+            VisitReservation reservation = new VisitReservation(id == null ? visitReservationService.nextId() : id,
+                    c.text("visitor"), c.text("plate"), c.date("date"), c.time("time"), c.integer("passengers", 1));
+            visitReservationService.createReservation(reservation);
+            return assigned(id, reservation.getId());
+        });
+        commands.put("reservation.cancel", c -> {
+            visitReservationService.cancelReservation(c.integer("id"));
+            return null;
+        });
+        commands.put("gate.check", c -> gateAccessService.decide(c.text("plate"),
+                c.dateTime("at", LocalDateTime.now())).name());
+    }
+
+    public Summary run(Reader input, Writer output) throws IOException {
+        long started = System.nanoTime();
+        long executed = 0;
+        long failed = 0;
+        BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input, 1 << 16);
+        Writer writer = output instanceof BufferedWriter ? output : new BufferedWriter(output, 1 << 16);
+        StringBuilder result = new StringBuilder(128);
+        long lineNumber = 0;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            if (BatchCommand.isBlankOrComment(line)) {
+                continue;
+            }
+            result.setLength(0);
+            executed++;
+            if (!execute(lineNumber, line, result)) {
+                failed++;
+            }
+            writer.append(result);
+        }
+        writer.flush();
+        return new Summary(executed, failed, System.nanoTime() - started);
+    }
+
+    private boolean execute(long lineNumber, String line, StringBuilder result) {
+        boolean json = isJson(line);
+        try {
+            BatchCommand command = BatchCommand.parse(lineNumber, line);
+            Command handler = commands.get(command.getName());
+            if (handler == null) {
+                throw new InputMismatchException("Unknown command: " + command.getName()
+                        + "; known: " + new TreeSet<>(commands.keySet()));
+            }
+            success(result, json, lineNumber, handler.run(command));
+            return true;
+        } catch (RuntimeException ex) {
+            failure(result, json, lineNumber, ex);
+            return false;
+        }
+    }
+
+    /**
+     * The id as the result of an add command, if the service assigned it.
+     */
+    private static String assigned(Integer requested, int id) {
+        return requested == null ? String.valueOf(id) : null;
+    }
+
+    private static boolean isJson(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return line.charAt(i) == '{';
+            }
+        }
+        return false;
+    }
+
+    private static void success(StringBuilder out, boolean json, long lineNumber, String value) {
+        if (json) {
+            out.append("{\"line\":").append(lineNumber).append(",\"ok\":true");
+            if (value != null) {
+                out.append(",\"result\":");
+                jsonString(out, value);
+            }
+            out.append("}\n");
+        } else {
+            out.append(lineNumber).append("\tOK");
+            if (value != null) {
+                out.append('\t').append(value);
+            }
+            out.append('\n');
+        }
+    }
+
+    private static void failure(StringBuilder out, boolean json, long lineNumber, RuntimeException ex) {
+        String message = ex.getMessage() == null ? "" : ex.getMessage();
+        if (json) {
+            out.append("{\"line\":").append(lineNumber).append(",\"ok\":false,\"error\":");
+            jsonString(out, ex.getClass().getSimpleName());
+            out.append(",\"message\":");
+            jsonString(out, message);
+            out.append("}\n");
+        } else {
+            out.append(lineNumber).append("\tERROR\t").append(ex.getClass().getSimpleName()).append('\t')
+                    .append(message.replace('\t', ' ').replace('\n', ' ')).append('\n');
+        }
+    }
+
+    private static void jsonString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
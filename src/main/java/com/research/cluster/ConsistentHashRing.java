@@ -0,0 +1,81 @@
+package com.research.cluster;
+
+import java.util.*;
+
+/**
+ * Consistent hash ring with virtual nodes: each node owns {@code virtualNodes} points on a 64-bit ring and a key
+ * belongs to the first point at or after its hash. Adding or removing a node only moves the keys between its
+ * points and their predecessors, roughly {@code 1/N} of all keys.
+ *
+ * <p>Not thread-safe; the router changes a {@link #copy()} and publishes it.
+ */
+public class ConsistentHashRing<N> {
+    private final int virtualNodes;
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+    private final Map<String, N> nodes = new LinkedHashMap<>();
+
+    public ConsistentHashRing(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public ConsistentHashRing<N> copy() {
+        ConsistentHashRing<N> copy = new ConsistentHashRing<>(virtualNodes);
+        copy.points.putAll(points);
+        copy.nodes.putAll(nodes);
+        return copy;
+    }
+
+    public void add(String nodeId, N node) {
+        if (nodes.putIfAbsent(nodeId, node) != null) {
+            throw new IllegalArgumentException("Node already on the ring: " + nodeId);
+        }
+        for (int i = 0; i < virtualNodes; i++) {
+            points.put(pointOf(nodeId, i), nodeId);
+        }
+    }
+
+    public N remove(String nodeId) {
+        N removed = nodes.remove(nodeId);
+        if (removed != null) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.remove(pointOf(nodeId, i), nodeId);
+            }
+        }
+        return removed;
+    }
+
+    public N nodeFor(long keyHash) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> owner = points.ceilingEntry(keyHash);
+        return nodes.get(owner != null ? owner.getValue() : points.firstEntry().getValue());
+    }
+
+    public N get(String nodeId) {
+        return nodes.get(nodeId);
+    }
+
+    public Collection<N> nodes() {
+        return Collections.unmodifiableCollection(nodes.values());
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    // MurmurHash3 fmix64, so neighbouring keys and virtual node numbers spread over the whole ring
+    public static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long pointOf(String nodeId, int virtualNode) {
+        return mix(((long) nodeId.hashCode() << 32) ^ virtualNode);
+    }
+}
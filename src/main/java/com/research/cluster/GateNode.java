@@ -0,0 +1,47 @@
+package com.research.cluster;
+
+import com.research.repository.GatePassRepository;
+import com.research.repository.VehicleRepository;
+import com.research.service.GatePassService;
+import com.research.service.VehicleService;
+
+/**
+ * One shard of the gate pass data: its own repositories and services. In-process stand-in for a node that
+ * would run in its own JVM.
+ */
+public class GateNode {
+    private final String id;
+    private final VehicleRepository vehicleRepository = new VehicleRepository();
+    private final GatePassRepository gatePassRepository = new GatePassRepository();
+    private final VehicleService vehicleService = new VehicleService(vehicleRepository);
+    private final GatePassService gatePassService = new GatePassService(gatePassRepository);
+
+    public GateNode(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public VehicleRepository getVehicleRepository() {
+        return vehicleRepository;
+    }
+
+    public GatePassRepository getGatePassRepository() {
+        return gatePassRepository;
+    }
+
+    public VehicleService getVehicleService() {
+        return vehicleService;
+    }
+
+    public GatePassService getGatePassService() {
+        return gatePassService;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
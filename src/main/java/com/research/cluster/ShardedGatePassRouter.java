@@ -0,0 +1,289 @@
+package com.research.cluster;
+
+import com.research.exception.NotFoundException;
+import com.research.model.GatePass;
+import com.research.model.PlateKey;
+import com.research.model.Vehicle;
+import com.research.service.ValidationService;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Routes vehicles and gate passes to {@link GateNode}s by plate hash on a {@link ConsistentHashRing}, in front of
+ * each node's {@code GatePassService}. A pass follows its vehicle's plate (passes without a vehicle hash by id),
+ * so a vehicle and its passes always live on the same node.
+ *
+ * <p>The router keeps no state shared by every operation. The ring is an immutable snapshot replaced on
+ * membership changes, each node has its own lock, and the directories that route id-only operations (pass id to
+ * shard key) and keep ids unique are themselves partitioned by id across the nodes. An operation takes the read
+ * side of one node's lock at a time, so operations on different nodes never touch the same memory.
+ * {@link #addNode} and {@link #removeNode} take the write side of every node's lock while they publish the new ring
+ * and move the affected keys; an operation that routed by the old ring retries on the new one.
+ */
+public class ShardedGatePassRouter {
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private volatile ConsistentHashRing<Shard> ring;
+
+    public ShardedGatePassRouter() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ShardedGatePassRouter(int virtualNodes) {
+        ring = new ConsistentHashRing<>(virtualNodes);
+    }
+
+    public static long keyOf(String plate) {
+        PlateKey key = PlateKey.of(plate);
+        return ConsistentHashRing.mix(key.isPacked() ? key.getPacked() : key.getOverflow().hashCode());
+    }
+
+    public static long keyOf(GatePass pass) {
+        Vehicle vehicle = pass.getVehicle();
+        return vehicle != null ? keyOf(vehicle.getPlateNumber()) : ConsistentHashRing.mix(~(long) pass.getId());
+    }
+
+    public void registerVehicle(Vehicle vehicle) {
+        ValidationService.validateNotNull(vehicle, "Vehicle is required.");
+        int id = vehicle.getId();
+        onShard(directoryKey(id), shard -> {
+            ValidationService.assertUnique(!shard.vehicleIds.add(id), "Vehicle ID already exists.");
+            return null;
+        });
+        try {
+            onShard(keyOf(vehicle.getPlateNumber()), shard -> {
+                shard.node.getVehicleService().registerVehicle(vehicle);
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            onShard(directoryKey(id), shard -> shard.vehicleIds.remove(id));
+            throw ex;
+        }
+    }
+
+    public Vehicle findVehicleByPlate(String plate) {
+        ValidationService.validateStringNotEmpty(plate, "Plate number required.");
+        return onShard(keyOf(plate), shard -> shard.node.getVehicleService().searchByPlateNumber(plate));
+    }
+
+    public void requestGatePass(GatePass gatePass) {
+        ValidationService.validateNotNull(gatePass, "GatePass is required.");
+        int id = gatePass.getId();
+        long key = keyOf(gatePass);
+        onShard(directoryKey(id), shard -> {
+            ValidationService.assertUnique(shard.passKeys.putIfAbsent(id, key) != null, "GatePass ID already exists.");
+            return null;
+        });
+        try {
+            onShard(key, shard -> {
+                shard.node.getGatePassService().requestGatePass(gatePass);
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            onShard(directoryKey(id), shard -> shard.passKeys.remove(id));
+            throw ex;
+        }
+    }
+
+    public void approvePass(int passId) {
+        onPass(passId, node -> {
+            node.getGatePassService().approvePass(passId);
+            return null;
+        });
+    }
+
+    public void denyPass(int passId) {
+        onPass(passId, node -> {
+            node.getGatePassService().denyPass(passId);
+            return null;
+        });
+    }
+
+    public void completePass(int passId) {
+        onPass(passId, node -> {
+            node.getGatePassService().completePass(passId);
+            return null;
+        });
+    }
+
+    public GatePass getGatePassById(int passId) {
+        return onPass(passId, node -> node.getGatePassService().getGatePassById(passId));
+    }
+
+    /**
+     * Scatter-gather over every node.
+     */
+    public List<GatePass> getTrafficLogs() {
+        while (true) {
+            ConsistentHashRing<Shard> current = ring;
+            List<GatePass> logs = new ArrayList<>();
+            boolean moved = false;
+            for (Shard shard : current.nodes()) {
+                shard.lock.readLock().lock();
+                try {
+                    moved = current != ring;
+                    if (moved) {
+                        break;
+                    }
+                    logs.addAll(shard.node.getGatePassService().getTrafficLogs());
+                } finally {
+                    shard.lock.readLock().unlock();
+                }
+            }
+            if (!moved) {
+                return logs;
+            }
+        }
+    }
+
+    /**
+     * Adds a node and moves the vehicles and passes it now owns from the other nodes; returns how many moved.
+     */
+    public synchronized int addNode(GateNode node) {
+        ValidationService.validateNotNull(node, "Gate node is required.");
+        ValidationService.assertUnique(ring.get(node.getId()) != null, "Gate node ID already exists.");
+        ConsistentHashRing<Shard> next = ring.copy();
+        next.add(node.getId(), new Shard(node));
+        return rebalance(next, next.nodes());
+    }
+
+    /**
+     * Removes a node and hands all of its vehicles and passes to their new owners; returns how many moved.
+     */
+    public synchronized int removeNode(String nodeId) {
+        Shard leaving = ring.get(nodeId);
+        if (leaving == null) {
+            throw new NotFoundException("Gate node not found: " + nodeId);
+        }
+        ValidationService.assertTrue(ring.size() > 1 || (leaving.node.getVehicleRepository().findAll().isEmpty()
+                        && leaving.node.getGatePassRepository().count() == 0 && leaving.passKeys.isEmpty()
+                        && leaving.vehicleIds.isEmpty()),
+                "Cannot remove the last node holding data.");
+        ConsistentHashRing<Shard> next = ring.copy();
+        next.remove(nodeId);
+        return rebalance(next, ring.nodes());
+    }
+
+    public Collection<GateNode> getNodes() {
+        List<GateNode> nodes = new ArrayList<>();
+        ring.nodes().forEach(shard -> nodes.add(shard.node));
+        return nodes;
+    }
+
+    /**
+     * Publishes {@code next} while holding every shard of {@code affected} (old and new ring together) and moves
+     * each vehicle, pass and directory entry to its owner on {@code next}.
+     */
+    private int rebalance(ConsistentHashRing<Shard> next, Collection<Shard> affected) {
+        List<Shard> shards = new ArrayList<>(affected);
+        List<Shard> locked = new ArrayList<>(shards.size());
+        try {
+            for (Shard shard : shards) {
+                shard.lock.writeLock().lock();
+                locked.add(shard);
+            }
+            ring = next;
+            // directories first: moving a pass looks up its shard key on the pass id's new directory shard
+            for (Shard source : shards) {
+                moveDirectory(source, next);
+            }
+            int moved = 0;
+            for (Shard source : shards) {
+                moved += moveMisplaced(source, next);
+            }
+            return moved;
+        } finally {
+            locked.forEach(shard -> shard.lock.writeLock().unlock());
+        }
+    }
+
+    private int moveMisplaced(Shard source, ConsistentHashRing<Shard> next) {
+        int moved = 0;
+        GateNode from = source.node;
+        for (Vehicle vehicle : from.getVehicleRepository().findAll()) {
+            Shard owner = next.nodeFor(keyOf(vehicle.getPlateNumber()));
+            if (owner != source) {
+                from.getVehicleRepository().deleteById(vehicle.getId());
+                owner.node.getVehicleRepository().save(vehicle);
+                moved++;
+            }
+        }
+        for (GatePass pass : from.getGatePassRepository().findAll()) {
+            Long key = next.nodeFor(directoryKey(pass.getId())).passKeys.get(pass.getId());
+            Shard owner = next.nodeFor(key != null ? key : keyOf(pass));
+            if (owner != source) {
+                from.getGatePassRepository().deleteById(pass.getId());
+                owner.node.getGatePassRepository().save(pass);
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    private void moveDirectory(Shard source, ConsistentHashRing<Shard> next) {
+        for (Iterator<Map.Entry<Integer, Long>> it = source.passKeys.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, Long> entry = it.next();
+            Shard owner = next.nodeFor(directoryKey(entry.getKey()));
+            if (owner != source) {
+                owner.passKeys.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+        }
+        for (Iterator<Integer> it = source.vehicleIds.iterator(); it.hasNext(); ) {
+            int vehicleId = it.next();
+            Shard owner = next.nodeFor(directoryKey(vehicleId));
+            if (owner != source) {
+                owner.vehicleIds.add(vehicleId);
+                it.remove();
+            }
+        }
+    }
+
+    private <T> T onPass(int passId, Function<GateNode, T> operation) {
+        Long key = onShard(directoryKey(passId), shard -> shard.passKeys.get(passId));
+        if (key == null) {
+            throw new NotFoundException("GatePass not found: " + passId);
+        }
+        return onShard(key, shard -> operation.apply(shard.node));
+    }
+
+    /**
+     * Runs {@code operation} on the shard owning {@code key}, under that shard's read lock, retrying if the ring
+     * changed before the lock was taken.
+     */
+    private <T> T onShard(long key, Function<Shard, T> operation) {
+        while (true) {
+            ConsistentHashRing<Shard> current = ring;
+            Shard shard = current.nodeFor(key);
+            ValidationService.assertTrue(shard != null, "No gate nodes available.");
+            shard.lock.readLock().lock();
+            try {
+                if (current == ring) {
+                    return operation.apply(shard);
+                }
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static long directoryKey(int id) {
+        return ConsistentHashRing.mix(id);
+    }
+
+    private static final class Shard {
+        final GateNode node;
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // pass id -> shard key, for pass ids whose directory key this shard owns
+        final Map<Integer, Long> passKeys = new ConcurrentHashMap<>();
+        final Set<Integer> vehicleIds = ConcurrentHashMap.newKeySet();
+
+        Shard(GateNode node) {
+            this.node = node;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.research.id;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-side ids for one kind of entity, unique across threads and restarts.
+ *
+ * <p>Each thread hands out ids from a private block of {@code blockSize}, so allocation is a thread-local increment
+ * and shared state is touched once per block (one atomic add). Blocks are cut from a range reserved in the state
+ * file: a block crossing the reserved ceiling first raises it by {@value #RESERVED_BLOCKS} blocks and forces the
+ * new ceiling to disk. A restart continues from the saved ceiling, so an id is never handed out twice; ids reserved
+ * but not handed out before a stop are skipped. Ids are positive {@code int}s and allocation fails once they run
+ * out.
+ */
+public class IdAllocator implements Closeable {
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+    private static final int RESERVED_BLOCKS = 64;
+    private static final long END = Integer.MAX_VALUE + 1L;
+
+    private final FileChannel state;
+    private final int blockSize;
+    private final AtomicLong nextBlock;
+    private final ByteBuffer ceilingBuffer = ByteBuffer.allocate(Long.BYTES);
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+    private volatile long ceiling;
+
+    /**
+     * Ids from 1, not kept across restarts.
+     */
+    public IdAllocator() {
+        this.state = null;
+        this.blockSize = DEFAULT_BLOCK_SIZE;
+        this.nextBlock = new AtomicLong(1);
+        this.ceiling = END;
+    }
+
+    /**
+     * Ids continuing after everything reserved in {@code stateFile}, which is created if missing.
+     */
+    public IdAllocator(Path stateFile, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        try {
+            this.state = FileChannel.open(stateFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long size = state.size();
+            if (size == 0) {
+                this.ceiling = 1;
+            } else if (size == Long.BYTES) {
+                state.read(ceilingBuffer, 0);
+                this.ceiling = ceilingBuffer.getLong(0);
+            } else {
+                throw new IOException("Unexpected size " + size);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open id state " + stateFile, ex);
+        }
+        if (ceiling < 1 || ceiling > END) {
+            throw new IllegalStateException("Corrupt id state " + stateFile + ": ceiling " + ceiling);
+        }
+        this.nextBlock = new AtomicLong(ceiling);
+    }
+
+    public int nextId() {
+        Block block = blocks.get();
+        if (block.next == block.end) {
+            refill(block);
+        }
+        return (int) block.next++;
+    }
+
+    /**
+     * Keeps {@code id}, e.g. one a caller chose itself, from being handed out later: the calling thread's block
+     * moves past it and blocks cut from now on start after it. Blocks other threads already hold are not
+     * affected, so callers mixing chosen and allocated ids still check for duplicates.
+     *
+     * <p>Blocks move at most {@value #RESERVED_BLOCKS} blocks ahead, so one very large chosen id cannot use up the
+     * id space for good; an id further out is left for the caller's duplicate check when allocation reaches it.
+     */
+    public void skipPast(int id) {
+        long past = id + 1L;
+        Block block = blocks.get();
+        if (id >= block.next && id < block.end) {
+            block.next = past;
+        }
+        long start = nextBlock.get();
+        if (past > start && past - start <= (long) blockSize * RESERVED_BLOCKS) {
+            nextBlock.accumulateAndGet(past, Math::max);
+        }
+    }
+
+    /**
+     * First id of the next block to be cut; ids at and above it have not been handed out.
+     */
+    public long getNextBlockStart() {
+        return nextBlock.get();
+    }
+
+    @Override
+    public void close() {
+        if (state != null) {
+            try {
+                state.close();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot close id state", ex);
+            }
+        }
+    }
+
+    private void refill(Block block) {
+        long start = nextBlock.getAndAdd(blockSize);
+        if (start >= END) {
+            throw new IllegalStateException("Ids exhausted");
+        }
+        long end = Math.min(start + blockSize, END);
+        if (end > ceiling) {
+            reserve(end);
+        }
+        block.next = start;
+        block.end = end;
+    }
+
+    private synchronized void reserve(long through) {
+        if (through <= ceiling) {
+            return;
+        }
+        long raised = Math.min(Math.max(through, ceiling) + (long) blockSize * RESERVED_BLOCKS, END);
+        try {
+            ceilingBuffer.clear();
+            ceilingBuffer.putLong(0, raised);
+            while (ceilingBuffer.hasRemaining()) {
+                state.write(ceilingBuffer, ceilingBuffer.position());
+            }
+            state.force(false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot reserve ids", ex);
+        }
+        ceiling = raised;
+    }
+
+    private static class Block {
+        long next;
+        long end;
+    }
+}
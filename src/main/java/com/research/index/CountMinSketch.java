@@ -0,0 +1,71 @@
+package com.research.index;
+
+/**
+ * Count-Min sketch over 64-bit hashes: {@code depth} rows of {@code width} counters. Estimates never undercount;
+ * with {@code width = e / epsilon} and {@code depth = ln(1 / delta)} they overcount by more than
+ * {@code epsilon * total} with probability at most {@code delta}. Sketches of equal shape merge by adding counters.
+ */
+public class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    public CountMinSketch(int width, int depth) {
+        this.width = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = Math.max(1, depth);
+        this.counters = new long[this.width * this.depth];
+    }
+
+    public static CountMinSketch forError(double epsilon, double delta) {
+        return new CountMinSketch((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+    public void add(long hash, long count) {
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + column(hash, row)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + column(hash, row)]);
+        }
+        return estimate;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different shape");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long memoryBytes() {
+        return counters.length * (long) Long.BYTES;
+    }
+
+    private int column(long hash, int row) {
+        // Kirsch-Mitzenmacher double hashing: h1 + row * h2
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + row * h2) & (width - 1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.research.index;
+
+import com.research.model.PlateKey;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter over canonical plates: "definitely not present" or "maybe present".
+ *
+ * <p>Each position is a 4-bit counter (16 per {@code long}), so plates can be removed again. A counter that
+ * reaches 15 saturates and is never decremented, which can only cost false positives, never false negatives.
+ * Counters are updated with CAS, so {@link #mightContain} is lock-free and never blocks behind writers; for
+ * packed plates it does not allocate either.
+ */
+public class CountingBloomFilter {
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long SATURATED = (1L << COUNTER_BITS) - 1;
+
+    private final AtomicLongArray words;
+    private final int counters;
+    private final int hashes;
+    private final int expectedInsertions;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Sized for {@code expectedInsertions} plates at the given false-positive rate.
+     */
+    public CountingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        this.expectedInsertions = Math.max(expectedInsertions, 1);
+        double bits = -this.expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.counters = (int) Math.min(Math.max(Math.ceil(bits), Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashes = Math.max(1, (int) Math.round(counters / (double) this.expectedInsertions * Math.log(2)));
+        this.words = new AtomicLongArray((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+
+    public void add(PlateKey plate) {
+        long hash = plate.hash64();
+        for (int i = 0; i < hashes; i++) {
+            increment(position(hash, i));
+        }
+        size.incrementAndGet();
+    }
+
+    /**
+     * Removes one earlier {@link #add} of the plate. Removing a plate that was never added corrupts the filter.
+     */
+    public void remove(PlateKey plate) {
+        long hash = plate.hash64();
+        for (int i = 0; i < hashes; i++) {
+            decrement(position(hash, i));
+        }
+        size.decrementAndGet();
+    }
+
+    public boolean mightContain(CharSequence plate) {
+        return mightContain(PlateKey.hash64(plate));
+    }
+
+    public boolean mightContain(PlateKey plate) {
+        return mightContain(plate.hash64());
+    }
+
+    /**
+     * Plates currently added (with multiplicity).
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public long memoryBytes() {
+        return words.length() * (long) Long.BYTES;
+    }
+
+    private boolean mightContain(long hash) {
+        for (int i = 0; i < hashes; i++) {
+            if (counter(position(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int position(long hash, int i) {
+        // Kirsch-Mitzenmacher double hashing: h1 + i * h2
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod(h1 + i * h2, counters);
+    }
+
+    private long counter(int position) {
+        long word = words.get(position / COUNTERS_PER_WORD);
+        return (word >>> shift(position)) & SATURATED;
+    }
+
+    private void increment(int position) {
+        int index = position / COUNTERS_PER_WORD;
+        int shift = shift(position);
+        while (true) {
+            long word = words.get(index);
+            if (((word >>> shift) & SATURATED) == SATURATED || words.compareAndSet(index, word, word + (1L << shift))) {
+                return;
+            }
+        }
+    }
+
+    private void decrement(int position) {
+        int index = position / COUNTERS_PER_WORD;
+        int shift = shift(position);
+        while (true) {
+            long word = words.get(index);
+            long value = (word >>> shift) & SATURATED;
+            if (value == 0 || value == SATURATED || words.compareAndSet(index, word, word - (1L << shift))) {
+                return;
+            }
+        }
+    }
+
+    private static int shift(int position) {
+        return (position % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+}
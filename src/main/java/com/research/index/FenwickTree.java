@@ -0,0 +1,57 @@
+package com.research.index;
+
+/**
+ * Binary indexed tree over {@code long} counters: point updates and prefix / range sums in O(log n).
+ */
+public class FenwickTree {
+    private final long[] tree;
+
+    public FenwickTree(int size) {
+        tree = new long[size + 1];
+    }
+
+    /**
+     * Builds the tree from raw per-index counts in O(n).
+     */
+    public FenwickTree(long[] counts) {
+        tree = new long[counts.length + 1];
+        for (int i = 1; i <= counts.length; i++) {
+            tree[i] += counts[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    public int size() {
+        return tree.length - 1;
+    }
+
+    public void add(int index, long delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sum of indexes {@code [0, index]}.
+     */
+    public long prefixSum(int index) {
+        long sum = 0;
+        for (int i = Math.min(index + 1, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sum of indexes {@code [from, to]}.
+     */
+    public long rangeSum(int from, int to) {
+        if (from > to) {
+            return 0;
+        }
+        return prefixSum(to) - (from == 0 ? 0 : prefixSum(from - 1));
+    }
+}
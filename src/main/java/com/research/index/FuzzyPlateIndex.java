@@ -0,0 +1,321 @@
+package com.research.index;
+
+import com.research.model.PlateKey;
+
+import java.util.*;
+
+/**
+ * Similarity index over normalized plates for OCR-tolerant lookups.
+ *
+ * <p>Distances use a confusion-aware edit distance: swapping characters a camera commonly confuses
+ * (O/0, B/8, I/1, ...) costs {@value #CONFUSABLE_COST}, any other substitution, insertion or deletion costs
+ * {@value #EDIT_COST}.
+ *
+ * <p>Two structures answer queries:
+ * <ul>
+ *     <li>a deletion-neighbourhood hash index over confusion "skeletons" (each confusable group collapsed to
+ *     one character). Every ordinary edit costs {@value #EDIT_COST} and confusions vanish in the skeleton, so
+ *     plates within distance 3 have skeletons at most one edit apart; those share a single-deletion variant
+ *     and are found with {@code length + 1} hash lookups.</li>
+ *     <li>a BK-tree for larger bounds. The costs form a metric, so it only visits children whose edge distance
+ *     is within {@code [d - maxDistance, d + maxDistance]} of the node distance.</li>
+ * </ul>
+ *
+ * <p>Plates are reference counted (the same plate may be registered and reserved); removals leave a
+ * tombstone and the tree is rebuilt once tombstones outnumber live plates.
+ */
+public class FuzzyPlateIndex {
+    public static final int CONFUSABLE_COST = 1;
+    public static final int EDIT_COST = 2;
+
+    private static final String[] CONFUSABLE_GROUPS = {"O0DQ", "B8", "I1L", "S5", "Z2", "G6", "T7", "A4"};
+    private static final int[] CONFUSION_GROUP = new int[128];
+    private static final int NEIGHBOURHOOD_MAX_DISTANCE = 2 * EDIT_COST - 1;
+
+    static {
+        Arrays.fill(CONFUSION_GROUP, -1);
+        for (int group = 0; group < CONFUSABLE_GROUPS.length; group++) {
+            for (char c : CONFUSABLE_GROUPS[group].toCharArray()) {
+                CONFUSION_GROUP[c] = group;
+            }
+        }
+    }
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<String, Set<String>> platesBySkeleton = new HashMap<>();
+    private final Map<String, Set<String>> skeletonsByVariant = new HashMap<>();
+    private Node root;
+    private int livePlates;
+    private int tombstones;
+
+    public synchronized void add(String plate) {
+        String normalized = PlateKey.normalize(plate);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Node node = nodes.get(normalized);
+        if (node != null) {
+            if (node.references++ == 0) {
+                tombstones--;
+                livePlates++;
+                addToNeighbourhood(normalized);
+            }
+            return;
+        }
+        node = new Node(normalized);
+        nodes.put(normalized, node);
+        livePlates++;
+        insert(node);
+        addToNeighbourhood(normalized);
+    }
+
+    public synchronized void remove(String plate) {
+        Node node = nodes.get(PlateKey.normalize(plate));
+        if (node == null || node.references == 0) {
+            return;
+        }
+        if (--node.references == 0) {
+            livePlates--;
+            tombstones++;
+            removeFromNeighbourhood(node.plate);
+            if (tombstones > livePlates) {
+                rebuild();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return livePlates;
+    }
+
+    /**
+     * Returns up to {@code limit} live plates within {@code maxDistance} of the (raw) query,
+     * closest first, ties broken alphabetically.
+     */
+    public synchronized List<PlateMatch> search(String plate, int maxDistance, int limit) {
+        String query = PlateKey.normalize(plate);
+        if (root == null || limit <= 0) {
+            return List.of();
+        }
+        return maxDistance <= NEIGHBOURHOOD_MAX_DISTANCE
+                ? searchNeighbourhood(query, maxDistance, limit)
+                : searchTree(query, maxDistance, limit);
+    }
+
+    private List<PlateMatch> searchNeighbourhood(String query, int maxDistance, int limit) {
+        List<PlateMatch> result = new ArrayList<>();
+        Set<String> seenSkeletons = new HashSet<>();
+        for (String variant : variants(skeleton(query))) {
+            for (String skeleton : skeletonsByVariant.getOrDefault(variant, Set.of())) {
+                if (!seenSkeletons.add(skeleton)) {
+                    continue;
+                }
+                for (String candidate : platesBySkeleton.get(skeleton)) {
+                    int distance = distance(query, candidate);
+                    if (distance <= maxDistance) {
+                        result.add(new PlateMatch(candidate, distance));
+                    }
+                }
+            }
+        }
+        result.sort(PlateMatch.CLOSEST_FIRST);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private List<PlateMatch> searchTree(String query, int maxDistance, int limit) {
+        PriorityQueue<PlateMatch> best = new PriorityQueue<>(PlateMatch.CLOSEST_FIRST.reversed());
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        int bound = maxDistance;
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.plate);
+            if (distance <= bound && node.references > 0) {
+                best.add(new PlateMatch(node.plate, distance));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+                if (best.size() == limit) {
+                    // no point descending for anything worse than the current k-th candidate
+                    bound = Math.min(bound, best.peek().getDistance());
+                }
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                if (Math.abs(node.childDistances[i] - distance) <= bound) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+        List<PlateMatch> result = new ArrayList<>(best);
+        result.sort(PlateMatch.CLOSEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Brute-force equivalent of {@link #search}, kept for benchmarks and verification.
+     */
+    public synchronized List<PlateMatch> scan(String plate, int maxDistance, int limit) {
+        String query = PlateKey.normalize(plate);
+        List<PlateMatch> result = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            int distance = distance(query, node.plate);
+            if (node.references > 0 && distance <= maxDistance) {
+                result.add(new PlateMatch(node.plate, distance));
+            }
+        }
+        result.sort(PlateMatch.CLOSEST_FIRST);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Confusion-aware edit distance between two normalized plates.
+     */
+    public static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j * EDIT_COST;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i * EDIT_COST;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + substitutionCost(ca, b.charAt(j - 1));
+                int deletion = previous[j] + EDIT_COST;
+                int insertion = current[j - 1] + EDIT_COST;
+                current[j] = Math.min(substitution, Math.min(deletion, insertion));
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * The plate with every confusable character replaced by the first member of its group.
+     */
+    static String skeleton(String plate) {
+        char[] chars = plate.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            if (c < 128 && CONFUSION_GROUP[c] >= 0) {
+                chars[i] = CONFUSABLE_GROUPS[CONFUSION_GROUP[c]].charAt(0);
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * The skeleton itself plus every single-character deletion of it.
+     */
+    private static Set<String> variants(String skeleton) {
+        Set<String> variants = new HashSet<>();
+        variants.add(skeleton);
+        for (int i = 0; i < skeleton.length(); i++) {
+            variants.add(skeleton.substring(0, i) + skeleton.substring(i + 1));
+        }
+        return variants;
+    }
+
+    private void addToNeighbourhood(String plate) {
+        String skeleton = skeleton(plate);
+        Set<String> plates = platesBySkeleton.computeIfAbsent(skeleton, k -> new HashSet<>(2));
+        if (plates.isEmpty()) {
+            for (String variant : variants(skeleton)) {
+                skeletonsByVariant.computeIfAbsent(variant, k -> new HashSet<>(2)).add(skeleton);
+            }
+        }
+        plates.add(plate);
+    }
+
+    private void removeFromNeighbourhood(String plate) {
+        String skeleton = skeleton(plate);
+        Set<String> plates = platesBySkeleton.get(skeleton);
+        if (plates == null || !plates.remove(plate) || !plates.isEmpty()) {
+            return;
+        }
+        platesBySkeleton.remove(skeleton);
+        for (String variant : variants(skeleton)) {
+            Set<String> skeletons = skeletonsByVariant.get(variant);
+            skeletons.remove(skeleton);
+            if (skeletons.isEmpty()) {
+                skeletonsByVariant.remove(variant);
+            }
+        }
+    }
+
+    private static int substitutionCost(char a, char b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a < 128 && b < 128 && CONFUSION_GROUP[a] >= 0 && CONFUSION_GROUP[a] == CONFUSION_GROUP[b]) {
+            return CONFUSABLE_COST;
+        }
+        return EDIT_COST;
+    }
+
+    private void insert(Node node) {
+        if (root == null) {
+            root = node;
+            return;
+        }
+        Node current = root;
+        while (true) {
+            int distance = distance(node.plate, current.plate);
+            Node child = current.child(distance);
+            if (child == null) {
+                current.addChild(distance, node);
+                return;
+            }
+            current = child;
+        }
+    }
+
+    private void rebuild() {
+        nodes.values().removeIf(node -> node.references == 0);
+        List<Node> live = new ArrayList<>(nodes.values());
+        // shuffle so a sorted insertion order does not degenerate the tree
+        Collections.shuffle(live, new Random(live.size()));
+        root = null;
+        for (Node node : live) {
+            node.childCount = 0;
+            node.childDistances = new int[2];
+            node.children = new Node[2];
+        }
+        for (Node node : live) {
+            insert(node);
+        }
+        tombstones = 0;
+    }
+
+    private static class Node {
+        final String plate;
+        int references = 1;
+        int childCount;
+        int[] childDistances = new int[2];
+        Node[] children = new Node[2];
+
+        Node(String plate) {
+            this.plate = plate;
+        }
+
+        Node child(int distance) {
+            for (int i = 0; i < childCount; i++) {
+                if (childDistances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        void addChild(int distance, Node child) {
+            if (childCount == children.length) {
+                childDistances = Arrays.copyOf(childDistances, childCount * 2);
+                children = Arrays.copyOf(children, childCount * 2);
+            }
+            childDistances[childCount] = distance;
+            children[childCount++] = child;
+        }
+    }
+}
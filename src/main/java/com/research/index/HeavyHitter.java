@@ -0,0 +1,32 @@
+package com.research.index;
+
+/**
+ * A frequent item reported by {@link SpaceSaving}. The true count lies within {@code [count - error, count]}.
+ */
+public class HeavyHitter<K> {
+    private final K key;
+    private final long count;
+    private final long error;
+
+    public HeavyHitter(K key, long count, long error) {
+        this.key = key;
+        this.count = count;
+        this.error = error;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getError() {
+        return error;
+    }
+
+    public long getGuaranteedCount() {
+        return count - error;
+    }
+}
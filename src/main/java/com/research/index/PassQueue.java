@@ -0,0 +1,58 @@
+package com.research.index;
+
+import com.research.model.GatePass;
+import com.research.model.PassPriority;
+
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lane queue serving gate passes by priority with aging. Emergency vehicles come first, in arrival order. Every
+ * other pass is keyed by its arrival time plus its class's {@link PassPriority#getAgingAllowance() aging
+ * allowance} and the smallest key is served next (ties in arrival order): a security vehicle overtakes normal
+ * vehicles that arrived less than 105 s before it, while a normal vehicle that has waited out its allowance is
+ * served ahead of newer non-emergency arrivals.
+ *
+ * <p>Keys never change once assigned, so aging needs no re-sorting: enqueue and dequeue are O(log n) on a
+ * {@link PriorityBlockingQueue}, which is safe for any number of concurrent producers and consumers.
+ */
+public class PassQueue {
+    private static final Comparator<QueuedPass> SERVE_ORDER = Comparator
+            .comparing((QueuedPass q) -> !q.getPriority().isAbsolute())
+            .thenComparingLong(q -> q.deadline)
+            .thenComparingLong(q -> q.sequence);
+
+    private final Clock clock;
+    private final PriorityBlockingQueue<QueuedPass> queue = new PriorityBlockingQueue<>(16, SERVE_ORDER);
+    private final AtomicLong sequence = new AtomicLong();
+
+    public PassQueue(Clock clock) {
+        this.clock = clock;
+    }
+
+    public QueuedPass offer(GatePass pass, PassPriority priority) {
+        QueuedPass queued = new QueuedPass(pass, priority, clock.millis(), sequence.getAndIncrement());
+        queue.offer(queued);
+        return queued;
+    }
+
+    /**
+     * The next pass to serve, or {@code null} if the queue is empty.
+     */
+    public QueuedPass poll() {
+        return queue.poll();
+    }
+
+    /**
+     * The next pass to serve, waiting for one to arrive.
+     */
+    public QueuedPass take() throws InterruptedException {
+        return queue.take();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,166 @@
+package com.research.index;
+
+import com.research.model.PlateKey;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Set of plates currently allowed through the gate, published as immutable {@link Snapshot}s.
+ *
+ * <p>Readers take {@link #snapshot()} (a single volatile read) and query it without locks; a snapshot never
+ * changes. Plates are split into {@value #SHARDS} shards by hash, each a sorted {@code long[]} of packed plates
+ * (plus a sorted {@code String[]} for unpackable ones). A writer copies only the shard it changes, shares the
+ * others with the previous version and publishes the new snapshot atomically. Writers serialize on this object.
+ */
+public class PlateAllowlist {
+    static final int SHARDS = 256;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+    // Plate each entry was published under, so updates and removals can find it
+    private final Map<Integer, PlateKey> published = new HashMap<>();
+    // Entries per plate: a plate stays listed while any entry still allows it
+    private final Map<PlateKey, Integer> references = new HashMap<>();
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Publishes the entry's current state: allowed entries are listed under {@code plate}, others are dropped.
+     */
+    public synchronized void put(int id, String plate, boolean allowed) {
+        PlateKey key = allowed && plate != null ? PlateKey.of(plate) : null;
+        PlateKey previous = published.get(id);
+        if (previous == null ? key == null : previous.equals(key)) {
+            return;
+        }
+        Snapshot next = current.get();
+        if (previous != null) {
+            published.remove(id);
+            if (references.merge(previous, -1, Integer::sum) == 0) {
+                references.remove(previous);
+                next = next.without(previous);
+            }
+        }
+        if (key != null) {
+            published.put(id, key);
+            if (references.merge(key, 1, Integer::sum) == 1) {
+                next = next.with(key);
+            }
+        }
+        if (next != current.get()) {
+            current.set(next);
+        }
+    }
+
+    public synchronized void remove(int id) {
+        put(id, null, false);
+    }
+
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(emptyShards(), new String[0], 0, 0);
+
+        private final long[][] shards;
+        private final String[] overflow;
+        private final int size;
+        private final long version;
+
+        private Snapshot(long[][] shards, String[] overflow, int size, long version) {
+            this.shards = shards;
+            this.overflow = overflow;
+            this.size = size;
+            this.version = version;
+        }
+
+        public boolean contains(CharSequence plate) {
+            long packed = PlateKey.pack(plate);
+            if (packed != PlateKey.NOT_PACKABLE) {
+                return Arrays.binarySearch(shards[shardOf(packed)], packed) >= 0;
+            }
+            return overflow.length > 0 && Arrays.binarySearch(overflow, PlateKey.normalize(plate)) >= 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Incremented on every published change.
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        Snapshot with(PlateKey key) {
+            if (!key.isPacked()) {
+                int at = Arrays.binarySearch(overflow, key.getOverflow());
+                if (at >= 0) {
+                    return new Snapshot(shards, overflow, size, version + 1);
+                }
+                return new Snapshot(shards, insert(overflow, -at - 1, key.getOverflow()), size + 1, version + 1);
+            }
+            int shard = shardOf(key.getPacked());
+            long[] plates = shards[shard];
+            int at = Arrays.binarySearch(plates, key.getPacked());
+            if (at >= 0) {
+                return new Snapshot(shards, overflow, size, version + 1);
+            }
+            at = -at - 1;
+            long[] copy = new long[plates.length + 1];
+            System.arraycopy(plates, 0, copy, 0, at);
+            copy[at] = key.getPacked();
+            System.arraycopy(plates, at, copy, at + 1, plates.length - at);
+            return new Snapshot(replace(shard, copy), overflow, size + 1, version + 1);
+        }
+
+        Snapshot without(PlateKey key) {
+            if (!key.isPacked()) {
+                int at = Arrays.binarySearch(overflow, key.getOverflow());
+                if (at < 0) {
+                    return new Snapshot(shards, overflow, size, version + 1);
+                }
+                String[] copy = new String[overflow.length - 1];
+                System.arraycopy(overflow, 0, copy, 0, at);
+                System.arraycopy(overflow, at + 1, copy, at, copy.length - at);
+                return new Snapshot(shards, copy, size - 1, version + 1);
+            }
+            int shard = shardOf(key.getPacked());
+            long[] plates = shards[shard];
+            int at = Arrays.binarySearch(plates, key.getPacked());
+            if (at < 0) {
+                return new Snapshot(shards, overflow, size, version + 1);
+            }
+            long[] copy = new long[plates.length - 1];
+            System.arraycopy(plates, 0, copy, 0, at);
+            System.arraycopy(plates, at + 1, copy, at, copy.length - at);
+            return new Snapshot(replace(shard, copy), overflow, size - 1, version + 1);
+        }
+
+        private long[][] replace(int shard, long[] plates) {
+            long[][] copy = shards.clone();
+            copy[shard] = plates;
+            return copy;
+        }
+
+        private static String[] insert(String[] values, int at, String value) {
+            String[] copy = new String[values.length + 1];
+            System.arraycopy(values, 0, copy, 0, at);
+            copy[at] = value;
+            System.arraycopy(values, at, copy, at + 1, values.length - at);
+            return copy;
+        }
+
+        private static int shardOf(long packed) {
+            return PlateKey.hash(packed) & (SHARDS - 1);
+        }
+
+        private static long[][] emptyShards() {
+            long[][] shards = new long[SHARDS][];
+            Arrays.fill(shards, new long[0]);
+            return shards;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.research.index;
+
+import com.research.model.PlateKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Map keyed by canonical plate. Packed plates live in an open-addressing {@code long} table, so a lookup
+ * by raw plate text ({@link #get(CharSequence)}) neither allocates nor hashes a String; the rare
+ * unpackable plates go to a regular HashMap.
+ *
+ * <p>Not thread-safe; owners guard it with their own lock.
+ */
+public class PlateKeyMap<V> {
+    private static final long EMPTY = PlateKey.NOT_PACKABLE;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int packedSize;
+    private final Map<String, V> overflow = new HashMap<>();
+
+    public PlateKeyMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public V get(CharSequence plate) {
+        long packed = PlateKey.pack(plate);
+        if (packed != EMPTY) {
+            return getPacked(packed);
+        }
+        return overflow.get(PlateKey.normalize(plate));
+    }
+
+    public V get(PlateKey key) {
+        return key.isPacked() ? getPacked(key.getPacked()) : overflow.get(key.getOverflow());
+    }
+
+    public boolean containsKey(CharSequence plate) {
+        return get(plate) != null;
+    }
+
+    public V put(PlateKey key, V value) {
+        if (!key.isPacked()) {
+            return overflow.put(key.getOverflow(), value);
+        }
+        if ((packedSize + 1) * 4 > keys.length * 3) {
+            resize();
+        }
+        long packed = key.getPacked();
+        int mask = keys.length - 1;
+        int slot = PlateKey.hash(packed) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == packed) {
+                V previous = valueAt(slot);
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = packed;
+        values[slot] = value;
+        packedSize++;
+        return null;
+    }
+
+    public V remove(PlateKey key) {
+        if (!key.isPacked()) {
+            return overflow.remove(key.getOverflow());
+        }
+        int slot = slotOf(key.getPacked());
+        if (slot < 0) {
+            return null;
+        }
+        V previous = valueAt(slot);
+        deleteSlot(slot);
+        packedSize--;
+        return previous;
+    }
+
+    public int size() {
+        return packedSize + overflow.size();
+    }
+
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size());
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                result.add(valueAt(slot));
+            }
+        }
+        result.addAll(overflow.values());
+        return result;
+    }
+
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        packedSize = 0;
+        overflow.clear();
+    }
+
+    private V getPacked(long packed) {
+        int slot = slotOf(packed);
+        return slot < 0 ? null : valueAt(slot);
+    }
+
+    private int slotOf(long packed) {
+        int mask = keys.length - 1;
+        int slot = PlateKey.hash(packed) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == packed) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Backward-shift deletion keeps probe chains intact without tombstones.
+     */
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = PlateKey.hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = PlateKey.hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new Object[capacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+}
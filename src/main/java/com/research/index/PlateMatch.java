@@ -0,0 +1,32 @@
+package com.research.index;
+
+import java.util.Comparator;
+
+/**
+ * A candidate plate returned by a similarity search, with its confusion-aware distance to the query.
+ */
+public class PlateMatch {
+    public static final Comparator<PlateMatch> CLOSEST_FIRST =
+            Comparator.comparingInt(PlateMatch::getDistance).thenComparing(PlateMatch::getPlate);
+
+    private final String plate;
+    private final int distance;
+
+    public PlateMatch(String plate, int distance) {
+        this.plate = plate;
+        this.distance = distance;
+    }
+
+    public String getPlate() {
+        return plate;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+
+    @Override
+    public String toString() {
+        return plate + " (" + distance + ")";
+    }
+}
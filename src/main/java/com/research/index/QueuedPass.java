@@ -0,0 +1,35 @@
+package com.research.index;
+
+import com.research.model.GatePass;
+import com.research.model.PassPriority;
+
+/**
+ * A gate pass waiting in a {@link PassQueue}, with its class and arrival time in clock milliseconds.
+ */
+public class QueuedPass {
+    private final GatePass pass;
+    private final PassPriority priority;
+    private final long enqueuedAt;
+    final long deadline;
+    final long sequence;
+
+    QueuedPass(GatePass pass, PassPriority priority, long enqueuedAt, long sequence) {
+        this.pass = pass;
+        this.priority = priority;
+        this.enqueuedAt = enqueuedAt;
+        this.deadline = enqueuedAt + priority.getAgingAllowance().toMillis();
+        this.sequence = sequence;
+    }
+
+    public GatePass getPass() {
+        return pass;
+    }
+
+    public PassPriority getPriority() {
+        return priority;
+    }
+
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+}
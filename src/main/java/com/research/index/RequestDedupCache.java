@@ -0,0 +1,293 @@
+package com.research.index;
+
+import com.research.model.GatePass;
+import com.research.model.GatePassDirection;
+import com.research.model.PlateKey;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Recently requested gate passes, so a repeated request returns the pass already created instead of a new one.
+ * A request repeats an earlier one if its pass has the same canonical plate, lane and direction within
+ * {@code movementWindow} (a camera reporting one car two or three times), or if it carries the same client
+ * idempotency key within {@code keyWindow} (a client retrying after a timeout). A window runs from the last request
+ * that matched, so a plate read over and over while the car waits at the barrier stays one pass.
+ *
+ * <p>Movements and keys are kept in two insertion-ordered maps, an entry moved to the tail whenever it matches, so
+ * expired entries are dropped from the head in O(1). Each map holds at most {@code capacity} entries: this is a
+ * hard limit on movements (and keys) live at once. Expired entries are dropped first; beyond that the oldest live
+ * entry is evicted, so its next repeat creates a new pass, and {@link #getEvictedCount()} counts these.
+ *
+ * <p>The monitor covers only the map operations. The first request claims its movement and key, then creates
+ * the pass outside the monitor. A repeat that arrives meanwhile waits for that creation to finish, so it never
+ * sees a pass whose creation is still under way.
+ */
+public class RequestDedupCache {
+    public static final Duration DEFAULT_MOVEMENT_WINDOW = Duration.ofSeconds(2);
+    public static final Duration DEFAULT_KEY_WINDOW = Duration.ofMinutes(10);
+    // about 30 requests per second on every one of 1000 lanes within the 2 s movement window
+    public static final int DEFAULT_CAPACITY = 65_536;
+
+    private final Window<MovementKey> movements;
+    private final Window<String> keys;
+    private final Clock clock;
+    private final AtomicLong repeats = new AtomicLong();
+
+    public RequestDedupCache() {
+        this(DEFAULT_MOVEMENT_WINDOW, DEFAULT_KEY_WINDOW, DEFAULT_CAPACITY, Clock.systemUTC());
+    }
+
+    public RequestDedupCache(Duration movementWindow, Duration keyWindow, int capacity, Clock clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Dedup capacity must be positive: " + capacity);
+        }
+        this.movements = new Window<>(movementWindow, capacity);
+        this.keys = new Window<>(keyWindow, capacity);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the pass already requested under {@code idempotencyKey} (may be {@code null}) or for the same
+     * movement as {@code pass}; otherwise runs {@code create} on {@code pass} and returns it. Concurrent repeats
+     * create a single pass and are answered only once {@code create} has returned. Nothing is remembered if
+     * {@code create} throws; repeats waiting for it then try again themselves.
+     */
+    public GatePass requestOnce(GatePass pass, String idempotencyKey, Consumer<GatePass> create) {
+        MovementKey movement = MovementKey.of(pass);
+        while (true) {
+            Creation existing;
+            Creation claimed = null;
+            synchronized (this) {
+                existing = find(movement, idempotencyKey, clock.millis());
+                if (existing == null) {
+                    claimed = claim(pass, movement, idempotencyKey, clock.millis());
+                }
+            }
+            if (claimed != null) {
+                create(claimed, movement, idempotencyKey, create);
+                return pass;
+            }
+            if (existing.await()) {
+                repeats.incrementAndGet();
+                return existing.pass;
+            }
+        }
+    }
+
+    /**
+     * Requests answered with an earlier pass.
+     */
+    public long getRepeatCount() {
+        return repeats.get();
+    }
+
+    /**
+     * Movements and idempotency keys dropped while still inside their window, because the capacity was reached.
+     * Anything above zero means repeats may have created duplicate passes and the capacity is too small.
+     */
+    public synchronized long getEvictedCount() {
+        return movements.evicted + keys.evicted;
+    }
+
+    /**
+     * Movements and idempotency keys currently remembered.
+     */
+    public synchronized int size() {
+        long now = clock.millis();
+        movements.expire(now);
+        keys.expire(now);
+        return movements.entries.size() + keys.entries.size();
+    }
+
+    private Creation find(MovementKey movement, String idempotencyKey, long now) {
+        Creation existing = idempotencyKey == null ? null : keys.touch(idempotencyKey, now);
+        if (existing == null && movement != null) {
+            existing = movements.touch(movement, now);
+            if (existing != null && idempotencyKey != null) {
+                // a retry under this key must get the same pass
+                keys.put(idempotencyKey, existing, now);
+            }
+        }
+        return existing;
+    }
+
+    private Creation claim(GatePass pass, MovementKey movement, String idempotencyKey, long now) {
+        Creation claimed = new Creation(pass);
+        if (idempotencyKey != null) {
+            keys.put(idempotencyKey, claimed, now);
+        }
+        if (movement != null) {
+            movements.put(movement, claimed, now);
+        }
+        return claimed;
+    }
+
+    private void create(Creation claimed, MovementKey movement, String idempotencyKey, Consumer<GatePass> create) {
+        boolean created = false;
+        try {
+            create.accept(claimed.pass);
+            created = true;
+        } finally {
+            if (!created) {
+                synchronized (this) {
+                    // keys a repeat bound to this creation meanwhile are dropped when next touched
+                    if (idempotencyKey != null) {
+                        keys.remove(idempotencyKey, claimed);
+                    }
+                    if (movement != null) {
+                        movements.remove(movement, claimed);
+                    }
+                }
+            }
+            claimed.finish(created);
+        }
+    }
+
+    private static class Window<K> {
+        final long millis;
+        final int capacity;
+        final LinkedHashMap<K, Entry> entries = new LinkedHashMap<>();
+        long evicted;
+
+        Window(Duration window, int capacity) {
+            if (window == null || window.isNegative() || window.isZero()) {
+                throw new IllegalArgumentException("Dedup window must be positive: " + window);
+            }
+            this.millis = window.toMillis();
+            this.capacity = capacity;
+        }
+
+        /**
+         * The live creation under {@code key}, its window restarted; {@code null} if none.
+         */
+        Creation touch(K key, long now) {
+            expire(now);
+            Entry entry = entries.remove(key);
+            if (entry == null || entry.creation.failed) {
+                return null;
+            }
+            entry.lastSeen = now;
+            entries.put(key, entry);
+            return entry.creation;
+        }
+
+        void put(K key, Creation creation, long now) {
+            expire(now);
+            entries.remove(key);
+            entries.put(key, new Entry(creation, now));
+            // expired entries are already gone, so anything evicted here is still live
+            Iterator<K> oldest = entries.keySet().iterator();
+            while (entries.size() > capacity) {
+                oldest.next();
+                oldest.remove();
+                evicted++;
+            }
+        }
+
+        void remove(K key, Creation creation) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.creation == creation) {
+                entries.remove(key);
+            }
+        }
+
+        void expire(long now) {
+            Iterator<Entry> oldest = entries.values().iterator();
+            while (oldest.hasNext() && now - oldest.next().lastSeen >= millis) {
+                oldest.remove();
+            }
+        }
+    }
+
+    private static class Entry {
+        final Creation creation;
+        long lastSeen;
+
+        Entry(Creation creation, long lastSeen) {
+            this.creation = creation;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    /**
+     * One pass being created by the request that claimed it; repeats wait on it.
+     */
+    private static class Creation {
+        final GatePass pass;
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile boolean failed;
+
+        Creation(GatePass pass) {
+            this.pass = pass;
+        }
+
+        void finish(boolean created) {
+            failed = !created;
+            done.countDown();
+        }
+
+        /**
+         * Waits until the creation is finished; {@code true} if it created the pass.
+         */
+        boolean await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return !failed;
+        }
+    }
+
+    private static final class MovementKey {
+        private final PlateKey plate;
+        private final int laneId;
+        private final GatePassDirection direction;
+
+        private MovementKey(PlateKey plate, int laneId, GatePassDirection direction) {
+            this.plate = plate;
+            this.laneId = laneId;
+            this.direction = direction;
+        }
+
+        /**
+         * The movement of a pass with a plate, a lane and a direction; {@code null} otherwise.
+         */
+        static MovementKey of(GatePass pass) {
+            if (pass.getVehicle() == null || pass.getVehicle().getPlateNumber() == null || pass.getLane() == null
+                    || pass.getDirection() == null) {
+                return null;
+            }
+            return new MovementKey(PlateKey.of(pass.getVehicle().getPlateNumber()), pass.getLane().getId(),
+                    pass.getDirection());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof MovementKey)) {
+                return false;
+            }
+            MovementKey other = (MovementKey) o;
+            return laneId == other.laneId && direction == other.direction && plate.equals(other.plate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(plate, laneId, direction);
+        }
+    }
+}
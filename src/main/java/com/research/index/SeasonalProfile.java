@@ -0,0 +1,94 @@
+package com.research.index;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Weekly arrival profile: an exponentially weighted moving average of arrivals per {@value #SLOT_MINUTES}-minute
+ * slot, kept separately for each of the {@value #SLOTS_PER_WEEK} slots of the week (Monday 00:00 first).
+ *
+ * <p>Arrivals are counted into the current slot; when time moves past it, the count is folded into that slot's
+ * average and every skipped slot is folded as zero arrivals. Each update is O(1) amortized over the slots
+ * elapsed. A slot's first observations are averaged plainly (weight {@code 1/n}) until {@code 1/n} drops
+ * below {@code alpha}, so the profile is useful after a single week.
+ */
+public class SeasonalProfile {
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_WEEK = 7 * 24 * 60 / SLOT_MINUTES;
+    // 1970-01-01 was a Thursday: shift absolute slots so slot 0 of the week is Monday 00:00
+    private static final long EPOCH_WEEK_OFFSET = (DayOfWeek.THURSDAY.getValue() - 1) * 24 * 60 / SLOT_MINUTES;
+
+    private final double alpha;
+    private final double[] rates = new double[SLOTS_PER_WEEK];
+    private final int[] observations = new int[SLOTS_PER_WEEK];
+    private long currentSlot = Long.MIN_VALUE;
+    private int currentCount;
+
+    public SeasonalProfile(double alpha) {
+        this.alpha = alpha;
+    }
+
+    public static long slotOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), SLOT_MINUTES * 60L);
+    }
+
+    public static LocalDateTime slotStart(long slot) {
+        return LocalDateTime.ofEpochSecond(slot * SLOT_MINUTES * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Counts one arrival at {@code time}. Arrivals older than the current slot count toward the current slot.
+     */
+    public void record(LocalDateTime time) {
+        advanceTo(time);
+        currentCount++;
+    }
+
+    /**
+     * Closes every slot that ended before {@code time}.
+     */
+    public void advanceTo(LocalDateTime time) {
+        long slot = slotOf(time);
+        if (currentSlot == Long.MIN_VALUE) {
+            currentSlot = slot;
+            return;
+        }
+        if (slot <= currentSlot) {
+            return;
+        }
+        fold(currentSlot, currentCount);
+        // a gap longer than a week folds each slot of the week once
+        long firstSkipped = Math.max(currentSlot + 1, slot - SLOTS_PER_WEEK);
+        for (long skipped = firstSkipped; skipped < slot; skipped++) {
+            fold(skipped, 0);
+        }
+        currentSlot = slot;
+        currentCount = 0;
+    }
+
+    /**
+     * Expected arrivals in the slot containing {@code time}.
+     */
+    public double forecast(LocalDateTime time) {
+        return rates[weekSlot(slotOf(time))];
+    }
+
+    public boolean hasHistory(LocalDateTime time) {
+        return observations[weekSlot(slotOf(time))] > 0;
+    }
+
+    private void fold(long slot, int count) {
+        int index = weekSlot(slot);
+        int seen = observations[index];
+        double weight = seen == 0 ? 1 : Math.max(alpha, 1.0 / (seen + 1));
+        rates[index] += weight * (count - rates[index]);
+        if (seen < Integer.MAX_VALUE) {
+            observations[index] = seen + 1;
+        }
+    }
+
+    private static int weekSlot(long slot) {
+        return Math.floorMod(slot + EPOCH_WEEK_OFFSET, SLOTS_PER_WEEK);
+    }
+}
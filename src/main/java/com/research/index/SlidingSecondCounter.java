@@ -0,0 +1,49 @@
+package com.research.index;
+
+/**
+ * Events per second over the last {@code seconds} seconds: a ring of per-second counters and a running total.
+ * Time only moves forward; events older than the window are ignored.
+ */
+public class SlidingSecondCounter {
+    private final int[] counts;
+    private long latestSecond = Long.MIN_VALUE;
+    private int total;
+
+    public SlidingSecondCounter(int seconds) {
+        this.counts = new int[seconds];
+    }
+
+    /**
+     * Counts an event at {@code second} and returns the total over the window ending then.
+     */
+    public int add(long second) {
+        advance(second);
+        if (latestSecond - second >= counts.length) {
+            // too late to matter for the current window
+            return total;
+        }
+        counts[Math.floorMod(second, counts.length)]++;
+        return ++total;
+    }
+
+    /**
+     * The total over the window ending at {@code second}.
+     */
+    public int total(long second) {
+        advance(second);
+        return total;
+    }
+
+    private void advance(long second) {
+        if (second <= latestSecond) {
+            return;
+        }
+        long expired = latestSecond == Long.MIN_VALUE ? counts.length : Math.min(second - latestSecond, counts.length);
+        for (long s = second - expired + 1; s <= second; s++) {
+            int slot = Math.floorMod(s, counts.length);
+            total -= counts[slot];
+            counts[slot] = 0;
+        }
+        latestSecond = second;
+    }
+}
@@ -0,0 +1,143 @@
+package com.research.index;
+
+import com.research.model.SlotUsage;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Booked vehicles and passengers per {@value #SLOT_MINUTES}-minute slot, backed by two Fenwick trees so a
+ * single slot or any range of slots is summed in O(log n).
+ *
+ * <p>The trees cover a contiguous window of slots that grows (doubling, rebuilt in O(n)) when a booking falls
+ * outside it. The window may not span more than {@value #MAX_SLOTS} slots (about ten years); the rare booking
+ * beyond that reach is counted in a sorted map instead, so every booking is counted and {@link #put} never fails.
+ */
+public class SlotCounter {
+    public static final int SLOT_MINUTES = 15;
+    static final int MAX_SLOTS = 96 * 366 * 10;
+    private static final int INITIAL_SLOTS = 96 * 64;
+
+    // absolute slot number of index 0
+    private long origin;
+    private long[] vehicleCounts = new long[0];
+    private long[] passengerCounts = new long[0];
+    private FenwickTree vehicles = new FenwickTree(0);
+    private FenwickTree passengers = new FenwickTree(0);
+    // slot -> {vehicles, passengers} for slots beyond the window's reach
+    private final NavigableMap<Long, long[]> outside = new TreeMap<>();
+    // booking id -> {slot, passengers, 1 if counted outside}, so updates and removals undo exactly what was added
+    private final Map<Integer, long[]> bookings = new HashMap<>();
+
+    public static long slotOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), SLOT_MINUTES * 60L);
+    }
+
+    /**
+     * Adds or moves the booking {@code id}: one vehicle plus {@code passengerCount} passengers in the slot
+     * containing {@code time}.
+     */
+    public synchronized void put(int id, LocalDateTime time, int passengerCount) {
+        long slot = slotOf(time);
+        remove(id);
+        if (ensureCovered(slot)) {
+            add((int) (slot - origin), 1, passengerCount);
+            bookings.put(id, new long[]{slot, passengerCount, 0});
+        } else {
+            addOutside(slot, 1, passengerCount);
+            bookings.put(id, new long[]{slot, passengerCount, 1});
+        }
+    }
+
+    public synchronized void remove(int id) {
+        long[] booking = bookings.remove(id);
+        if (booking == null) {
+            return;
+        }
+        if (booking[2] == 0) {
+            add((int) (booking[0] - origin), -1, -booking[1]);
+        } else {
+            addOutside(booking[0], -1, -booking[1]);
+        }
+    }
+
+    /**
+     * Totals over every slot overlapping {@code [from, to]}.
+     */
+    public synchronized SlotUsage usage(LocalDateTime from, LocalDateTime to) {
+        long fromSlot = slotOf(from);
+        long toSlot = slotOf(to);
+        long vehicleTotal = 0;
+        long passengerTotal = 0;
+        long first = Math.max(fromSlot - origin, 0);
+        long last = Math.min(toSlot - origin, vehicleCounts.length - 1L);
+        if (first <= last) {
+            vehicleTotal = vehicles.rangeSum((int) first, (int) last);
+            passengerTotal = passengers.rangeSum((int) first, (int) last);
+        }
+        if (!outside.isEmpty() && fromSlot <= toSlot) {
+            for (long[] counts : outside.subMap(fromSlot, true, toSlot, true).values()) {
+                vehicleTotal += counts[0];
+                passengerTotal += counts[1];
+            }
+        }
+        return new SlotUsage(vehicleTotal, passengerTotal);
+    }
+
+    private void add(int index, long vehicleDelta, long passengerDelta) {
+        vehicleCounts[index] += vehicleDelta;
+        passengerCounts[index] += passengerDelta;
+        vehicles.add(index, vehicleDelta);
+        passengers.add(index, passengerDelta);
+    }
+
+    private void addOutside(long slot, long vehicleDelta, long passengerDelta) {
+        long[] counts = outside.computeIfAbsent(slot, s -> new long[2]);
+        counts[0] += vehicleDelta;
+        counts[1] += passengerDelta;
+        if (counts[0] == 0) {
+            outside.remove(slot);
+        }
+    }
+
+    /**
+     * Grows the window to cover {@code slot} if that keeps it within {@value #MAX_SLOTS} slots; {@code false} if
+     * the slot is out of its reach.
+     */
+    private boolean ensureCovered(long slot) {
+        if (vehicleCounts.length == 0) {
+            origin = slot - INITIAL_SLOTS / 4;
+            resize(origin, INITIAL_SLOTS);
+            return true;
+        }
+        long end = origin + vehicleCounts.length;
+        if (slot >= origin && slot < end) {
+            return true;
+        }
+        if (Math.max(end, slot + 1) - Math.min(origin, slot) > MAX_SLOTS) {
+            return false;
+        }
+        long length = Math.max(vehicleCounts.length * 2L, Math.max(end, slot + 1) - Math.min(origin, slot));
+        length = Math.min(length, MAX_SLOTS);
+        long newOrigin = slot < origin ? end - length : origin;
+        resize(newOrigin, (int) length);
+        return true;
+    }
+
+    private void resize(long newOrigin, int length) {
+        long[] newVehicles = new long[length];
+        long[] newPassengers = new long[length];
+        int offset = (int) (origin - newOrigin);
+        System.arraycopy(vehicleCounts, 0, newVehicles, offset, vehicleCounts.length);
+        System.arraycopy(passengerCounts, 0, newPassengers, offset, passengerCounts.length);
+        origin = newOrigin;
+        vehicleCounts = newVehicles;
+        passengerCounts = newPassengers;
+        vehicles = new FenwickTree(vehicleCounts);
+        passengers = new FenwickTree(passengerCounts);
+    }
+}
@@ -0,0 +1,164 @@
+package com.research.index;
+
+import java.util.*;
+
+/**
+ * Space-Saving top-k summary (Metwally et al.) with a fixed number of counters. A new key evicts the counter
+ * with the smallest count and inherits that count as its error, so every item with a true frequency above
+ * {@code total / capacity} is guaranteed to be monitored. Counters sit in an indexed min-heap, so each update is
+ * O(log capacity).
+ *
+ * <p>{@link #merge} follows Agarwal et al.'s mergeable summaries: a key missing from a full summary is assumed to
+ * have that summary's minimum count (added to both count and error), then the largest {@code capacity} counters
+ * are kept.
+ */
+public class SpaceSaving<K> {
+    // rough per-counter footprint: counter object, hash map entry and table slot, heap slot
+    private static final int BYTES_PER_COUNTER = 32 + 48 + 8;
+
+    private final int capacity;
+    private final Map<K, Counter<K>> counters;
+    private Counter<K>[] heap;
+    private int size;
+    private long total;
+
+    private static final class Counter<K> {
+        K key;
+        long count;
+        long error;
+        int heapIndex;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    public void add(K key, long count) {
+        total += count;
+        Counter<K> counter = counters.get(key);
+        boolean leaf = false;
+        if (counter == null) {
+            if (size < capacity) {
+                counter = new Counter<>();
+                counter.heapIndex = size;
+                heap[size++] = counter;
+                leaf = true;
+            } else {
+                counter = heap[0];
+                counters.remove(counter.key);
+                counter.error = counter.count;
+            }
+            counter.key = key;
+            counters.put(key, counter);
+        }
+        counter.count += count;
+        if (leaf) {
+            siftUp(counter.heapIndex);
+        } else {
+            siftDown(counter.heapIndex);
+        }
+    }
+
+    /**
+     * Up to {@code k} monitored keys, highest estimated count first.
+     */
+    public List<HeavyHitter<K>> top(int k) {
+        List<HeavyHitter<K>> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new HeavyHitter<>(heap[i].key, heap[i].count, heap[i].error));
+        }
+        result.sort(Comparator.comparingLong(HeavyHitter<K>::getCount).reversed());
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    public void merge(SpaceSaving<K> other) {
+        long ownMinimum = size == capacity ? heap[0].count : 0;
+        long otherMinimum = other.size == other.capacity ? other.heap[0].count : 0;
+        Map<K, long[]> merged = new HashMap<>((size + other.size) * 2);
+        for (int i = 0; i < size; i++) {
+            merged.put(heap[i].key, new long[]{heap[i].count + otherMinimum, heap[i].error + otherMinimum});
+        }
+        for (int i = 0; i < other.size; i++) {
+            Counter<K> counter = other.heap[i];
+            long[] entry = merged.get(counter.key);
+            if (entry == null) {
+                merged.put(counter.key, new long[]{counter.count + ownMinimum, counter.error + ownMinimum});
+            } else {
+                // present in both: undo the assumed minimum
+                entry[0] += counter.count - otherMinimum;
+                entry[1] += counter.error - otherMinimum;
+            }
+        }
+        List<Map.Entry<K, long[]>> entries = new ArrayList<>(merged.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        counters.clear();
+        size = 0;
+        for (Map.Entry<K, long[]> entry : entries.subList(0, Math.min(capacity, entries.size()))) {
+            Counter<K> counter = new Counter<>();
+            counter.key = entry.getKey();
+            counter.count = entry.getValue()[0];
+            counter.error = entry.getValue()[1];
+            counter.heapIndex = size;
+            heap[size++] = counter;
+            counters.put(counter.key, counter);
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+        total += other.total;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long memoryBytes() {
+        return (long) capacity * BYTES_PER_COUNTER;
+    }
+
+    private void siftUp(int index) {
+        Counter<K> counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+
+    private void siftDown(int index) {
+        Counter<K> counter = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (heap[child].count >= counter.count) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+}
@@ -0,0 +1,232 @@
+package com.research.index;
+
+import java.util.*;
+
+/**
+ * Incrementally maintained inverted index answering ranked type-ahead (prefix) queries over entity ids.
+ *
+ * <p>Each document is a list of weighted {@link Field}s. Field text is lower-cased and split on anything
+ * that is not a letter or digit. {@link FieldType#CODE} fields (unit "B-12") are also indexed in compact form
+ * ("b12"); {@link FieldType#PLATE} fields additionally index every suffix of the compact form, so "123" finds
+ * plate "ABC-123".
+ *
+ * <p>Every query term must prefix-match some token of a document (AND). A document scores, per term, the weight
+ * of its best matching field, doubled for an exact token match. Results are ordered by score, then id.
+ * Postings live in a sorted map, so a prefix is a range scan; the most selective term drives candidate
+ * generation, and the scan stops once {@value #MAX_CANDIDATES} documents matching every term have been ranked,
+ * which keeps very broad one-letter queries bounded. Candidates failing another term do not count towards the
+ * cap, so a broad driver term never hides the documents that match the whole query.
+ */
+public class TextSearchIndex {
+    static final int MAX_CANDIDATES = 256;
+    private static final int MIN_SUFFIX_LENGTH = 2;
+    // lower score first, then higher id, so the heap head is the entry to evict
+    private static final Comparator<int[]> WORST_FIRST =
+            (a, b) -> a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(b[0], a[0]);
+
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    public enum FieldType {
+        TEXT,
+        CODE,
+        PLATE
+    }
+
+    public static class Field {
+        private final String text;
+        private final int weight;
+        private final FieldType type;
+
+        public Field(String text, int weight, FieldType type) {
+            this.text = text;
+            this.weight = weight;
+            this.type = type;
+        }
+    }
+
+    /**
+     * Adds or replaces the document for {@code id}.
+     */
+    public synchronized void put(int id, List<Field> fields) {
+        remove(id);
+        Map<String, Integer> tokens = new HashMap<>();
+        for (Field field : fields) {
+            if (field.text == null) {
+                continue;
+            }
+            for (String token : tokenize(field.text)) {
+                tokens.merge(token, field.weight, Math::max);
+            }
+            if (field.type == FieldType.TEXT) {
+                continue;
+            }
+            String compact = compact(field.text);
+            if (compact.length() > 1) {
+                tokens.merge(compact, field.weight, Math::max);
+            }
+            if (field.type == FieldType.PLATE) {
+                int suffixWeight = Math.max(field.weight / 2, 1);
+                for (int start = 1; start <= compact.length() - MIN_SUFFIX_LENGTH; start++) {
+                    tokens.merge(compact.substring(start), suffixWeight, Math::max);
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> token : tokens.entrySet()) {
+            postings.computeIfAbsent(token.getKey(), k -> new HashMap<>(4)).put(id, token.getValue());
+        }
+        documents.put(id, new Document(tokens));
+    }
+
+    public synchronized void remove(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String token : document.tokens) {
+            Map<Integer, Integer> ids = postings.get(token);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    /**
+     * Returns up to {@code limit} ids ranked best first.
+     */
+    public synchronized List<Integer> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String driver = mostSelective(terms);
+        // a document appears once per matching token in the driver's range
+        Set<Integer> seen = new HashSet<>();
+        int ranked = 0;
+        PriorityQueue<int[]> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        Iterator<Map<Integer, Integer>> postingsInRange = range(driver).values().iterator();
+        while (postingsInRange.hasNext() && ranked < MAX_CANDIDATES) {
+            for (Integer id : postingsInRange.next().keySet()) {
+                if (!seen.add(id)) {
+                    continue;
+                }
+                int total = score(documents.get(id), terms);
+                if (total == 0) {
+                    continue;
+                }
+                best.add(new int[]{id, total});
+                if (best.size() > limit) {
+                    best.poll();
+                }
+                if (++ranked >= MAX_CANDIDATES) {
+                    break;
+                }
+            }
+        }
+        Integer[] result = new Integer[best.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = best.poll()[0];
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Sum of the per-term scores, or 0 if some term matches no token of the document.
+     */
+    private static int score(Document document, List<String> terms) {
+        int total = 0;
+        for (String term : terms) {
+            int score = document.bestMatch(term);
+            if (score == 0) {
+                return 0;
+            }
+            total += score;
+        }
+        return total;
+    }
+
+    /**
+     * The term with the fewest postings, counting each range only up to the candidate cap.
+     */
+    private String mostSelective(List<String> terms) {
+        String best = terms.get(0);
+        int bestCount = Integer.MAX_VALUE;
+        for (String term : terms) {
+            int count = 0;
+            for (Map<Integer, Integer> ids : range(term).values()) {
+                count += ids.size();
+                if (count > MAX_CANDIDATES) {
+                    break;
+                }
+            }
+            if (count < bestCount) {
+                best = term;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    private SortedMap<String, Map<Integer, Integer>> range(String prefix) {
+        return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    private static class Document {
+        final String[] tokens;
+        final int[] weights;
+
+        Document(Map<String, Integer> weightsByToken) {
+            tokens = new String[weightsByToken.size()];
+            weights = new int[tokens.length];
+            int i = 0;
+            for (Map.Entry<String, Integer> token : weightsByToken.entrySet()) {
+                tokens[i] = token.getKey();
+                weights[i++] = token.getValue();
+            }
+        }
+
+        int bestMatch(String term) {
+            int best = 0;
+            for (int i = 0; i < tokens.length; i++) {
+                if (tokens[i].startsWith(term)) {
+                    best = Math.max(best, tokens[i].length() == term.length() ? weights[i] * 2 : weights[i]);
+                }
+            }
+            return best;
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static String compact(String text) {
+        StringBuilder compact = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                compact.append(Character.toLowerCase(c));
+            }
+        }
+        return compact.toString();
+    }
+}
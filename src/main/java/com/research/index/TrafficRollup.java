@@ -0,0 +1,114 @@
+package com.research.index;
+
+import com.research.model.GatePass;
+import com.research.model.RollupGranularity;
+import com.research.model.TrafficAggregate;
+import com.research.model.TrafficDimensions;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Pass counts per hour and per day, grouped by {@link TrafficDimensions}. Passes are added at hourly resolution
+ * and whole days of hourly buckets are later folded into daily buckets, so memory is proportional to the number
+ * of distinct dimension combinations per bucket rather than to the number of passes.
+ */
+public class TrafficRollup {
+    private final NavigableMap<LocalDateTime, Map<TrafficDimensions, long[]>> hourly = new TreeMap<>();
+    private final NavigableMap<LocalDateTime, Map<TrafficDimensions, long[]>> daily = new TreeMap<>();
+    // one instance per distinct combination, shared by every bucket
+    private final Map<TrafficDimensions, TrafficDimensions> canonical = new HashMap<>();
+    private long cells;
+
+    public synchronized void add(GatePass pass) {
+        add(hourly, RollupGranularity.HOURLY.bucketOf(pass.getPassTime()), TrafficDimensions.of(pass), 1);
+    }
+
+    /**
+     * Moves every hourly bucket of the days before the one containing {@code cutoff} into daily buckets.
+     * Returns the number of hourly buckets folded.
+     */
+    public synchronized int foldHoursBefore(LocalDateTime cutoff) {
+        SortedMap<LocalDateTime, Map<TrafficDimensions, long[]>> old = hourly.headMap(RollupGranularity.DAILY.bucketOf(cutoff));
+        int folded = old.size();
+        for (Map.Entry<LocalDateTime, Map<TrafficDimensions, long[]>> bucket : old.entrySet()) {
+            LocalDateTime day = RollupGranularity.DAILY.bucketOf(bucket.getKey());
+            for (Map.Entry<TrafficDimensions, long[]> cell : bucket.getValue().entrySet()) {
+                add(daily, day, cell.getKey(), cell.getValue()[0]);
+                cells--;
+            }
+        }
+        old.clear();
+        return folded;
+    }
+
+    /**
+     * Adds the counts of every bucket starting within {@code [from, to)} to {@code report}: hourly buckets
+     * re-bucketed to {@code granularity}, daily buckets as they are.
+     */
+    public synchronized void collect(LocalDateTime from, LocalDateTime to, RollupGranularity granularity,
+                                     TrafficReport report) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        hourly.subMap(from, true, to, false).forEach((bucket, counts) -> counts.forEach((dimensions, count) ->
+                report.add(granularity, granularity.bucketOf(bucket), dimensions, count[0])));
+        daily.subMap(from, true, to, false).forEach((bucket, counts) -> counts.forEach((dimensions, count) ->
+                report.add(RollupGranularity.DAILY, bucket, dimensions, count[0])));
+    }
+
+    /**
+     * Number of (bucket, dimensions) counters held, hourly and daily.
+     */
+    public synchronized long cellCount() {
+        return cells;
+    }
+
+    public synchronized int hourlyBucketCount() {
+        return hourly.size();
+    }
+
+    public synchronized int dailyBucketCount() {
+        return daily.size();
+    }
+
+    private void add(NavigableMap<LocalDateTime, Map<TrafficDimensions, long[]>> buckets, LocalDateTime bucket,
+                     TrafficDimensions dimensions, long count) {
+        long[] counter = buckets.computeIfAbsent(bucket, k -> new HashMap<>()).get(dimensions);
+        if (counter == null) {
+            counter = new long[1];
+            buckets.get(bucket).put(canonical.computeIfAbsent(dimensions, k -> k), counter);
+            cells++;
+        }
+        counter[0] += count;
+    }
+
+    /**
+     * Accumulates counts by (granularity, bucket start, dimensions).
+     */
+    public static class TrafficReport {
+        private final Map<RollupGranularity, NavigableMap<LocalDateTime, Map<TrafficDimensions, long[]>>> buckets =
+                new EnumMap<>(RollupGranularity.class);
+
+        public void add(RollupGranularity granularity, LocalDateTime bucket, TrafficDimensions dimensions, long count) {
+            buckets.computeIfAbsent(granularity, k -> new TreeMap<>())
+                    .computeIfAbsent(bucket, k -> new HashMap<>())
+                    .computeIfAbsent(dimensions, k -> new long[1])[0] += count;
+        }
+
+        /**
+         * Aggregates ordered by bucket start, daily before hourly for the same start.
+         */
+        public List<TrafficAggregate> toAggregates() {
+            List<TrafficAggregate> result = new ArrayList<>();
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                buckets.getOrDefault(granularity, Collections.emptyNavigableMap()).forEach((bucket, counts) ->
+                        counts.forEach((dimensions, count) -> result.add(
+                                new TrafficAggregate(bucket, granularity, dimensions, count[0]))));
+            }
+            result.sort(Comparator.comparing(TrafficAggregate::getBucketStart)
+                    .thenComparing(aggregate -> aggregate.getGranularity() == RollupGranularity.HOURLY));
+            return result;
+        }
+    }
+}
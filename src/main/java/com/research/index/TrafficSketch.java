@@ -0,0 +1,66 @@
+package com.research.index;
+
+import com.research.model.PlateKey;
+
+import java.util.List;
+
+/**
+ * Fixed-size summary of the plates seen in one traffic window: Space-Saving for the most frequent plates,
+ * Count-Min for per-plate passage counts and HyperLogLog for distinct plates (all and visitors only). Memory does
+ * not depend on the traffic volume, and sketches created with the same parameters merge, so windows combine
+ * across days and lanes.
+ */
+public class TrafficSketch {
+    private final SpaceSaving<PlateKey> heavyHitters;
+    private final CountMinSketch passages;
+    private final HyperLogLog plates;
+    private final HyperLogLog visitorPlates;
+
+    public TrafficSketch(int topCapacity, int countMinWidth, int countMinDepth, int distinctPrecision) {
+        heavyHitters = new SpaceSaving<>(topCapacity);
+        passages = new CountMinSketch(countMinWidth, countMinDepth);
+        plates = new HyperLogLog(distinctPrecision);
+        visitorPlates = new HyperLogLog(distinctPrecision);
+    }
+
+    public void add(PlateKey plate, boolean visitor) {
+        long hash = plate.hash64();
+        heavyHitters.add(plate, 1);
+        passages.add(hash, 1);
+        plates.add(hash);
+        if (visitor) {
+            visitorPlates.add(hash);
+        }
+    }
+
+    public void merge(TrafficSketch other) {
+        heavyHitters.merge(other.heavyHitters);
+        passages.merge(other.passages);
+        plates.merge(other.plates);
+        visitorPlates.merge(other.visitorPlates);
+    }
+
+    public List<HeavyHitter<PlateKey>> top(int k) {
+        return heavyHitters.top(k);
+    }
+
+    public long estimatePassages(PlateKey plate) {
+        return passages.estimate(plate.hash64());
+    }
+
+    public long estimateDistinctPlates() {
+        return plates.estimate();
+    }
+
+    public long estimateDistinctVisitors() {
+        return visitorPlates.estimate();
+    }
+
+    public long getTotalPassages() {
+        return passages.getTotal();
+    }
+
+    public long memoryBytes() {
+        return heavyHitters.memoryBytes() + passages.memoryBytes() + plates.memoryBytes() + visitorPlates.memoryBytes();
+    }
+}
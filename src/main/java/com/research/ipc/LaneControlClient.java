@@ -0,0 +1,230 @@
+package com.research.ipc;
+
+import com.research.model.GateLaneStatus;
+import com.research.model.GatePassDirection;
+import com.research.model.GatePassStatus;
+import com.research.model.PassPriority;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+
+/**
+ * Lane controller side of {@link LaneProtocol}. Request methods only encode into a direct buffer and return the
+ * request id; {@link #receive} sends whatever is buffered and returns the next response, in request order. Send
+ * several requests before receiving to pipeline them; keep it to a few thousand in flight, since responses the
+ * client does not read eventually stop the server from reading further requests. Not thread-safe: one client per
+ * controller thread.
+ */
+public class LaneControlClient implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final GatePassStatus[] PASS_STATUSES = GatePassStatus.values();
+    private static final GateLaneStatus[] LANE_STATUSES = GateLaneStatus.values();
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ArrayDeque<Byte> inFlight = new ArrayDeque<>();
+    private int nextRequestId;
+    private int frameStart;
+
+    public LaneControlClient(Path socketFile) throws IOException {
+        channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.connect(UnixDomainSocketAddress.of(socketFile));
+        in.flip();
+    }
+
+    public static class Response {
+        private final int requestId;
+        private final byte result;
+        private final GatePassStatus passStatus;
+        private final int passId;
+        private final GateLaneStatus laneStatus;
+        private final int capacityPerMinute;
+        private final String message;
+
+        Response(int requestId, byte result, GatePassStatus passStatus, int passId, GateLaneStatus laneStatus,
+                 int capacityPerMinute, String message) {
+            this.requestId = requestId;
+            this.result = result;
+            this.passStatus = passStatus;
+            this.passId = passId;
+            this.laneStatus = laneStatus;
+            this.capacityPerMinute = capacityPerMinute;
+            this.message = message;
+        }
+
+        public int getRequestId() {
+            return requestId;
+        }
+
+        public boolean isOk() {
+            return result == LaneProtocol.OK;
+        }
+
+        /**
+         * {@link LaneProtocol#OK} or one of the error results.
+         */
+        public byte getResult() {
+            return result;
+        }
+
+        public GatePassStatus getPassStatus() {
+            return passStatus;
+        }
+
+        /**
+         * For an admission, the id of the pass: the requested one, or an earlier pass the request repeated.
+         */
+        public int getPassId() {
+            return passId;
+        }
+
+        public GateLaneStatus getLaneStatus() {
+            return laneStatus;
+        }
+
+        public int getCapacityPerMinute() {
+            return capacityPerMinute;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Requests a gate pass; {@code passId} 0 lets the service assign the id (see {@link Response#getPassId()}),
+     * {@code laneId} 0 means no lane, a {@code null} priority is derived from the vehicle type and a {@code null}
+     * or empty plate means no vehicle.
+     */
+    public int admit(int passId, int laneId, GatePassDirection direction, PassPriority priority, String plate)
+            throws IOException {
+        int requestId = begin(LaneProtocol.ADMIT);
+        out.putInt(passId).putInt(laneId).put((byte) direction.ordinal())
+                .put(priority == null ? -1 : (byte) priority.ordinal());
+        LaneProtocol.putString(out, plate == null ? "" : plate);
+        return end(requestId);
+    }
+
+    public int approve(int passId) throws IOException {
+        return simple(LaneProtocol.APPROVE, passId);
+    }
+
+    public int deny(int passId) throws IOException {
+        return simple(LaneProtocol.DENY, passId);
+    }
+
+    public int complete(int passId) throws IOException {
+        return simple(LaneProtocol.COMPLETE, passId);
+    }
+
+    public int laneStatus(int laneId) throws IOException {
+        return simple(LaneProtocol.LANE_STATUS, laneId);
+    }
+
+    public int openLane(int laneId) throws IOException {
+        return simple(LaneProtocol.OPEN_LANE, laneId);
+    }
+
+    public int closeLane(int laneId) throws IOException {
+        return simple(LaneProtocol.CLOSE_LANE, laneId);
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Sends any buffered requests and waits for the next response.
+     */
+    public Response receive() throws IOException {
+        if (inFlight.isEmpty()) {
+            throw new IllegalStateException("No request in flight");
+        }
+        if (out.position() > 0) {
+            flush();
+        }
+        int length = readFrame();
+        int frameEnd = in.position() + length;
+        byte opcode = inFlight.removeFirst();
+        byte result = in.get();
+        int requestId = in.getInt();
+        Response response;
+        if (result != LaneProtocol.OK) {
+            response = new Response(requestId, result, null, 0, null, 0, LaneProtocol.getString(in));
+        } else if (opcode >= LaneProtocol.LANE_STATUS) {
+            response = new Response(requestId, result, null, 0, LANE_STATUSES[in.get()], in.getInt(), null);
+        } else if (opcode == LaneProtocol.ADMIT) {
+            response = new Response(requestId, result, PASS_STATUSES[in.get()], in.getInt(), null, 0, null);
+        } else {
+            response = new Response(requestId, result, PASS_STATUSES[in.get()], 0, null, 0, null);
+        }
+        in.position(frameEnd);
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int simple(byte opcode, int id) throws IOException {
+        int requestId = begin(opcode);
+        out.putInt(id);
+        return end(requestId);
+    }
+
+    private int begin(byte opcode) throws IOException {
+        if (out.remaining() < Integer.BYTES + LaneProtocol.MAX_FRAME) {
+            flush();
+        }
+        int requestId = nextRequestId++;
+        frameStart = out.position();
+        out.position(frameStart + Integer.BYTES);
+        out.put(opcode).putInt(requestId);
+        inFlight.addLast(opcode);
+        return requestId;
+    }
+
+    private int end(int requestId) {
+        out.putInt(frameStart, out.position() - frameStart - Integer.BYTES);
+        return requestId;
+    }
+
+    private int readFrame() throws IOException {
+        fill(Integer.BYTES);
+        int length = in.getInt(in.position());
+        if (length < 1 + Integer.BYTES || length > LaneProtocol.MAX_FRAME) {
+            throw new IOException("Bad frame length " + length);
+        }
+        fill(Integer.BYTES + length);
+        in.position(in.position() + Integer.BYTES);
+        return length;
+    }
+
+    private void fill(int bytes) throws IOException {
+        while (in.remaining() < bytes) {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0) {
+                throw new EOFException("Gate service closed the connection");
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.research.ipc;
+
+import com.research.model.*;
+import com.research.service.GateLaneService;
+import com.research.service.GatePassService;
+import com.research.service.VehicleService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves {@link LaneProtocol} on a Unix domain socket for lane controllers running on the same machine.
+ *
+ * <p>Each connection has its own thread and a pair of direct buffers allocated once. The thread reads whatever
+ * has arrived, executes every complete request in it, appends the responses to the write buffer and writes them
+ * all at once when no complete request is left, so a pipelining client gets one write per burst instead of
+ * one per request. A request that fails, including one whose payload is too short for its operation
+ * ({@link LaneProtocol#INVALID}), gets an error response and the connection stays open; only a length prefix
+ * shorter than a request header or longer than {@link LaneProtocol#MAX_FRAME} closes it, since the stream can
+ * no longer be framed after that.
+ */
+public class LaneControlServer implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final PassPriority[] PRIORITIES = PassPriority.values();
+    private static final GatePassDirection[] DIRECTIONS = GatePassDirection.values();
+
+    private final Path socketFile;
+    private final GatePassService gatePassService;
+    private final GateLaneService gateLaneService;
+    private final VehicleService vehicleService;
+    private final ServerSocketChannel server;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    public LaneControlServer(Path socketFile, GatePassService gatePassService, GateLaneService gateLaneService,
+                             VehicleService vehicleService) {
+        this.socketFile = socketFile;
+        this.gatePassService = gatePassService;
+        this.gateLaneService = gateLaneService;
+        this.vehicleService = vehicleService;
+        try {
+            // a socket file left by a previous run would make bind fail
+            Files.deleteIfExists(socketFile);
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(socketFile));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot listen on " + socketFile, ex);
+        }
+    }
+
+    public void start() {
+        Thread acceptor = new Thread(this::accept, "lane-control-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public Path getSocketFile() {
+        return socketFile;
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            server.close();
+            for (SocketChannel connection : connections) {
+                connection.close();
+            }
+            Files.deleteIfExists(socketFile);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot close " + socketFile, ex);
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                SocketChannel connection = server.accept();
+                connections.add(connection);
+                Thread handler = new Thread(() -> serve(connection),
+                        "lane-control-" + connectionCount.incrementAndGet());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException ex) {
+                // closed, or a connection failed before it was handed over
+            }
+        }
+    }
+
+    private void serve(SocketChannel connection) {
+        ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (connection) {
+            while (connection.read(in) >= 0) {
+                in.flip();
+                while (in.remaining() >= Integer.BYTES) {
+                    int length = in.getInt(in.position());
+                    if (length < 1 + Integer.BYTES || length > LaneProtocol.MAX_FRAME) {
+                        // answer what came before it, then hang up
+                        flush(connection, out);
+                        return;
+                    }
+                    if (in.remaining() < Integer.BYTES + length) {
+                        break;
+                    }
+                    if (out.remaining() < Integer.BYTES + LaneProtocol.MAX_FRAME) {
+                        flush(connection, out);
+                    }
+                    int end = in.position() + Integer.BYTES + length;
+                    in.position(in.position() + Integer.BYTES);
+                    ByteBuffer frame = in.slice(in.position(), length);
+                    in.position(end);
+                    handle(frame, out);
+                }
+                in.compact();
+                flush(connection, out);
+            }
+        } catch (IOException ex) {
+            // client went away
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Executes one request and appends its response. The server checked the frame is long enough for its header;
+     * a payload too short for its operation is answered with {@link LaneProtocol#INVALID}.
+     */
+    private void handle(ByteBuffer frame, ByteBuffer out) {
+        byte opcode = frame.get();
+        int requestId = frame.getInt();
+        int start = out.position();
+        out.position(start + Integer.BYTES);
+        out.put(LaneProtocol.OK).putInt(requestId);
+        try {
+            execute(opcode, frame, out);
+        } catch (RuntimeException ex) {
+            out.position(start + Integer.BYTES);
+            out.put(opcode < LaneProtocol.ADMIT || opcode > LaneProtocol.CLOSE_LANE
+                    ? LaneProtocol.UNKNOWN_OPERATION : LaneProtocol.resultOf(ex)).putInt(requestId);
+            LaneProtocol.putString(out, ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+        }
+        out.putInt(start, out.position() - start - Integer.BYTES);
+    }
+
+    private void execute(byte opcode, ByteBuffer frame, ByteBuffer out) {
+        switch (opcode) {
+            case LaneProtocol.ADMIT -> {
+                int passId = frame.getInt();
+                int laneId = frame.getInt();
+                GatePassDirection direction = DIRECTIONS[frame.get()];
+                byte priority = frame.get();
+                String plate = LaneProtocol.getString(frame);
+                GatePass pass = new GatePass(passId == 0 ? gatePassService.nextId() : passId,
+                        plate.isEmpty() ? null : vehicleService.searchByPlateNumber(plate),
+                        laneId == 0 ? null : gateLaneService.getLaneById(laneId),
+                        direction, GatePassStatus.PENDING, LocalDateTime.now());
+                if (priority >= 0) {
+                    pass.setPriority(PRIORITIES[priority]);
+                }
+                GatePass requested = gatePassService.requestGatePass(pass);
+                out.put((byte) requested.getStatus().ordinal()).putInt(requested.getId());
+            }
+            case LaneProtocol.APPROVE -> {
+                int passId = frame.getInt();
+                gatePassService.approvePass(passId);
+                out.put((byte) GatePassStatus.APPROVED.ordinal());
+            }
+            case LaneProtocol.DENY -> {
+                int passId = frame.getInt();
+                gatePassService.denyPass(passId);
+                out.put((byte) GatePassStatus.DENIED.ordinal());
+            }
+            case LaneProtocol.COMPLETE -> {
+                int passId = frame.getInt();
+                gatePassService.completePass(passId);
+                out.put((byte) GatePassStatus.COMPLETED.ordinal());
+            }
+            case LaneProtocol.LANE_STATUS -> putLane(out, gateLaneService.getLaneById(frame.getInt()));
+            case LaneProtocol.OPEN_LANE -> {
+                int laneId = frame.getInt();
+                gateLaneService.openLane(laneId);
+                putLane(out, gateLaneService.getLaneById(laneId));
+            }
+            case LaneProtocol.CLOSE_LANE -> {
+                int laneId = frame.getInt();
+                gateLaneService.closeLane(laneId);
+                putLane(out, gateLaneService.getLaneById(laneId));
+            }
+            default -> throw new IllegalArgumentException("Unknown operation: " + opcode);
+        }
+    }
+
+    private static void putLane(ByteBuffer out, GateLane lane) {
+        out.put((byte) lane.getStatus().ordinal()).putInt(lane.getCapacityPerMinute());
+    }
+
+    private static void flush(SocketChannel connection, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            connection.write(out);
+        }
+        out.clear();
+    }
+}
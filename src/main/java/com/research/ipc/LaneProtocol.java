@@ -0,0 +1,87 @@
+package com.research.ipc;
+
+import com.research.exception.BusinessRuleViolationException;
+import com.research.exception.DuplicateIdException;
+import com.research.exception.InputMismatchException;
+import com.research.exception.MyNullPointerException;
+import com.research.exception.NotFoundException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary protocol between co-located lane controllers and the gate service. Every frame is a big-endian
+ * {@code int} length (of the rest of the frame) followed by:
+ * <pre>
+ * request:  byte opcode, int requestId, payload
+ * response: byte result, int requestId, payload
+ * </pre>
+ * Request payloads: {@link #ADMIT} {@code int passId (0 = assigned by the service), int laneId (0 = none),
+ * byte direction (0 entry, 1 exit), byte priority (-1 = from vehicle type, else the PassPriority ordinal),
+ * string plate (empty = none)};
+ * {@link #APPROVE}, {@link #DENY}, {@link #COMPLETE} {@code int passId}; {@link #LANE_STATUS},
+ * {@link #OPEN_LANE}, {@link #CLOSE_LANE} {@code int laneId}.
+ *
+ * <p>Response payloads: on {@link #OK}, {@code byte} GatePassStatus ordinal for pass operations, followed for
+ * {@link #ADMIT} by the {@code int} id of the pass (an earlier one if the request repeated it), or {@code byte}
+ * GateLaneStatus ordinal and {@code int capacityPerMinute} for lane operations; otherwise a string message.
+ * Strings are an unsigned {@code short} byte count and UTF-8 bytes. Responses come back in request order, so
+ * a client may pipeline any number of requests.
+ */
+public final class LaneProtocol {
+    public static final byte ADMIT = 1;
+    public static final byte APPROVE = 2;
+    public static final byte DENY = 3;
+    public static final byte COMPLETE = 4;
+    public static final byte LANE_STATUS = 5;
+    public static final byte OPEN_LANE = 6;
+    public static final byte CLOSE_LANE = 7;
+
+    public static final byte OK = 0;
+    public static final byte NOT_FOUND = 1;
+    public static final byte RULE_VIOLATION = 2;
+    public static final byte INVALID = 3;
+    public static final byte DUPLICATE = 4;
+    public static final byte UNKNOWN_OPERATION = 5;
+    public static final byte INTERNAL_ERROR = 6;
+
+    /**
+     * Largest frame either side accepts, length prefix excluded.
+     */
+    public static final int MAX_FRAME = 4096;
+    static final int HEADER = Integer.BYTES + 1 + Integer.BYTES;
+
+    private LaneProtocol() {
+    }
+
+    static byte resultOf(RuntimeException ex) {
+        if (ex instanceof NotFoundException) {
+            return NOT_FOUND;
+        }
+        if (ex instanceof BusinessRuleViolationException) {
+            return RULE_VIOLATION;
+        }
+        if (ex instanceof DuplicateIdException) {
+            return DUPLICATE;
+        }
+        if (ex instanceof InputMismatchException || ex instanceof MyNullPointerException
+                || ex instanceof BufferUnderflowException || ex instanceof IndexOutOfBoundsException) {
+            return INVALID;
+        }
+        return INTERNAL_ERROR;
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_FRAME / 2);
+        buffer.putShort((short) length).put(bytes, 0, length);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,7 @@
+package com.research.model;
+
+public enum AlertType {
+    LANE_BURST,
+    REPEATED_DENIALS,
+    OVERSTAY
+}
@@ -0,0 +1,32 @@
+package com.research.model;
+
+import java.time.Duration;
+
+/**
+ * Thresholds for the anomaly detector: {@code deniedAttempts} denials of one plate within {@code denialWindow},
+ * and an ENTRY not followed by an EXIT within {@code maxStay}. Lane bursts use each lane's own
+ * {@code capacityPerMinute}.
+ */
+public class AnomalyRules {
+    private final int deniedAttempts;
+    private final Duration denialWindow;
+    private final Duration maxStay;
+
+    public AnomalyRules(int deniedAttempts, Duration denialWindow, Duration maxStay) {
+        this.deniedAttempts = deniedAttempts;
+        this.denialWindow = denialWindow;
+        this.maxStay = maxStay;
+    }
+
+    public int getDeniedAttempts() {
+        return deniedAttempts;
+    }
+
+    public Duration getDenialWindow() {
+        return denialWindow;
+    }
+
+    public Duration getMaxStay() {
+        return maxStay;
+    }
+}
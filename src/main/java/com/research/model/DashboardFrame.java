@@ -0,0 +1,75 @@
+package com.research.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * What supervisors see at one moment: vehicles inside, passes waiting for a decision, each lane's status and
+ * completed passes over the last minute, and the latest denials (newest first).
+ */
+public class DashboardFrame {
+    private final LocalDateTime time;
+    private final int occupancy;
+    private final int pendingPasses;
+    private final List<LaneLoad> lanes;
+    private final List<PassTransitionUpdate> recentDenials;
+
+    public DashboardFrame(LocalDateTime time, int occupancy, int pendingPasses, List<LaneLoad> lanes,
+                          List<PassTransitionUpdate> recentDenials) {
+        this.time = time;
+        this.occupancy = occupancy;
+        this.pendingPasses = pendingPasses;
+        this.lanes = lanes;
+        this.recentDenials = recentDenials;
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public int getOccupancy() {
+        return occupancy;
+    }
+
+    public int getPendingPasses() {
+        return pendingPasses;
+    }
+
+    public List<LaneLoad> getLanes() {
+        return lanes;
+    }
+
+    public List<PassTransitionUpdate> getRecentDenials() {
+        return recentDenials;
+    }
+
+    public static class LaneLoad {
+        private final int laneId;
+        private final int laneNumber;
+        private final GateLaneStatus status;
+        private final int passesLastMinute;
+
+        public LaneLoad(int laneId, int laneNumber, GateLaneStatus status, int passesLastMinute) {
+            this.laneId = laneId;
+            this.laneNumber = laneNumber;
+            this.status = status;
+            this.passesLastMinute = passesLastMinute;
+        }
+
+        public int getLaneId() {
+            return laneId;
+        }
+
+        public int getLaneNumber() {
+            return laneNumber;
+        }
+
+        public GateLaneStatus getStatus() {
+            return status;
+        }
+
+        public int getPassesLastMinute() {
+            return passesLastMinute;
+        }
+    }
+}
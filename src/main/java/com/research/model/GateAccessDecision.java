@@ -0,0 +1,9 @@
+package com.research.model;
+
+public enum GateAccessDecision {
+    RESIDENT_ALLOWED,
+    VISITOR_ALLOWED,
+    // plate is known but not allowed in now (disabled vehicle, reservation at another time)
+    DENIED,
+    UNKNOWN_PLATE
+}
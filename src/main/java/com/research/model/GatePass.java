@@ -9,6 +9,8 @@ public class GatePass {
     private GatePassDirection direction;
     private GatePassStatus status;
     private LocalDateTime passTime;
+    // explicit priority; null means derived from the vehicle type
+    private PassPriority priority;
 
     public GatePass(int id, Vehicle vehicle, GateLane lane, GatePassDirection direction,
                     GatePassStatus status, LocalDateTime passTime) {
@@ -44,6 +46,10 @@ public class GatePass {
         return passTime;
     }
 
+    public PassPriority getPriority() {
+        return priority;
+    }
+
     public void setVehicle(Vehicle vehicle) {
         this.vehicle = vehicle;
     }
@@ -63,4 +69,8 @@ public class GatePass {
     public void setPassTime(LocalDateTime passTime) {
         this.passTime = passTime;
     }
-}
\ No newline at end of file
+
+    public void setPriority(PassPriority priority) {
+        this.priority = priority;
+    }
+}
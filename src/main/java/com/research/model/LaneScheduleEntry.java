@@ -0,0 +1,31 @@
+package com.research.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Recommended set of open lanes for the forecasting slot starting at {@code slotStart}.
+ */
+public class LaneScheduleEntry {
+    private final LocalDateTime slotStart;
+    private final double forecastPerMinute;
+    private final List<Integer> openLaneIds;
+
+    public LaneScheduleEntry(LocalDateTime slotStart, double forecastPerMinute, List<Integer> openLaneIds) {
+        this.slotStart = slotStart;
+        this.forecastPerMinute = forecastPerMinute;
+        this.openLaneIds = openLaneIds;
+    }
+
+    public LocalDateTime getSlotStart() {
+        return slotStart;
+    }
+
+    public double getForecastPerMinute() {
+        return forecastPerMinute;
+    }
+
+    public List<Integer> getOpenLaneIds() {
+        return openLaneIds;
+    }
+}
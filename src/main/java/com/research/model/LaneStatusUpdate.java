@@ -0,0 +1,33 @@
+package com.research.model;
+
+/**
+ * Current status of a lane, as pushed to subscribers. {@code status} is {@code null} when the lane was removed.
+ */
+public class LaneStatusUpdate {
+    private final int laneId;
+    private final int laneNumber;
+    private final GateLaneStatus status;
+
+    public LaneStatusUpdate(int laneId, int laneNumber, GateLaneStatus status) {
+        this.laneId = laneId;
+        this.laneNumber = laneNumber;
+        this.status = status;
+    }
+
+    public int getLaneId() {
+        return laneId;
+    }
+
+    public int getLaneNumber() {
+        return laneNumber;
+    }
+
+    public GateLaneStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "lane " + laneId + " (#" + laneNumber + "): " + (status == null ? "REMOVED" : status);
+    }
+}
@@ -0,0 +1,64 @@
+package com.research.model;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Queueing class of a gate pass, highest first. EMERGENCY is absolute: it is served before every other class.
+ * For the others, {@code agingAllowance} is how long a vehicle may be overtaken by higher classes: a vehicle is
+ * served before any vehicle whose arrival plus allowance is later than its own, so lower classes are delayed
+ * but never starved.
+ */
+public enum PassPriority {
+    EMERGENCY(Duration.ZERO, "ambulance", "fire", "rescue", "emergency"),
+    SECURITY(Duration.ofSeconds(15), "police", "security", "patrol"),
+    SERVICE(Duration.ofSeconds(60), "service", "maintenance", "utility truck", "utility van", "garbage", "delivery"),
+    NORMAL(Duration.ofSeconds(120));
+
+    private final Duration agingAllowance;
+    private final String[] vehicleTypeKeywords;
+
+    PassPriority(Duration agingAllowance, String... vehicleTypeKeywords) {
+        this.agingAllowance = agingAllowance;
+        this.vehicleTypeKeywords = vehicleTypeKeywords;
+    }
+
+    public Duration getAgingAllowance() {
+        return agingAllowance;
+    }
+
+    public boolean isAbsolute() {
+        return this == EMERGENCY;
+    }
+
+    /**
+     * The pass's explicit priority, otherwise the one its vehicle type name suggests ("Fire Truck" is
+     * EMERGENCY), otherwise NORMAL.
+     */
+    public static PassPriority of(GatePass pass) {
+        if (pass.getPriority() != null) {
+            return pass.getPriority();
+        }
+        Vehicle vehicle = pass.getVehicle();
+        if (vehicle == null || vehicle.getVehicleType() == null || vehicle.getVehicleType().getName() == null) {
+            return NORMAL;
+        }
+        return forVehicleType(vehicle.getVehicleType().getName());
+    }
+
+    /**
+     * Keywords match whole words of the type name, so "Sport Utility Vehicle" is not a utility truck and
+     * "Firebird" is not a fire engine.
+     */
+    public static PassPriority forVehicleType(String typeName) {
+        String name = " " + String.join(" ", typeName.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) + " ";
+        for (PassPriority priority : values()) {
+            for (String keyword : priority.vehicleTypeKeywords) {
+                if (name.contains(" " + keyword + " ")) {
+                    return priority;
+                }
+            }
+        }
+        return NORMAL;
+    }
+}
@@ -0,0 +1,69 @@
+package com.research.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A gate pass status change, as pushed to subscribers. Copied from the pass when it happened, so later changes
+ * to the pass do not show through. {@code from} is {@code null} for a new request; {@code laneId} and
+ * {@code plate} are {@code null} when the pass has no lane or vehicle.
+ */
+public class PassTransitionUpdate {
+    private final int passId;
+    private final Integer laneId;
+    private final String plate;
+    private final GatePassDirection direction;
+    private final GatePassStatus from;
+    private final GatePassStatus to;
+    private final LocalDateTime passTime;
+
+    public PassTransitionUpdate(int passId, Integer laneId, String plate, GatePassDirection direction,
+                                GatePassStatus from, GatePassStatus to, LocalDateTime passTime) {
+        this.passId = passId;
+        this.laneId = laneId;
+        this.plate = plate;
+        this.direction = direction;
+        this.from = from;
+        this.to = to;
+        this.passTime = passTime;
+    }
+
+    public static PassTransitionUpdate of(GatePass pass, GatePassStatus from, GatePassStatus to) {
+        return new PassTransitionUpdate(pass.getId(), pass.getLane() == null ? null : pass.getLane().getId(),
+                pass.getVehicle() == null ? null : pass.getVehicle().getPlateNumber(), pass.getDirection(), from, to,
+                pass.getPassTime());
+    }
+
+    public int getPassId() {
+        return passId;
+    }
+
+    public Integer getLaneId() {
+        return laneId;
+    }
+
+    public String getPlate() {
+        return plate;
+    }
+
+    public GatePassDirection getDirection() {
+        return direction;
+    }
+
+    public GatePassStatus getFrom() {
+        return from;
+    }
+
+    public GatePassStatus getTo() {
+        return to;
+    }
+
+    public LocalDateTime getPassTime() {
+        return passTime;
+    }
+
+    @Override
+    public String toString() {
+        return "pass " + passId + (plate == null ? "" : " " + plate) + (laneId == null ? "" : " lane " + laneId)
+                + ": " + from + " -> " + to;
+    }
+}
@@ -0,0 +1,172 @@
+package com.research.model;
+
+/**
+ * Canonical, case- and separator-insensitive key for a licence plate.
+ * "abc-123", "ABC 123" and "Abc123" all map to the same key.
+ *
+ * <p>Plates of up to 12 ASCII letters/digits are packed into a single base-37 {@code long}; longer or
+ * non-ASCII plates fall back to their normalized string.
+ */
+public final class PlateKey {
+    /**
+     * Returned by {@link #pack(CharSequence)} when the plate cannot be packed into a long.
+     */
+    public static final long NOT_PACKABLE = -1L;
+
+    private static final int MAX_PACKED_LENGTH = 12;
+    private static final int RADIX = 37;
+
+    private final long packed;
+    private final String overflow;
+
+    private PlateKey(long packed, String overflow) {
+        this.packed = packed;
+        this.overflow = overflow;
+    }
+
+    public static PlateKey of(CharSequence plate) {
+        long packed = pack(plate);
+        return packed == NOT_PACKABLE ? new PlateKey(NOT_PACKABLE, normalize(plate)) : new PlateKey(packed, null);
+    }
+
+    /**
+     * Packs a raw plate without allocating. Returns {@link #NOT_PACKABLE} for empty, long or non-ASCII plates.
+     */
+    public static long pack(CharSequence plate) {
+        if (plate == null) {
+            return NOT_PACKABLE;
+        }
+        long packed = 0;
+        int length = 0;
+        for (int i = 0; i < plate.length(); i++) {
+            int code = codeOf(plate.charAt(i));
+            if (code == 0) {
+                continue;
+            }
+            if (code < 0 || ++length > MAX_PACKED_LENGTH) {
+                return NOT_PACKABLE;
+            }
+            packed = packed * RADIX + code;
+        }
+        return length == 0 ? NOT_PACKABLE : packed;
+    }
+
+    /**
+     * Upper-cases the plate and drops everything that is not a letter or a digit.
+     */
+    public static String normalize(CharSequence plate) {
+        if (plate == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(plate.length());
+        for (int i = 0; i < plate.length(); i++) {
+            char c = plate.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toUpperCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * 1-10 for digits, 11-36 for ASCII letters, 0 for separators and -1 for characters that prevent packing.
+     */
+    private static int codeOf(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 1;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 11;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 11;
+        }
+        if (c < 128) {
+            return 0;
+        }
+        return Character.isLetterOrDigit(c) ? -1 : 0;
+    }
+
+    /**
+     * Well-mixed 64-bit hash of a raw plate, equal to {@code of(plate).hash64()} but allocation-free for
+     * packable plates.
+     */
+    public static long hash64(CharSequence plate) {
+        long packed = pack(plate);
+        return packed != NOT_PACKABLE ? mix(packed) : overflowHash(normalize(plate));
+    }
+
+    public long hash64() {
+        return overflow == null ? mix(packed) : overflowHash(overflow);
+    }
+
+    private static long overflowHash(String normalized) {
+        return mix(normalized.hashCode() ^ ((long) normalized.length() << 32) ^ 0x5DEECE66DL);
+    }
+
+    // MurmurHash3 fmix64: consecutive packed plates must land far apart
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public static int hash(long packed) {
+        long h = packed * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public boolean isPacked() {
+        return overflow == null;
+    }
+
+    public long getPacked() {
+        return packed;
+    }
+
+    public String getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * The normalized plate text, e.g. "ABC123".
+     */
+    public String text() {
+        if (overflow != null) {
+            return overflow;
+        }
+        char[] chars = new char[MAX_PACKED_LENGTH];
+        int start = chars.length;
+        for (long rest = packed; rest > 0; rest /= RADIX) {
+            int code = (int) (rest % RADIX);
+            chars[--start] = code <= 10 ? (char) ('0' + code - 1) : (char) ('A' + code - 11);
+        }
+        return new String(chars, start, chars.length - start);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PlateKey)) {
+            return false;
+        }
+        PlateKey other = (PlateKey) o;
+        return packed == other.packed && (overflow == null ? other.overflow == null : overflow.equals(other.overflow));
+    }
+
+    @Override
+    public int hashCode() {
+        return overflow == null ? hash(packed) : overflow.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text();
+    }
+}
@@ -0,0 +1,25 @@
+package com.research.model;
+
+import java.time.Duration;
+
+/**
+ * How long gate passes are kept at full detail, and how long their hourly aggregates are kept before being
+ * folded into daily ones. Daily aggregates are kept indefinitely.
+ */
+public class RetentionPolicy {
+    private final Duration rawRetention;
+    private final Duration hourlyRetention;
+
+    public RetentionPolicy(Duration rawRetention, Duration hourlyRetention) {
+        this.rawRetention = rawRetention;
+        this.hourlyRetention = hourlyRetention;
+    }
+
+    public Duration getRawRetention() {
+        return rawRetention;
+    }
+
+    public Duration getHourlyRetention() {
+        return hourlyRetention;
+    }
+}
@@ -0,0 +1,22 @@
+package com.research.model;
+
+/**
+ * How many visitor vehicles and passengers a single booking slot may hold.
+ */
+public class SlotCapacity {
+    private final int maxVehicles;
+    private final int maxPassengers;
+
+    public SlotCapacity(int maxVehicles, int maxPassengers) {
+        this.maxVehicles = maxVehicles;
+        this.maxPassengers = maxPassengers;
+    }
+
+    public int getMaxVehicles() {
+        return maxVehicles;
+    }
+
+    public int getMaxPassengers() {
+        return maxPassengers;
+    }
+}
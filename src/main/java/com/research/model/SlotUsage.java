@@ -0,0 +1,27 @@
+package com.research.model;
+
+/**
+ * Vehicle and passenger totals over one or more booking slots.
+ */
+public class SlotUsage {
+    private final long vehicles;
+    private final long passengers;
+
+    public SlotUsage(long vehicles, long passengers) {
+        this.vehicles = vehicles;
+        this.passengers = passengers;
+    }
+
+    public long getVehicles() {
+        return vehicles;
+    }
+
+    public long getPassengers() {
+        return passengers;
+    }
+
+    @Override
+    public String toString() {
+        return vehicles + " vehicles, " + passengers + " passengers";
+    }
+}
@@ -0,0 +1,37 @@
+package com.research.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of gate passes with the given dimensions in the bucket starting at {@code bucketStart}.
+ */
+public class TrafficAggregate {
+    private final LocalDateTime bucketStart;
+    private final RollupGranularity granularity;
+    private final TrafficDimensions dimensions;
+    private final long count;
+
+    public TrafficAggregate(LocalDateTime bucketStart, RollupGranularity granularity, TrafficDimensions dimensions,
+                            long count) {
+        this.bucketStart = bucketStart;
+        this.granularity = granularity;
+        this.dimensions = dimensions;
+        this.count = count;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public RollupGranularity getGranularity() {
+        return granularity;
+    }
+
+    public TrafficDimensions getDimensions() {
+        return dimensions;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
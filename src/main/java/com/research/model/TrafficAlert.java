@@ -0,0 +1,49 @@
+package com.research.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A security alert raised by the anomaly detector. {@code laneId} or {@code plate} is {@code null} when the
+ * rule does not concern it.
+ */
+public class TrafficAlert {
+    private final AlertType type;
+    private final LocalDateTime detectedAt;
+    private final Integer laneId;
+    private final String plate;
+    private final String details;
+
+    public TrafficAlert(AlertType type, LocalDateTime detectedAt, Integer laneId, String plate, String details) {
+        this.type = type;
+        this.detectedAt = detectedAt;
+        this.laneId = laneId;
+        this.plate = plate;
+        this.details = details;
+    }
+
+    public AlertType getType() {
+        return type;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public Integer getLaneId() {
+        return laneId;
+    }
+
+    public String getPlate() {
+        return plate;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+    @Override
+    public String toString() {
+        return detectedAt + " " + type + (laneId == null ? "" : " lane " + laneId)
+                + (plate == null ? "" : " plate " + plate) + ": " + details;
+    }
+}
@@ -0,0 +1,68 @@
+package com.research.model;
+
+import java.util.Objects;
+
+/**
+ * What traffic aggregates are grouped by. {@code laneId} and {@code vehicleType} are {@code null} when the pass
+ * had no lane or vehicle (type).
+ */
+public final class TrafficDimensions {
+    private final Integer laneId;
+    private final GatePassDirection direction;
+    private final String vehicleType;
+    private final GatePassStatus status;
+
+    public TrafficDimensions(Integer laneId, GatePassDirection direction, String vehicleType, GatePassStatus status) {
+        this.laneId = laneId;
+        this.direction = direction;
+        this.vehicleType = vehicleType;
+        this.status = status;
+    }
+
+    public static TrafficDimensions of(GatePass pass) {
+        Vehicle vehicle = pass.getVehicle();
+        return new TrafficDimensions(pass.getLane() == null ? null : pass.getLane().getId(), pass.getDirection(),
+                vehicle == null || vehicle.getVehicleType() == null ? null : vehicle.getVehicleType().getName(),
+                pass.getStatus());
+    }
+
+    public Integer getLaneId() {
+        return laneId;
+    }
+
+    public GatePassDirection getDirection() {
+        return direction;
+    }
+
+    public String getVehicleType() {
+        return vehicleType;
+    }
+
+    public GatePassStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TrafficDimensions)) {
+            return false;
+        }
+        TrafficDimensions other = (TrafficDimensions) o;
+        return Objects.equals(laneId, other.laneId) && direction == other.direction
+                && Objects.equals(vehicleType, other.vehicleType) && status == other.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(laneId, direction, vehicleType, status);
+    }
+
+    @Override
+    public String toString() {
+        return "lane " + (laneId == null ? "-" : laneId) + ", " + direction + ", "
+                + (vehicleType == null ? "-" : vehicleType) + ", " + status;
+    }
+}
@@ -0,0 +1,35 @@
+package com.research.replication;
+
+/**
+ * One entry of a {@link ChangeFeed}: the latest state of an entity, or a tombstone once it was deleted.
+ */
+public class Change<T> {
+    private final long sequence;
+    private final int id;
+    private final T entity;
+
+    Change(long sequence, int id, T entity) {
+        this.sequence = sequence;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * The saved entity, {@code null} for a deletion.
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    public boolean isDeleted() {
+        return entity == null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.research.replication;
+
+import java.util.List;
+
+/**
+ * Result of {@link ChangeFeed#changesSince}: changes in sequence order and the version a reader reaches once
+ * it applied them.
+ */
+public class ChangeBatch<T> {
+    private final List<Change<T>> changes;
+    private final long toVersion;
+    private final boolean hasMore;
+    private final boolean resyncRequired;
+
+    ChangeBatch(List<Change<T>> changes, long toVersion, boolean hasMore, boolean resyncRequired) {
+        this.changes = changes;
+        this.toVersion = toVersion;
+        this.hasMore = hasMore;
+        this.resyncRequired = resyncRequired;
+    }
+
+    public List<Change<T>> getChanges() {
+        return changes;
+    }
+
+    public long getToVersion() {
+        return toVersion;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * The reader is older than the last tombstone purge: it must drop its state and read again from version 0.
+     */
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+}
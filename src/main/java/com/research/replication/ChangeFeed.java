@@ -0,0 +1,121 @@
+package com.research.replication;
+
+import com.research.repository.ObservableRepository;
+import com.research.repository.RepositoryListener;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Versioned change log of one repository for pull-based replicas.
+ *
+ * <p>Every save or delete gets the next sequence number. The log is compacted as it goes: a newer change to an
+ * entity supersedes its previous entry, so the log never holds more than one entry per entity id and reading it
+ * from version 0 yields the repository's full current state. Deletes leave tombstones so readers learn about
+ * them; {@link #purgeTombstones} drops old ones once every reader has moved past them, and a reader still behind
+ * the purge point is told to resync.
+ */
+public class ChangeFeed<T> implements RepositoryListener<T> {
+    private final ToIntFunction<T> idOf;
+    private final NavigableMap<Long, Change<T>> log = new TreeMap<>();
+    private final Map<Integer, Long> latestById = new HashMap<>();
+    private long sequence;
+    private long purgedThrough;
+
+    public ChangeFeed(ToIntFunction<T> idOf) {
+        this.idOf = idOf;
+    }
+
+    /**
+     * Creates a feed that follows {@code repository}, starting from its current contents.
+     */
+    public static <T> ChangeFeed<T> follow(ObservableRepository<T> repository, ToIntFunction<T> idOf) {
+        ChangeFeed<T> feed = new ChangeFeed<>(idOf);
+        repository.addListener(feed);
+        for (T entity : repository.findAll()) {
+            feed.seed(entity);
+        }
+        return feed;
+    }
+
+    @Override
+    public synchronized void onSave(T entity) {
+        append(idOf.applyAsInt(entity), entity);
+    }
+
+    @Override
+    public synchronized void onDelete(T entity) {
+        append(idOf.applyAsInt(entity), null);
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code version}, oldest first. Version 0 means "empty replica": tombstones
+     * are skipped.
+     */
+    public synchronized ChangeBatch<T> changesSince(long version, int limit) {
+        if (version != 0 && version < purgedThrough) {
+            return new ChangeBatch<>(List.of(), 0, true, true);
+        }
+        List<Change<T>> changes = new ArrayList<>(Math.min(limit, log.size()));
+        Iterator<Change<T>> pending = log.tailMap(version, false).values().iterator();
+        long last = version;
+        // an empty replica gets everything up to the purge point at once, or it would stop short of it and resync
+        while (pending.hasNext() && (changes.size() < limit || (version == 0 && last < purgedThrough))) {
+            Change<T> change = pending.next();
+            last = change.getSequence();
+            if (version == 0 && change.isDeleted()) {
+                continue;
+            }
+            changes.add(change);
+        }
+        boolean hasMore = pending.hasNext();
+        long toVersion = hasMore ? last : sequence;
+        return new ChangeBatch<>(changes, toVersion, hasMore, false);
+    }
+
+    /**
+     * Drops tombstones up to and including {@code throughVersion}; readers older than that must resync.
+     */
+    public synchronized int purgeTombstones(long throughVersion) {
+        int purged = 0;
+        Iterator<Change<T>> changes = log.headMap(throughVersion, true).values().iterator();
+        while (changes.hasNext()) {
+            Change<T> change = changes.next();
+            if (change.isDeleted()) {
+                changes.remove();
+                latestById.remove(change.getId());
+                purged++;
+            }
+        }
+        purgedThrough = Math.max(purgedThrough, Math.min(throughVersion, sequence));
+        return purged;
+    }
+
+    public synchronized long getLatestVersion() {
+        return sequence;
+    }
+
+    /**
+     * Entries currently retained after compaction.
+     */
+    public synchronized int size() {
+        return log.size();
+    }
+
+    // Initial contents only count if no change to the same entity was recorded while seeding
+    private synchronized void seed(T entity) {
+        int id = idOf.applyAsInt(entity);
+        if (!latestById.containsKey(id)) {
+            append(id, entity);
+        }
+    }
+
+    private void append(int id, T entity) {
+        long next = ++sequence;
+        Long previous = latestById.put(id, next);
+        if (previous != null) {
+            log.remove(previous);
+        }
+        log.put(next, new Change<>(next, id, entity));
+    }
+}
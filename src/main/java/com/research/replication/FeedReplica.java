@@ -0,0 +1,71 @@
+package com.research.replication;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local copy of a repository kept in sync by pulling its {@link ChangeFeed}, e.g. inside an edge gate controller.
+ */
+public class FeedReplica<T> {
+    private static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    private final ChangeFeed<T> feed;
+    private final int batchSize;
+    private final Map<Integer, T> entities = new HashMap<>();
+    private long version;
+
+    public FeedReplica(ChangeFeed<T> feed) {
+        this(feed, DEFAULT_BATCH_SIZE);
+    }
+
+    public FeedReplica(ChangeFeed<T> feed, int batchSize) {
+        this.feed = feed;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Pulls and applies every change since the last sync; returns how many changes were applied.
+     */
+    public synchronized int sync() {
+        int applied = 0;
+        while (true) {
+            ChangeBatch<T> batch = feed.changesSince(version, batchSize);
+            if (batch.isResyncRequired()) {
+                entities.clear();
+                version = 0;
+                continue;
+            }
+            for (Change<T> change : batch.getChanges()) {
+                if (change.isDeleted()) {
+                    entities.remove(change.getId());
+                } else {
+                    entities.put(change.getId(), change.getEntity());
+                }
+            }
+            applied += batch.getChanges().size();
+            version = batch.getToVersion();
+            if (!batch.hasMore()) {
+                return applied;
+            }
+        }
+    }
+
+    public synchronized Optional<T> findById(int id) {
+        return Optional.ofNullable(entities.get(id));
+    }
+
+    public synchronized List<T> findAll() {
+        return new ArrayList<>(entities.values());
+    }
+
+    public synchronized int size() {
+        return entities.size();
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+}
@@ -1,45 +1,168 @@
 package com.research.repository;
 
 import com.research.model.GateLane;
+import com.research.model.GateLaneStatus;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class GateLaneRepository implements BaseRepository<GateLane> {
+/**
+ * Lanes are indexed by lane number and partitioned by status. The lane controller polls
+ * {@link #findByStatus} far more often than lanes change, so each partition is published as an immutable
+ * snapshot: a change only invalidates the snapshot of the partitions it touched, the next read rebuilds it
+ * once, and every later read returns the same list without locking or copying.
+ *
+ * <p>Lanes are mutable, so the indexes follow {@link #save}/{@link #update}: a status changed on the object
+ * without an update is not seen until the next one. Snapshots hold the live lane objects, so between
+ * {@code setStatus} and {@code update} a lane is still listed under its old status while its
+ * {@code getStatus()} already returns the new one.
+ */
+public class GateLaneRepository implements ObservableRepository<GateLane> {
     private final Map<Integer, GateLane> storage = new HashMap<>();
+    // lane number -> lanes with it by id; the service keeps numbers unique, the index does not rely on it
+    private final Map<Integer, Map<Integer, GateLane>> numberIndex = new HashMap<>();
+    private final Map<Integer, Integer> indexedNumbers = new HashMap<>();
+    private final Map<GateLaneStatus, Map<Integer, GateLane>> statusIndex = new EnumMap<>(GateLaneStatus.class);
+    private final Map<Integer, GateLaneStatus> indexedStatuses = new HashMap<>();
+    // Snapshot per status ordinal, null when the partition changed since it was last built
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private volatile List<GateLane>[] snapshots = new List[GateLaneStatus.values().length];
+    private final List<RepositoryListener<GateLane>> listeners = new CopyOnWriteArrayList<>();
+
+    public GateLaneRepository() {
+        for (GateLaneStatus status : GateLaneStatus.values()) {
+            statusIndex.put(status, new LinkedHashMap<>());
+        }
+    }
 
     @Override
-    public void save(GateLane entity) {
+    public synchronized void save(GateLane entity) {
         storage.put(entity.getId(), entity);
+        index(entity);
+        listeners.forEach(listener -> listener.onSave(entity));
     }
 
     @Override
-    public Optional<GateLane> findById(int id) {
+    public synchronized Optional<GateLane> findById(int id) {
         return Optional.ofNullable(storage.get(id));
     }
 
     @Override
-    public List<GateLane> findAll() {
+    public synchronized List<GateLane> findAll() {
         return new ArrayList<>(storage.values());
     }
 
     @Override
-    public void update(GateLane entity) {
+    public synchronized void update(GateLane entity) {
         storage.put(entity.getId(), entity);
+        index(entity);
+        listeners.forEach(listener -> listener.onSave(entity));
     }
 
     @Override
-    public void deleteById(int id) {
-        storage.remove(id);
+    public synchronized void deleteById(int id) {
+        GateLane removed = storage.remove(id);
+        unindex(id);
+        if (removed != null) {
+            listeners.forEach(listener -> listener.onDelete(removed));
+        }
     }
 
     @Override
-    public boolean existsById(int id) {
+    public synchronized boolean existsById(int id) {
         return storage.containsKey(id);
     }
 
-    public Optional<GateLane> findByLaneNumber(int laneNumber) {
-        return storage.values().stream()
-                .filter(lane -> lane.getLaneNumber() == laneNumber)
-                .findFirst();
+    /**
+     * The lane with {@code laneNumber}; if several share it, the one indexed under it first.
+     */
+    public synchronized Optional<GateLane> findByLaneNumber(int laneNumber) {
+        Map<Integer, GateLane> lanes = numberIndex.get(laneNumber);
+        return lanes == null ? Optional.empty() : lanes.values().stream().findFirst();
+    }
+
+    /**
+     * Lanes saved or updated with the status, as an unmodifiable list. Later saves and updates do not change the
+     * list, but its lanes are the live objects (see the class comment).
+     */
+    public List<GateLane> findByStatus(GateLaneStatus status) {
+        List<GateLane> snapshot = snapshots[status.ordinal()];
+        return snapshot != null ? snapshot : rebuild(status);
+    }
+
+    @Override
+    public void addListener(RepositoryListener<GateLane> listener) {
+        listeners.add(listener);
+    }
+
+    private synchronized List<GateLane> rebuild(GateLaneStatus status) {
+        List<GateLane>[] current = snapshots;
+        if (current[status.ordinal()] == null) {
+            List<GateLane>[] next = current.clone();
+            next[status.ordinal()] = List.copyOf(statusIndex.get(status).values());
+            snapshots = next;
+            return next[status.ordinal()];
+        }
+        return current[status.ordinal()];
+    }
+
+    private void index(GateLane lane) {
+        Integer previousNumber = indexedNumbers.put(lane.getId(), lane.getLaneNumber());
+        if (previousNumber != null && previousNumber != lane.getLaneNumber()) {
+            unindexNumber(previousNumber, lane.getId());
+        }
+        numberIndex.computeIfAbsent(lane.getLaneNumber(), number -> new LinkedHashMap<>()).put(lane.getId(), lane);
+
+        GateLaneStatus status = lane.getStatus();
+        GateLaneStatus previousStatus = status == null
+                ? indexedStatuses.remove(lane.getId())
+                : indexedStatuses.put(lane.getId(), status);
+        if (previousStatus == status && status != null) {
+            // same partition: replace in place, and keep the snapshot if it already holds this very object
+            if (statusIndex.get(status).put(lane.getId(), lane) != lane) {
+                invalidate(status, null);
+            }
+            return;
+        }
+        if (previousStatus != null) {
+            statusIndex.get(previousStatus).remove(lane.getId());
+        }
+        if (status != null) {
+            statusIndex.get(status).put(lane.getId(), lane);
+        }
+        invalidate(previousStatus, status);
+    }
+
+    private void unindex(int id) {
+        Integer previousNumber = indexedNumbers.remove(id);
+        if (previousNumber != null) {
+            unindexNumber(previousNumber, id);
+        }
+        GateLaneStatus previousStatus = indexedStatuses.remove(id);
+        if (previousStatus != null) {
+            statusIndex.get(previousStatus).remove(id);
+            invalidate(previousStatus, null);
+        }
+    }
+
+    private void unindexNumber(int laneNumber, int id) {
+        Map<Integer, GateLane> lanes = numberIndex.get(laneNumber);
+        if (lanes != null) {
+            lanes.remove(id);
+            if (lanes.isEmpty()) {
+                numberIndex.remove(laneNumber);
+            }
+        }
+    }
+
+    private void invalidate(GateLaneStatus first, GateLaneStatus second) {
+        List<GateLane>[] next = snapshots.clone();
+        if (first != null) {
+            next[first.ordinal()] = null;
+        }
+        if (second != null) {
+            next[second.ordinal()] = null;
+        }
+        snapshots = next;
     }
-}
\ No newline at end of file
+}
@@ -2,38 +2,86 @@ package com.research.repository;
 
 import com.research.model.GatePass;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
+/**
+ * Passes are also indexed by {@code passTime}, so retention can find old passes without scanning.
+ */
 public class GatePassRepository implements BaseRepository<GatePass> {
     private final Map<Integer, GatePass> storage = new HashMap<>();
+    private final NavigableMap<LocalDateTime, Map<Integer, GatePass>> timeIndex = new TreeMap<>();
+    private final Map<Integer, LocalDateTime> indexedTimes = new HashMap<>();
 
     @Override
-    public void save(GatePass entity) {
+    public synchronized void save(GatePass entity) {
         storage.put(entity.getId(), entity);
+        indexTime(entity);
     }
 
     @Override
-    public Optional<GatePass> findById(int id) {
+    public synchronized Optional<GatePass> findById(int id) {
         return Optional.ofNullable(storage.get(id));
     }
 
     @Override
-    public List<GatePass> findAll() {
+    public synchronized List<GatePass> findAll() {
         return new ArrayList<>(storage.values());
     }
 
     @Override
-    public void update(GatePass entity) {
+    public synchronized void update(GatePass entity) {
         storage.put(entity.getId(), entity);
+        indexTime(entity);
     }
 
     @Override
-    public void deleteById(int id) {
+    public synchronized void deleteById(int id) {
         storage.remove(id);
+        unindexTime(id);
     }
 
     @Override
-    public boolean existsById(int id) {
+    public synchronized boolean existsById(int id) {
         return storage.containsKey(id);
     }
-}
\ No newline at end of file
+
+    public synchronized int count() {
+        return storage.size();
+    }
+
+    /**
+     * Passes with a {@code passTime} within {@code [from, to)}, earliest first. Passes without a time are never
+     * returned.
+     */
+    public synchronized List<GatePass> findByPassTimeBetween(LocalDateTime from, LocalDateTime to) {
+        List<GatePass> result = new ArrayList<>();
+        if (!from.isBefore(to)) {
+            return result;
+        }
+        for (Map<Integer, GatePass> passes : timeIndex.subMap(from, true, to, false).values()) {
+            result.addAll(passes.values());
+        }
+        return result;
+    }
+
+    private void indexTime(GatePass pass) {
+        unindexTime(pass.getId());
+        if (pass.getPassTime() != null) {
+            timeIndex.computeIfAbsent(pass.getPassTime(), k -> new LinkedHashMap<>(2)).put(pass.getId(), pass);
+            indexedTimes.put(pass.getId(), pass.getPassTime());
+        }
+    }
+
+    private void unindexTime(int id) {
+        LocalDateTime previous = indexedTimes.remove(id);
+        if (previous == null) {
+            return;
+        }
+        Map<Integer, GatePass> passes = timeIndex.get(previous);
+        passes.remove(id);
+        if (passes.isEmpty()) {
+            timeIndex.remove(previous);
+        }
+    }
+}
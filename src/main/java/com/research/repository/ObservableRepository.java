@@ -0,0 +1,8 @@
+package com.research.repository;
+
+/**
+ * Repository that reports its writes to {@link RepositoryListener}s.
+ */
+public interface ObservableRepository<T> extends BaseRepository<T> {
+    void addListener(RepositoryListener<T> listener);
+}
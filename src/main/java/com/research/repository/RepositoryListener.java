@@ -0,0 +1,17 @@
+package com.research.repository;
+
+/**
+ * Callback for derived structures (indexes, feeds) that must follow a repository's writes.
+ * Invoked synchronously while the repository lock is held, so implementations must be quick.
+ */
+public interface RepositoryListener<T> {
+    /**
+     * Called after an entity was saved or updated.
+     */
+    void onSave(T entity);
+
+    /**
+     * Called after an entity was deleted.
+     */
+    void onDelete(T entity);
+}
@@ -3,43 +3,81 @@ package com.research.repository;
 import com.research.model.Resident;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class ResidentRepository implements BaseRepository<Resident> {
+public class ResidentRepository implements ObservableRepository<Resident> {
     private final Map<Integer, Resident> storage = new HashMap<>();
+    private final Map<String, Resident> emailIndex = new HashMap<>();
+    private final Map<Integer, String> indexedEmails = new HashMap<>();
+    private final List<RepositoryListener<Resident>> listeners = new CopyOnWriteArrayList<>();
 
     @Override
-    public void save(Resident entity) {
+    public synchronized void save(Resident entity) {
         storage.put(entity.getId(), entity);
+        indexEmail(entity);
+        listeners.forEach(listener -> listener.onSave(entity));
     }
 
     @Override
-    public Optional<Resident> findById(int id) {
+    public synchronized Optional<Resident> findById(int id) {
         return Optional.ofNullable(storage.get(id));
     }
 
     @Override
-    public List<Resident> findAll() {
+    public synchronized List<Resident> findAll() {
         return new ArrayList<>(storage.values());
     }
 
     @Override
-    public void update(Resident entity) {
+    public synchronized void update(Resident entity) {
         storage.put(entity.getId(), entity);
+        indexEmail(entity);
+        listeners.forEach(listener -> listener.onSave(entity));
     }
 
     @Override
-    public void deleteById(int id) {
-        storage.remove(id);
+    public synchronized void deleteById(int id) {
+        Resident removed = storage.remove(id);
+        unindexEmail(id);
+        if (removed != null) {
+            listeners.forEach(listener -> listener.onDelete(removed));
+        }
     }
 
     @Override
-    public boolean existsById(int id) {
+    public synchronized boolean existsById(int id) {
         return storage.containsKey(id);
     }
 
-    public Optional<Resident> findByEmail(String email) {
-        return storage.values().stream()
-                .filter(resident -> resident.getEmail().equalsIgnoreCase(email))
-                .findFirst();
+    public synchronized Optional<Resident> findByEmail(String email) {
+        return email == null ? Optional.empty() : Optional.ofNullable(emailIndex.get(emailKey(email)));
     }
-}
\ No newline at end of file
+
+    @Override
+    public void addListener(RepositoryListener<Resident> listener) {
+        listeners.add(listener);
+    }
+
+    private void indexEmail(Resident resident) {
+        unindexEmail(resident.getId());
+        if (resident.getEmail() != null) {
+            String key = emailKey(resident.getEmail());
+            emailIndex.put(key, resident);
+            indexedEmails.put(resident.getId(), key);
+        }
+    }
+
+    private void unindexEmail(int id) {
+        String previous = indexedEmails.remove(id);
+        if (previous != null) {
+            Resident indexed = emailIndex.get(previous);
+            if (indexed != null && indexed.getId() == id) {
+                emailIndex.remove(previous);
+            }
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,51 +1,116 @@
 package com.research.repository;
 
+import com.research.index.PlateKeyMap;
+import com.research.model.PlateKey;
 import com.research.model.Vehicle;
-import com.research.repository.BaseRepository;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-public class VehicleRepository implements BaseRepository<Vehicle> {
+public class VehicleRepository implements ObservableRepository<Vehicle> {
     private final Map<Integer, Vehicle> storage = new HashMap<>();
+    private final PlateKeyMap<Vehicle> plateIndex = new PlateKeyMap<>();
+    // Plate key each vehicle was indexed under, so a changed plate can be unindexed on update
+    private final Map<Integer, PlateKey> indexedPlates = new HashMap<>();
+    // Owner (resident) id -> that resident's vehicles by vehicle id, plus the owner each vehicle was indexed under
+    private final Map<Integer, Map<Integer, Vehicle>> ownerIndex = new HashMap<>();
+    private final Map<Integer, Integer> indexedOwners = new HashMap<>();
+    private final List<RepositoryListener<Vehicle>> listeners = new CopyOnWriteArrayList<>();
 
     @Override
-    public void save(Vehicle entity) {
+    public synchronized void save(Vehicle entity) {
         storage.put(entity.getId(), entity);
+        indexPlate(entity);
+        indexOwner(entity);
+        listeners.forEach(listener -> listener.onSave(entity));
     }
 
     @Override
-    public Optional<Vehicle> findById(int id) {
+    public synchronized Optional<Vehicle> findById(int id) {
         return Optional.ofNullable(storage.get(id));
     }
 
     @Override
-    public List<Vehicle> findAll() {
+    public synchronized List<Vehicle> findAll() {
         return new ArrayList<>(storage.values());
     }
 
     @Override
-    public void update(Vehicle entity) {
+    public synchronized void update(Vehicle entity) {
         storage.put(entity.getId(), entity);
+        indexPlate(entity);
+        indexOwner(entity);
+        listeners.forEach(listener -> listener.onSave(entity));
     }
 
     @Override
-    public void deleteById(int id) {
-        storage.remove(id);
+    public synchronized void deleteById(int id) {
+        Vehicle removed = storage.remove(id);
+        unindexPlate(id);
+        unindexOwner(id);
+        if (removed != null) {
+            listeners.forEach(listener -> listener.onDelete(removed));
+        }
     }
 
     @Override
-    public boolean existsById(int id) {
+    public synchronized boolean existsById(int id) {
         return storage.containsKey(id);
     }
 
-    public Optional<Vehicle> findByPlateNumber(String plateNumber) {
-        return storage.values().stream()
-                .filter(vehicle -> vehicle.getPlateNumber().equalsIgnoreCase(plateNumber))
-                .findFirst();
+    public synchronized Optional<Vehicle> findByPlateNumber(String plateNumber) {
+        return Optional.ofNullable(plateIndex.get(plateNumber));
     }
 
-    public boolean existsByPlateNumber(String plateNumber) {
-        return storage.values().stream()
-                .anyMatch(vehicle -> vehicle.getPlateNumber().equalsIgnoreCase(plateNumber));
+    public synchronized boolean existsByPlateNumber(String plateNumber) {
+        return plateIndex.containsKey(plateNumber);
     }
-}
\ No newline at end of file
+
+    public synchronized List<Vehicle> findByOwnerId(int ownerId) {
+        Map<Integer, Vehicle> vehicles = ownerIndex.get(ownerId);
+        return vehicles == null ? new ArrayList<>() : new ArrayList<>(vehicles.values());
+    }
+
+    @Override
+    public void addListener(RepositoryListener<Vehicle> listener) {
+        listeners.add(listener);
+    }
+
+    private void indexPlate(Vehicle vehicle) {
+        unindexPlate(vehicle.getId());
+        PlateKey key = PlateKey.of(vehicle.getPlateNumber());
+        plateIndex.put(key, vehicle);
+        indexedPlates.put(vehicle.getId(), key);
+    }
+
+    private void indexOwner(Vehicle vehicle) {
+        unindexOwner(vehicle.getId());
+        if (vehicle.getOwner() != null) {
+            int ownerId = vehicle.getOwner().getId();
+            ownerIndex.computeIfAbsent(ownerId, k -> new LinkedHashMap<>(4)).put(vehicle.getId(), vehicle);
+            indexedOwners.put(vehicle.getId(), ownerId);
+        }
+    }
+
+    private void unindexOwner(int id) {
+        Integer previous = indexedOwners.remove(id);
+        if (previous == null) {
+            return;
+        }
+        Map<Integer, Vehicle> vehicles = ownerIndex.get(previous);
+        vehicles.remove(id);
+        if (vehicles.isEmpty()) {
+            ownerIndex.remove(previous);
+        }
+    }
+
+    private void unindexPlate(int id) {
+        PlateKey previous = indexedPlates.remove(id);
+        if (previous != null) {
+            Vehicle indexed = plateIndex.get(previous);
+            if (indexed != null && indexed.getId() == id) {
+                plateIndex.remove(previous);
+            }
+        }
+    }
+}
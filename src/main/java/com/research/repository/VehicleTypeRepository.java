@@ -7,32 +7,32 @@ public class VehicleTypeRepository implements BaseRepository<VehicleType> {
     private final Map<Integer, VehicleType> storage = new HashMap<>();
 
     @Override
-    public void save(VehicleType entity) {
+    public synchronized void save(VehicleType entity) {
         storage.put(entity.getId(), entity);
     }
 
     @Override
-    public Optional<VehicleType> findById(int id) {
+    public synchronized Optional<VehicleType> findById(int id) {
         return Optional.ofNullable(storage.get(id));
     }
 
     @Override
-    public List<VehicleType> findAll() {
+    public synchronized List<VehicleType> findAll() {
         return new ArrayList<>(storage.values());
     }
 
     @Override
-    public void update(VehicleType entity) {
+    public synchronized void update(VehicleType entity) {
         storage.put(entity.getId(), entity);
     }
 
     @Override
-    public void deleteById(int id) {
+    public synchronized void deleteById(int id) {
         storage.remove(id);
     }
 
     @Override
-    public boolean existsById(int id) {
+    public synchronized boolean existsById(int id) {
         return storage.containsKey(id);
     }
 }
\ No newline at end of file
@@ -1,45 +1,160 @@
 package com.research.repository;
 
+import com.research.index.PlateKeyMap;
+import com.research.model.PlateKey;
 import com.research.model.VisitReservation;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Reservations are indexed by plate and by scheduled slot ({@code visitDate} + {@code visitTime}), both kept
+ * sorted by slot, so "this plate between T1 and T2" and "anyone between T1 and T2" are range scans.
+ */
+public class VisitReservationRepository implements ObservableRepository<VisitReservation> {
+    // Sort key for reservations missing a date or time: first in their plate's list, never in a time range
+    private static final LocalDateTime UNSCHEDULED = LocalDateTime.MIN;
 
-public class VisitReservationRepository implements BaseRepository<VisitReservation> {
     private final Map<Integer, VisitReservation> storage = new HashMap<>();
+    private final PlateKeyMap<NavigableMap<LocalDateTime, Map<Integer, VisitReservation>>> plateIndex =
+            new PlateKeyMap<>();
+    private final NavigableMap<LocalDateTime, Map<Integer, VisitReservation>> slotIndex = new TreeMap<>();
+    private final Map<Integer, PlateKey> indexedPlates = new HashMap<>();
+    private final Map<Integer, LocalDateTime> indexedSlots = new HashMap<>();
+    private final List<RepositoryListener<VisitReservation>> listeners = new CopyOnWriteArrayList<>();
 
     @Override
-    public void save(VisitReservation entity) {
+    public synchronized void save(VisitReservation entity) {
         storage.put(entity.getId(), entity);
+        index(entity);
+        listeners.forEach(listener -> listener.onSave(entity));
     }
 
     @Override
-    public Optional<VisitReservation> findById(int id) {
+    public synchronized Optional<VisitReservation> findById(int id) {
         return Optional.ofNullable(storage.get(id));
     }
 
     @Override
-    public List<VisitReservation> findAll() {
+    public synchronized List<VisitReservation> findAll() {
         return new ArrayList<>(storage.values());
     }
 
     @Override
-    public void update(VisitReservation entity) {
+    public synchronized void update(VisitReservation entity) {
         storage.put(entity.getId(), entity);
+        index(entity);
+        listeners.forEach(listener -> listener.onSave(entity));
     }
 
     @Override
-    public void deleteById(int id) {
-        storage.remove(id);
+    public synchronized void deleteById(int id) {
+        VisitReservation removed = storage.remove(id);
+        unindex(id);
+        if (removed != null) {
+            listeners.forEach(listener -> listener.onDelete(removed));
+        }
     }
 
     @Override
-    public boolean existsById(int id) {
+    public synchronized boolean existsById(int id) {
         return storage.containsKey(id);
     }
 
-    public Optional<VisitReservation> findByVehiclePlate(String plate) {
-        return storage.values().stream()
-                .filter(res -> res.getVehiclePlate().equalsIgnoreCase(plate))
-                .findFirst();
+    /**
+     * The earliest reservation for the plate.
+     */
+    public synchronized Optional<VisitReservation> findByVehiclePlate(String plate) {
+        NavigableMap<LocalDateTime, Map<Integer, VisitReservation>> reservations = plateIndex.get(plate);
+        return reservations == null
+                ? Optional.empty()
+                : reservations.firstEntry().getValue().values().stream().findFirst();
+    }
+
+    /**
+     * Reservations for the plate scheduled within {@code [from, to]}, earliest first.
+     */
+    public synchronized List<VisitReservation> findByVehiclePlateBetween(String plate, LocalDateTime from,
+                                                                         LocalDateTime to) {
+        NavigableMap<LocalDateTime, Map<Integer, VisitReservation>> reservations = plateIndex.get(plate);
+        return reservations == null ? new ArrayList<>() : collect(reservations, from, to);
+    }
+
+    /**
+     * All reservations scheduled within {@code [from, to]}, earliest first.
+     */
+    public synchronized List<VisitReservation> findScheduledBetween(LocalDateTime from, LocalDateTime to) {
+        return collect(slotIndex, from, to);
+    }
+
+    @Override
+    public void addListener(RepositoryListener<VisitReservation> listener) {
+        listeners.add(listener);
+    }
+
+    private static List<VisitReservation> collect(NavigableMap<LocalDateTime, Map<Integer, VisitReservation>> index,
+                                                  LocalDateTime from, LocalDateTime to) {
+        List<VisitReservation> result = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return result;
+        }
+        for (Map<Integer, VisitReservation> reservations : index.subMap(from, true, to, true).values()) {
+            result.addAll(reservations.values());
+        }
+        return result;
+    }
+
+    private void index(VisitReservation reservation) {
+        unindex(reservation.getId());
+        LocalDateTime slot = reservation.getVisitDate() == null || reservation.getVisitTime() == null
+                ? UNSCHEDULED
+                : reservation.getVisitDate().atTime(reservation.getVisitTime());
+        PlateKey key = PlateKey.of(reservation.getVehiclePlate());
+        NavigableMap<LocalDateTime, Map<Integer, VisitReservation>> reservations = plateIndex.get(key);
+        if (reservations == null) {
+            reservations = new TreeMap<>();
+            plateIndex.put(key, reservations);
+        }
+        add(reservations, slot, reservation);
+        if (slot != UNSCHEDULED) {
+            add(slotIndex, slot, reservation);
+        }
+        indexedPlates.put(reservation.getId(), key);
+        indexedSlots.put(reservation.getId(), slot);
+    }
+
+    private void unindex(int id) {
+        PlateKey previousPlate = indexedPlates.remove(id);
+        LocalDateTime previousSlot = indexedSlots.remove(id);
+        if (previousPlate == null) {
+            return;
+        }
+        NavigableMap<LocalDateTime, Map<Integer, VisitReservation>> reservations = plateIndex.get(previousPlate);
+        if (reservations != null) {
+            remove(reservations, previousSlot, id);
+            if (reservations.isEmpty()) {
+                plateIndex.remove(previousPlate);
+            }
+        }
+        if (previousSlot != UNSCHEDULED) {
+            remove(slotIndex, previousSlot, id);
+        }
+    }
+
+    private static void add(NavigableMap<LocalDateTime, Map<Integer, VisitReservation>> index, LocalDateTime slot,
+                            VisitReservation reservation) {
+        index.computeIfAbsent(slot, k -> new LinkedHashMap<>(2)).put(reservation.getId(), reservation);
+    }
+
+    private static void remove(NavigableMap<LocalDateTime, Map<Integer, VisitReservation>> index, LocalDateTime slot,
+                               int id) {
+        Map<Integer, VisitReservation> reservations = index.get(slot);
+        if (reservations != null) {
+            reservations.remove(id);
+            if (reservations.isEmpty()) {
+                index.remove(slot);
+            }
+        }
     }
-}
\ No newline at end of file
+}
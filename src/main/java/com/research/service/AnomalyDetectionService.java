@@ -0,0 +1,187 @@
+package com.research.service;
+
+import com.research.index.SlidingSecondCounter;
+import com.research.model.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates security rules on the stream of gate pass transitions, in event time ({@code passTime}):
+ * <ul>
+ *     <li>{@link AlertType#LANE_BURST}: more completed entries through a lane in the last 60 seconds than its
+ *     {@code capacityPerMinute}. Each lane keeps a ring of per-second counters and a running sum; the alert fires
+ *     once per burst and re-arms when the rate is back under capacity.</li>
+ *     <li>{@link AlertType#REPEATED_DENIALS}: {@code deniedAttempts} denials of one plate within the denial
+ *     window. Each plate keeps at most that many timestamps.</li>
+ *     <li>{@link AlertType#OVERSTAY}: a completed ENTRY with no EXIT of the same plate within {@code maxStay}.
+ *     Checked as event time advances, and by {@link #advanceTo} when there is no traffic.</li>
+ * </ul>
+ * Per-plate state lives in insertion-ordered maps, refreshed on every event, so expired plates are dropped from
+ * the head in O(1); at most {@value #MAX_TRACKED_PLATES} plates are tracked per rule (oldest dropped first).
+ * Passes without a vehicle or time are ignored by the plate rules.
+ */
+public class AnomalyDetectionService implements GatePassTransitionListener {
+    public static final int MAX_TRACKED_PLATES = 100_000;
+    private static final int BURST_WINDOW_SECONDS = 60;
+    private static final int RECENT_ALERTS = 1000;
+
+    private final AnomalyRules rules;
+    private final long denialWindowSeconds;
+    private final long maxStaySeconds;
+    private final Map<Integer, LaneWindow> lanes = new HashMap<>();
+    private final LinkedHashMap<PlateKey, long[]> denials = new LinkedHashMap<>();
+    private final LinkedHashMap<PlateKey, Long> insideSince = new LinkedHashMap<>();
+    private final Deque<TrafficAlert> recentAlerts = new ArrayDeque<>();
+    private final List<Consumer<TrafficAlert>> alertListeners = new CopyOnWriteArrayList<>();
+    private long watermark = Long.MIN_VALUE;
+
+    public AnomalyDetectionService(AnomalyRules rules) {
+        ValidationService.validateNotNull(rules, "Anomaly rules are required.");
+        ValidationService.validatePositive(rules.getDeniedAttempts(), "Denied attempts must be positive.");
+        ValidationService.validateNotNull(rules.getDenialWindow(), "Denial window is required.");
+        ValidationService.validateNotNull(rules.getMaxStay(), "Maximum stay is required.");
+        this.rules = rules;
+        this.denialWindowSeconds = rules.getDenialWindow().getSeconds();
+        this.maxStaySeconds = rules.getMaxStay().getSeconds();
+    }
+
+    public void addAlertListener(Consumer<TrafficAlert> listener) {
+        alertListeners.add(listener);
+    }
+
+    @Override
+    public synchronized void onTransition(GatePass pass, GatePassStatus from, GatePassStatus to) {
+        if (pass.getPassTime() == null) {
+            return;
+        }
+        long second = epochSecond(pass.getPassTime());
+        PlateKey plate = pass.getVehicle() == null ? null : PlateKey.of(pass.getVehicle().getPlateNumber());
+        if (to == GatePassStatus.DENIED && plate != null) {
+            onDenied(plate, second);
+        } else if (to == GatePassStatus.COMPLETED) {
+            if (pass.getDirection() == GatePassDirection.ENTRY) {
+                if (pass.getLane() != null) {
+                    onEntry(pass.getLane(), second);
+                }
+                if (plate != null) {
+                    insideSince.remove(plate);
+                    insideSince.put(plate, second);
+                    trim(insideSince);
+                }
+            } else if (plate != null) {
+                insideSince.remove(plate);
+            }
+        }
+        advance(second);
+    }
+
+    /**
+     * Moves event time forward without traffic, raising overstay alerts that have come due.
+     */
+    public synchronized void advanceTo(LocalDateTime now) {
+        advance(epochSecond(now));
+    }
+
+    public synchronized List<TrafficAlert> getRecentAlerts() {
+        return new ArrayList<>(recentAlerts);
+    }
+
+    /**
+     * Plates currently holding denial or overstay state.
+     */
+    public synchronized int getTrackedPlateCount() {
+        return denials.size() + insideSince.size();
+    }
+
+    private void onEntry(GateLane lane, long second) {
+        LaneWindow window = lanes.computeIfAbsent(lane.getId(), k -> new LaneWindow());
+        int count = window.entries.add(second);
+        if (count > lane.getCapacityPerMinute() && !window.alerting) {
+            window.alerting = true;
+            raise(new TrafficAlert(AlertType.LANE_BURST, toTime(second), lane.getId(), null,
+                    count + " entries in the last minute, capacity " + lane.getCapacityPerMinute()));
+        } else if (count <= lane.getCapacityPerMinute()) {
+            window.alerting = false;
+        }
+    }
+
+    private void onDenied(PlateKey plate, long second) {
+        // ring of the last deniedAttempts denial times, slot 0 holding the number recorded
+        long[] history = denials.remove(plate);
+        int attempts = rules.getDeniedAttempts();
+        if (history == null) {
+            history = new long[attempts + 1];
+        }
+        history[1 + (int) (history[0] % attempts)] = second;
+        history[0]++;
+        if (history[0] >= attempts) {
+            long oldest = history[1 + (int) (history[0] % attempts)];
+            if (second - oldest <= denialWindowSeconds) {
+                raise(new TrafficAlert(AlertType.REPEATED_DENIALS, toTime(second), null, plate.text(),
+                        attempts + " denied attempts within " + rules.getDenialWindow()));
+                history[0] = 0;
+            }
+        }
+        denials.put(plate, history);
+        trim(denials);
+    }
+
+    private void advance(long second) {
+        if (second <= watermark) {
+            return;
+        }
+        watermark = second;
+        Iterator<Map.Entry<PlateKey, long[]>> oldestDenials = denials.entrySet().iterator();
+        while (oldestDenials.hasNext()) {
+            long[] history = oldestDenials.next().getValue();
+            long latest = history[0] == 0 ? Long.MIN_VALUE : history[1 + (int) ((history[0] - 1) % rules.getDeniedAttempts())];
+            if (latest >= second - denialWindowSeconds) {
+                break;
+            }
+            oldestDenials.remove();
+        }
+        Iterator<Map.Entry<PlateKey, Long>> oldestEntries = insideSince.entrySet().iterator();
+        while (oldestEntries.hasNext()) {
+            Map.Entry<PlateKey, Long> entry = oldestEntries.next();
+            if (second - entry.getValue() < maxStaySeconds) {
+                break;
+            }
+            oldestEntries.remove();
+            raise(new TrafficAlert(AlertType.OVERSTAY, toTime(second), null, entry.getKey().text(),
+                    "entered " + toTime(entry.getValue()) + " with no exit"));
+        }
+    }
+
+    private void raise(TrafficAlert alert) {
+        recentAlerts.addLast(alert);
+        if (recentAlerts.size() > RECENT_ALERTS) {
+            recentAlerts.removeFirst();
+        }
+        alertListeners.forEach(listener -> listener.accept(alert));
+    }
+
+    private static void trim(LinkedHashMap<PlateKey, ?> state) {
+        Iterator<PlateKey> oldest = state.keySet().iterator();
+        while (state.size() > MAX_TRACKED_PLATES) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static class LaneWindow {
+        final SlidingSecondCounter entries = new SlidingSecondCounter(BURST_WINDOW_SECONDS);
+        boolean alerting;
+    }
+}
@@ -0,0 +1,75 @@
+package com.research.service;
+
+import com.research.index.SlidingSecondCounter;
+import com.research.model.*;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Live figures for the supervisor dashboard, kept up to date from gate pass transitions in O(1) per transition.
+ * {@link #snapshot} assembles a {@link DashboardFrame}; the feed builds one per period and sends the same frame
+ * to every dashboard. Occupancy counts completed entries minus completed exits since startup.
+ */
+public class DashboardService implements GatePassTransitionListener {
+    private static final int THROUGHPUT_WINDOW_SECONDS = 60;
+    private static final int RECENT_DENIALS = 10;
+
+    private final GateLaneService gateLaneService;
+    private final Clock clock;
+    private final Map<Integer, SlidingSecondCounter> laneThroughput = new HashMap<>();
+    private final Deque<PassTransitionUpdate> recentDenials = new ArrayDeque<>();
+    private int occupancy;
+    private int pendingPasses;
+
+    public DashboardService(GateLaneService gateLaneService) {
+        this(gateLaneService, Clock.systemDefaultZone());
+    }
+
+    public DashboardService(GateLaneService gateLaneService, Clock clock) {
+        this.gateLaneService = gateLaneService;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void onTransition(GatePass pass, GatePassStatus from, GatePassStatus to) {
+        if (from == GatePassStatus.PENDING) {
+            pendingPasses = Math.max(0, pendingPasses - 1);
+        }
+        if (to == GatePassStatus.PENDING) {
+            pendingPasses++;
+        } else if (to == GatePassStatus.DENIED) {
+            recentDenials.addFirst(PassTransitionUpdate.of(pass, from, to));
+            if (recentDenials.size() > RECENT_DENIALS) {
+                recentDenials.removeLast();
+            }
+        } else if (to == GatePassStatus.COMPLETED) {
+            occupancy = pass.getDirection() == GatePassDirection.ENTRY ? occupancy + 1 : Math.max(0, occupancy - 1);
+            if (pass.getLane() != null) {
+                laneThroughput.computeIfAbsent(pass.getLane().getId(),
+                        k -> new SlidingSecondCounter(THROUGHPUT_WINDOW_SECONDS)).add(nowSecond());
+            }
+        }
+    }
+
+    public DashboardFrame snapshot() {
+        List<GateLane> lanes = gateLaneService.getAllLanes();
+        lanes.sort(Comparator.comparingInt(GateLane::getLaneNumber));
+        synchronized (this) {
+            long now = nowSecond();
+            List<DashboardFrame.LaneLoad> loads = new ArrayList<>(lanes.size());
+            for (GateLane lane : lanes) {
+                SlidingSecondCounter throughput = laneThroughput.get(lane.getId());
+                loads.add(new DashboardFrame.LaneLoad(lane.getId(), lane.getLaneNumber(), lane.getStatus(),
+                        throughput == null ? 0 : throughput.total(now)));
+            }
+            return new DashboardFrame(LocalDateTime.now(clock), occupancy, pendingPasses, loads,
+                    new ArrayList<>(recentDenials));
+        }
+    }
+
+    private long nowSecond() {
+        return clock.millis() / 1000;
+    }
+}
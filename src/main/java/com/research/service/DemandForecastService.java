@@ -0,0 +1,70 @@
+package com.research.service;
+
+import com.research.index.SeasonalProfile;
+import com.research.model.GatePass;
+import com.research.model.GatePassStatus;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Learns weekly arrival profiles from completed gate passes, one per lane plus one for the whole gate. Lane
+ * profiles only learn while traffic reaches the lane, so scheduling forecasts from the gate-wide profile; the
+ * lane profiles show how demand splits.
+ */
+public class DemandForecastService implements GatePassTransitionListener {
+    public static final double DEFAULT_ALPHA = 0.3;
+
+    private final double alpha;
+    private final SeasonalProfile total;
+    private final Map<Integer, SeasonalProfile> lanes = new HashMap<>();
+
+    public DemandForecastService() {
+        this(DEFAULT_ALPHA);
+    }
+
+    public DemandForecastService(double alpha) {
+        ValidationService.assertTrue(alpha > 0 && alpha <= 1, "Smoothing factor must be in (0, 1].");
+        this.alpha = alpha;
+        this.total = new SeasonalProfile(alpha);
+    }
+
+    @Override
+    public void onTransition(GatePass pass, GatePassStatus from, GatePassStatus to) {
+        if (to == GatePassStatus.COMPLETED && pass.getPassTime() != null) {
+            record(pass.getLane() == null ? null : pass.getLane().getId(), pass.getPassTime());
+        }
+    }
+
+    public synchronized void record(Integer laneId, LocalDateTime at) {
+        total.record(at);
+        if (laneId != null) {
+            lanes.computeIfAbsent(laneId, k -> new SeasonalProfile(alpha)).record(at);
+        }
+    }
+
+    /**
+     * Closes slots that ended before {@code now}, so quiet periods count as zero demand.
+     */
+    public synchronized void advanceTo(LocalDateTime now) {
+        total.advanceTo(now);
+        lanes.values().forEach(profile -> profile.advanceTo(now));
+    }
+
+    /**
+     * Expected arrivals per minute at the whole gate around {@code time}.
+     */
+    public synchronized double forecastPerMinute(LocalDateTime time) {
+        return total.forecast(time) / SeasonalProfile.SLOT_MINUTES;
+    }
+
+    public synchronized double forecastPerMinute(int laneId, LocalDateTime time) {
+        SeasonalProfile profile = lanes.get(laneId);
+        return profile == null ? 0 : profile.forecast(time) / SeasonalProfile.SLOT_MINUTES;
+    }
+
+    public synchronized boolean hasHistory(LocalDateTime time) {
+        return total.hasHistory(time);
+    }
+}
@@ -0,0 +1,152 @@
+package com.research.service;
+
+import com.research.index.CountingBloomFilter;
+import com.research.index.PlateAllowlist;
+import com.research.model.GateAccessDecision;
+import com.research.model.PlateKey;
+import com.research.model.Vehicle;
+import com.research.model.VisitReservation;
+import com.research.repository.RepositoryListener;
+import com.research.repository.VehicleRepository;
+import com.research.repository.VisitReservationRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gate decision for a plate read. Most reads at the visitor lane are plates nobody registered or reserved,
+ * so a {@link CountingBloomFilter} over every known plate rejects those without touching either repository
+ * (or its lock). The filter follows both repositories through listeners and is rebuilt at twice the size
+ * once it holds more plates than it was sized for.
+ *
+ * <p>Allowed resident plates are answered from an immutable {@link PlateAllowlist} snapshot, also lock-free, so
+ * admins editing vehicles ({@code VehicleService.updateVehicle}) never stall the gate; a decision sees the
+ * vehicle as of its last saved update.
+ */
+public class GateAccessService {
+    public static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_EXPECTED_PLATES = 1_024;
+
+    private final VehicleRepository vehicleRepository;
+    private final VisitReservationRepository visitReservationRepository;
+    private final Map<Integer, PlateKey> registeredPlates = new HashMap<>();
+    private final Map<Integer, PlateKey> reservedPlates = new HashMap<>();
+    private final PlateAllowlist allowlist = new PlateAllowlist();
+    private volatile CountingBloomFilter filter = new CountingBloomFilter(MIN_EXPECTED_PLATES, FALSE_POSITIVE_RATE);
+    private final AtomicLong filterRejects = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    public GateAccessService(VehicleRepository vehicleRepository,
+                             VisitReservationRepository visitReservationRepository) {
+        this.vehicleRepository = vehicleRepository;
+        this.visitReservationRepository = visitReservationRepository;
+        vehicleRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(Vehicle vehicle) {
+                track(registeredPlates, vehicle.getId(), vehicle.getPlateNumber());
+                allowlist.put(vehicle.getId(), vehicle.getPlateNumber(), vehicle.isAllowed());
+            }
+
+            @Override
+            public void onDelete(Vehicle vehicle) {
+                track(registeredPlates, vehicle.getId(), null);
+                allowlist.remove(vehicle.getId());
+            }
+        });
+        visitReservationRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(VisitReservation reservation) {
+                track(reservedPlates, reservation.getId(), reservation.getVehiclePlate());
+            }
+
+            @Override
+            public void onDelete(VisitReservation reservation) {
+                track(reservedPlates, reservation.getId(), null);
+            }
+        });
+        synchronized (this) {
+            for (Vehicle vehicle : vehicleRepository.findAll()) {
+                registeredPlates.put(vehicle.getId(), PlateKey.of(vehicle.getPlateNumber()));
+                allowlist.put(vehicle.getId(), vehicle.getPlateNumber(), vehicle.isAllowed());
+            }
+            for (VisitReservation reservation : visitReservationRepository.findAll()) {
+                reservedPlates.put(reservation.getId(), PlateKey.of(reservation.getVehiclePlate()));
+            }
+            rebuild(2 * (registeredPlates.size() + reservedPlates.size()));
+        }
+    }
+
+    public GateAccessDecision decide(String plate, LocalDateTime at) {
+        ValidationService.validateStringNotEmpty(plate, "Plate number required.");
+        ValidationService.validateNotNull(at, "Time is required.");
+        if (allowlist.snapshot().contains(plate)) {
+            return GateAccessDecision.RESIDENT_ALLOWED;
+        }
+        if (!filter.mightContain(plate)) {
+            filterRejects.incrementAndGet();
+            return GateAccessDecision.UNKNOWN_PLATE;
+        }
+        Vehicle vehicle = vehicleRepository.findByPlateNumber(plate).orElse(null);
+        if (vehicle != null) {
+            // not in the allowlist snapshot
+            return GateAccessDecision.DENIED;
+        }
+        if (!visitReservationRepository.findByVehiclePlateBetween(plate,
+                at.minus(VisitReservationService.ACCESS_WINDOW), at.plus(VisitReservationService.ACCESS_WINDOW)).isEmpty()) {
+            return GateAccessDecision.VISITOR_ALLOWED;
+        }
+        if (visitReservationRepository.findByVehiclePlate(plate).isPresent()) {
+            return GateAccessDecision.DENIED;
+        }
+        falsePositives.incrementAndGet();
+        return GateAccessDecision.UNKNOWN_PLATE;
+    }
+
+    /**
+     * The current immutable allowlist, for callers that need several reads against one consistent version.
+     */
+    public PlateAllowlist.Snapshot getAllowlistSnapshot() {
+        return allowlist.snapshot();
+    }
+
+    /**
+     * Share of unknown plates that got past the filter and had to be looked up, since startup.
+     */
+    public double getObservedFalsePositiveRate() {
+        long passed = falsePositives.get();
+        long total = passed + filterRejects.get();
+        return total == 0 ? 0 : (double) passed / total;
+    }
+
+    public long getFilterMemoryBytes() {
+        return filter.memoryBytes();
+    }
+
+    private synchronized void track(Map<Integer, PlateKey> plates, int id, String plate) {
+        PlateKey key = plate == null ? null : PlateKey.of(plate);
+        PlateKey previous = key == null ? plates.remove(id) : plates.put(id, key);
+        if (key != null && key.equals(previous)) {
+            return;
+        }
+        // add before remove: decide() reads the filter without the lock and must never miss a tracked plate
+        if (key != null) {
+            filter.add(key);
+        }
+        if (previous != null) {
+            filter.remove(previous);
+        }
+        if (key != null && filter.size() > filter.getExpectedInsertions()) {
+            rebuild(2 * filter.getExpectedInsertions());
+        }
+    }
+
+    private void rebuild(int expectedPlates) {
+        CountingBloomFilter rebuilt = new CountingBloomFilter(Math.max(expectedPlates, MIN_EXPECTED_PLATES),
+                FALSE_POSITIVE_RATE);
+        registeredPlates.values().forEach(rebuilt::add);
+        reservedPlates.values().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+}
@@ -17,6 +17,8 @@ public class GateLaneService {
     public void addLane(GateLane lane) {
         ValidationService.validateNotNull(lane, "Lane is required.");
         ValidationService.assertUnique(gateLaneRepository.existsById(lane.getId()), "Lane ID already exists.");
+        ValidationService.assertUnique(gateLaneRepository.findByLaneNumber(lane.getLaneNumber()).isPresent(),
+                "Lane number already exists.");
         gateLaneRepository.save(lane);
     }
 
@@ -32,6 +34,8 @@ public class GateLaneService {
     public void updateLane(GateLane lane) {
         ValidationService.validateNotNull(lane, "Lane is required.");
         ValidationService.assertTrue(gateLaneRepository.existsById(lane.getId()), "Lane does not exist.");
+        ValidationService.assertUnique(gateLaneRepository.findByLaneNumber(lane.getLaneNumber())
+                .filter(other -> other.getId() != lane.getId()).isPresent(), "Lane number already exists.");
         gateLaneRepository.update(lane);
     }
 
@@ -47,9 +51,11 @@ public class GateLaneService {
         gateLaneRepository.update(lane);
     }
 
+    /**
+     * Lanes open as of their last update, unmodifiable. The lanes are the live objects, so one closed since may
+     * already report its new status.
+     */
     public List<GateLane> getOpenLanes() {
-        return gateLaneRepository.findAll().stream()
-                .filter(l -> l.getStatus() == GateLaneStatus.OPEN)
-                .toList();
+        return gateLaneRepository.findByStatus(GateLaneStatus.OPEN);
     }
 }
\ No newline at end of file
@@ -1,24 +1,73 @@
 package com.research.service;
 
 import com.research.exception.NotFoundException;
+import com.research.id.IdAllocator;
+import com.research.index.RequestDedupCache;
 import com.research.model.GatePass;
 import com.research.model.GatePassStatus;
 import com.research.repository.GatePassRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class GatePassService {
     private final GatePassRepository gatePassRepository;
+    private final List<GatePassTransitionListener> transitionListeners = new CopyOnWriteArrayList<>();
+    private volatile RequestDedupCache dedupCache;
+    private volatile IdAllocator idAllocator;
 
     public GatePassService(GatePassRepository gatePassRepository) {
         this.gatePassRepository = gatePassRepository;
     }
 
-    public void requestGatePass(GatePass gatePass) {
+    /**
+     * Makes repeated requests return the pass already requested, see {@link #requestGatePass(GatePass, String)};
+     * {@code null} turns deduplication off.
+     */
+    public void setDedupCache(RequestDedupCache dedupCache) {
+        this.dedupCache = dedupCache;
+    }
+
+    /**
+     * Lets callers take pass ids from {@link #nextId()}; ids they choose themselves are still accepted and later
+     * allocations skip past them.
+     */
+    public void setIdAllocator(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * A new pass id, never handed out before and not taken by an id a caller chose.
+     */
+    public int nextId() {
+        IdAllocator allocator = idAllocator;
+        ValidationService.assertTrue(allocator != null, "GatePass ID allocation is not enabled.");
+        int id = allocator.nextId();
+        while (gatePassRepository.existsById(id)) {
+            id = allocator.nextId();
+        }
+        return id;
+    }
+
+    public GatePass requestGatePass(GatePass gatePass) {
+        return requestGatePass(gatePass, null);
+    }
+
+    /**
+     * Saves a new pending pass and returns it. With a dedup cache, a request for the same plate, lane and direction
+     * as a recent one, or with the same {@code idempotencyKey}, instead returns the pass already requested and
+     * creates nothing; without one the key is ignored. A repeat gets the pass only after its creation transition
+     * has been fired, so listeners never see a repeat's approval before the pass was created.
+     */
+    public GatePass requestGatePass(GatePass gatePass, String idempotencyKey) {
         ValidationService.validateNotNull(gatePass, "GatePass is required.");
-        ValidationService.assertUnique(gatePassRepository.existsById(gatePass.getId()), "GatePass ID already exists.");
-        gatePassRepository.save(gatePass);
+        RequestDedupCache cache = dedupCache;
+        if (cache == null) {
+            create(gatePass);
+            return gatePass;
+        }
+        return cache.requestOnce(gatePass, idempotencyKey, this::create);
     }
 
     public void approvePass(int passId) {
@@ -26,6 +75,7 @@ public class GatePassService {
         ValidationService.assertTrue(pass.getStatus() == GatePassStatus.PENDING, "Cannot approve non-pending pass.");
         pass.setStatus(GatePassStatus.APPROVED);
         gatePassRepository.update(pass);
+        fireTransition(pass, GatePassStatus.PENDING);
     }
 
     public void denyPass(int passId) {
@@ -33,6 +83,7 @@ public class GatePassService {
         ValidationService.assertTrue(pass.getStatus() == GatePassStatus.PENDING, "Cannot deny non-pending pass.");
         pass.setStatus(GatePassStatus.DENIED);
         gatePassRepository.update(pass);
+        fireTransition(pass, GatePassStatus.PENDING);
     }
 
     public void completePass(int passId) {
@@ -41,6 +92,7 @@ public class GatePassService {
         pass.setStatus(GatePassStatus.COMPLETED);
         pass.setPassTime(LocalDateTime.now());
         gatePassRepository.update(pass);
+        fireTransition(pass, GatePassStatus.APPROVED);
     }
 
     public List<GatePass> getTrafficLogs() {
@@ -51,4 +103,22 @@ public class GatePassService {
         return gatePassRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("GatePass not found: " + id));
     }
-}
\ No newline at end of file
+
+    public void addTransitionListener(GatePassTransitionListener listener) {
+        transitionListeners.add(listener);
+    }
+
+    private void create(GatePass gatePass) {
+        ValidationService.assertUnique(gatePassRepository.existsById(gatePass.getId()), "GatePass ID already exists.");
+        gatePassRepository.save(gatePass);
+        IdAllocator allocator = idAllocator;
+        if (allocator != null) {
+            allocator.skipPast(gatePass.getId());
+        }
+        fireTransition(gatePass, null);
+    }
+
+    private void fireTransition(GatePass pass, GatePassStatus from) {
+        transitionListeners.forEach(listener -> listener.onTransition(pass, from, pass.getStatus()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.research.service;
+
+import com.research.model.GatePass;
+import com.research.model.GatePassStatus;
+
+/**
+ * Notified after a gate pass changed status. {@code from} is {@code null} for a newly requested pass.
+ */
+public interface GatePassTransitionListener {
+    void onTransition(GatePass pass, GatePassStatus from, GatePassStatus to);
+}
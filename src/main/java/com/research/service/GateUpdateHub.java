@@ -0,0 +1,278 @@
+package com.research.service;
+
+import com.research.model.*;
+import com.research.repository.RepositoryListener;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Pushes lane status changes and gate pass transitions to subscribers (display boards, barrier controllers),
+ * so they do not have to poll the services. Register it as a {@link GatePassTransitionListener} and as a
+ * listener of the lane repository.
+ *
+ * <p>Publishing never waits for a subscriber and does not depend on how many there are: the gate thread only
+ * appends the update to one hub queue. A single fan-out task on the {@code executor} takes updates from it in
+ * order and hands each to every subscription. Each subscription buffers its own pending updates and is drained
+ * on the {@code executor}, at most one drain per subscription at a time and at most {@value #MAX_BATCH}
+ * transitions per drain, so thousands of subscribers share a few threads fairly. Lane statuses are coalesced:
+ * a subscription holds at most one pending status per lane, the latest. Pass transitions are kept in order in a
+ * buffer of {@code transitionBuffer}; when it is full the oldest is discarded and the subscriber is told how
+ * many it missed. A subscription starts with the current status of every known lane.
+ */
+public class GateUpdateHub implements GatePassTransitionListener, RepositoryListener<GateLane> {
+    private static final int MAX_BATCH = 64;
+
+    private final Executor executor;
+    private final int transitionBuffer;
+    // lane updates, pass transitions and new subscriptions, in publishing order
+    private final ArrayDeque<Object> fanOutQueue = new ArrayDeque<>();
+    private boolean fanOutScheduled;
+    // queued plus the one being handed out
+    private int fanOutBacklog;
+    // fan-out task only
+    private final Map<Integer, LaneStatusUpdate> laneStatuses = new HashMap<>();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public GateUpdateHub(Executor executor, int transitionBuffer) {
+        ValidationService.validateNotNull(executor, "Executor is required.");
+        ValidationService.validatePositive(transitionBuffer, "Transition buffer must be positive.");
+        this.executor = executor;
+        this.transitionBuffer = transitionBuffer;
+    }
+
+    /**
+     * Registers {@code subscriber}; it is seeded with the lane statuses published before this call and then gets
+     * everything published after it.
+     */
+    public Subscription subscribe(GateUpdateSubscriber subscriber) {
+        ValidationService.validateNotNull(subscriber, "Subscriber is required.");
+        Subscription subscription = new Subscription(subscriber);
+        publish(subscription);
+        return subscription;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Updates published but not yet handed to every subscription.
+     */
+    public int getFanOutBacklog() {
+        synchronized (fanOutQueue) {
+            return fanOutBacklog;
+        }
+    }
+
+    @Override
+    public void onTransition(GatePass pass, GatePassStatus from, GatePassStatus to) {
+        publish(PassTransitionUpdate.of(pass, from, to));
+    }
+
+    @Override
+    public void onSave(GateLane lane) {
+        publish(new LaneStatusUpdate(lane.getId(), lane.getLaneNumber(), lane.getStatus()));
+    }
+
+    @Override
+    public void onDelete(GateLane lane) {
+        publish(new LaneStatusUpdate(lane.getId(), lane.getLaneNumber(), null));
+    }
+
+    private void publish(Object item) {
+        synchronized (fanOutQueue) {
+            fanOutQueue.addLast(item);
+            fanOutBacklog++;
+            if (fanOutScheduled) {
+                return;
+            }
+            fanOutScheduled = true;
+        }
+        scheduleFanOut();
+    }
+
+    private void scheduleFanOut() {
+        try {
+            executor.execute(this::fanOut);
+        } catch (RejectedExecutionException shuttingDown) {
+            synchronized (fanOutQueue) {
+                fanOutScheduled = false;
+            }
+        }
+    }
+
+    private void fanOut() {
+        for (int i = 0; i < MAX_BATCH; i++) {
+            Object item;
+            synchronized (fanOutQueue) {
+                item = fanOutQueue.pollFirst();
+                if (item == null) {
+                    fanOutScheduled = false;
+                    return;
+                }
+            }
+            if (item instanceof PassTransitionUpdate update) {
+                for (Subscription subscription : subscriptions) {
+                    subscription.offerTransition(update);
+                }
+            } else if (item instanceof LaneStatusUpdate update) {
+                fanOutLane(update);
+            } else {
+                register((Subscription) item);
+            }
+            synchronized (fanOutQueue) {
+                fanOutBacklog--;
+            }
+        }
+        // more to hand out: go to the back of the executor queue, behind the subscription drains
+        scheduleFanOut();
+    }
+
+    private void fanOutLane(LaneStatusUpdate update) {
+        LaneStatusUpdate previous = update.getStatus() == null
+                ? laneStatuses.remove(update.getLaneId())
+                : laneStatuses.put(update.getLaneId(), update);
+        if (update.getStatus() != null && previous != null && previous.getStatus() == update.getStatus()
+                && previous.getLaneNumber() == update.getLaneNumber()) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.offerLane(update);
+        }
+    }
+
+    private void register(Subscription subscription) {
+        subscriptions.add(subscription);
+        if (subscription.cancelled) {
+            subscriptions.remove(subscription);
+            return;
+        }
+        for (LaneStatusUpdate update : laneStatuses.values()) {
+            subscription.offerLane(update);
+        }
+    }
+
+    /**
+     * One subscriber's buffers. Cancelling stops delivery after the callback in progress, if any.
+     */
+    public class Subscription {
+        private final GateUpdateSubscriber subscriber;
+        private final Map<Integer, LaneStatusUpdate> pendingLanes = new LinkedHashMap<>();
+        private final ArrayDeque<PassTransitionUpdate> pendingTransitions = new ArrayDeque<>();
+        private long dropped;
+        private long droppedReported;
+        private boolean scheduled;
+        private volatile boolean cancelled;
+
+        private Subscription(GateUpdateSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (this) {
+                pendingLanes.clear();
+                pendingTransitions.clear();
+            }
+        }
+
+        public synchronized long getDroppedCount() {
+            return dropped;
+        }
+
+        public synchronized int getPendingCount() {
+            return pendingLanes.size() + pendingTransitions.size();
+        }
+
+        private void offerLane(LaneStatusUpdate update) {
+            boolean schedule;
+            synchronized (this) {
+                pendingLanes.put(update.getLaneId(), update);
+                schedule = markScheduled();
+            }
+            if (schedule) {
+                schedule();
+            }
+        }
+
+        private void offerTransition(PassTransitionUpdate update) {
+            boolean schedule;
+            synchronized (this) {
+                if (pendingTransitions.size() == transitionBuffer) {
+                    pendingTransitions.pollFirst();
+                    dropped++;
+                }
+                pendingTransitions.addLast(update);
+                schedule = markScheduled();
+            }
+            if (schedule) {
+                schedule();
+            }
+        }
+
+        private boolean markScheduled() {
+            if (scheduled || cancelled) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException shuttingDown) {
+                synchronized (this) {
+                    scheduled = false;
+                }
+            }
+        }
+
+        private void drain() {
+            List<LaneStatusUpdate> lanes;
+            List<PassTransitionUpdate> transitions = new ArrayList<>();
+            long missed;
+            synchronized (this) {
+                lanes = new ArrayList<>(pendingLanes.values());
+                pendingLanes.clear();
+                for (int i = 0; i < MAX_BATCH && !pendingTransitions.isEmpty(); i++) {
+                    transitions.add(pendingTransitions.pollFirst());
+                }
+                missed = dropped - droppedReported;
+                droppedReported = dropped;
+            }
+            if (missed > 0) {
+                deliver(() -> subscriber.onTransitionsDropped(missed));
+            }
+            for (LaneStatusUpdate update : lanes) {
+                deliver(() -> subscriber.onLaneStatus(update));
+            }
+            for (PassTransitionUpdate update : transitions) {
+                deliver(() -> subscriber.onPassTransition(update));
+            }
+            synchronized (this) {
+                if (cancelled || (pendingLanes.isEmpty() && pendingTransitions.isEmpty() && dropped == droppedReported)) {
+                    scheduled = false;
+                    return;
+                }
+            }
+            // more arrived meanwhile: go to the back of the executor queue instead of hogging the thread
+            schedule();
+        }
+
+        private void deliver(Runnable callback) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                callback.run();
+            } catch (RuntimeException ex) {
+                // a failing subscriber must not stop deliveries to itself or anyone else
+            }
+        }
+    }
+}
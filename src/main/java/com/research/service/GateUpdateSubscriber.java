@@ -0,0 +1,28 @@
+package com.research.service;
+
+import com.research.model.LaneStatusUpdate;
+import com.research.model.PassTransitionUpdate;
+
+/**
+ * Receives pushed updates from {@link GateUpdateHub}, on a hub delivery thread and one call at a time per
+ * subscription. Callbacks should return quickly: a subscriber that blocks holds one delivery thread.
+ */
+public interface GateUpdateSubscriber {
+    /**
+     * The latest status of a lane; intermediate statuses that were superseded before delivery are skipped.
+     */
+    default void onLaneStatus(LaneStatusUpdate update) {
+    }
+
+    /**
+     * A gate pass transition, in the order they happened.
+     */
+    default void onPassTransition(PassTransitionUpdate update) {
+    }
+
+    /**
+     * {@code count} older pass transitions were discarded because this subscriber's buffer was full.
+     */
+    default void onTransitionsDropped(long count) {
+    }
+}
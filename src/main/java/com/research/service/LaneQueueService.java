@@ -0,0 +1,70 @@
+package com.research.service;
+
+import com.research.exception.BusinessRuleViolationException;
+import com.research.index.PassQueue;
+import com.research.index.QueuedPass;
+import com.research.model.GatePass;
+import com.research.model.GatePassStatus;
+import com.research.model.PassPriority;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-lane waiting lines in front of {@link GatePassService}: submitted passes are requested as usual and queued
+ * on their lane by {@link PassPriority}; the lane operator approves whoever is next.
+ */
+public class LaneQueueService {
+    private final GatePassService gatePassService;
+    private final Clock clock;
+    private final ConcurrentMap<Integer, PassQueue> queues = new ConcurrentHashMap<>();
+
+    public LaneQueueService(GatePassService gatePassService) {
+        this(gatePassService, Clock.systemDefaultZone());
+    }
+
+    public LaneQueueService(GatePassService gatePassService, Clock clock) {
+        this.gatePassService = gatePassService;
+        this.clock = clock;
+    }
+
+    /**
+     * Requests the pass and queues it on the lane. Returns {@code null} if the request repeated one already made,
+     * which keeps its place in the line.
+     */
+    public QueuedPass submit(int laneId, GatePass pass) {
+        if (gatePassService.requestGatePass(pass) != pass) {
+            return null;
+        }
+        return queue(laneId).offer(pass, PassPriority.of(pass));
+    }
+
+    /**
+     * Approves and returns the next pending pass of the lane, or returns {@code null} if nobody is waiting.
+     * Passes approved or denied by id in the meantime are skipped.
+     */
+    public QueuedPass approveNext(int laneId) {
+        PassQueue queue = queue(laneId);
+        for (QueuedPass next = queue.poll(); next != null; next = queue.poll()) {
+            if (next.getPass().getStatus() != GatePassStatus.PENDING) {
+                continue;
+            }
+            try {
+                gatePassService.approvePass(next.getPass().getId());
+                return next;
+            } catch (BusinessRuleViolationException decidedMeanwhile) {
+                // approved or denied by id between the check and the approval
+            }
+        }
+        return null;
+    }
+
+    public int getQueueLength(int laneId) {
+        return queue(laneId).size();
+    }
+
+    private PassQueue queue(int laneId) {
+        return queues.computeIfAbsent(laneId, k -> new PassQueue(clock));
+    }
+}
@@ -0,0 +1,96 @@
+package com.research.service;
+
+import com.research.index.SeasonalProfile;
+import com.research.model.GateLane;
+import com.research.model.GateLaneStatus;
+import com.research.model.LaneScheduleEntry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Turns the demand forecast into lane opening schedules. For each slot the forecast arrivals per minute, plus
+ * {@code headroom}, must fit within the capacity of the open lanes; the largest lanes are picked first, busy
+ * lanes always count as open and at least {@code minOpenLanes} stay open. Slots without history keep every
+ * lane open.
+ *
+ * <p>{@link #apply} acts {@code leadTime} ahead: a lane opens as soon as any slot up to {@code now + leadTime}
+ * needs it, and closes only once no slot in that span does, so lanes are ready before a peak and do not flap.
+ */
+public class LaneScheduleService {
+    private final GateLaneService gateLaneService;
+    private final DemandForecastService demandForecastService;
+    private final double headroom;
+    private final Duration leadTime;
+    private final int minOpenLanes;
+
+    public LaneScheduleService(GateLaneService gateLaneService, DemandForecastService demandForecastService,
+                               double headroom, Duration leadTime, int minOpenLanes) {
+        ValidationService.assertTrue(headroom >= 0, "Headroom must not be negative.");
+        ValidationService.validateNotNull(leadTime, "Lead time is required.");
+        ValidationService.validatePositive(minOpenLanes, "At least one lane must stay open.");
+        this.gateLaneService = gateLaneService;
+        this.demandForecastService = demandForecastService;
+        this.headroom = headroom;
+        this.leadTime = leadTime;
+        this.minOpenLanes = minOpenLanes;
+    }
+
+    /**
+     * One entry per forecasting slot from the slot containing {@code from} until {@code from + horizon}.
+     */
+    public List<LaneScheduleEntry> recommend(LocalDateTime from, Duration horizon) {
+        List<GateLane> lanes = gateLaneService.getAllLanes();
+        List<LaneScheduleEntry> schedule = new ArrayList<>();
+        long last = SeasonalProfile.slotOf(from.plus(horizon));
+        for (long slot = SeasonalProfile.slotOf(from); slot <= last; slot++) {
+            LocalDateTime start = SeasonalProfile.slotStart(slot);
+            double demand = demandForecastService.forecastPerMinute(start);
+            schedule.add(new LaneScheduleEntry(start, demand, demandForecastService.hasHistory(start)
+                    ? lanesFor(demand * (1 + headroom), lanes)
+                    : lanes.stream().map(GateLane::getId).sorted().toList()));
+        }
+        return schedule;
+    }
+
+    /**
+     * Opens and closes lanes for the span {@code [now, now + leadTime]}. Returns the ids of lanes whose status
+     * changed.
+     */
+    public List<Integer> apply(LocalDateTime now) {
+        Set<Integer> needed = new HashSet<>();
+        for (LaneScheduleEntry entry : recommend(now, leadTime)) {
+            needed.addAll(entry.getOpenLaneIds());
+        }
+        List<Integer> changed = new ArrayList<>();
+        for (GateLane lane : gateLaneService.getAllLanes()) {
+            if (needed.contains(lane.getId()) && lane.getStatus() == GateLaneStatus.CLOSED) {
+                gateLaneService.openLane(lane.getId());
+                changed.add(lane.getId());
+            } else if (!needed.contains(lane.getId()) && lane.getStatus() == GateLaneStatus.OPEN) {
+                gateLaneService.closeLane(lane.getId());
+                changed.add(lane.getId());
+            }
+        }
+        return changed;
+    }
+
+    private List<Integer> lanesFor(double demandPerMinute, List<GateLane> lanes) {
+        List<GateLane> byCapacity = new ArrayList<>(lanes);
+        byCapacity.sort(Comparator.comparing((GateLane lane) -> lane.getStatus() != GateLaneStatus.BUSY)
+                .thenComparing(Comparator.comparingInt(GateLane::getCapacityPerMinute).reversed())
+                .thenComparingInt(GateLane::getId));
+        List<Integer> open = new ArrayList<>();
+        int capacity = 0;
+        for (GateLane lane : byCapacity) {
+            if (capacity >= demandPerMinute && open.size() >= minOpenLanes && lane.getStatus() != GateLaneStatus.BUSY) {
+                break;
+            }
+            open.add(lane.getId());
+            capacity += lane.getCapacityPerMinute();
+        }
+        open.sort(null);
+        return open;
+    }
+}
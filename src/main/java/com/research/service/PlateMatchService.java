@@ -0,0 +1,80 @@
+package com.research.service;
+
+import com.research.index.FuzzyPlateIndex;
+import com.research.index.PlateMatch;
+import com.research.model.Vehicle;
+import com.research.model.VisitReservation;
+import com.research.repository.RepositoryListener;
+import com.research.repository.VehicleRepository;
+import com.research.repository.VisitReservationRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Suggests registered or reserved plates for a camera read that found no exact match
+ * (OCR confusions such as O/0, B/8, I/1). The index follows both repositories through listeners.
+ */
+public class PlateMatchService {
+    /**
+     * Default bound: two confusable swaps or one ordinary edit.
+     */
+    public static final int DEFAULT_MAX_DISTANCE = 2;
+
+    private final FuzzyPlateIndex index = new FuzzyPlateIndex();
+    private final Map<Integer, String> registeredPlates = new HashMap<>();
+    private final Map<Integer, String> reservedPlates = new HashMap<>();
+
+    public PlateMatchService(VehicleRepository vehicleRepository,
+                             VisitReservationRepository visitReservationRepository) {
+        vehicleRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(Vehicle vehicle) {
+                track(registeredPlates, vehicle.getId(), vehicle.getPlateNumber());
+            }
+
+            @Override
+            public void onDelete(Vehicle vehicle) {
+                track(registeredPlates, vehicle.getId(), null);
+            }
+        });
+        visitReservationRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(VisitReservation reservation) {
+                track(reservedPlates, reservation.getId(), reservation.getVehiclePlate());
+            }
+
+            @Override
+            public void onDelete(VisitReservation reservation) {
+                track(reservedPlates, reservation.getId(), null);
+            }
+        });
+        for (Vehicle vehicle : vehicleRepository.findAll()) {
+            track(registeredPlates, vehicle.getId(), vehicle.getPlateNumber());
+        }
+        for (VisitReservation reservation : visitReservationRepository.findAll()) {
+            track(reservedPlates, reservation.getId(), reservation.getVehiclePlate());
+        }
+    }
+
+    public List<PlateMatch> findSimilarPlates(String plate, int maxDistance, int limit) {
+        ValidationService.validateStringNotEmpty(plate, "Plate number required.");
+        ValidationService.validatePositive(limit, "Limit must be positive.");
+        return index.search(plate, maxDistance, limit);
+    }
+
+    public List<PlateMatch> findSimilarPlates(String plate) {
+        return findSimilarPlates(plate, DEFAULT_MAX_DISTANCE, 5);
+    }
+
+    private synchronized void track(Map<Integer, String> plates, int id, String plate) {
+        String previous = plate == null ? plates.remove(id) : plates.put(id, plate);
+        if (previous != null) {
+            index.remove(previous);
+        }
+        if (plate != null) {
+            index.add(plate);
+        }
+    }
+}
@@ -1,16 +1,55 @@
 package com.research.service;
 
 import com.research.exception.NotFoundException;
+import com.research.id.IdAllocator;
+import com.research.index.TextSearchIndex;
 import com.research.model.Resident;
+import com.research.repository.RepositoryListener;
 import com.research.repository.ResidentRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public class ResidentService {
     private final ResidentRepository residentRepository;
+    private final TextSearchIndex searchIndex = new TextSearchIndex();
+    private volatile IdAllocator idAllocator;
 
     public ResidentService(ResidentRepository residentRepository) {
         this.residentRepository = residentRepository;
+        residentRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(Resident resident) {
+                indexResident(resident);
+            }
+
+            @Override
+            public void onDelete(Resident resident) {
+                searchIndex.remove(resident.getId());
+            }
+        });
+        residentRepository.findAll().forEach(this::indexResident);
+    }
+
+    /**
+     * Lets callers take resident ids from {@link #nextId()}; ids they choose themselves are still accepted and later
+     * allocations skip past them.
+     */
+    public void setIdAllocator(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * A new resident id, never handed out before and not taken by an id a caller chose.
+     */
+    public int nextId() {
+        IdAllocator allocator = idAllocator;
+        ValidationService.assertTrue(allocator != null, "Resident ID allocation is not enabled.");
+        int id = allocator.nextId();
+        while (residentRepository.existsById(id)) {
+            id = allocator.nextId();
+        }
+        return id;
     }
 
     public void addResident(Resident resident) {
@@ -20,6 +59,10 @@ public class ResidentService {
         ValidationService.assertUnique(residentRepository.findByEmail(resident.getEmail()).isPresent(),
                 "Resident email already exists.");
         residentRepository.save(resident);
+        IdAllocator allocator = idAllocator;
+        if (allocator != null) {
+            allocator.skipPast(resident.getId());
+        }
     }
 
     public List<Resident> getAllResidents() {
@@ -49,4 +92,23 @@ public class ResidentService {
         return residentRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("Resident not found with email: " + email));
     }
-}
\ No newline at end of file
+
+    /**
+     * Type-ahead search over name, unit number and email, best matches first.
+     */
+    public List<Resident> searchResidents(String query, int limit) {
+        ValidationService.validateStringNotEmpty(query, "Search text cannot be empty.");
+        ValidationService.validatePositive(limit, "Limit must be positive.");
+        return searchIndex.search(query, limit).stream()
+                .map(residentRepository::findById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private void indexResident(Resident resident) {
+        searchIndex.put(resident.getId(), List.of(
+                new TextSearchIndex.Field(resident.getFullName(), 3, TextSearchIndex.FieldType.TEXT),
+                new TextSearchIndex.Field(resident.getUnitNumber(), 3, TextSearchIndex.FieldType.CODE),
+                new TextSearchIndex.Field(resident.getEmail(), 2, TextSearchIndex.FieldType.TEXT)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.research.service;
+
+import com.research.index.TrafficRollup;
+import com.research.model.*;
+import com.research.repository.GatePassRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps gate passes at full detail for {@link RetentionPolicy#getRawRetention()}, then rolls finished passes
+ * (completed or denied) into hourly aggregates and evicts them from the repository; hourly aggregates older than
+ * {@link RetentionPolicy#getHourlyRetention()} are folded into daily ones. Pending and approved passes are never
+ * evicted, nor are passes without a pass time.
+ *
+ * <p>Reports combine raw passes and both rollup levels. Coarser buckets cannot be split, so a daily bucket is
+ * reported whole when its start lies in the requested range.
+ */
+public class TrafficRetentionService {
+    private final GatePassRepository gatePassRepository;
+    private final RetentionPolicy retentionPolicy;
+    private final TrafficRollup rollup = new TrafficRollup();
+
+    public TrafficRetentionService(GatePassRepository gatePassRepository, RetentionPolicy retentionPolicy) {
+        ValidationService.validateNotNull(retentionPolicy, "Retention policy is required.");
+        ValidationService.validateNotNull(retentionPolicy.getRawRetention(), "Raw retention is required.");
+        ValidationService.validateNotNull(retentionPolicy.getHourlyRetention(), "Hourly retention is required.");
+        ValidationService.assertTrue(!retentionPolicy.getRawRetention().isNegative(), "Raw retention must not be negative.");
+        ValidationService.assertTrue(retentionPolicy.getHourlyRetention().compareTo(retentionPolicy.getRawRetention()) >= 0,
+                "Hourly retention must not be shorter than raw retention.");
+        this.gatePassRepository = gatePassRepository;
+        this.retentionPolicy = retentionPolicy;
+    }
+
+    /**
+     * Applies the policy as of {@code now}. Returns the number of passes evicted.
+     */
+    public synchronized int compact(LocalDateTime now) {
+        LocalDateTime rawCutoff = RollupGranularity.HOURLY.bucketOf(now.minus(retentionPolicy.getRawRetention()));
+        int evicted = 0;
+        for (GatePass pass : gatePassRepository.findByPassTimeBetween(LocalDateTime.MIN, rawCutoff)) {
+            if (pass.getStatus() == GatePassStatus.COMPLETED || pass.getStatus() == GatePassStatus.DENIED) {
+                rollup.add(pass);
+                gatePassRepository.deleteById(pass.getId());
+                evicted++;
+            }
+        }
+        rollup.foldHoursBefore(now.minus(retentionPolicy.getHourlyRetention()));
+        return evicted;
+    }
+
+    /**
+     * Pass counts for {@code [from, to)} at {@code granularity} (or daily where only daily data is left),
+     * ordered by bucket start.
+     */
+    public synchronized List<TrafficAggregate> getTrafficReport(LocalDateTime from, LocalDateTime to,
+                                                                RollupGranularity granularity) {
+        ValidationService.validateNotNull(from, "Report start is required.");
+        ValidationService.validateNotNull(to, "Report end is required.");
+        ValidationService.validateNotNull(granularity, "Granularity is required.");
+        TrafficRollup.TrafficReport report = new TrafficRollup.TrafficReport();
+        for (GatePass pass : gatePassRepository.findByPassTimeBetween(from, to)) {
+            report.add(granularity, granularity.bucketOf(pass.getPassTime()), TrafficDimensions.of(pass), 1);
+        }
+        rollup.collect(from, to, granularity, report);
+        return report.toAggregates();
+    }
+
+    public long countPasses(LocalDateTime from, LocalDateTime to) {
+        return getTrafficReport(from, to, RollupGranularity.DAILY).stream().mapToLong(TrafficAggregate::getCount).sum();
+    }
+
+    /**
+     * Number of aggregate counters held; bounded by buckets kept times distinct dimension combinations.
+     */
+    public long getRollupCellCount() {
+        return rollup.cellCount();
+    }
+}
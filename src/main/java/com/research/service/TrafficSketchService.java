@@ -0,0 +1,112 @@
+package com.research.service;
+
+import com.research.index.HeavyHitter;
+import com.research.index.TrafficSketch;
+import com.research.model.GatePass;
+import com.research.model.GatePassStatus;
+import com.research.model.PlateKey;
+import com.research.model.Vehicle;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Approximate traffic statistics from completed gate passes: one {@link TrafficSketch} per day and lane, kept for
+ * {@code retentionDays}. Queries over several days or lanes merge the windows, so memory is fixed per window
+ * however much traffic passes.
+ *
+ * <p>Registers as a {@link GatePassTransitionListener}; a completed pass counts for its vehicle's plate, and as a
+ * visitor when the vehicle has no resident owner.
+ */
+public class TrafficSketchService implements GatePassTransitionListener {
+    public static final int DEFAULT_RETENTION_DAYS = 35;
+
+    private final int retentionDays;
+    private final Supplier<TrafficSketch> sketchFactory;
+    private final NavigableMap<LocalDate, Map<Integer, TrafficSketch>> windows = new TreeMap<>();
+
+    public TrafficSketchService() {
+        // ~80 KiB per window: 512 heavy-hitter counters, 1024 x 4 Count-Min, two 2^11 HyperLogLogs (~2.3% error)
+        this(DEFAULT_RETENTION_DAYS, () -> new TrafficSketch(512, 1024, 4, 11));
+    }
+
+    public TrafficSketchService(int retentionDays, Supplier<TrafficSketch> sketchFactory) {
+        ValidationService.validatePositive(retentionDays, "Retention days must be positive.");
+        this.retentionDays = retentionDays;
+        this.sketchFactory = sketchFactory;
+    }
+
+    @Override
+    public void onTransition(GatePass pass, GatePassStatus from, GatePassStatus to) {
+        Vehicle vehicle = pass.getVehicle();
+        if (to == GatePassStatus.COMPLETED && vehicle != null && pass.getPassTime() != null) {
+            record(vehicle.getPlateNumber(), pass.getLane() == null ? null : pass.getLane().getId(),
+                    pass.getPassTime(), vehicle.getOwner() == null);
+        }
+    }
+
+    /**
+     * Counts one passage of {@code plate} through lane {@code laneId} (may be {@code null}) at {@code at}.
+     * Passages older than the retention window are ignored.
+     */
+    public synchronized void record(String plate, Integer laneId, LocalDateTime at, boolean visitor) {
+        LocalDate day = at.toLocalDate();
+        if (!windows.isEmpty() && day.isBefore(windows.lastKey().minusDays(retentionDays - 1))) {
+            return;
+        }
+        windows.computeIfAbsent(day, k -> new HashMap<>())
+                .computeIfAbsent(laneId, k -> sketchFactory.get())
+                .add(PlateKey.of(plate), visitor);
+        windows.headMap(windows.lastKey().minusDays(retentionDays - 1)).clear();
+    }
+
+    /**
+     * The {@code k} most frequent plates between {@code from} and {@code to} (inclusive), all lanes.
+     */
+    public List<HeavyHitter<PlateKey>> getTopVehicles(LocalDate from, LocalDate to, int k) {
+        return merged(from, to, null).top(k);
+    }
+
+    public long getDistinctVisitors(LocalDate day) {
+        return merged(day, day, null).estimateDistinctVisitors();
+    }
+
+    public long getDistinctPlates(LocalDate from, LocalDate to) {
+        return merged(from, to, null).estimateDistinctPlates();
+    }
+
+    public long estimatePassages(String plate, LocalDate from, LocalDate to) {
+        return merged(from, to, null).estimatePassages(PlateKey.of(plate));
+    }
+
+    /**
+     * All windows between {@code from} and {@code to} (inclusive) merged into one sketch, restricted to one lane
+     * unless {@code laneId} is {@code null}.
+     */
+    public synchronized TrafficSketch merged(LocalDate from, LocalDate to, Integer laneId) {
+        TrafficSketch result = sketchFactory.get();
+        if (from.isAfter(to)) {
+            return result;
+        }
+        for (Map<Integer, TrafficSketch> lanes : windows.subMap(from, true, to, true).values()) {
+            for (Map.Entry<Integer, TrafficSketch> lane : lanes.entrySet()) {
+                if (laneId == null || laneId.equals(lane.getKey())) {
+                    result.merge(lane.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    public synchronized long getMemoryBytes() {
+        long bytes = 0;
+        for (Map<Integer, TrafficSketch> lanes : windows.values()) {
+            for (TrafficSketch sketch : lanes.values()) {
+                bytes += sketch.memoryBytes();
+            }
+        }
+        return bytes;
+    }
+}
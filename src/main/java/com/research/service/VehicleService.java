@@ -1,16 +1,57 @@
 package com.research.service;
 
 import com.research.exception.NotFoundException;
+import com.research.id.IdAllocator;
+import com.research.index.TextSearchIndex;
+import com.research.model.Resident;
 import com.research.model.Vehicle;
+import com.research.repository.RepositoryListener;
+import com.research.repository.ResidentRepository;
 import com.research.repository.VehicleRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public class VehicleService {
     private final VehicleRepository vehicleRepository;
+    private final TextSearchIndex searchIndex = new TextSearchIndex();
+    private volatile IdAllocator idAllocator;
 
     public VehicleService(VehicleRepository vehicleRepository) {
         this.vehicleRepository = vehicleRepository;
+        vehicleRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(Vehicle vehicle) {
+                indexVehicle(vehicle);
+            }
+
+            @Override
+            public void onDelete(Vehicle vehicle) {
+                searchIndex.remove(vehicle.getId());
+            }
+        });
+        vehicleRepository.findAll().forEach(this::indexVehicle);
+    }
+
+    /**
+     * Lets callers take vehicle ids from {@link #nextId()}; ids they choose themselves are still accepted and later
+     * allocations skip past them.
+     */
+    public void setIdAllocator(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
+    }
+
+    /**
+     * A new vehicle id, never handed out before and not taken by an id a caller chose.
+     */
+    public int nextId() {
+        IdAllocator allocator = idAllocator;
+        ValidationService.assertTrue(allocator != null, "Vehicle ID allocation is not enabled.");
+        int id = allocator.nextId();
+        while (vehicleRepository.existsById(id)) {
+            id = allocator.nextId();
+        }
+        return id;
     }
 
     public void registerVehicle(Vehicle vehicle) {
@@ -20,6 +61,10 @@ public class VehicleService {
         ValidationService.assertUnique(vehicleRepository.existsByPlateNumber(vehicle.getPlateNumber()),
                 "Duplicate plate number not allowed.");
         vehicleRepository.save(vehicle);
+        IdAllocator allocator = idAllocator;
+        if (allocator != null) {
+            allocator.skipPast(vehicle.getId());
+        }
     }
 
     public List<Vehicle> getAllVehicles() {
@@ -49,4 +94,65 @@ public class VehicleService {
         return vehicleRepository.findByPlateNumber(plate)
                 .orElseThrow(() -> new NotFoundException("Vehicle not found with plate: " + plate));
     }
-}
\ No newline at end of file
+
+    public List<Vehicle> getVehiclesByOwner(int residentId) {
+        return vehicleRepository.findByOwnerId(residentId);
+    }
+
+    /**
+     * Deletes every vehicle owned by the resident and returns how many were removed.
+     */
+    public int deleteVehiclesByOwner(int residentId) {
+        List<Vehicle> vehicles = vehicleRepository.findByOwnerId(residentId);
+        vehicles.forEach(vehicle -> vehicleRepository.deleteById(vehicle.getId()));
+        return vehicles.size();
+    }
+
+    /**
+     * Revokes gate access for every vehicle owned by the resident and returns how many were changed.
+     */
+    public int disableVehiclesByOwner(int residentId) {
+        int disabled = 0;
+        for (Vehicle vehicle : vehicleRepository.findByOwnerId(residentId)) {
+            if (vehicle.isAllowed()) {
+                vehicle.setAllowed(false);
+                vehicleRepository.update(vehicle);
+                disabled++;
+            }
+        }
+        return disabled;
+    }
+
+    /**
+     * Deletes a resident's vehicles whenever the resident is deleted from {@code residentRepository}.
+     */
+    public void cascadeResidentDeletes(ResidentRepository residentRepository) {
+        residentRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(Resident resident) {
+            }
+
+            @Override
+            public void onDelete(Resident resident) {
+                deleteVehiclesByOwner(resident.getId());
+            }
+        });
+    }
+
+    /**
+     * Type-ahead search over full or partial plates; any part of the plate matches.
+     */
+    public List<Vehicle> searchVehicles(String query, int limit) {
+        ValidationService.validateStringNotEmpty(query, "Search text cannot be empty.");
+        ValidationService.validatePositive(limit, "Limit must be positive.");
+        return searchIndex.search(query, limit).stream()
+                .map(vehicleRepository::findById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private void indexVehicle(Vehicle vehicle) {
+        searchIndex.put(vehicle.getId(), List.of(new TextSearchIndex.Field(vehicle.getPlateNumber(), 4,
+                TextSearchIndex.FieldType.PLATE)));
+    }
+}
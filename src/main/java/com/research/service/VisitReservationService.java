@@ -1,25 +1,121 @@
 package com.research.service;
 
+import com.research.id.IdAllocator;
+import com.research.index.SlotCounter;
+import com.research.model.SlotCapacity;
+import com.research.model.SlotUsage;
 import com.research.model.VisitReservation;
+import com.research.repository.RepositoryListener;
 import com.research.repository.VisitReservationRepository;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
+/**
+ * A reservation admits its vehicle from {@link #ACCESS_WINDOW} before to {@link #ACCESS_WINDOW} after the
+ * reserved slot. The window is fixed, so window overlap questions reduce to slot range queries on the repository.
+ *
+ * <p>With a {@link SlotCapacity} set, each {@value SlotCounter#SLOT_MINUTES}-minute slot admits a bounded number
+ * of visitor vehicles and passengers. Bookings are counted by a {@link SlotCounter} that follows the repository.
+ */
 public class VisitReservationService {
+    public static final Duration ACCESS_WINDOW = Duration.ofHours(1);
+
     private final VisitReservationRepository visitReservationRepository;
+    private volatile SlotCapacity slotCapacity;
+    private volatile SlotCounter slotCounter;
+    private volatile IdAllocator idAllocator;
 
     public VisitReservationService(VisitReservationRepository visitReservationRepository) {
         this.visitReservationRepository = visitReservationRepository;
+        visitReservationRepository.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(VisitReservation reservation) {
+                SlotCounter counter = slotCounter;
+                if (counter != null && reservation.getVisitDate() != null && reservation.getVisitTime() != null) {
+                    counter.put(reservation.getId(), slotOf(reservation), reservation.getNumberOfPassengers());
+                }
+            }
+
+            @Override
+            public void onDelete(VisitReservation reservation) {
+                SlotCounter counter = slotCounter;
+                if (counter != null) {
+                    counter.remove(reservation.getId());
+                }
+            }
+        });
+    }
+
+    /**
+     * Enables per-slot limits, counting the reservations already booked; {@code null} removes the limits.
+     */
+    public synchronized void setSlotCapacity(SlotCapacity slotCapacity) {
+        SlotCounter counter = null;
+        if (slotCapacity != null) {
+            counter = new SlotCounter();
+            for (VisitReservation reservation : visitReservationRepository.findAll()) {
+                if (reservation.getVisitDate() != null && reservation.getVisitTime() != null) {
+                    counter.put(reservation.getId(), slotOf(reservation), reservation.getNumberOfPassengers());
+                }
+            }
+        }
+        this.slotCounter = counter;
+        this.slotCapacity = slotCapacity;
+    }
+
+    /**
+     * Lets callers take reservation ids from {@link #nextId()}; ids they choose themselves are still accepted and
+     * later allocations skip past them.
+     */
+    public void setIdAllocator(IdAllocator idAllocator) {
+        this.idAllocator = idAllocator;
     }
 
-    public void createReservation(VisitReservation reservation) {
+    /**
+     * A new reservation id, never handed out before and not taken by an id a caller chose.
+     */
+    public int nextId() {
+        IdAllocator allocator = idAllocator;
+        ValidationService.assertTrue(allocator != null, "Reservation ID allocation is not enabled.");
+        int id = allocator.nextId();
+        while (visitReservationRepository.existsById(id)) {
+            id = allocator.nextId();
+        }
+        return id;
+    }
+
+    /**
+     * The same plate may hold several reservations (recurring visitors) as long as their access windows
+     * do not overlap.
+     */
+    public synchronized void createReservation(VisitReservation reservation) {
         ValidationService.validateNotNull(reservation, "VisitReservation is required.");
+        ValidationService.validateNotNull(reservation.getVisitDate(), "Visit date is required.");
+        ValidationService.validateNotNull(reservation.getVisitTime(), "Visit time is required.");
         ValidationService.assertUnique(visitReservationRepository.existsById(reservation.getId()), "Reservation ID already exists.");
-        ValidationService.assertUnique(visitReservationRepository.findByVehiclePlate(reservation.getVehiclePlate()).isPresent(),
-                "Reservation exists for this vehicle plate.");
+        LocalDateTime slot = reservation.getVisitDate().atTime(reservation.getVisitTime());
+        Duration overlap = ACCESS_WINDOW.multipliedBy(2);
+        ValidationService.assertUnique(!visitReservationRepository.findByVehiclePlateBetween(
+                        reservation.getVehiclePlate(), slot.minus(overlap), slot.plus(overlap)).isEmpty(),
+                "Reservation overlaps an existing one for this vehicle plate.");
+        SlotCounter counter = slotCounter;
+        if (counter != null) {
+            SlotUsage booked = counter.usage(slot, slot);
+            ValidationService.assertTrue(booked.getVehicles() + 1 <= slotCapacity.getMaxVehicles(),
+                    "No visitor vehicle capacity left in this time slot.");
+            ValidationService.assertTrue(
+                    booked.getPassengers() + reservation.getNumberOfPassengers() <= slotCapacity.getMaxPassengers(),
+                    "No visitor passenger capacity left in this time slot.");
+        }
         visitReservationRepository.save(reservation);
+        IdAllocator allocator = idAllocator;
+        if (allocator != null) {
+            allocator.skipPast(reservation.getId());
+        }
     }
 
     public List<VisitReservation> getAllReservations() {
@@ -32,13 +128,39 @@ public class VisitReservationService {
     }
 
     public boolean validateVisitorAccess(String plate, LocalDate date, LocalTime time) {
-        return visitReservationRepository.findByVehiclePlate(plate)
-                .filter(res -> res.getVisitDate().equals(date) && isWithinTimeWindow(res.getVisitTime(), time))
-                .isPresent();
+        LocalDateTime arrival = date.atTime(time);
+        return !visitReservationRepository.findByVehiclePlateBetween(
+                plate, arrival.minus(ACCESS_WINDOW), arrival.plus(ACCESS_WINDOW)).isEmpty();
+    }
+
+    /**
+     * Capacity still free across every slot overlapping {@code [from, to]}.
+     */
+    public SlotUsage getRemainingCapacity(LocalDateTime from, LocalDateTime to) {
+        ValidationService.validateNotNull(from, "Start time is required.");
+        ValidationService.validateNotNull(to, "End time is required.");
+        ValidationService.assertTrue(!from.isAfter(to), "Start time must not be after end time.");
+        SlotCapacity capacity = slotCapacity;
+        SlotCounter counter = slotCounter;
+        ValidationService.validateNotNull(capacity, "Slot capacity is not configured.");
+        ValidationService.validateNotNull(counter, "Slot capacity is not configured.");
+        long slots = SlotCounter.slotOf(to) - SlotCounter.slotOf(from) + 1;
+        SlotUsage booked = counter.usage(from, to);
+        return new SlotUsage(slots * capacity.getMaxVehicles() - booked.getVehicles(),
+                slots * capacity.getMaxPassengers() - booked.getPassengers());
+    }
+
+    /**
+     * Reservations whose access window intersects {@code [from, to]}, earliest slot first.
+     */
+    public List<VisitReservation> getExpectedVisitors(LocalDateTime from, LocalDateTime to) {
+        ValidationService.validateNotNull(from, "Start time is required.");
+        ValidationService.validateNotNull(to, "End time is required.");
+        ValidationService.assertTrue(!from.isAfter(to), "Start time must not be after end time.");
+        return visitReservationRepository.findScheduledBetween(from.minus(ACCESS_WINDOW), to.plus(ACCESS_WINDOW));
     }
 
-    // Helper: assume 1 hour time window before/after reservation
-    private boolean isWithinTimeWindow(LocalTime reserved, LocalTime actual) {
-        return !actual.isBefore(reserved.minusHours(1)) && !actual.isAfter(reserved.plusHours(1));
+    private static LocalDateTime slotOf(VisitReservation reservation) {
+        return reservation.getVisitDate().atTime(reservation.getVisitTime());
     }
-}
\ No newline at end of file
+}
@@ -2,14 +2,21 @@ package com.research.ui;
 
 import com.research.model.GateLane;
 import com.research.model.GateLaneStatus;
+import com.research.model.LaneScheduleEntry;
 import com.research.service.GateLaneService;
+import com.research.service.LaneScheduleService;
 import com.research.util.ConsoleUtil;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 public class GateLaneMenu {
     private final GateLaneService gateLaneService;
+    private final LaneScheduleService laneScheduleService;
 
-    public GateLaneMenu(GateLaneService service) {
+    public GateLaneMenu(GateLaneService service, LaneScheduleService laneScheduleService) {
         this.gateLaneService = service;
+        this.laneScheduleService = laneScheduleService;
     }
 
     public void displayMenu() {
@@ -22,6 +29,8 @@ public class GateLaneMenu {
             System.out.println("4. Open Lane");
             System.out.println("5. Close Lane");
             System.out.println("6. View Open Lanes");
+            System.out.println("7. Recommended Lane Schedule");
+            System.out.println("8. Apply Recommended Lanes Now");
             System.out.println("0. Back to Main Menu");
 
             int choice = ConsoleUtil.promptInt("Select an option: ");
@@ -33,6 +42,8 @@ public class GateLaneMenu {
                     case 4 -> openLane();
                     case 5 -> closeLane();
                     case 6 -> viewOpenLanes();
+                    case 7 -> viewSchedule();
+                    case 8 -> applySchedule();
                     case 0 -> back = true;
                     default -> System.out.println("Invalid option. Try again.");
                 }
@@ -92,4 +103,17 @@ public class GateLaneMenu {
                     l.getId(), l.getLaneNumber(), l.getCapacityPerMinute(), l.getStatus());
         }
     }
-}
\ No newline at end of file
+
+    private void viewSchedule() {
+        int hours = ConsoleUtil.promptInt("Hours ahead: ");
+        System.out.println("=== Recommended Lanes ===");
+        for (LaneScheduleEntry entry : laneScheduleService.recommend(LocalDateTime.now(), Duration.ofHours(hours))) {
+            System.out.printf("%s  ~%.1f vehicles/min  open lanes %s%n",
+                    entry.getSlotStart(), entry.getForecastPerMinute(), entry.getOpenLaneIds());
+        }
+    }
+
+    private void applySchedule() {
+        System.out.println("Lanes changed: " + laneScheduleService.apply(LocalDateTime.now()));
+    }
+}
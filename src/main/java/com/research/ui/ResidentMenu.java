@@ -20,6 +20,7 @@ public class ResidentMenu {
             System.out.println("3. Update Resident");
             System.out.println("4. Delete Resident");
             System.out.println("5. Search Resident by Email");
+            System.out.println("6. Quick Search (name, unit, email)");
             System.out.println("0. Back to Main Menu");
 
             int choice = ConsoleUtil.promptInt("Select an option: ");
@@ -31,6 +32,7 @@ public class ResidentMenu {
                     case 3 -> updateResident();
                     case 4 -> deleteResident();
                     case 5 -> searchResident();
+                    case 6 -> quickSearch();
                     case 0 -> back = true;
                     default -> System.out.println("Invalid option. Try again.");
                 }
@@ -90,4 +92,13 @@ public class ResidentMenu {
         System.out.printf("ID: %d, Name: %s, Phone: %s, Unit: %s%n",
                 r.getId(), r.getFullName(), r.getPhone(), r.getUnitNumber());
     }
-}
\ No newline at end of file
+
+    private void quickSearch() {
+        String query = ConsoleUtil.prompt("Search: ");
+        System.out.println("=== Matches ===");
+        for (Resident r : residentService.searchResidents(query, 10)) {
+            System.out.printf("ID: %d, Name: %s, Email: %s, Unit: %s%n",
+                    r.getId(), r.getFullName(), r.getEmail(), r.getUnitNumber());
+        }
+    }
+}
@@ -1,19 +1,49 @@
 package com.research.ui;
 
 
+import com.research.index.HeavyHitter;
+import com.research.index.QueuedPass;
+import com.research.model.GateLane;
 import com.research.model.GatePass;
 import com.research.model.GatePassDirection;
 import com.research.model.GatePassStatus;
+import com.research.model.PassPriority;
+import com.research.model.PlateKey;
+import com.research.model.RollupGranularity;
+import com.research.model.TrafficAggregate;
+import com.research.model.Vehicle;
+import com.research.service.GateAccessService;
+import com.research.service.GateLaneService;
 import com.research.service.GatePassService;
+import com.research.service.LaneQueueService;
+import com.research.service.TrafficRetentionService;
+import com.research.service.TrafficSketchService;
+import com.research.service.VehicleService;
 import com.research.util.ConsoleUtil;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 public class TrafficMenu {
     private final GatePassService gatePassService;
+    private final GateAccessService gateAccessService;
+    private final TrafficRetentionService trafficRetentionService;
+    private final TrafficSketchService trafficSketchService;
+    private final LaneQueueService laneQueueService;
+    private final VehicleService vehicleService;
+    private final GateLaneService gateLaneService;
 
-    public TrafficMenu(GatePassService service) {
+    public TrafficMenu(GatePassService service, GateAccessService gateAccessService,
+                       TrafficRetentionService trafficRetentionService, TrafficSketchService trafficSketchService,
+                       LaneQueueService laneQueueService, VehicleService vehicleService,
+                       GateLaneService gateLaneService) {
         this.gatePassService = service;
+        this.gateAccessService = gateAccessService;
+        this.trafficRetentionService = trafficRetentionService;
+        this.trafficSketchService = trafficSketchService;
+        this.laneQueueService = laneQueueService;
+        this.vehicleService = vehicleService;
+        this.gateLaneService = gateLaneService;
     }
 
     public void displayMenu() {
@@ -25,6 +55,10 @@ public class TrafficMenu {
             System.out.println("3. Approve Gate Pass");
             System.out.println("4. Deny Gate Pass");
             System.out.println("5. View Traffic Logs");
+            System.out.println("6. Check Plate at Gate");
+            System.out.println("7. Daily Traffic Report");
+            System.out.println("8. Frequent Vehicles and Visitors");
+            System.out.println("9. Approve Next in Lane");
             System.out.println("0. Back to Main Menu");
 
             int choice = ConsoleUtil.promptInt("Select an option: ");
@@ -35,6 +69,10 @@ public class TrafficMenu {
                     case 3 -> approveGatePass();
                     case 4 -> denyGatePass();
                     case 5 -> viewTrafficLogs();
+                    case 6 -> checkPlate();
+                    case 7 -> viewTrafficReport();
+                    case 8 -> viewTrafficStatistics();
+                    case 9 -> approveNextInLane();
                     case 0 -> back = true;
                     default -> System.out.println("Invalid option. Try again.");
                 }
@@ -46,15 +84,24 @@ public class TrafficMenu {
     }
 
     private void requestGatePass(boolean isEntry) {
-        int id = ConsoleUtil.promptInt("GatePass ID: ");
-        int vehicleId = ConsoleUtil.promptInt("Vehicle ID: ");
-        int laneId = ConsoleUtil.promptInt("Lane ID: ");
-        // In a real app, you'd inject the actual vehicle and lane instances.
-        GatePass pass = new GatePass(id, null, null,
+        String idText = ConsoleUtil.prompt("GatePass ID (blank to assign): ");
+        int id = idText.isBlank() ? gatePassService.nextId() : Integer.parseInt(idText.trim());
+        Vehicle vehicle = vehicleService.getVehicleById(ConsoleUtil.promptInt("Vehicle ID: "));
+        GateLane lane = gateLaneService.getLaneById(ConsoleUtil.promptInt("Lane ID: "));
+        int laneId = lane.getId();
+        String priority = ConsoleUtil.prompt("Priority (EMERGENCY/SECURITY/SERVICE/NORMAL, blank for vehicle type): ");
+        GatePass pass = new GatePass(id, vehicle, lane,
                 isEntry ? GatePassDirection.ENTRY : GatePassDirection.EXIT,
                 GatePassStatus.PENDING, LocalDateTime.now());
-        gatePassService.requestGatePass(pass);
-        System.out.println((isEntry ? "Entry" : "Exit") + " request submitted.");
+        if (!priority.isBlank()) {
+            pass.setPriority(PassPriority.valueOf(priority.trim().toUpperCase()));
+        }
+        if (laneQueueService.submit(laneId, pass) == null) {
+            System.out.println("This request repeats one already made; it keeps its place on lane " + laneId + ".");
+            return;
+        }
+        System.out.println((isEntry ? "Entry" : "Exit") + " request submitted as pass " + id + ", "
+                + laneQueueService.getQueueLength(laneId) + " waiting on lane " + laneId + ".");
     }
 
     private void approveGatePass() {
@@ -63,6 +110,17 @@ public class TrafficMenu {
         System.out.println("GatePass approved.");
     }
 
+    private void approveNextInLane() {
+        int laneId = ConsoleUtil.promptInt("Lane ID: ");
+        QueuedPass next = laneQueueService.approveNext(laneId);
+        if (next == null) {
+            System.out.println("Nobody is waiting on lane " + laneId + ".");
+        } else {
+            System.out.println("GatePass " + next.getPass().getId() + " (" + next.getPriority() + ") approved, "
+                    + laneQueueService.getQueueLength(laneId) + " still waiting.");
+        }
+    }
+
     private void denyGatePass() {
         int passId = ConsoleUtil.promptInt("GatePass ID to deny: ");
         gatePassService.denyPass(passId);
@@ -76,4 +134,30 @@ public class TrafficMenu {
                     pass.getId(), pass.getDirection(), pass.getStatus(), pass.getPassTime());
         }
     }
-}
\ No newline at end of file
+
+    private void checkPlate() {
+        String plate = ConsoleUtil.prompt("Plate: ");
+        System.out.println("Decision: " + gateAccessService.decide(plate, LocalDateTime.now()));
+    }
+
+    private void viewTrafficReport() {
+        int days = ConsoleUtil.promptInt("Days back: ");
+        LocalDateTime to = RollupGranularity.DAILY.next(RollupGranularity.DAILY.bucketOf(LocalDateTime.now()));
+        System.out.println("=== Daily Traffic ===");
+        for (TrafficAggregate aggregate : trafficRetentionService.getTrafficReport(to.minusDays(days), to,
+                RollupGranularity.DAILY)) {
+            System.out.printf("%s  %s: %d%n", aggregate.getBucketStart().toLocalDate(), aggregate.getDimensions(),
+                    aggregate.getCount());
+        }
+    }
+
+    private void viewTrafficStatistics() {
+        int top = ConsoleUtil.promptInt("How many vehicles: ");
+        LocalDate today = LocalDate.now();
+        System.out.println("=== Most Frequent Vehicles (last 7 days, approximate) ===");
+        for (HeavyHitter<PlateKey> hitter : trafficSketchService.getTopVehicles(today.minusDays(6), today, top)) {
+            System.out.printf("%s: ~%d passages%n", hitter.getKey(), hitter.getCount());
+        }
+        System.out.println("Distinct visitor plates today: ~" + trafficSketchService.getDistinctVisitors(today));
+    }
+}
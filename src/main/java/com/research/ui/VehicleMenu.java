@@ -1,14 +1,18 @@
 package com.research.ui;
 
+import com.research.index.PlateMatch;
 import com.research.model.Vehicle;
+import com.research.service.PlateMatchService;
 import com.research.service.VehicleService;
 import com.research.util.ConsoleUtil;
 
 public class VehicleMenu {
     private final VehicleService vehicleService;
+    private final PlateMatchService plateMatchService;
 
-    public VehicleMenu(VehicleService service) {
+    public VehicleMenu(VehicleService service, PlateMatchService plateMatchService) {
         this.vehicleService = service;
+        this.plateMatchService = plateMatchService;
     }
 
     public void displayMenu() {
@@ -20,6 +24,8 @@ public class VehicleMenu {
             System.out.println("3. Update Vehicle");
             System.out.println("4. Delete Vehicle");
             System.out.println("5. Search by Plate Number");
+            System.out.println("6. Find Similar Plates (camera misread)");
+            System.out.println("7. Quick Search (partial plate)");
             System.out.println("0. Back to Main Menu");
 
             int choice = ConsoleUtil.promptInt("Select an option: ");
@@ -30,6 +36,8 @@ public class VehicleMenu {
                     case 3 -> updateVehicle();
                     case 4 -> deleteVehicle();
                     case 5 -> searchVehicle();
+                    case 6 -> findSimilarPlates();
+                    case 7 -> quickSearch();
                     case 0 -> back = true;
                     default -> System.out.println("Invalid option. Try again.");
                 }
@@ -89,4 +97,23 @@ public class VehicleMenu {
                 v.getId(), v.getPlateNumber(), v.isAllowed() ? "YES" : "NO"
         );
     }
-}
\ No newline at end of file
+
+    private void findSimilarPlates() {
+        String plate = ConsoleUtil.prompt("Enter plate as read: ");
+        System.out.println("=== Candidates ===");
+        for (PlateMatch match : plateMatchService.findSimilarPlates(plate)) {
+            System.out.printf("Plate: %s, Distance: %d%n", match.getPlate(), match.getDistance());
+        }
+    }
+
+    private void quickSearch() {
+        String query = ConsoleUtil.prompt("Plate (any part): ");
+        System.out.println("=== Matches ===");
+        for (Vehicle v : vehicleService.searchVehicles(query, 10)) {
+            System.out.printf(
+                    "ID: %d, Plate: %s, Allowed: %s%n",
+                    v.getId(), v.getPlateNumber(), v.isAllowed() ? "YES" : "NO"
+            );
+        }
+    }
+}
@@ -22,6 +22,8 @@ public class VisitorMenu {
             System.out.println("2. View Reservations");
             System.out.println("3. Cancel Reservation");
             System.out.println("4. Validate Visitor Access");
+            System.out.println("5. Expected Visitors");
+            System.out.println("6. Remaining Slot Capacity");
             System.out.println("0. Back to Main Menu");
 
             int choice = ConsoleUtil.promptInt("Select an option: ");
@@ -31,6 +33,8 @@ public class VisitorMenu {
                     case 2 -> listReservations();
                     case 3 -> cancelReservation();
                     case 4 -> validateAccess();
+                    case 5 -> listExpectedVisitors();
+                    case 6 -> showRemainingCapacity();
                     case 0 -> back = true;
                     default -> System.out.println("Invalid option. Try again.");
                 }
@@ -82,4 +86,24 @@ public class VisitorMenu {
         boolean allowed = visitReservationService.validateVisitorAccess(plate, date, time);
         System.out.println(allowed ? "Access granted." : "Access denied.");
     }
-}
\ No newline at end of file
+
+    private void listExpectedVisitors() {
+        LocalDate date = LocalDate.parse(ConsoleUtil.prompt("Date (YYYY-MM-DD): "));
+        LocalTime from = LocalTime.parse(ConsoleUtil.prompt("From (HH:mm): "));
+        LocalTime to = LocalTime.parse(ConsoleUtil.prompt("To (HH:mm): "));
+
+        System.out.println("=== Expected Visitors ===");
+        for (VisitReservation r : visitReservationService.getExpectedVisitors(date.atTime(from), date.atTime(to))) {
+            System.out.printf("ID: %d, Visitor: %s, Plate: %s, Time: %s, Passengers: %d%n",
+                    r.getId(), r.getVisitorName(), r.getVehiclePlate(), r.getVisitTime(), r.getNumberOfPassengers());
+        }
+    }
+
+    private void showRemainingCapacity() {
+        LocalDate date = LocalDate.parse(ConsoleUtil.prompt("Date (YYYY-MM-DD): "));
+        LocalTime from = LocalTime.parse(ConsoleUtil.prompt("From (HH:mm): "));
+        LocalTime to = LocalTime.parse(ConsoleUtil.prompt("To (HH:mm): "));
+
+        System.out.println("Remaining: " + visitReservationService.getRemainingCapacity(date.atTime(from), date.atTime(to)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.research.web;
+
+import com.research.model.DashboardFrame;
+import com.research.model.PassTransitionUpdate;
+
+/**
+ * JSON encoding of dashboard frames; the model is flat enough not to need a library.
+ */
+final class DashboardJson {
+    private DashboardJson() {
+    }
+
+    static String encode(DashboardFrame frame) {
+        StringBuilder json = new StringBuilder(256 + 64 * frame.getLanes().size());
+        json.append("{\"time\":");
+        string(json, String.valueOf(frame.getTime()));
+        json.append(",\"occupancy\":").append(frame.getOccupancy());
+        json.append(",\"pendingPasses\":").append(frame.getPendingPasses());
+        json.append(",\"lanes\":[");
+        for (int i = 0; i < frame.getLanes().size(); i++) {
+            DashboardFrame.LaneLoad lane = frame.getLanes().get(i);
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(lane.getLaneId())
+                    .append(",\"number\":").append(lane.getLaneNumber())
+                    .append(",\"status\":");
+            string(json, lane.getStatus() == null ? null : lane.getStatus().name());
+            json.append(",\"passesLastMinute\":").append(lane.getPassesLastMinute()).append('}');
+        }
+        json.append("],\"recentDenials\":[");
+        for (int i = 0; i < frame.getRecentDenials().size(); i++) {
+            PassTransitionUpdate denial = frame.getRecentDenials().get(i);
+            json.append(i == 0 ? "" : ",").append("{\"passId\":").append(denial.getPassId())
+                    .append(",\"laneId\":").append(denial.getLaneId())
+                    .append(",\"plate\":");
+            string(json, denial.getPlate());
+            json.append(",\"time\":");
+            string(json, denial.getPassTime() == null ? null : denial.getPassTime().toString());
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void string(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,216 @@
+package com.research.web;
+
+import com.research.model.DashboardFrame;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Live supervisor dashboard on the JDK HTTP server: {@code GET /dashboard} serves a page and
+ * {@code GET /dashboard/feed} a server-sent event stream of {@link DashboardFrame}s.
+ *
+ * <p>Frames are built on a timer, once per {@code period} no matter how many dashboards are connected, encoded
+ * once and the same bytes are written to every client by a small writer pool. A client whose previous frame is
+ * still being written skips frames (only the latest matters). One stuck in a write for {@value #STALL_PERIODS}
+ * periods is disconnected by interrupting the writer, which closes the blocked socket channel, so dashboards
+ * that stop reading cannot hold the writers.
+ */
+public class DashboardServer implements Closeable {
+    private static final int STALL_PERIODS = 10;
+    private static final byte[] PAGE = ("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Gate dashboard</title>"
+            + "</head><body><h1>Gate dashboard</h1><pre id=\"frame\">connecting...</pre><script>"
+            + "new EventSource('/dashboard/feed').addEventListener('frame', e => "
+            + "document.getElementById('frame').textContent = JSON.stringify(JSON.parse(e.data), null, 2));"
+            + "</script></body></html>").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final Supplier<DashboardFrame> frames;
+    private final long periodNanos;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService writers;
+    private final ExecutorService handlers;
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final AtomicLong framesBuilt = new AtomicLong();
+    private final AtomicLong framesSkipped = new AtomicLong();
+    private volatile byte[] latest;
+
+    public DashboardServer(InetSocketAddress address, Supplier<DashboardFrame> frames, Duration period) {
+        this.frames = frames;
+        this.periodNanos = period.toNanos();
+        try {
+            this.server = HttpServer.create(address, 0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot listen on " + address, ex);
+        }
+        this.handlers = Executors.newFixedThreadPool(2, daemon("dashboard-http"));
+        this.writers = Executors.newFixedThreadPool(2, daemon("dashboard-writer"));
+        this.ticker = Executors.newSingleThreadScheduledExecutor(daemon("dashboard-frames"));
+        server.setExecutor(handlers);
+        server.createContext("/dashboard", this::page);
+        server.createContext("/dashboard/feed", this::subscribe);
+    }
+
+    public void start() {
+        server.start();
+        ticker.scheduleAtFixedRate(this::broadcast, 0, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    public long getFramesBuilt() {
+        return framesBuilt.get();
+    }
+
+    public long getFramesSkipped() {
+        return framesSkipped.get();
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+        writers.shutdownNow();
+        server.stop(0);
+        clients.clear();
+        handlers.shutdownNow();
+    }
+
+    private void page(HttpExchange exchange) throws IOException {
+        if (!"/dashboard".equals(exchange.getRequestURI().getPath())) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, PAGE.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(PAGE);
+        }
+    }
+
+    private void subscribe(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        // the exchange stays open after the handler returns; frames are written by the writer pool
+        Client client = new Client(exchange);
+        clients.add(client);
+        byte[] frame = latest;
+        if (frame != null) {
+            client.send(frame);
+        }
+    }
+
+    private void broadcast() {
+        byte[] frame;
+        try {
+            frame = ("event: frame\ndata: " + DashboardJson.encode(frames.get()) + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException ex) {
+            // keep the timer alive; the next period tries again
+            return;
+        }
+        latest = frame;
+        framesBuilt.incrementAndGet();
+        long stalledBefore = System.nanoTime() - STALL_PERIODS * periodNanos;
+        for (Client client : clients) {
+            if (!client.send(frame) && client.busySince < stalledBefore) {
+                client.interruptWrite();
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private class Client {
+        private final HttpExchange exchange;
+        private final OutputStream body;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile long busySince;
+        private Thread writer;
+
+        Client(HttpExchange exchange) {
+            this.exchange = exchange;
+            this.body = exchange.getResponseBody();
+        }
+
+        /**
+         * Queues the frame unless the previous one is still being written.
+         */
+        boolean send(byte[] frame) {
+            if (!busy.compareAndSet(false, true)) {
+                framesSkipped.incrementAndGet();
+                return false;
+            }
+            busySince = System.nanoTime();
+            try {
+                writers.execute(() -> write(frame));
+            } catch (RejectedExecutionException closing) {
+                busy.set(false);
+            }
+            return true;
+        }
+
+        private void write(byte[] frame) {
+            synchronized (this) {
+                writer = Thread.currentThread();
+            }
+            boolean failed = false;
+            try {
+                body.write(frame);
+                body.flush();
+            } catch (IOException gone) {
+                failed = true;
+            } finally {
+                synchronized (this) {
+                    writer = null;
+                }
+                // an interrupt meant for this write must not hit the writer's next client
+                Thread.interrupted();
+            }
+            if (failed) {
+                disconnect();
+            } else {
+                busy.set(false);
+            }
+        }
+
+        /**
+         * Aborts a write blocked on a client that stopped reading; the write fails and the client is dropped.
+         */
+        synchronized void interruptWrite() {
+            if (writer != null) {
+                writer.interrupt();
+            }
+        }
+
+        void disconnect() {
+            if (clients.remove(this)) {
+                exchange.close();
+            }
+        }
+    }
+}
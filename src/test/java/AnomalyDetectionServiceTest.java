@@ -0,0 +1,118 @@
+import com.research.model.*;
+import com.research.service.AnomalyDetectionService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Security Monitoring")
+@DisplayName("AnomalyDetectionService Unit Tests")
+class AnomalyDetectionServiceTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 6, 8, 0);
+
+    private AnomalyDetectionService detector;
+    private final List<TrafficAlert> alerts = new ArrayList<>();
+    private final GateLane lane = new GateLane(1, 1, 10, GateLaneStatus.OPEN);
+    private int nextPassId;
+
+    @BeforeEach
+    void setUp() {
+        detector = new AnomalyDetectionService(new AnomalyRules(3, Duration.ofMinutes(10), Duration.ofDays(2)));
+        detector.addAlertListener(alerts::add);
+    }
+
+    @Test
+    @Story("Burst of entries above lane capacity")
+    @Description("The 11th entry within a minute on a 10/minute lane raises one alert; a later normal minute re-arms it")
+    void testLaneBurst() {
+        for (int i = 0; i < 15; i++) {
+            complete(GatePassDirection.ENTRY, "BST" + i, T0.plusSeconds(i * 3));
+        }
+        assertEquals(1, alerts.size());
+        assertEquals(AlertType.LANE_BURST, alerts.get(0).getType());
+        assertEquals(1, alerts.get(0).getLaneId());
+
+        for (int i = 0; i < 5; i++) {
+            complete(GatePassDirection.ENTRY, "CALM" + i, T0.plusMinutes(5).plusSeconds(i * 10));
+        }
+        for (int i = 0; i < 11; i++) {
+            complete(GatePassDirection.ENTRY, "BST2" + i, T0.plusMinutes(10).plusSeconds(i));
+        }
+        assertEquals(2, alerts.stream().filter(a -> a.getType() == AlertType.LANE_BURST).count());
+    }
+
+    @Test
+    @Story("Repeated denied attempts")
+    @Description("Three denials of one plate within ten minutes alert; three spread over an hour do not")
+    void testRepeatedDenials() {
+        deny("DNY1", T0);
+        deny("DNY1", T0.plusMinutes(30));
+        deny("DNY1", T0.plusMinutes(60));
+        assertTrue(alerts.isEmpty());
+
+        deny("dny-2", T0.plusMinutes(61));
+        deny("DNY2", T0.plusMinutes(63));
+        deny("DNY 2", T0.plusMinutes(65));
+        assertEquals(1, alerts.size());
+        assertEquals(AlertType.REPEATED_DENIALS, alerts.get(0).getType());
+        assertEquals("DNY2", alerts.get(0).getPlate());
+    }
+
+    @Test
+    @Story("Entry without exit")
+    @Description("A vehicle still inside after two days raises one overstay alert, a vehicle that left does not")
+    void testOverstay() {
+        complete(GatePassDirection.ENTRY, "STAY1", T0);
+        complete(GatePassDirection.ENTRY, "LEFT1", T0.plusMinutes(1));
+        complete(GatePassDirection.EXIT, "LEFT1", T0.plusHours(5));
+
+        detector.advanceTo(T0.plusDays(1));
+        assertTrue(alerts.isEmpty());
+        detector.advanceTo(T0.plusDays(2).plusMinutes(5));
+        detector.advanceTo(T0.plusDays(3));
+
+        assertEquals(1, alerts.size());
+        assertEquals(AlertType.OVERSTAY, alerts.get(0).getType());
+        assertEquals("STAY1", alerts.get(0).getPlate());
+    }
+
+    @Test
+    @Story("Per-plate state stays bounded")
+    @Description("A week of traffic from a million plates leaves only plates with live state tracked")
+    void testStateIsBounded() {
+        LocalDateTime time = T0;
+        for (int i = 0; i < 1_000_000; i++) {
+            time = T0.plusSeconds(i / 2);
+            String plate = "BND" + i;
+            if (i % 2 == 0) {
+                deny(plate, time);
+            } else {
+                complete(GatePassDirection.ENTRY, plate, time);
+                complete(GatePassDirection.EXIT, plate, time.plusSeconds(1));
+            }
+            assertTrue(detector.getTrackedPlateCount() <= 2 * AnomalyDetectionService.MAX_TRACKED_PLATES);
+        }
+        detector.advanceTo(time.plusMinutes(11));
+        assertEquals(0, detector.getTrackedPlateCount());
+    }
+
+    private void complete(GatePassDirection direction, String plate, LocalDateTime at) {
+        detector.onTransition(pass(direction, plate, at, GatePassStatus.COMPLETED), GatePassStatus.APPROVED,
+                GatePassStatus.COMPLETED);
+    }
+
+    private void deny(String plate, LocalDateTime at) {
+        detector.onTransition(pass(GatePassDirection.ENTRY, plate, at, GatePassStatus.DENIED), GatePassStatus.PENDING,
+                GatePassStatus.DENIED);
+    }
+
+    private GatePass pass(GatePassDirection direction, String plate, LocalDateTime at, GatePassStatus status) {
+        return new GatePass(nextPassId++, new Vehicle(nextPassId, plate, null, null, true), lane, direction, status, at);
+    }
+}
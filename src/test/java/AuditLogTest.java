@@ -0,0 +1,175 @@
+import com.research.audit.*;
+import com.research.model.GatePass;
+import com.research.model.GatePassDirection;
+import com.research.model.GatePassStatus;
+import com.research.model.Vehicle;
+import com.research.repository.GatePassRepository;
+import com.research.repository.VehicleRepository;
+import com.research.service.GatePassService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Audit Log")
+@DisplayName("Audit Log Tests")
+class AuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Story("Gate pass transitions are audited")
+    @Description("Request, approve and complete of a gate pass are written in order and read back by the reader")
+    void testPassTransitionsRoundTrip() throws IOException {
+        Path file = directory.resolve("audit.log");
+        GatePassService service = new GatePassService(new GatePassRepository());
+        try (AuditLog auditLog = new AuditLog(file)) {
+            service.addTransitionListener(auditLog::recordTransition);
+            service.requestGatePass(new GatePass(7, null, null, GatePassDirection.ENTRY, GatePassStatus.PENDING,
+                    LocalDateTime.now()));
+            service.approvePass(7);
+            service.completePass(7);
+            auditLog.flush();
+        }
+
+        List<AuditRecord> records = AuditLogReader.readAll(file);
+        assertEquals(3, records.size());
+        assertEquals(List.of(1L, 2L, 3L), records.stream().map(AuditRecord::getSequence).toList());
+        assertNull(records.get(0).getFromState());
+        assertEquals("PENDING", records.get(1).getFromState());
+        assertEquals("APPROVED", records.get(1).getToState());
+        assertEquals("COMPLETED", records.get(2).getToState());
+        assertTrue(records.stream().allMatch(r -> r.getType() == AuditEventType.PASS_TRANSITION
+                && r.getEntityId() == 7 && "GatePass".equals(r.getEntityKind())));
+    }
+
+    @Test
+    @Story("Writes are group committed")
+    @Description("A burst of records from several threads is written in far fewer fsync batches than records")
+    void testBurstIsBatched() throws Exception {
+        Path file = directory.resolve("audit.log");
+        int threads = 4;
+        int perThread = 5_000;
+        try (AuditLog auditLog = new AuditLog(file, 1024, 256, AuditLog.OverloadPolicy.BLOCK)) {
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        auditLog.append(AuditEventType.ENTITY_SAVED, "Vehicle", offset + i, null, "ALLOWED");
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            auditLog.flush();
+            assertEquals(threads * perThread, auditLog.getWrittenCount());
+            assertEquals(0, auditLog.getDroppedCount());
+            assertTrue(auditLog.getBatchCount() < threads * perThread / 10,
+                    "batches: " + auditLog.getBatchCount());
+        }
+        List<AuditRecord> records = AuditLogReader.readAll(file);
+        assertEquals(threads * perThread, records.size());
+        assertEquals(threads * perThread, records.stream().mapToInt(AuditRecord::getEntityId).distinct().count());
+    }
+
+    @Test
+    @Story("Drop policy leaves a visible gap")
+    @Description("Records dropped on overload are counted and reported by a RECORDS_DROPPED record")
+    void testDropPolicyReportsGap() throws IOException {
+        Path file = directory.resolve("audit.log");
+        long accepted = 0;
+        long dropped;
+        try (AuditLog auditLog = new AuditLog(file, 4, 4, AuditLog.OverloadPolicy.DROP)) {
+            for (int i = 0; i < 20_000; i++) {
+                if (auditLog.append(AuditEventType.ENTITY_SAVED, "Resident", i, null, "A-" + i)) {
+                    accepted++;
+                }
+            }
+            dropped = auditLog.getDroppedCount();
+        }
+        assertTrue(dropped > 0);
+        assertEquals(20_000, accepted + dropped);
+
+        List<AuditRecord> records = AuditLogReader.readAll(file);
+        long reportedDrops = records.stream().filter(r -> r.getType() == AuditEventType.RECORDS_DROPPED)
+                .mapToLong(r -> Long.parseLong(r.getToState())).sum();
+        assertEquals(dropped, reportedDrops);
+        assertEquals(accepted, records.stream().filter(r -> r.getType() == AuditEventType.ENTITY_SAVED).count());
+    }
+
+    @Test
+    @Story("Audit failures do not break the gate")
+    @Description("After the log is closed, pass transitions and vehicle saves still succeed and their records are refused and counted instead of thrown")
+    void testClosedLogRefusesRecords() throws IOException {
+        Path file = directory.resolve("audit.log");
+        GatePassService service = new GatePassService(new GatePassRepository());
+        VehicleRepository repository = new VehicleRepository();
+        AuditLog auditLog = new AuditLog(file);
+        service.addTransitionListener(auditLog::recordTransition);
+        repository.addListener(auditLog.changesOf("Vehicle", Vehicle::getId,
+                vehicle -> vehicle.isAllowed() ? "ALLOWED" : "BLOCKED"));
+        List<GatePassStatus> seen = new ArrayList<>();
+        service.addTransitionListener((pass, from, to) -> seen.add(to));
+        service.requestGatePass(new GatePass(7, null, null, GatePassDirection.ENTRY, GatePassStatus.PENDING,
+                LocalDateTime.now()));
+        auditLog.close();
+
+        assertDoesNotThrow(() -> service.approvePass(7));
+        assertDoesNotThrow(() -> repository.save(new Vehicle(1, "AUD1", null, null, true)));
+        assertFalse(auditLog.append(AuditEventType.ENTITY_SAVED, "Vehicle", 2, null, "ALLOWED"));
+        assertEquals(GatePassStatus.APPROVED, service.getGatePassById(7).getStatus());
+        assertEquals(List.of(GatePassStatus.PENDING, GatePassStatus.APPROVED), seen, "later listeners still run");
+        assertEquals(3, auditLog.getRefusedCount());
+        assertNull(auditLog.getFailure());
+        assertEquals(1, AuditLogReader.readAll(file).size());
+    }
+
+    @Test
+    @Story("Torn tail is recovered")
+    @Description("A half-written last record is ignored by the reader and truncated when the log is reopened")
+    void testTornTailRecovery() throws IOException {
+        Path file = directory.resolve("audit.log");
+        VehicleRepository repository = new VehicleRepository();
+        try (AuditLog auditLog = new AuditLog(file)) {
+            repository.addListener(auditLog.changesOf("Vehicle", Vehicle::getId,
+                    vehicle -> vehicle.isAllowed() ? "ALLOWED" : "BLOCKED"));
+            for (int id = 1; id <= 3; id++) {
+                repository.save(new Vehicle(id, "AUD" + id, null, null, true));
+            }
+            repository.deleteById(2);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        assertEquals(3, AuditLogReader.readAll(file).size());
+
+        try (AuditLog auditLog = new AuditLog(file)) {
+            auditLog.append(AuditEventType.ENTITY_SAVED, "Vehicle", 9, null, "BLOCKED");
+        }
+        List<AuditRecord> records = AuditLogReader.readAll(file);
+        assertEquals(4, records.size());
+        assertEquals(4L, records.get(3).getSequence());
+        assertEquals(9, records.get(3).getEntityId());
+        try (AuditLogReader reader = new AuditLogReader(file)) {
+            while (reader.next() != null) {
+                // read to the end
+            }
+            assertEquals(Files.size(file), reader.validLength());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+import com.research.batch.BatchRunner;
+import com.research.id.IdAllocator;
+import com.research.model.GatePassStatus;
+import com.research.repository.*;
+import com.research.service.*;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Batch Mode")
+@DisplayName("Batch Command Tests")
+class BatchRunnerTest {
+    private GatePassService gatePassService;
+    private GateLaneService gateLaneService;
+    private BatchRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        VehicleRepository vehicleRepository = new VehicleRepository();
+        VisitReservationRepository visitReservationRepository = new VisitReservationRepository();
+        gatePassService = new GatePassService(new GatePassRepository());
+        gateLaneService = new GateLaneService(new GateLaneRepository());
+        runner = new BatchRunner(new ResidentService(new ResidentRepository()),
+                new VehicleTypeService(new VehicleTypeRepository()), new VehicleService(vehicleRepository),
+                gateLaneService, gatePassService, new VisitReservationService(visitReservationRepository),
+                new GateAccessService(vehicleRepository, visitReservationRepository));
+    }
+
+    @Test
+    @Story("Text and JSON commands")
+    @Description("Each command gets a result line in its own format; failures are reported and do not stop the batch")
+    void testMixedScript() throws IOException {
+        String script = String.join("\n",
+                "# set up",
+                "resident.add id=1 name=\"Ada \\\"A\\\" Lovelace\" unit=A-101",
+                "vehicletype.add id=1 name=Sedan",
+                "vehicle.add id=1 plate=ABC123 owner=1 type=1",
+                "",
+                "{\"cmd\":\"lane.add\",\"id\":1,\"number\":101,\"capacity\":20,\"status\":\"OPEN\"}",
+                "pass.request id=1 vehicle=1 lane=1 time=2025-03-01T08:00",
+                "{\"cmd\":\"pass.approve\",\"id\":1}",
+                "gate.check plate=abc-123 at=2025-03-01T08:00",
+                "pass.approve id=99",
+                "{\"cmd\":\"pass.deny\"}",
+                "lane.explode id=1",
+                "{\"cmd\":\"lane.close\",\"id\":1",
+                "lane.close id=1");
+        StringWriter output = new StringWriter();
+
+        BatchRunner.Summary summary = runner.run(new StringReader(script), output);
+
+        assertEquals(String.join("\n",
+                "2\tOK",
+                "3\tOK",
+                "4\tOK",
+                "{\"line\":6,\"ok\":true}",
+                "7\tOK",
+                "{\"line\":8,\"ok\":true}",
+                "9\tOK\tRESIDENT_ALLOWED",
+                "10\tERROR\tNotFoundException\tGatePass not found: 99",
+                "{\"line\":11,\"ok\":false,\"error\":\"InputMismatchException\",\"message\":\"Missing argument: id\"}",
+                "12\tERROR\tInputMismatchException\tUnknown command: lane.explode; known: [gate.check, lane.add, "
+                        + "lane.close, lane.open, pass.approve, pass.complete, pass.deny, pass.request, "
+                        + "reservation.add, reservation.cancel, resident.add, resident.delete, vehicle.add, "
+                        + "vehicle.delete, vehicletype.add]",
+                "{\"line\":13,\"ok\":false,\"error\":\"InputMismatchException\",\"message\":\"Malformed JSON at column 27\"}",
+                "14\tOK") + "\n", output.toString());
+        assertEquals(12, summary.getExecuted());
+        assertEquals(4, summary.getFailed());
+        assertEquals(GatePassStatus.APPROVED, gatePassService.getGatePassById(1).getStatus());
+    }
+
+    @Test
+    @Story("Mixed chosen and assigned ids")
+    @Description("A script mixing explicit pass ids with omitted ones never assigns an id that is already taken")
+    void testMixedChosenAndAssignedIds() throws IOException {
+        gatePassService.setIdAllocator(new IdAllocator());
+        String script = String.join("\n",
+                "pass.request",
+                "pass.request id=2",
+                "pass.request",
+                "pass.request id=10",
+                "pass.request");
+        StringWriter output = new StringWriter();
+
+        BatchRunner.Summary summary = runner.run(new StringReader(script), output);
+
+        assertEquals(String.join("\n", "1\tOK\t1", "2\tOK", "3\tOK\t3", "4\tOK", "5\tOK\t11") + "\n",
+                output.toString());
+        assertEquals(0, summary.getFailed());
+    }
+
+    @Test
+    @Story("Large scripts")
+    @Description("A script of 300k commands runs to the end without failures; its throughput is measured by BatchRunnerBenchmark")
+    void testLargeScript() throws IOException {
+        StringBuilder script = new StringBuilder(16 << 20);
+        for (int lane = 1; lane <= 8; lane++) {
+            script.append("lane.add id=").append(lane).append(" number=").append(100 + lane)
+                    .append(" capacity=30 status=OPEN\n");
+        }
+        for (int vehicle = 1; vehicle <= 10_000; vehicle++) {
+            script.append("vehicle.add id=").append(vehicle).append(" plate=BAT").append(vehicle).append('\n');
+        }
+        int passes = 96_000;
+        for (int id = 1; id <= passes; id++) {
+            script.append("pass.request id=").append(id).append(" vehicle=").append(1 + id % 10_000)
+                    .append(" lane=").append(1 + id % 8).append(" time=2025-03-01T08:00\n");
+            script.append("{\"cmd\":\"pass.approve\",\"id\":").append(id).append("}\n");
+            script.append("pass.complete id=").append(id).append('\n');
+        }
+
+        BatchRunner.Summary summary = runner.run(new StringReader(script.toString()), Writer.nullWriter());
+
+        assertEquals(8 + 10_000 + 3L * passes, summary.getExecuted());
+        assertEquals(0, summary.getFailed());
+        assertEquals(GatePassStatus.COMPLETED, gatePassService.getGatePassById(passes).getStatus());
+    }
+}
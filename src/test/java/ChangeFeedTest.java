@@ -0,0 +1,82 @@
+import com.research.model.GateLane;
+import com.research.model.GateLaneStatus;
+import com.research.model.Vehicle;
+import com.research.replication.ChangeFeed;
+import com.research.replication.FeedReplica;
+import com.research.repository.GateLaneRepository;
+import com.research.repository.VehicleRepository;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Replication")
+@DisplayName("Change Feed Tests")
+class ChangeFeedTest {
+
+    @Test
+    @Story("Catch-up after a million changes")
+    @Description("A replica that was offline during 1M vehicle changes catches up from the compacted feed")
+    void testCatchUpAfterMillionChanges() {
+        int vehicles = 50_000;
+        VehicleRepository repository = new VehicleRepository();
+        for (int id = 0; id < vehicles; id++) {
+            repository.save(new Vehicle(id, "CDC" + id, null, null, true));
+        }
+        ChangeFeed<Vehicle> feed = ChangeFeed.follow(repository, Vehicle::getId);
+        FeedReplica<Vehicle> replica = new FeedReplica<>(feed);
+        assertEquals(vehicles, replica.sync());
+
+        Random random = new Random(11);
+        for (int change = 0; change < 1_000_000; change++) {
+            int id = random.nextInt(vehicles);
+            if (change % 50 == 0) {
+                repository.deleteById(id);
+            } else {
+                Vehicle vehicle = new Vehicle(id, "CDC" + id, null, null, change % 3 != 0);
+                repository.save(vehicle);
+            }
+        }
+        assertTrue(feed.size() <= vehicles, "compacted log holds " + feed.size() + " entries");
+
+        int applied = replica.sync();
+
+        assertTrue(applied <= vehicles, "applied " + applied);
+        assertEquals(feed.getLatestVersion(), replica.getVersion());
+        assertEquals(repository.findAll().size(), replica.size());
+        for (Vehicle vehicle : repository.findAll()) {
+            assertEquals(vehicle.isAllowed(), replica.findById(vehicle.getId()).orElseThrow().isAllowed());
+        }
+    }
+
+    @Test
+    @Story("Tombstone purge")
+    @Description("A replica older than the purge point resyncs; an up-to-date one keeps going")
+    void testResyncAfterTombstonePurge() {
+        GateLaneRepository repository = new GateLaneRepository();
+        for (int id = 1; id <= 5; id++) {
+            repository.save(new GateLane(id, 100 + id, 10, GateLaneStatus.OPEN));
+        }
+        ChangeFeed<GateLane> feed = ChangeFeed.follow(repository, GateLane::getId);
+        FeedReplica<GateLane> stale = new FeedReplica<>(feed, 2);
+        FeedReplica<GateLane> current = new FeedReplica<>(feed, 2);
+        stale.sync();
+
+        repository.deleteById(2);
+        repository.deleteById(3);
+        current.sync();
+        assertEquals(2, feed.purgeTombstones(feed.getLatestVersion()));
+        repository.save(new GateLane(6, 106, 10, GateLaneStatus.CLOSED));
+
+        stale.sync();
+        current.sync();
+        for (FeedReplica<GateLane> replica : java.util.List.of(stale, current)) {
+            assertEquals(4, replica.size());
+            assertTrue(replica.findById(2).isEmpty());
+            assertTrue(replica.findById(6).isPresent());
+        }
+    }
+}
@@ -0,0 +1,251 @@
+import com.research.model.*;
+import com.research.repository.GateLaneRepository;
+import com.research.repository.GatePassRepository;
+import com.research.service.DashboardService;
+import com.research.service.GateLaneService;
+import com.research.service.GatePassService;
+import com.research.web.DashboardServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Traffic Management")
+@DisplayName("Live Dashboard Tests")
+class DashboardServerTest {
+    private static final String FRAME_MARKER = "event: frame";
+
+    private DashboardServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    @Story("Dashboard feed")
+    @Description("The feed streams occupancy, lane throughput, pending passes and recent denials as server-sent events")
+    void testFeedStreamsFrames() throws Exception {
+        GateLaneService gateLaneService = new GateLaneService(new GateLaneRepository());
+        GatePassService gatePassService = new GatePassService(new GatePassRepository());
+        DashboardService dashboardService = new DashboardService(gateLaneService);
+        gatePassService.addTransitionListener(dashboardService);
+        GateLane lane = new GateLane(1, 101, 10, GateLaneStatus.OPEN);
+        gateLaneService.addLane(lane);
+        gateLaneService.addLane(new GateLane(2, 102, 10, GateLaneStatus.CLOSED));
+        for (int id = 1; id <= 3; id++) {
+            gatePassService.requestGatePass(new GatePass(id, new Vehicle(id, "DSH" + id, null, null, true), lane,
+                    GatePassDirection.ENTRY, GatePassStatus.PENDING, LocalDateTime.now()));
+        }
+        gatePassService.approvePass(1);
+        gatePassService.completePass(1);
+        gatePassService.denyPass(2);
+
+        server = new DashboardServer(new InetSocketAddress("127.0.0.1", 0), dashboardService::snapshot,
+                Duration.ofMillis(50));
+        server.start();
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<String> page = client.send(request("/dashboard"), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, page.statusCode());
+        assertTrue(page.body().contains("EventSource"));
+
+        HttpResponse<Stream<String>> feed = client.send(request("/dashboard/feed"),
+                HttpResponse.BodyHandlers.ofLines());
+        assertEquals("text/event-stream", feed.headers().firstValue("Content-Type").orElseThrow());
+        String data = feed.body().filter(line -> line.startsWith("data: ")).findFirst().orElseThrow();
+        assertTrue(data.contains("\"occupancy\":1"), data);
+        assertTrue(data.contains("\"pendingPasses\":1"), data);
+        assertTrue(data.contains("{\"id\":1,\"number\":101,\"status\":\"OPEN\",\"passesLastMinute\":1}"), data);
+        assertTrue(data.contains("{\"id\":2,\"number\":102,\"status\":\"CLOSED\",\"passesLastMinute\":0}"), data);
+        assertTrue(data.contains("\"recentDenials\":[{\"passId\":2,\"laneId\":1,\"plate\":\"DSH2\""), data);
+    }
+
+    @Test
+    @Story("Many dashboards")
+    @Description("500 dashboards get the same frames from one frame build per period, on a fixed set of server threads")
+    void testManyDashboards() throws Exception {
+        AtomicLong builds = new AtomicLong();
+        DashboardFrame frame = frameWithLanes(16);
+        server = new DashboardServer(new InetSocketAddress("127.0.0.1", 0), () -> {
+            builds.incrementAndGet();
+            return frame;
+        }, Duration.ofMillis(100));
+        server.start();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long oneClientCpu;
+        long manyClientsCpu;
+        long heapPerClient;
+        try (Dashboards one = new Dashboards(server.getPort(), 1)) {
+            one.readFor(Duration.ofSeconds(1));
+            long cpu = serverCpu(threads);
+            long frames = server.getFramesBuilt();
+            one.readFor(Duration.ofSeconds(1));
+            oneClientCpu = (serverCpu(threads) - cpu) / Math.max(1, server.getFramesBuilt() - frames);
+        }
+        System.gc();
+        long heapBefore = usedHeap();
+        try (Dashboards many = new Dashboards(server.getPort(), 500)) {
+            many.readFor(Duration.ofSeconds(1));
+            assertEquals(500, server.getClientCount());
+            System.gc();
+            heapPerClient = (usedHeap() - heapBefore) / 500;
+            long cpu = serverCpu(threads);
+            long frames = server.getFramesBuilt();
+            long[] received = many.received.clone();
+            many.readFor(Duration.ofSeconds(1));
+            long framesDuring = server.getFramesBuilt() - frames;
+            manyClientsCpu = (serverCpu(threads) - cpu) / Math.max(1, framesDuring);
+
+            assertEquals(server.getFramesBuilt(), builds.get(), "one build per period, whatever the client count");
+            for (int i = 0; i < 500; i++) {
+                assertTrue(many.received[i] - received[i] >= framesDuring - 2,
+                        "dashboard " + i + " got " + (many.received[i] - received[i]) + " of " + framesDuring);
+            }
+            long serverThreads = Arrays.stream(threads.dumpAllThreads(false, false))
+                    .map(ThreadInfo::getThreadName).filter(name -> name.startsWith("dashboard-")).count();
+            assertTrue(serverThreads <= 5, serverThreads + " server threads");
+        }
+        assertTrue(heapPerClient < 64 * 1024, heapPerClient + " bytes per client");
+        assertTrue(oneClientCpu > 0 && manyClientsCpu > 0);
+    }
+
+    @Test
+    @Story("Stalled dashboards")
+    @Description("A dashboard that stops reading is disconnected and does not hold up the others")
+    void testStalledDashboardIsDisconnected() throws Exception {
+        DashboardFrame frame = frameWithLanes(4000);
+        server = new DashboardServer(new InetSocketAddress("127.0.0.1", 0), () -> frame, Duration.ofMillis(20));
+        server.start();
+        try (Dashboards readers = new Dashboards(server.getPort(), 2);
+             SocketChannel stalled = SocketChannel.open()) {
+            stalled.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+            stalled.connect(new InetSocketAddress("127.0.0.1", server.getPort()));
+            stalled.write(StandardCharsets.US_ASCII.encode(feedRequest()));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+            readers.readFor(Duration.ofMillis(200));
+            assertEquals(3, server.getClientCount());
+            while (server.getClientCount() > 2) {
+                assertTrue(System.nanoTime() < deadline, "stalled dashboard still connected");
+                readers.readFor(Duration.ofMillis(50));
+            }
+            long[] before = readers.received.clone();
+            readers.readFor(Duration.ofMillis(500));
+            for (int i = 0; i < 2; i++) {
+                assertTrue(readers.received[i] > before[i], "reader " + i + " stopped receiving");
+            }
+        }
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path)).build();
+    }
+
+    private static String feedRequest() {
+        return "GET /dashboard/feed HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n";
+    }
+
+    private static DashboardFrame frameWithLanes(int lanes) {
+        List<DashboardFrame.LaneLoad> loads = new ArrayList<>();
+        for (int i = 0; i < lanes; i++) {
+            loads.add(new DashboardFrame.LaneLoad(i, 100 + i, GateLaneStatus.OPEN, i % 30));
+        }
+        return new DashboardFrame(LocalDateTime.now(), 120, 3, loads, List.of());
+    }
+
+    private static long serverCpu(ThreadMXBean threads) {
+        long total = 0;
+        for (ThreadInfo info : threads.dumpAllThreads(false, false)) {
+            if (info.getThreadName().startsWith("dashboard-")) {
+                total += Math.max(0, threads.getThreadCpuTime(info.getThreadId()));
+            }
+        }
+        return total;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Many dashboard connections read by one selector thread, counting frames per connection.
+     */
+    private static class Dashboards implements AutoCloseable {
+        final long[] received;
+        private final Selector selector;
+        private final List<SocketChannel> channels = new ArrayList<>();
+        private final String[] tails;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+        Dashboards(int port, int count) throws IOException {
+            received = new long[count];
+            tails = new String[count];
+            Arrays.fill(tails, "");
+            selector = Selector.open();
+            for (int i = 0; i < count; i++) {
+                SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", port));
+                channel.write(StandardCharsets.US_ASCII.encode(feedRequest()));
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, i);
+                channels.add(channel);
+            }
+        }
+
+        void readFor(Duration duration) throws IOException {
+            long until = System.nanoTime() + duration.toNanos();
+            for (long left = duration.toMillis(); left > 0; left = (until - System.nanoTime()) / 1_000_000) {
+                selector.select(left);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    int index = (Integer) key.attachment();
+                    buffer.clear();
+                    if (((SocketChannel) key.channel()).read(buffer) < 0) {
+                        key.cancel();
+                        continue;
+                    }
+                    buffer.flip();
+                    String text = tails[index] + StandardCharsets.ISO_8859_1.decode(buffer);
+                    for (int at = text.indexOf(FRAME_MARKER); at >= 0; at = text.indexOf(FRAME_MARKER, at + 1)) {
+                        received[index]++;
+                    }
+                    tails[index] = text.substring(Math.max(0, text.length() - FRAME_MARKER.length() + 1));
+                }
+                selector.selectedKeys().clear();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (SocketChannel channel : channels) {
+                channel.close();
+            }
+            selector.close();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+import com.research.index.CountingBloomFilter;
+import com.research.index.PlateAllowlist;
+import com.research.model.*;
+import com.research.repository.VehicleRepository;
+import com.research.repository.VisitReservationRepository;
+import com.research.service.GateAccessService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Gate Access")
+@DisplayName("GateAccessService Tests")
+class GateAccessServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 10, 0);
+
+    private VehicleRepository vehicleRepository;
+    private VisitReservationRepository visitReservationRepository;
+    private GateAccessService gateAccessService;
+
+    @BeforeEach
+    void setUp() {
+        vehicleRepository = new VehicleRepository();
+        visitReservationRepository = new VisitReservationRepository();
+        gateAccessService = new GateAccessService(vehicleRepository, visitReservationRepository);
+    }
+
+    @Test
+    @Story("Bloom filter false-positive rate")
+    @Description("No false negatives, and the false-positive rate stays near the configured 1%")
+    void testFalsePositiveRate() {
+        int plates = 100_000;
+        CountingBloomFilter filter = new CountingBloomFilter(plates, 0.01);
+        for (int i = 0; i < plates; i++) {
+            filter.add(PlateKey.of("RES" + i));
+        }
+        for (int i = 0; i < plates; i++) {
+            assertTrue(filter.mightContain("res-" + i));
+        }
+        int probes = 1_000_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("UNK" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = falsePositives / (double) probes;
+        assertTrue(rate < 0.015, "false-positive rate " + rate);
+        assertTrue(filter.memoryBytes() < 600_000, "filter uses " + filter.memoryBytes() + " bytes");
+    }
+
+    @Test
+    @Story("Bloom filter removal")
+    @Description("Removed plates stop matching while plates sharing counters still match")
+    void testRemoval() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add(PlateKey.of("DEL" + i));
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            filter.remove(PlateKey.of("DEL" + i));
+        }
+        int stillMatching = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 2 == 1) {
+                assertTrue(filter.mightContain("DEL" + i));
+            } else if (filter.mightContain("DEL" + i)) {
+                stillMatching++;
+            }
+        }
+        assertTrue(stillMatching < 20, stillMatching + " removed plates still match");
+    }
+
+    @Test
+    @Story("Gate decisions")
+    @Description("Residents, visitors inside their window, known plates outside it and unknown plates")
+    void testDecisions() {
+        Resident owner = new Resident(1, "Owner", "o@x.com", "0100", "A-1");
+        vehicleRepository.save(new Vehicle(1, "RES-100", owner, null, true));
+        vehicleRepository.save(new Vehicle(2, "RES-200", owner, null, false));
+        visitReservationRepository.save(new VisitReservation(1, "Guest", "VIS-1",
+                LocalDate.of(2025, 3, 1), LocalTime.of(10, 30), 2));
+
+        assertEquals(GateAccessDecision.RESIDENT_ALLOWED, gateAccessService.decide("res100", NOW));
+        assertEquals(GateAccessDecision.DENIED, gateAccessService.decide("RES-200", NOW));
+        assertEquals(GateAccessDecision.VISITOR_ALLOWED, gateAccessService.decide("VIS1", NOW));
+        assertEquals(GateAccessDecision.DENIED, gateAccessService.decide("VIS1", NOW.plusHours(3)));
+        assertEquals(GateAccessDecision.UNKNOWN_PLATE, gateAccessService.decide("NOPE-1", NOW));
+    }
+
+    @Test
+    @Story("Filter follows the repositories")
+    @Description("Deleted and renamed plates become unknown, and the filter grows past its initial size")
+    void testFilterFollowsRepositories() {
+        for (int i = 0; i < 5_000; i++) {
+            vehicleRepository.save(new Vehicle(i, "GROW" + i, null, null, true));
+        }
+        Vehicle renamed = vehicleRepository.findById(7).orElseThrow();
+        renamed.setPlateNumber("NEW7");
+        vehicleRepository.update(renamed);
+        vehicleRepository.deleteById(8);
+
+        for (int i = 0; i < 5_000; i++) {
+            GateAccessDecision expected = i == 7 || i == 8
+                    ? GateAccessDecision.UNKNOWN_PLATE : GateAccessDecision.RESIDENT_ALLOWED;
+            assertEquals(expected, gateAccessService.decide("GROW" + i, NOW));
+        }
+        assertEquals(GateAccessDecision.RESIDENT_ALLOWED, gateAccessService.decide("NEW7", NOW));
+        for (int i = 0; i < 10_000; i++) {
+            gateAccessService.decide("UNK" + i, NOW);
+        }
+        assertTrue(gateAccessService.getObservedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    @Story("No false negatives while plates are re-saved")
+    @Description("A visitor and a blocked vehicle saved over and over, with the same or a changed plate, are never reported as unknown plates")
+    void testResaveKeepsPlatesKnown() throws InterruptedException {
+        Vehicle blocked = new Vehicle(1, "BLK-1", null, null, false);
+        VisitReservation visit = new VisitReservation(1, "Guest", "VIS-1", LocalDate.of(2025, 3, 1),
+                LocalTime.of(10, 30), 2);
+        vehicleRepository.save(blocked);
+        visitReservationRepository.save(visit);
+        VisitReservation other = new VisitReservation(2, "Other", "OTH-1", LocalDate.of(2025, 3, 1),
+                LocalTime.of(10, 30), 1);
+        visitReservationRepository.save(other);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; !stop.get(); i++) {
+                vehicleRepository.update(blocked);
+                visitReservationRepository.update(visit);
+                other.setVehiclePlate(i % 2 == 0 ? "OTH-2" : "OTH-1");
+                visitReservationRepository.update(other);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 200_000; i++) {
+                assertEquals(GateAccessDecision.DENIED, gateAccessService.decide("BLK-1", NOW));
+                assertEquals(GateAccessDecision.VISITOR_ALLOWED, gateAccessService.decide("VIS-1", NOW));
+            }
+        } finally {
+            stop.set(true);
+            writer.join();
+        }
+    }
+
+    @Test
+    @Story("Allowlist snapshots")
+    @Description("Published snapshots never change; updates show up in the next one")
+    void testAllowlistSnapshotsAreImmutable() {
+        Vehicle vehicle = new Vehicle(1, "SNAP-1", null, null, true);
+        vehicleRepository.save(vehicle);
+        PlateAllowlist.Snapshot before = gateAccessService.getAllowlistSnapshot();
+
+        vehicle.setAllowed(false);
+        vehicleRepository.update(vehicle);
+        PlateAllowlist.Snapshot after = gateAccessService.getAllowlistSnapshot();
+
+        assertTrue(before.contains("snap1"));
+        assertFalse(after.contains("snap1"));
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(GateAccessDecision.DENIED, gateAccessService.decide("SNAP-1", NOW));
+
+        PlateAllowlist allowlist = new PlateAllowlist();
+        allowlist.put(1, "SHARED-1", true);
+        allowlist.put(2, "SHARED-1", true);
+        allowlist.remove(1);
+        assertTrue(allowlist.snapshot().contains("SHARED1"));
+        allowlist.put(2, "ÄÖÜ-1", true);
+        assertFalse(allowlist.snapshot().contains("SHARED1"));
+        assertTrue(allowlist.snapshot().contains("äöü1"));
+    }
+
+    @Test
+    @Story("Allowlist under concurrent updates")
+    @Description("Readers see a stable plate set while a writer keeps toggling other vehicles")
+    void testAllowlistReadsDuringUpdates() throws Exception {
+        for (int i = 0; i < 2_000; i++) {
+            vehicleRepository.save(new Vehicle(i, "CONC" + i, null, null, true));
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int round = 0; running.get(); round++) {
+                Vehicle vehicle = vehicleRepository.findById(1_000 + round % 1_000).orElseThrow();
+                vehicle.setAllowed(!vehicle.isAllowed());
+                vehicleRepository.update(vehicle);
+            }
+        });
+        writer.start();
+        try {
+            for (int round = 0; round < 200_000; round++) {
+                if (!gateAccessService.getAllowlistSnapshot().contains("CONC" + round % 1_000)) {
+                    failure.set(new AssertionError("stable plate CONC" + round % 1_000 + " missing"));
+                    break;
+                }
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        assertNull(failure.get());
+    }
+}
@@ -0,0 +1,88 @@
+import com.research.exception.DuplicateIdException;
+import com.research.model.GateLane;
+import com.research.model.GateLaneStatus;
+import com.research.repository.GateLaneRepository;
+import com.research.service.GateLaneService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Gate Lane Management")
+@DisplayName("Gate Lane Index Tests")
+class GateLaneRepositoryTest {
+    private GateLaneRepository repository;
+    private GateLaneService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new GateLaneRepository();
+        service = new GateLaneService(repository);
+        for (int id = 1; id <= 6; id++) {
+            service.addLane(new GateLane(id, 100 + id, 10, id % 2 == 0 ? GateLaneStatus.OPEN : GateLaneStatus.CLOSED));
+        }
+    }
+
+    @Test
+    @Story("Status partitions")
+    @Description("Open lanes follow openLane, closeLane, updateLane and deletes; returned lists are immutable snapshots")
+    void testStatusPartitionsFollowChanges() {
+        List<GateLane> before = service.getOpenLanes();
+        assertEquals(List.of(2, 4, 6), ids(before));
+        assertSame(before, service.getOpenLanes(), "unchanged partition is not copied again");
+        assertThrows(UnsupportedOperationException.class, () -> before.add(new GateLane(9, 109, 10, GateLaneStatus.OPEN)));
+
+        service.openLane(1);
+        service.closeLane(4);
+        GateLane busy = new GateLane(6, 106, 10, GateLaneStatus.BUSY);
+        service.updateLane(busy);
+        repository.deleteById(2);
+
+        assertEquals(List.of(2, 4, 6), ids(before), "earlier snapshot is unaffected");
+        assertEquals(List.of(1), ids(service.getOpenLanes()));
+        assertEquals(List.of(3, 5, 4), ids(repository.findByStatus(GateLaneStatus.CLOSED)));
+        assertEquals(List.of(busy), repository.findByStatus(GateLaneStatus.BUSY));
+
+        List<GateLane> open = service.getOpenLanes();
+        service.openLane(1);
+        assertSame(open, service.getOpenLanes(), "re-opening an open lane keeps the snapshot");
+    }
+
+    @Test
+    @Story("Lane number index")
+    @Description("findByLaneNumber follows renumbering and deletes")
+    void testLaneNumberIndex() {
+        assertEquals(3, repository.findByLaneNumber(103).orElseThrow().getId());
+
+        service.updateLane(new GateLane(3, 203, 10, GateLaneStatus.CLOSED));
+        assertTrue(repository.findByLaneNumber(103).isEmpty());
+        assertEquals(3, repository.findByLaneNumber(203).orElseThrow().getId());
+
+        repository.deleteById(3);
+        assertTrue(repository.findByLaneNumber(203).isEmpty());
+        assertTrue(repository.findByStatus(GateLaneStatus.CLOSED).stream().noneMatch(lane -> lane.getId() == 3));
+    }
+
+    @Test
+    @Story("Lane number index")
+    @Description("The service rejects a lane number already in use; lanes sharing a number saved directly all stay indexed")
+    void testDuplicateLaneNumbers() {
+        assertThrows(DuplicateIdException.class, () -> service.addLane(new GateLane(7, 103, 10, GateLaneStatus.OPEN)));
+        assertThrows(DuplicateIdException.class, () -> service.updateLane(new GateLane(4, 103, 10, GateLaneStatus.OPEN)));
+        assertDoesNotThrow(() -> service.updateLane(new GateLane(3, 103, 20, GateLaneStatus.OPEN)));
+
+        repository.save(new GateLane(7, 103, 10, GateLaneStatus.OPEN));
+        assertEquals(3, repository.findByLaneNumber(103).orElseThrow().getId());
+        repository.deleteById(3);
+        assertEquals(7, repository.findByLaneNumber(103).orElseThrow().getId(), "the other lane keeps the number");
+        repository.update(new GateLane(7, 107, 10, GateLaneStatus.OPEN));
+        assertTrue(repository.findByLaneNumber(103).isEmpty());
+    }
+
+    private static List<Integer> ids(List<GateLane> lanes) {
+        return lanes.stream().map(GateLane::getId).toList();
+    }
+}
@@ -97,9 +97,8 @@ class GateLaneServiceTest {
     @Description("Should return only lanes that are open")
     void testGetOpenLanes() {
         GateLane open1 = new GateLane(10, 110, 10, GateLaneStatus.OPEN);
-        GateLane closed1 = new GateLane(11, 111, 20, GateLaneStatus.CLOSED);
 
-        when(gateLaneRepository.findAll()).thenReturn(Arrays.asList(open1, closed1));
+        when(gateLaneRepository.findByStatus(GateLaneStatus.OPEN)).thenReturn(List.of(open1));
         var openLanes = gateLaneService.getOpenLanes();
 
         assertEquals(1, openLanes.size());
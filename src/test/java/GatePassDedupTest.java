@@ -0,0 +1,292 @@
+import com.research.exception.DuplicateIdException;
+import com.research.index.RequestDedupCache;
+import com.research.model.*;
+import com.research.repository.GatePassRepository;
+import com.research.service.GatePassService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Traffic Management")
+@DisplayName("Gate Pass Request Deduplication Tests")
+class GatePassDedupTest {
+    private static final Duration MOVEMENT_WINDOW = Duration.ofSeconds(2);
+    private static final Duration KEY_WINDOW = Duration.ofMinutes(10);
+    // above the 6 lanes x 200 plates the burst test keeps live at once
+    private static final int CAPACITY = 2000;
+
+    private final ManualClock clock = new ManualClock();
+    private GatePassRepository gatePassRepository;
+    private GatePassService gatePassService;
+    private RequestDedupCache dedupCache;
+    private final List<Integer> created = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        gatePassRepository = new GatePassRepository();
+        gatePassService = new GatePassService(gatePassRepository);
+        dedupCache = new RequestDedupCache(MOVEMENT_WINDOW, KEY_WINDOW, CAPACITY, clock);
+        gatePassService.setDedupCache(dedupCache);
+        gatePassService.addTransitionListener((pass, from, to) -> {
+            if (from == null) {
+                created.add(pass.getId());
+            }
+        });
+    }
+
+    @Test
+    @Story("Burst duplicates across concurrent lanes")
+    @Description("Three cameras per lane on six lanes report 200 plates at once, spelled differently: each plate gets exactly one pass per lane and every camera is answered with it")
+    void testBurstDuplicatesAcrossConcurrentLanes() throws Exception {
+        int lanes = 6;
+        int cameras = 3;
+        int plates = 200;
+        String[][] spellings = new String[plates][];
+        for (int p = 0; p < plates; p++) {
+            String letters = "" + (char) ('A' + p % 26) + (char) ('A' + p / 26) + 'X';
+            spellings[p] = new String[]{letters + "-" + (100 + p), letters.toLowerCase() + " " + (100 + p),
+                    letters + (100 + p)};
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(lanes * cameras);
+        CyclicBarrier start = new CyclicBarrier(lanes * cameras);
+        AtomicInteger nextId = new AtomicInteger(1);
+        // [lane][camera][plate] -> id of the pass the camera was answered with
+        int[][][] answers = new int[lanes][cameras][plates];
+        List<Future<?>> readers = new ArrayList<>();
+        try {
+            for (int l = 0; l < lanes; l++) {
+                GateLane lane = new GateLane(l + 1, 100 + l, 30, GateLaneStatus.OPEN);
+                for (int c = 0; c < cameras; c++) {
+                    int laneIndex = l;
+                    int camera = c;
+                    readers.add(executor.submit(() -> {
+                        start.await();
+                        for (int p = 0; p < plates; p++) {
+                            Vehicle vehicle = new Vehicle(p + 1, spellings[p][camera], null, null, true);
+                            GatePass read = new GatePass(nextId.getAndIncrement(), vehicle, lane,
+                                    GatePassDirection.ENTRY, GatePassStatus.PENDING, null);
+                            answers[laneIndex][camera][p] = gatePassService.requestGatePass(read).getId();
+                        }
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(lanes * plates, gatePassRepository.count());
+        assertEquals(lanes * plates, created.size());
+        assertEquals(lanes * plates * (cameras - 1), dedupCache.getRepeatCount());
+        assertEquals(0, dedupCache.getEvictedCount());
+        Set<Integer> distinct = new HashSet<>();
+        for (int l = 0; l < lanes; l++) {
+            for (int p = 0; p < plates; p++) {
+                int passId = answers[l][0][p];
+                for (int c = 1; c < cameras; c++) {
+                    assertEquals(passId, answers[l][c][p], "lane " + (l + 1) + " plate " + spellings[p][0]);
+                }
+                GatePass pass = gatePassService.getGatePassById(passId);
+                assertEquals(l + 1, pass.getLane().getId());
+                assertEquals(PlateKey.of(spellings[p][0]), PlateKey.of(pass.getVehicle().getPlateNumber()));
+                distinct.add(passId);
+            }
+        }
+        assertEquals(lanes * plates, distinct.size());
+    }
+
+    @Test
+    @Story("Movement window")
+    @Description("Reads of one plate on one lane and direction stay one pass while they keep coming within the window; another direction, a new read after the window and passes without a vehicle are new passes")
+    void testMovementWindow() {
+        GateLane lane = new GateLane(1, 101, 30, GateLaneStatus.OPEN);
+        Vehicle vehicle = new Vehicle(1, "DUP-001", null, null, true);
+
+        GatePass first = gatePassService.requestGatePass(entry(1, vehicle, lane));
+        clock.now += 1_500;
+        assertSame(first, gatePassService.requestGatePass(entry(2, vehicle, lane)));
+        clock.now += 1_500;
+        assertSame(first, gatePassService.requestGatePass(entry(3, vehicle, lane)), "window restarts on a repeat");
+        GatePass exit = gatePassService.requestGatePass(new GatePass(4, vehicle, lane, GatePassDirection.EXIT,
+                GatePassStatus.PENDING, null));
+        assertEquals(4, exit.getId());
+        clock.now += MOVEMENT_WINDOW.toMillis();
+        assertEquals(5, gatePassService.requestGatePass(entry(5, vehicle, lane)).getId());
+        assertEquals(6, gatePassService.requestGatePass(entry(6, null, lane)).getId());
+        assertEquals(7, gatePassService.requestGatePass(entry(7, null, lane)).getId());
+
+        assertEquals(List.of(1, 4, 5, 6, 7), created);
+        assertEquals(2, dedupCache.getRepeatCount());
+    }
+
+    @Test
+    @Story("Idempotency keys")
+    @Description("A retry with the same key gets the original pass, even with the same pass ID; a failed request is not remembered and keys expire after their window")
+    void testIdempotencyKeys() {
+        GateLane lane = new GateLane(1, 101, 30, GateLaneStatus.OPEN);
+        Vehicle vehicle = new Vehicle(1, "KEY-001", null, null, true);
+
+        GatePass first = gatePassService.requestGatePass(entry(1, null, lane), "k1");
+        assertSame(first, gatePassService.requestGatePass(entry(1, null, lane), "k1"));
+        assertSame(first, gatePassService.requestGatePass(entry(2, null, lane), "k1"));
+        assertThrows(DuplicateIdException.class, () -> gatePassService.requestGatePass(entry(1, null, lane)));
+
+        // a failed request leaves nothing behind, so its retry creates the pass
+        assertThrows(DuplicateIdException.class, () -> gatePassService.requestGatePass(entry(1, vehicle, lane), "k2"));
+        GatePass second = gatePassService.requestGatePass(entry(3, vehicle, lane), "k2");
+        assertEquals(3, second.getId());
+
+        // a camera repeat under a new key binds the key to the pass it repeated, beyond the movement window
+        assertSame(second, gatePassService.requestGatePass(entry(4, vehicle, lane), "k3"));
+        clock.now += MOVEMENT_WINDOW.toMillis() * 10;
+        assertSame(second, gatePassService.requestGatePass(entry(5, vehicle, lane), "k3"));
+
+        clock.now += KEY_WINDOW.toMillis();
+        assertEquals(6, gatePassService.requestGatePass(entry(6, null, lane), "k1").getId());
+
+        assertEquals(List.of(1, 3, 6), created);
+        assertEquals(3, gatePassRepository.count());
+    }
+
+    @Test
+    @Story("Capacity bound")
+    @Description("Past its capacity the cache evicts the oldest live movement and counts it, so the lost repeat is visible; expired movements are dropped first and not counted")
+    void testCapacityEvictionsCounted() {
+        RequestDedupCache small = new RequestDedupCache(MOVEMENT_WINDOW, KEY_WINDOW, 2, clock);
+        gatePassService.setDedupCache(small);
+        GateLane lane = new GateLane(1, 101, 30, GateLaneStatus.OPEN);
+        Vehicle a = new Vehicle(1, "CAP-001", null, null, true);
+        Vehicle b = new Vehicle(2, "CAP-002", null, null, true);
+        Vehicle c = new Vehicle(3, "CAP-003", null, null, true);
+
+        gatePassService.requestGatePass(entry(1, a, lane));
+        gatePassService.requestGatePass(entry(2, b, lane));
+        clock.now += MOVEMENT_WINDOW.toMillis();
+        gatePassService.requestGatePass(entry(3, c, lane));
+        assertEquals(0, small.getEvictedCount(), "expired movements make room without evictions");
+
+        gatePassService.requestGatePass(entry(4, a, lane));
+        gatePassService.requestGatePass(entry(5, b, lane));
+        assertEquals(1, small.getEvictedCount());
+        assertEquals(6, gatePassService.requestGatePass(entry(6, c, lane)).getId(), "evicted repeat is a new pass");
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), created);
+    }
+
+    @Test
+    @Story("Creation before repeats")
+    @Description("A repeat arriving while the first request is still creating its pass waits until the creation transition has fired, while other plates are not held up")
+    void testRepeatWaitsForCreation() throws Exception {
+        GateLane lane = new GateLane(1, 101, 30, GateLaneStatus.OPEN);
+        Vehicle vehicle = new Vehicle(1, "ORD-001", null, null, true);
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> transitions = Collections.synchronizedList(new ArrayList<>());
+        gatePassService.addTransitionListener((pass, from, to) -> {
+            transitions.add(pass.getId() + ":" + from + "->" + to);
+            if (pass.getId() == 1 && from == null) {
+                creating.countDown();
+                assertDoesNotThrow(() -> release.await(10, TimeUnit.SECONDS));
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<GatePass> first = executor.submit(() -> gatePassService.requestGatePass(entry(1, vehicle, lane)));
+            assertTrue(creating.await(10, TimeUnit.SECONDS));
+            Future<GatePass> repeat = executor.submit(() -> {
+                GatePass pass = gatePassService.requestGatePass(entry(2, vehicle, lane));
+                gatePassService.approvePass(pass.getId());
+                return pass;
+            });
+
+            GatePass other = gatePassService.requestGatePass(entry(3, new Vehicle(2, "ORD-002", null, null, true),
+                    lane));
+            assertEquals(3, other.getId(), "another plate is created while the first creation is under way");
+            assertThrows(TimeoutException.class, () -> repeat.get(200, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            assertSame(first.get(10, TimeUnit.SECONDS), repeat.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(List.of("1:null->PENDING", "3:null->PENDING", "1:PENDING->APPROVED"), transitions);
+        assertEquals(1, dedupCache.getRepeatCount());
+    }
+
+    @Test
+    @Story("Creation before repeats")
+    @Description("When creating the pass fails, a repeat that was waiting for it creates the pass itself")
+    void testRepeatRetriesFailedCreation() throws Exception {
+        GateLane lane = new GateLane(1, 101, 30, GateLaneStatus.OPEN);
+        Vehicle vehicle = new Vehicle(1, "ORD-003", null, null, true);
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RequestDedupCache cache = new RequestDedupCache(MOVEMENT_WINDOW, KEY_WINDOW, CAPACITY, clock);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> failing = executor.submit(() -> cache.requestOnce(entry(1, vehicle, lane), "k1", pass -> {
+                creating.countDown();
+                assertDoesNotThrow(() -> release.await(10, TimeUnit.SECONDS));
+                throw new DuplicateIdException("GatePass ID already exists.");
+            }));
+            assertTrue(creating.await(10, TimeUnit.SECONDS));
+            Thread releaser = new Thread(() -> {
+                assertDoesNotThrow(() -> Thread.sleep(100));
+                release.countDown();
+            });
+            releaser.start();
+
+            GatePass retried = cache.requestOnce(entry(2, vehicle, lane), "k1", pass -> { });
+            assertEquals(2, retried.getId());
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> failing.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(DuplicateIdException.class, failure.getCause());
+            releaser.join();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(0, cache.getRepeatCount());
+    }
+
+    private static GatePass entry(int id, Vehicle vehicle, GateLane lane) {
+        return new GatePass(id, vehicle, lane, GatePassDirection.ENTRY, GatePassStatus.PENDING, null);
+    }
+
+    private static class ManualClock extends Clock {
+        volatile long now;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return now;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now);
+        }
+    }
+}
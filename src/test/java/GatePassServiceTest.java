@@ -12,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -109,4 +110,22 @@ class GatePassServiceTest {
         when(gatePassRepository.findById(13)).thenReturn(Optional.of(pass));
         assertThrows(RuntimeException.class, () -> gatePassService.completePass(13));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Story("Transition listeners see every status change")
+    @Description("Listeners are told the previous and new status on approve and deny, but not on a rejected transition")
+    void testTransitionListenerNotified() {
+        GatePass approved = new GatePass(20, null, null, GatePassDirection.ENTRY, GatePassStatus.PENDING, null);
+        GatePass denied = new GatePass(21, null, null, GatePassDirection.EXIT, GatePassStatus.PENDING, null);
+        when(gatePassRepository.findById(20)).thenReturn(Optional.of(approved));
+        when(gatePassRepository.findById(21)).thenReturn(Optional.of(denied));
+        List<String> transitions = new ArrayList<>();
+        gatePassService.addTransitionListener((pass, from, to) -> transitions.add(pass.getId() + ":" + from + "->" + to));
+
+        gatePassService.approvePass(20);
+        gatePassService.denyPass(21);
+        assertThrows(RuntimeException.class, () -> gatePassService.approvePass(21));
+
+        assertEquals(List.of("20:PENDING->APPROVED", "21:PENDING->DENIED"), transitions);
+    }
+}
@@ -0,0 +1,229 @@
+import com.research.model.*;
+import com.research.repository.GateLaneRepository;
+import com.research.repository.GatePassRepository;
+import com.research.service.GateLaneService;
+import com.research.service.GatePassService;
+import com.research.service.GateUpdateHub;
+import com.research.service.GateUpdateSubscriber;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Traffic Management")
+@DisplayName("Gate Update Subscription Tests")
+class GateUpdateHubTest {
+    private static final int LANES = 8;
+    private static final int BUFFER = 256;
+
+    private ExecutorService executor;
+    private GateUpdateHub hub;
+    private GateLaneService gateLaneService;
+    private GatePassService gatePassService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "gate-updates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        hub = new GateUpdateHub(executor, BUFFER);
+        GateLaneRepository gateLaneRepository = new GateLaneRepository();
+        gateLaneRepository.addListener(hub);
+        gateLaneService = new GateLaneService(gateLaneRepository);
+        gatePassService = new GatePassService(new GatePassRepository());
+        gatePassService.addTransitionListener(hub);
+        for (int id = 1; id <= LANES; id++) {
+            gateLaneService.addLane(new GateLane(id, 100 + id, 10, GateLaneStatus.CLOSED));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @Story("Thousands of subscribers")
+    @Description("2000 subscribers receive every transition in order and the final lane statuses, while two stuck subscribers neither block the gate nor grow without bound")
+    void testThousandsOfSubscribersWithStuckOnes() throws InterruptedException {
+        List<Recorder> recorders = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Recorder recorder = new Recorder();
+            hub.subscribe(recorder);
+            recorders.add(recorder);
+        }
+        CountDownLatch release = new CountDownLatch(1);
+        List<GateUpdateHub.Subscription> stuck = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            stuck.add(hub.subscribe(new GateUpdateSubscriber() {
+                @Override
+                public void onPassTransition(PassTransitionUpdate update) {
+                    awaitQuietly(release);
+                }
+            }));
+        }
+
+        int passes = 1000;
+        for (int id = 0; id < passes; id++) {
+            gatePassService.requestGatePass(new GatePass(id, null, null, GatePassDirection.ENTRY,
+                    GatePassStatus.PENDING, LocalDateTime.now()));
+            gatePassService.approvePass(id);
+            if (id % 10 == 0) {
+                int laneId = 1 + id / 10 % LANES;
+                if (gateLaneService.getLaneById(laneId).getStatus() == GateLaneStatus.OPEN) {
+                    gateLaneService.closeLane(laneId);
+                } else {
+                    gateLaneService.openLane(laneId);
+                }
+            }
+        }
+        // the gate path finished while two subscribers were stuck in their first callback
+        assertEquals(1, release.getCount());
+        awaitFanOut();
+        Map<Integer, GateLaneStatus> finalStatuses = new HashMap<>();
+        for (GateLane lane : gateLaneService.getAllLanes()) {
+            finalStatuses.put(lane.getId(), lane.getStatus());
+        }
+
+        long transitions = 2L * passes;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        for (Recorder recorder : recorders) {
+            while (!recorder.isComplete(transitions, finalStatuses)) {
+                assertTrue(System.nanoTime() < deadline, "subscriber did not catch up");
+                Thread.sleep(5);
+            }
+            assertFalse(recorder.outOfOrder, "transitions delivered out of order");
+        }
+        for (GateUpdateHub.Subscription subscription : stuck) {
+            assertTrue(subscription.getPendingCount() <= BUFFER + LANES, "pending " + subscription.getPendingCount());
+            assertTrue(subscription.getDroppedCount() >= transitions - BUFFER - 64 - 1,
+                    "dropped " + subscription.getDroppedCount());
+            subscription.cancel();
+        }
+        release.countDown();
+        assertEquals(2000, hub.getSubscriberCount());
+    }
+
+    @Test
+    @Story("Lane status coalescing")
+    @Description("A busy subscriber only gets the latest status of a lane that changed 1000 times meanwhile")
+    void testLaneStatusCoalescing() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<LaneStatusUpdate> received = new CopyOnWriteArrayList<>();
+        hub.subscribe(new GateUpdateSubscriber() {
+            @Override
+            public void onLaneStatus(LaneStatusUpdate update) {
+                if (update.getLaneId() == 1) {
+                    received.add(update);
+                    awaitQuietly(release);
+                }
+            }
+        });
+        while (received.isEmpty()) {
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                gateLaneService.openLane(1);
+            } else {
+                gateLaneService.closeLane(1);
+            }
+        }
+        gateLaneService.openLane(1);
+        awaitFanOut();
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.get(received.size() - 1).getStatus() != GateLaneStatus.OPEN) {
+            assertTrue(System.nanoTime() < deadline, "latest status not delivered");
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        assertEquals(2, received.size(), "seeded status plus one coalesced update");
+        assertEquals(GateLaneStatus.CLOSED, received.get(0).getStatus());
+    }
+
+    @Test
+    @Story("Gate path cost")
+    @Description("Publishing a transition hands one task to the executor however many subscribers there are; the fan-out to them happens in that task")
+    void testPublishingHandsOffOnce() {
+        Deque<Runnable> tasks = new ArrayDeque<>();
+        GateUpdateHub manual = new GateUpdateHub(tasks::addLast, BUFFER);
+        List<GateUpdateHub.Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            subscriptions.add(manual.subscribe(new Recorder()));
+        }
+        runAll(tasks);
+        assertEquals(2000, manual.getSubscriberCount());
+
+        GatePass pass = new GatePass(1, null, null, GatePassDirection.ENTRY, GatePassStatus.PENDING, null);
+        manual.onTransition(pass, null, GatePassStatus.PENDING);
+        manual.onTransition(pass, GatePassStatus.PENDING, GatePassStatus.APPROVED);
+
+        assertEquals(1, tasks.size());
+        assertEquals(2, manual.getFanOutBacklog());
+        assertTrue(subscriptions.stream().allMatch(s -> s.getPendingCount() == 0));
+        tasks.pollFirst().run();
+        assertEquals(0, manual.getFanOutBacklog());
+        assertTrue(subscriptions.stream().allMatch(s -> s.getPendingCount() == 2));
+    }
+
+    private static void runAll(Deque<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.pollFirst().run();
+        }
+    }
+
+    private void awaitFanOut() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (hub.getFanOutBacklog() > 0) {
+            assertTrue(System.nanoTime() < deadline, "updates not handed out");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Recorder implements GateUpdateSubscriber {
+        private final Map<Integer, GateLaneStatus> lanes = new HashMap<>();
+        private long received;
+        private long dropped;
+        private long lastSequence = -1;
+        private boolean outOfOrder;
+
+        @Override
+        public synchronized void onLaneStatus(LaneStatusUpdate update) {
+            lanes.put(update.getLaneId(), update.getStatus());
+        }
+
+        @Override
+        public synchronized void onPassTransition(PassTransitionUpdate update) {
+            long sequence = 2L * update.getPassId() + (update.getTo() == GatePassStatus.PENDING ? 0 : 1);
+            outOfOrder |= sequence <= lastSequence;
+            lastSequence = sequence;
+            received++;
+        }
+
+        @Override
+        public synchronized void onTransitionsDropped(long count) {
+            dropped += count;
+        }
+
+        synchronized boolean isComplete(long transitions, Map<Integer, GateLaneStatus> finalStatuses) {
+            return received + dropped == transitions && lanes.equals(finalStatuses);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+import com.research.exception.BusinessRuleViolationException;
+import com.research.id.IdAllocator;
+import com.research.model.GatePass;
+import com.research.model.GatePassDirection;
+import com.research.model.GatePassStatus;
+import com.research.repository.GatePassRepository;
+import com.research.service.GatePassService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Traffic Management")
+@DisplayName("Server-side ID Allocation Tests")
+class IdAllocatorTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @Story("Unique across threads")
+    @Description("16 threads taking 20,000 ids each from small blocks never get the same id twice")
+    void testUniqueAcrossThreads() throws Exception {
+        int threads = 16;
+        int perThread = 20_000;
+        int[][] taken = new int[threads][perThread];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        try (IdAllocator allocator = new IdAllocator(directory.resolve("pass.ids"), 64)) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int[] ids = taken[t];
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = allocator.nextId();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Set<Integer> distinct = new HashSet<>();
+        for (int[] ids : taken) {
+            for (int i = 0; i < ids.length; i++) {
+                assertTrue(ids[i] > 0);
+                assertTrue(distinct.add(ids[i]), "id " + ids[i] + " handed out twice");
+                if (i > 0) {
+                    assertTrue(ids[i] > ids[i - 1], "ids increase within a thread");
+                }
+            }
+        }
+        assertEquals(threads * perThread, distinct.size());
+    }
+
+    @Test
+    @Story("Unique across restarts")
+    @Description("A restarted allocator continues above every id handed out before, even ones never written back, and stops cleanly when ids run out")
+    void testUniqueAcrossRestarts() throws IOException {
+        Path stateFile = directory.resolve("vehicle.ids");
+        int highest = 0;
+        for (int run = 0; run < 3; run++) {
+            try (IdAllocator allocator = new IdAllocator(stateFile, 16)) {
+                int first = allocator.nextId();
+                assertTrue(first > highest, "run " + run + " started at " + first + " after " + highest);
+                highest = first;
+                for (int i = 0; i < 5000; i++) {
+                    highest = allocator.nextId();
+                }
+            }
+        }
+
+        // reserved up to just below the end of the id space
+        Files.write(stateFile, ByteBuffer.allocate(Long.BYTES).putLong(0, Integer.MAX_VALUE - 19L).array());
+        try (IdAllocator allocator = new IdAllocator(stateFile, 16)) {
+            int id = allocator.nextId();
+            assertEquals(Integer.MAX_VALUE - 19, id);
+            while (id != Integer.MAX_VALUE) {
+                id = allocator.nextId();
+            }
+            assertThrows(IllegalStateException.class, allocator::nextId);
+        }
+        try (IdAllocator restarted = new IdAllocator(stateFile, 16)) {
+            assertThrows(IllegalStateException.class, restarted::nextId);
+        }
+    }
+
+    @Test
+    @Story("Services assign ids")
+    @Description("With an allocator the service hands out pass ids, later allocations skip past ids callers chose themselves, and without one asking for an id is rejected")
+    void testServiceAssignsIds() {
+        GatePassService gatePassService = new GatePassService(new GatePassRepository());
+        assertThrows(BusinessRuleViolationException.class, gatePassService::nextId);
+
+        IdAllocator allocator = new IdAllocator();
+        gatePassService.setIdAllocator(allocator);
+        GatePass assigned = pass(gatePassService.nextId());
+        gatePassService.requestGatePass(assigned);
+        assertEquals(1, assigned.getId());
+
+        gatePassService.requestGatePass(pass(5000));
+        assertEquals(5001, allocator.getNextBlockStart());
+        // the calling thread still holds its first block, the next thread starts past the chosen id
+        assertEquals(2, gatePassService.nextId());
+        int[] fromOtherThread = new int[1];
+        Thread other = new Thread(() -> fromOtherThread[0] = gatePassService.nextId());
+        other.start();
+        assertDoesNotThrow(() -> other.join());
+        assertEquals(5001, fromOtherThread[0]);
+    }
+
+    @Test
+    @Story("Mixed chosen and assigned ids")
+    @Description("An id chosen inside a block another thread holds is skipped when that thread reaches it, instead of failing as a duplicate")
+    void testChosenIdInsideAnotherThreadsBlock() throws InterruptedException {
+        GatePassService gatePassService = new GatePassService(new GatePassRepository());
+        gatePassService.setIdAllocator(new IdAllocator());
+        gatePassService.requestGatePass(pass(gatePassService.nextId()));
+
+        Thread other = new Thread(() -> gatePassService.requestGatePass(pass(2)));
+        other.start();
+        other.join();
+
+        int next = gatePassService.nextId();
+        assertEquals(3, next);
+        assertDoesNotThrow(() -> gatePassService.requestGatePass(pass(next)));
+    }
+
+    @Test
+    @Story("Mixed chosen and assigned ids")
+    @Description("A chosen id far beyond the reserved range does not move allocation there, not even after a restart; the service skips it only when allocation reaches it")
+    void testFarChosenIdDoesNotUseUpIds() {
+        Path stateFile = directory.resolve("pass.ids");
+        try (IdAllocator allocator = new IdAllocator(stateFile, 16)) {
+            GatePassService gatePassService = new GatePassService(new GatePassRepository());
+            gatePassService.setIdAllocator(allocator);
+            assertEquals(1, gatePassService.nextId());
+            gatePassService.requestGatePass(pass(Integer.MAX_VALUE));
+            gatePassService.requestGatePass(pass(2_000_000_000));
+            assertEquals(17, allocator.getNextBlockStart());
+
+            // ids within reach still move allocation past them
+            gatePassService.requestGatePass(pass(500));
+            assertEquals(501, allocator.getNextBlockStart());
+        }
+        try (IdAllocator restarted = new IdAllocator(stateFile, 16)) {
+            int id = restarted.nextId();
+            assertTrue(id > 500 && id < 5000, "restarted at " + id);
+        }
+
+        // a chosen id out of reach is skipped by the service once allocation gets there
+        try (IdAllocator allocator = new IdAllocator(directory.resolve("small.ids"), 1)) {
+            GatePassService gatePassService = new GatePassService(new GatePassRepository());
+            gatePassService.setIdAllocator(allocator);
+            gatePassService.requestGatePass(pass(100));
+            assertEquals(1, allocator.getNextBlockStart());
+            for (int expected = 1; expected < 100; expected++) {
+                assertEquals(expected, gatePassService.nextId());
+            }
+            assertEquals(101, gatePassService.nextId());
+        }
+    }
+
+    private static GatePass pass(int id) {
+        return new GatePass(id, null, null, GatePassDirection.ENTRY, GatePassStatus.PENDING, null);
+    }
+}
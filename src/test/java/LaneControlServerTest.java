@@ -0,0 +1,180 @@
+import com.research.ipc.LaneControlClient;
+import com.research.ipc.LaneControlServer;
+import com.research.ipc.LaneProtocol;
+import com.research.model.*;
+import com.research.repository.GateLaneRepository;
+import com.research.repository.GatePassRepository;
+import com.research.repository.VehicleRepository;
+import com.research.service.GateLaneService;
+import com.research.service.GatePassService;
+import com.research.service.VehicleService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Traffic Management")
+@DisplayName("Lane Controller Socket Tests")
+class LaneControlServerTest {
+    @TempDir
+    Path directory;
+
+    private GatePassService gatePassService;
+    private LaneControlServer server;
+
+    @BeforeEach
+    void setUp() {
+        VehicleRepository vehicleRepository = new VehicleRepository();
+        VehicleService vehicleService = new VehicleService(vehicleRepository);
+        vehicleService.registerVehicle(new Vehicle(1, "LCS100", null, null, true));
+        GateLaneService gateLaneService = new GateLaneService(new GateLaneRepository());
+        gateLaneService.addLane(new GateLane(1, 101, 25, GateLaneStatus.OPEN));
+        gatePassService = new GatePassService(new GatePassRepository());
+        server = new LaneControlServer(directory.resolve("gate.sock"), gatePassService, gateLaneService,
+                vehicleService);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @Story("Pass and lane operations")
+    @Description("Admission, approve, deny, complete and lane status work over the socket, with service errors mapped to result codes")
+    void testOperations() throws IOException {
+        try (LaneControlClient client = new LaneControlClient(server.getSocketFile())) {
+            client.admit(1, 1, GatePassDirection.ENTRY, null, "LCS100");
+            LaneControlClient.Response admitted = client.receive();
+            assertOk(admitted, GatePassStatus.PENDING);
+            assertEquals(1, admitted.getPassId());
+            assertEquals(1, gatePassService.getGatePassById(1).getVehicle().getId());
+            assertEquals(1, gatePassService.getGatePassById(1).getLane().getId());
+
+            client.approve(1);
+            assertOk(client.receive(), GatePassStatus.APPROVED);
+            client.complete(1);
+            assertOk(client.receive(), GatePassStatus.COMPLETED);
+            client.admit(2, 0, GatePassDirection.EXIT, PassPriority.EMERGENCY, null);
+            assertOk(client.receive(), GatePassStatus.PENDING);
+            assertEquals(PassPriority.EMERGENCY, gatePassService.getGatePassById(2).getPriority());
+            client.deny(2);
+            assertOk(client.receive(), GatePassStatus.DENIED);
+
+            client.laneStatus(1);
+            LaneControlClient.Response lane = client.receive();
+            assertEquals(GateLaneStatus.OPEN, lane.getLaneStatus());
+            assertEquals(25, lane.getCapacityPerMinute());
+            client.closeLane(1);
+            assertEquals(GateLaneStatus.CLOSED, client.receive().getLaneStatus());
+
+            client.approve(1);
+            assertError(client.receive(), LaneProtocol.RULE_VIOLATION, "Cannot approve non-pending pass.");
+            client.complete(99);
+            assertError(client.receive(), LaneProtocol.NOT_FOUND, "GatePass not found: 99");
+            client.admit(1, 0, GatePassDirection.ENTRY, null, null);
+            assertError(client.receive(), LaneProtocol.DUPLICATE, "GatePass ID already exists.");
+            client.admit(3, 0, GatePassDirection.ENTRY, null, "NOPE1");
+            assertError(client.receive(), LaneProtocol.NOT_FOUND, "Vehicle not found with plate: NOPE1");
+            client.openLane(7);
+            assertError(client.receive(), LaneProtocol.NOT_FOUND, "Lane not found: 7");
+        }
+    }
+
+    @Test
+    @Story("Pipelining")
+    @Description("Thousands of requests sent before any response is read come back in order")
+    void testPipelining() throws IOException {
+        try (LaneControlClient client = new LaneControlClient(server.getSocketFile())) {
+            int passes = 3000;
+            List<Integer> sent = new ArrayList<>();
+            for (int id = 1; id <= passes; id++) {
+                sent.add(client.admit(id, 1, GatePassDirection.ENTRY, null, null));
+                sent.add(client.approve(id));
+                sent.add(client.complete(id));
+            }
+            assertEquals(3 * passes, client.getInFlightCount());
+            GatePassStatus[] expected = {GatePassStatus.PENDING, GatePassStatus.APPROVED, GatePassStatus.COMPLETED};
+            for (int i = 0; i < sent.size(); i++) {
+                LaneControlClient.Response response = client.receive();
+                assertEquals(sent.get(i), response.getRequestId());
+                assertOk(response, expected[i % 3]);
+            }
+        }
+        assertEquals(GatePassStatus.COMPLETED, gatePassService.getGatePassById(3000).getStatus());
+    }
+
+    @Test
+    @Story("Concurrent controllers")
+    @Description("Several controllers on their own connections drive disjoint passes at the same time")
+    void testConcurrentControllers() throws Exception {
+        ExecutorService controllers = Executors.newFixedThreadPool(4);
+        List<Future<?>> runs = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            int base = c * 10_000;
+            runs.add(controllers.submit(() -> {
+                try (LaneControlClient client = new LaneControlClient(server.getSocketFile())) {
+                    for (int id = base + 1; id <= base + 2000; id++) {
+                        client.admit(id, 1, GatePassDirection.ENTRY, null, null);
+                        client.approve(id);
+                        assertOk(client.receive(), GatePassStatus.PENDING);
+                        assertOk(client.receive(), GatePassStatus.APPROVED);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> run : runs) {
+            run.get(60, TimeUnit.SECONDS);
+        }
+        controllers.shutdown();
+        assertEquals(8000, gatePassService.getTrafficLogs().size());
+    }
+
+    @Test
+    @Story("Malformed frames")
+    @Description("An oversized frame closes the connection; a short payload gets INVALID and the connection stays usable")
+    void testMalformedFrames() throws IOException {
+        try (SocketChannel raw = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            raw.connect(UnixDomainSocketAddress.of(server.getSocketFile()));
+            // APPROVE without its pass id, then a frame longer than allowed
+            ByteBuffer frames = ByteBuffer.allocate(64);
+            frames.putInt(5).put(LaneProtocol.APPROVE).putInt(42);
+            frames.putInt(1 << 20).flip();
+            raw.write(frames);
+
+            ByteBuffer response = ByteBuffer.allocate(256);
+            while (raw.read(response) >= 0) {
+                // read until the server closes
+            }
+            response.flip();
+            int length = response.getInt();
+            assertEquals(LaneProtocol.INVALID, response.get());
+            assertEquals(42, response.getInt());
+            assertEquals(Integer.BYTES + length, response.limit(), "nothing after the INVALID response");
+        }
+    }
+
+    private static void assertOk(LaneControlClient.Response response, GatePassStatus status) {
+        assertTrue(response.isOk(), response.getMessage());
+        assertEquals(status, response.getPassStatus());
+    }
+
+    private static void assertError(LaneControlClient.Response response, byte result, String message) {
+        assertEquals(result, response.getResult());
+        assertEquals(message, response.getMessage());
+    }
+}
@@ -0,0 +1,168 @@
+import com.research.model.*;
+import com.research.repository.GateLaneRepository;
+import com.research.service.DemandForecastService;
+import com.research.service.GateLaneService;
+import com.research.service.LaneScheduleService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Gate Lane Management")
+@DisplayName("Lane Schedule Tests")
+class LaneScheduleServiceTest {
+    // a Monday
+    private static final LocalDate HISTORY_START = LocalDate.of(2024, 1, 1);
+    private static final int HISTORY_WEEKS = 6;
+    private static final int REPLAY_WEEKS = 2;
+    private static final int LANES = 4;
+    private static final int LANE_CAPACITY = 20;
+
+    private GateLaneRepository gateLaneRepository;
+    private GateLaneService gateLaneService;
+    private DemandForecastService forecaster;
+    private LaneScheduleService scheduler;
+    private final GateLane[] lanes = new GateLane[LANES];
+
+    @BeforeEach
+    void setUp() {
+        gateLaneRepository = new GateLaneRepository();
+        gateLaneService = new GateLaneService(gateLaneRepository);
+        for (int i = 0; i < LANES; i++) {
+            lanes[i] = new GateLane(i + 1, i + 1, LANE_CAPACITY, GateLaneStatus.OPEN);
+            gateLaneService.addLane(lanes[i]);
+        }
+        forecaster = new DemandForecastService();
+        scheduler = new LaneScheduleService(gateLaneService, forecaster, 0.15, Duration.ofMinutes(15), 1);
+
+        // learn from completed gate passes, spread over all lanes
+        Random random = new Random(1);
+        LocalDateTime end = HISTORY_START.plusWeeks(HISTORY_WEEKS).atStartOfDay();
+        int passId = 0;
+        for (LocalDateTime minute = HISTORY_START.atStartOfDay(); minute.isBefore(end); minute = minute.plusMinutes(1)) {
+            int arrivals = poisson(arrivalRate(minute), random);
+            for (int i = 0; i < arrivals; i++) {
+                GatePass pass = new GatePass(passId++, null, lanes[i % LANES], GatePassDirection.ENTRY,
+                        GatePassStatus.COMPLETED, minute.plusSeconds(i * 60L / arrivals));
+                forecaster.onTransition(pass, GatePassStatus.APPROVED, GatePassStatus.COMPLETED);
+            }
+        }
+        forecaster.advanceTo(end);
+    }
+
+    @Test
+    @Story("Lanes open ahead of the morning peak")
+    @Description("A quiet weekday night needs one lane; the lanes the 08:00 peak needs are open by 07:45")
+    void testOpensLanesAheadOfPeak() {
+        LocalDateTime monday = HISTORY_START.plusWeeks(HISTORY_WEEKS).atStartOfDay();
+        scheduler.apply(monday.plusHours(3));
+        assertEquals(1, gateLaneService.getOpenLanes().size());
+
+        List<LaneScheduleEntry> schedule = scheduler.recommend(monday.plusHours(6), Duration.ofHours(3));
+        assertEquals(13, schedule.size());
+        assertEquals(1, schedule.get(0).getOpenLaneIds().size());
+        LaneScheduleEntry peak = schedule.get(8);
+        assertEquals(monday.plusHours(8), peak.getSlotStart());
+        assertTrue(peak.getOpenLaneIds().size() >= 3, "08:00 lanes " + peak.getOpenLaneIds());
+
+        scheduler.apply(monday.plusHours(7).plusMinutes(45));
+        assertTrue(gateLaneService.getOpenLanes().stream().map(GateLane::getId).toList()
+                .containsAll(peak.getOpenLaneIds()));
+    }
+
+    @Test
+    @Story("Replay: forecast schedule versus static schedule")
+    @Description("On two weeks of replayed synthetic traffic the forecast schedule queues vehicles far less than two always-open lanes, and uses far fewer lane-hours than keeping all lanes open")
+    void testReplayReducesQueueTime() {
+        Replay staticTwoLanes = replay(false, new Random(2));
+        setUp();
+        Replay forecast = replay(true, new Random(2));
+
+        assertEquals(staticTwoLanes.vehicles, forecast.vehicles);
+        assertTrue(forecast.averageWaitMinutes() < staticTwoLanes.averageWaitMinutes() / 4,
+                "forecast " + forecast.averageWaitMinutes() + " vs static " + staticTwoLanes.averageWaitMinutes());
+        assertTrue(forecast.averageWaitMinutes() < 1, "forecast wait " + forecast.averageWaitMinutes());
+        long allLanesAlwaysOpen = (long) LANES * REPLAY_WEEKS * 7 * 24 * 60;
+        assertTrue(forecast.laneMinutes < allLanesAlwaysOpen / 2, "lane minutes " + forecast.laneMinutes);
+    }
+
+    private Replay replay(boolean useForecast, Random random) {
+        Replay result = new Replay();
+        LocalDateTime start = HISTORY_START.plusWeeks(HISTORY_WEEKS).atStartOfDay();
+        LocalDateTime end = start.plusWeeks(REPLAY_WEEKS);
+        double queue = 0;
+        for (LocalDateTime minute = start; minute.isBefore(end); minute = minute.plusMinutes(1)) {
+            int capacity;
+            if (useForecast) {
+                if (minute.getMinute() % 15 == 0) {
+                    forecaster.advanceTo(minute);
+                    scheduler.apply(minute);
+                }
+                capacity = gateLaneService.getOpenLanes().stream().mapToInt(GateLane::getCapacityPerMinute).sum();
+                result.laneMinutes += gateLaneService.getOpenLanes().size();
+            } else {
+                capacity = 2 * LANE_CAPACITY;
+                result.laneMinutes += 2;
+            }
+            int arrivals = poisson(arrivalRate(minute), random);
+            result.vehicles += arrivals;
+            double served = Math.min(queue + arrivals, capacity);
+            queue += arrivals - served;
+            result.waitMinutes += queue;
+            for (int i = 0; i < arrivals; i++) {
+                forecaster.record(null, minute);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Weekdays: quiet nights, a 07:00-09:00 peak around 55/min and a 17:00-19:00 peak around 45/min.
+     * Weekends: light daytime traffic only.
+     */
+    private static double arrivalRate(LocalDateTime time) {
+        double hour = time.getHour() + time.getMinute() / 60.0;
+        boolean weekend = time.getDayOfWeek() == DayOfWeek.SATURDAY || time.getDayOfWeek() == DayOfWeek.SUNDAY;
+        if (hour < 6 || hour >= 22) {
+            return 2;
+        }
+        if (weekend) {
+            return 8;
+        }
+        return 8 + bump(hour, 8, 1, 47) + bump(hour, 18, 1, 37);
+    }
+
+    private static double bump(double hour, double centre, double halfWidth, double height) {
+        double distance = Math.abs(hour - centre) / halfWidth;
+        return distance >= 1 ? 0 : height * (1 - distance * distance);
+    }
+
+    private static int poisson(double mean, Random random) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static class Replay {
+        long vehicles;
+        double waitMinutes;
+        long laneMinutes;
+
+        double averageWaitMinutes() {
+            return waitMinutes / vehicles;
+        }
+    }
+}
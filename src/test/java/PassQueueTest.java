@@ -0,0 +1,211 @@
+import com.research.index.PassQueue;
+import com.research.index.QueuedPass;
+import com.research.model.*;
+import com.research.repository.GatePassRepository;
+import com.research.service.GatePassService;
+import com.research.service.LaneQueueService;
+import compoundgatetraffic.model.VehicleType;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Traffic Management")
+@DisplayName("Priority Lane Queue Tests")
+class PassQueueTest {
+    private static final long SERVICE_MILLIS = 3_000;
+
+    @Test
+    @Story("Emergency wait stays flat under load")
+    @Description("At 50%, 95% and 150% lane load emergency vehicles never wait longer than the vehicle being served, while normal waits explode")
+    void testEmergencyWaitFlatUnderLoad() {
+        Map<PassPriority, long[]> light = simulate(0.5, 0, 2);
+        Map<PassPriority, long[]> heavy = simulate(0.95, 0, 2);
+        Map<PassPriority, long[]> overload = simulate(1.5, 0, 2);
+
+        for (Map<PassPriority, long[]> waits : List.of(light, heavy, overload)) {
+            assertTrue(waits.get(PassPriority.EMERGENCY)[2] >= 20, "emergencies served");
+            assertTrue(max(waits, PassPriority.EMERGENCY) <= SERVICE_MILLIS,
+                    "emergency max wait " + max(waits, PassPriority.EMERGENCY));
+        }
+        assertTrue(mean(overload, PassPriority.NORMAL) > 100 * mean(light, PassPriority.NORMAL),
+                "normal mean wait " + mean(light, PassPriority.NORMAL) + " -> " + mean(overload, PassPriority.NORMAL));
+    }
+
+    @Test
+    @Story("Aging prevents starvation")
+    @Description("Normal vehicles keep being served behind an endless overload of service vehicles, at most their aging allowance later")
+    void testAgingPreventsStarvation() {
+        // service vehicles alone at 125% of lane capacity, plus normal traffic
+        Map<PassPriority, long[]> waits = simulate(0.15, 1.25, 1);
+
+        long allowanceGap = PassPriority.NORMAL.getAgingAllowance().minus(PassPriority.SERVICE.getAgingAllowance()).toMillis();
+        assertTrue(waits.get(PassPriority.NORMAL)[2] > 100, "normal vehicles served: " + waits.get(PassPriority.NORMAL)[2]);
+        assertTrue(max(waits, PassPriority.NORMAL) <= max(waits, PassPriority.SERVICE) + allowanceGap + SERVICE_MILLIS,
+                "normal max " + max(waits, PassPriority.NORMAL) + ", service max " + max(waits, PassPriority.SERVICE));
+    }
+
+    @Test
+    @Story("Concurrent producers")
+    @Description("Passes submitted by four threads are all approved once, each class in per-producer arrival order")
+    void testConcurrentProducers() throws InterruptedException {
+        GatePassService gatePassService = new GatePassService(new GatePassRepository());
+        LaneQueueService laneQueueService = new LaneQueueService(gatePassService);
+        int producers = 4;
+        int perProducer = 5_000;
+        PassPriority[] classes = PassPriority.values();
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    GatePass pass = new GatePass(producer * perProducer + i, null, null, GatePassDirection.ENTRY,
+                            GatePassStatus.PENDING, LocalDateTime.now());
+                    pass.setPriority(classes[i % classes.length]);
+                    laneQueueService.submit(1, pass);
+                }
+            });
+            threads[p].start();
+        }
+
+        Set<Integer> served = ConcurrentHashMap.newKeySet();
+        Map<String, Integer> lastIndex = new HashMap<>();
+        while (served.size() < producers * perProducer) {
+            QueuedPass next = laneQueueService.approveNext(1);
+            if (next == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int id = next.getPass().getId();
+            assertTrue(served.add(id), "served twice: " + id);
+            assertEquals(GatePassStatus.APPROVED, next.getPass().getStatus());
+            Integer previous = lastIndex.put(id / perProducer + "/" + next.getPriority(), id % perProducer);
+            assertTrue(previous == null || previous < id % perProducer, "out of order within class: " + id);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(laneQueueService.approveNext(1));
+    }
+
+    @Test
+    @Story("Priority derived from vehicle type")
+    @Description("Ambulances and fire trucks are EMERGENCY, police SECURITY, unknown types NORMAL unless flagged; keywords match whole words, so an SUV is NORMAL")
+    void testPriorityFromVehicleType() {
+        assertEquals(PassPriority.EMERGENCY, PassPriority.of(passWithType("Fire Truck")));
+        assertEquals(PassPriority.EMERGENCY, PassPriority.of(passWithType("Ambulance")));
+        assertEquals(PassPriority.SECURITY, PassPriority.of(passWithType("Police Car")));
+        assertEquals(PassPriority.SERVICE, PassPriority.of(passWithType("Delivery Van")));
+        assertEquals(PassPriority.SERVICE, PassPriority.of(passWithType("City Utility-Truck")));
+        assertEquals(PassPriority.NORMAL, PassPriority.of(passWithType("Sport Utility Vehicle")));
+        assertEquals(PassPriority.NORMAL, PassPriority.of(passWithType("Firebird")));
+        GatePass sedan = passWithType("Sedan");
+        assertEquals(PassPriority.NORMAL, PassPriority.of(sedan));
+        sedan.setPriority(PassPriority.SECURITY);
+        assertEquals(PassPriority.SECURITY, PassPriority.of(sedan));
+    }
+
+    /**
+     * Two simulated hours (or {@code hours}) of one lane serving a vehicle every 3 s. {@code normalLoad} and
+     * {@code serviceLoad} are arrival rates as a share of lane capacity; an emergency vehicle arrives every
+     * 5 minutes. Returns {sum, max, count} of waits in milliseconds per class.
+     */
+    private static Map<PassPriority, long[]> simulate(double normalLoad, double serviceLoad, int hours) {
+        ManualClock clock = new ManualClock();
+        PassQueue queue = new PassQueue(clock);
+        Random random = new Random(31);
+        long end = hours * 3_600_000L;
+        TreeMap<Long, PassPriority> arrivals = new TreeMap<>();
+        addPoisson(arrivals, PassPriority.NORMAL, normalLoad / SERVICE_MILLIS, end, random);
+        addPoisson(arrivals, PassPriority.SERVICE, serviceLoad / SERVICE_MILLIS, end, random);
+        for (long t = 7_000; t < end; t += 300_000) {
+            arrivals.put(t, PassPriority.EMERGENCY);
+        }
+
+        Map<PassPriority, long[]> waits = new EnumMap<>(PassPriority.class);
+        for (PassPriority priority : PassPriority.values()) {
+            waits.put(priority, new long[3]);
+        }
+        long freeAt = 0;
+        int id = 0;
+        Iterator<Map.Entry<Long, PassPriority>> pending = arrivals.entrySet().iterator();
+        Map.Entry<Long, PassPriority> nextArrival = pending.next();
+        while (clock.now < end) {
+            if (nextArrival != null && (queue.size() == 0 || nextArrival.getKey() <= freeAt)) {
+                clock.now = nextArrival.getKey();
+                queue.offer(new GatePass(id++, null, null, GatePassDirection.ENTRY, GatePassStatus.PENDING, null),
+                        nextArrival.getValue());
+                nextArrival = pending.hasNext() ? pending.next() : null;
+            } else if (queue.size() > 0) {
+                clock.now = Math.max(clock.now, freeAt);
+                QueuedPass served = queue.poll();
+                long wait = clock.now - served.getEnqueuedAt();
+                long[] stats = waits.get(served.getPriority());
+                stats[0] += wait;
+                stats[1] = Math.max(stats[1], wait);
+                stats[2]++;
+                freeAt = clock.now + SERVICE_MILLIS;
+            } else {
+                break;
+            }
+        }
+        return waits;
+    }
+
+    private static void addPoisson(TreeMap<Long, PassPriority> arrivals, PassPriority priority, double perMilli,
+                                   long end, Random random) {
+        if (perMilli <= 0) {
+            return;
+        }
+        for (double t = 0; t < end; t += -Math.log(1 - random.nextDouble()) / perMilli) {
+            arrivals.putIfAbsent((long) t, priority);
+        }
+    }
+
+    private static long max(Map<PassPriority, long[]> waits, PassPriority priority) {
+        return waits.get(priority)[1];
+    }
+
+    private static double mean(Map<PassPriority, long[]> waits, PassPriority priority) {
+        long[] stats = waits.get(priority);
+        return stats[2] == 0 ? 0 : stats[0] / (double) stats[2];
+    }
+
+    private static GatePass passWithType(String typeName) {
+        Vehicle vehicle = new Vehicle(1, "PRI1", null, new VehicleType(1, typeName, null), true);
+        return new GatePass(1, vehicle, null, GatePassDirection.ENTRY, GatePassStatus.PENDING, null);
+    }
+
+    private static class ManualClock extends Clock {
+        long now;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return now;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now);
+        }
+    }
+}
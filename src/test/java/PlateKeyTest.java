@@ -0,0 +1,100 @@
+import com.research.index.PlateKeyMap;
+import com.research.model.PlateKey;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Vehicle Management")
+@DisplayName("PlateKey / PlateKeyMap Unit Tests")
+class PlateKeyTest {
+
+    @Test
+    @Story("Plate normalization")
+    @Description("Case, spaces and dashes do not change the canonical key")
+    void testSpellingsShareKey() {
+        PlateKey key = PlateKey.of("ABC-123");
+        assertEquals(key, PlateKey.of("abc 123"));
+        assertEquals(key, PlateKey.of(" Abc.123 "));
+        assertEquals(key.hashCode(), PlateKey.of("abc123").hashCode());
+        assertTrue(key.isPacked());
+        assertEquals("ABC123", key.text());
+        assertNotEquals(key, PlateKey.of("ABC1234"));
+    }
+
+    @Test
+    @Story("Packed key is unique")
+    @Description("Different plates of different length never collide on the packed long")
+    void testPackingIsInjective() {
+        assertNotEquals(PlateKey.pack("A"), PlateKey.pack("0A"));
+        assertNotEquals(PlateKey.pack("10"), PlateKey.pack("A"));
+        assertEquals("ZZZZZZZZZZZZ", PlateKey.of("ZZZZZZZZZZZZ").text());
+    }
+
+    @Test
+    @Story("Fallback for long and unicode plates")
+    @Description("Plates that do not fit a long are keyed by their normalized text")
+    void testOverflowPlates() {
+        PlateKey longPlate = PlateKey.of("ABCDEFGHIJ-12345");
+        PlateKey arabicPlate = PlateKey.of("أ ب ج ١٢٣");
+        assertFalse(longPlate.isPacked());
+        assertFalse(arabicPlate.isPacked());
+        assertEquals(longPlate, PlateKey.of("abcdefghij12345"));
+        assertEquals(arabicPlate, PlateKey.of("أبج-١٢٣"));
+
+        PlateKeyMap<String> map = new PlateKeyMap<>();
+        map.put(longPlate, "long");
+        map.put(arabicPlate, "arabic");
+        assertEquals("long", map.get("abcdefghij 12345"));
+        assertEquals("arabic", map.get("أبج١٢٣"));
+    }
+
+    @Test
+    @Story("Map put/get/remove")
+    @Description("Open addressing table survives growth and backward-shift deletion")
+    void testMapOperations() {
+        PlateKeyMap<Integer> map = new PlateKeyMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(PlateKey.of("P" + i), i);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            assertEquals(i, map.remove(PlateKey.of("p-" + i)));
+        }
+        assertEquals(5_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get("p " + i));
+        }
+    }
+
+    @Test
+    @Story("Zero allocation lookup")
+    @Description("Looking up a raw camera plate does not allocate")
+    void testLookupDoesNotAllocate() {
+        PlateKeyMap<Integer> map = new PlateKeyMap<>();
+        String[] reads = new String[1_000];
+        for (int i = 0; i < reads.length; i++) {
+            map.put(PlateKey.of("ABC-" + i), i);
+            reads[i] = "abc " + i;
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long hits = 0;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < 100; round++) {
+            for (String read : reads) {
+                if (map.get(read) != null) {
+                    hits++;
+                }
+            }
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(100_000, hits);
+        // allow for the measurement itself; 100k lookups allocating anything would be megabytes
+        assertTrue(allocated < 16 * 1024, "allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,100 @@
+import com.research.index.FuzzyPlateIndex;
+import com.research.index.PlateMatch;
+import com.research.model.Vehicle;
+import com.research.model.VisitReservation;
+import com.research.repository.VehicleRepository;
+import com.research.repository.VisitReservationRepository;
+import com.research.service.PlateMatchService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Vehicle Management")
+@DisplayName("PlateMatchService / FuzzyPlateIndex Unit Tests")
+class PlateMatchServiceTest {
+
+    @Test
+    @Story("Confusion-aware distance")
+    @Description("Commonly confused characters cost less than other edits")
+    void testDistance() {
+        assertEquals(0, FuzzyPlateIndex.distance("ABC123", "ABC123"));
+        assertEquals(1, FuzzyPlateIndex.distance("ABC123", "A8C123"));
+        assertEquals(2, FuzzyPlateIndex.distance("ABC123", "ABC1X3"));
+        assertEquals(4, FuzzyPlateIndex.distance("ABC123", "A8CI2"));
+        assertEquals(2, FuzzyPlateIndex.distance("ABC123", "ABC12"));
+    }
+
+    @Test
+    @Story("Find misread plates")
+    @Description("Registered and reserved plates are suggested for an OCR misread, closest first")
+    void testFindsRegisteredAndReservedPlates() {
+        VehicleRepository vehicles = new VehicleRepository();
+        VisitReservationRepository reservations = new VisitReservationRepository();
+        vehicles.save(new Vehicle(1, "ABC-180", null, null, true));
+        PlateMatchService service = new PlateMatchService(vehicles, reservations);
+        reservations.save(new VisitReservation(1, "Visitor", "XYZ-550", LocalDate.now(), LocalTime.NOON, 1));
+        vehicles.save(new Vehicle(2, "ABC-181", null, null, true));
+
+        List<PlateMatch> matches = service.findSimilarPlates("A8C 18O");
+        assertEquals("ABC180", matches.get(0).getPlate());
+        assertEquals(2, matches.get(0).getDistance());
+        assertEquals("XYZ550", service.findSimilarPlates("XYZSS0").get(0).getPlate());
+
+        vehicles.deleteById(1);
+        assertTrue(service.findSimilarPlates("A8C 18O").stream().noneMatch(m -> m.getPlate().equals("ABC180")));
+    }
+
+    @Test
+    @Story("Updates re-index the plate")
+    @Description("Changing a vehicle plate removes the old plate from the index")
+    void testUpdateReindexes() {
+        VehicleRepository vehicles = new VehicleRepository();
+        PlateMatchService service = new PlateMatchService(vehicles, new VisitReservationRepository());
+        Vehicle vehicle = new Vehicle(1, "OLD111", null, null, true);
+        vehicles.save(vehicle);
+        vehicle.setPlateNumber("NEW222");
+        vehicles.update(vehicle);
+
+        assertTrue(service.findSimilarPlates("OLD111", 0, 5).isEmpty());
+        assertEquals(1, service.findSimilarPlates("NEW222", 0, 5).size());
+    }
+
+    @Test
+    @Story("BK-tree agrees with brute force")
+    @Description("Search results equal a full scan, including after removals trigger a rebuild")
+    void testSearchMatchesScan() {
+        FuzzyPlateIndex index = new FuzzyPlateIndex();
+        Random random = new Random(42);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        String[] plates = new String[5_000];
+        for (int i = 0; i < plates.length; i++) {
+            StringBuilder plate = new StringBuilder();
+            for (int c = 0; c < 6; c++) {
+                plate.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            plates[i] = plate.toString();
+            index.add(plates[i]);
+        }
+        for (int i = 0; i < plates.length; i += 3) {
+            index.remove(plates[i]);
+        }
+        for (int q = 0; q < 200; q++) {
+            String query = plates[random.nextInt(plates.length)];
+            for (int maxDistance = 0; maxDistance <= 4; maxDistance++) {
+                assertEquals(describe(index.scan(query, maxDistance, 10)),
+                        describe(index.search(query, maxDistance, 10)));
+            }
+        }
+    }
+
+    private static List<String> describe(List<PlateMatch> matches) {
+        return matches.stream().map(PlateMatch::toString).toList();
+    }
+}
@@ -0,0 +1,46 @@
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import soak.RushHourSoak;
+import soak.SoakReport;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Load Testing")
+@DisplayName("Rush-hour soak harness smoke test")
+class RushHourSoakTest {
+
+    @Test
+    @Story("Short compressed rush hour")
+    @Description("Concurrent lanes drive the real services without errors and the harness reports per-interval data")
+    void testShortSoakRun() throws InterruptedException {
+        SoakReport report = new RushHourSoak(new RushHourSoak.Config()
+                .lanes(4)
+                .duration(Duration.ofSeconds(3))
+                .interval(Duration.ofMillis(500))
+                .dataSet(2_000, 500)
+                .quiet()).run();
+
+        assertTrue(report.getTotalOperations() > 0);
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getIntervals().size() >= 3);
+        assertTrue(report.getIntervals().get(0).throughputPerSecond() > 0);
+    }
+
+    @Test
+    @Story("Leak detection")
+    @Description("Keeping every GatePass forever is reported as unbounded GatePassRepository growth")
+    void testDetectsUnboundedGatePassGrowth() throws InterruptedException {
+        SoakReport report = new RushHourSoak(new RushHourSoak.Config()
+                .lanes(2)
+                .duration(Duration.ofSeconds(2))
+                .interval(Duration.ofMillis(250))
+                .dataSet(500, 100)
+                .quiet()).run();
+
+        assertTrue(report.isLeakSuspected());
+        assertTrue(report.getLeakDescription().contains("GatePassRepository"));
+    }
+}
@@ -0,0 +1,152 @@
+import com.research.cluster.GateNode;
+import com.research.cluster.ShardedGatePassRouter;
+import com.research.exception.DuplicateIdException;
+import com.research.model.*;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Sharding")
+@DisplayName("ShardedGatePassRouter Tests")
+class ShardedGatePassRouterTest {
+    private static final int VEHICLES = 20_000;
+
+    private ShardedGatePassRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new ShardedGatePassRouter();
+        for (int i = 1; i <= 4; i++) {
+            router.addNode(new GateNode("node-" + i));
+        }
+    }
+
+    private void load() {
+        for (int id = 0; id < VEHICLES; id++) {
+            Vehicle vehicle = new Vehicle(id, "SHD" + id, null, null, true);
+            router.registerVehicle(vehicle);
+            router.requestGatePass(new GatePass(id, vehicle, null, GatePassDirection.ENTRY,
+                    GatePassStatus.PENDING, LocalDateTime.of(2025, 3, 1, 8, 0)));
+        }
+    }
+
+    @Test
+    @Story("Even distribution")
+    @Description("Virtual nodes keep every node within 25% of its fair share, vehicles next to their passes")
+    void testDistribution() {
+        load();
+        for (GateNode node : router.getNodes()) {
+            int vehicles = node.getVehicleRepository().findAll().size();
+            assertTrue(Math.abs(vehicles - VEHICLES / 4) < VEHICLES / 16, node + " holds " + vehicles);
+            for (GatePass pass : node.getGatePassRepository().findAll()) {
+                assertTrue(node.getVehicleRepository().existsById(pass.getVehicle().getId()));
+            }
+        }
+        assertEquals(VEHICLES, router.getTrafficLogs().size());
+    }
+
+    @Test
+    @Story("Rebalancing on join")
+    @Description("A fifth node takes over about a fifth of the data and everything stays routable")
+    void testRebalanceOnJoin() {
+        load();
+        int moved = router.addNode(new GateNode("node-5"));
+
+        assertTrue(moved > 2 * VEHICLES / 5 * 0.7 && moved < 2 * VEHICLES / 5 * 1.3, "moved " + moved);
+        for (int id = 0; id < VEHICLES; id += 7) {
+            assertEquals(id, router.findVehicleByPlate("shd-" + id).getId());
+            router.approvePass(id);
+            assertEquals(GatePassStatus.APPROVED, router.getGatePassById(id).getStatus());
+        }
+    }
+
+    @Test
+    @Story("Rebalancing on leave")
+    @Description("A leaving node hands all of its data to the remaining ones")
+    void testRebalanceOnLeave() {
+        load();
+        router.removeNode("node-2");
+
+        assertEquals(3, router.getNodes().size());
+        assertEquals(VEHICLES, router.getTrafficLogs().size());
+        for (int id = 0; id < VEHICLES; id += 11) {
+            assertEquals(id, router.getGatePassById(id).getId());
+        }
+    }
+
+    @Test
+    @Story("Cluster-wide uniqueness")
+    @Description("Pass and vehicle ids are unique across nodes")
+    void testDuplicateIdsAcrossNodes() {
+        Vehicle vehicle = new Vehicle(1, "UNQ1", null, null, true);
+        router.registerVehicle(vehicle);
+        router.requestGatePass(new GatePass(1, vehicle, null, GatePassDirection.ENTRY, GatePassStatus.PENDING, null));
+
+        assertThrows(DuplicateIdException.class, () -> router.registerVehicle(new Vehicle(1, "UNQ2", null, null, true)));
+        assertThrows(DuplicateIdException.class, () -> router.requestGatePass(new GatePass(1,
+                new Vehicle(2, "UNQ3", null, null, true), null, GatePassDirection.ENTRY, GatePassStatus.PENDING, null)));
+    }
+
+    @Test
+    @Story("Cluster-wide uniqueness")
+    @Description("A second node with an id already on the ring is rejected and the first node keeps its data")
+    void testDuplicateNodeRejected() {
+        load();
+        GateNode original = router.getNodes().iterator().next();
+        int held = original.getGatePassRepository().count();
+
+        assertThrows(DuplicateIdException.class, () -> router.addNode(new GateNode(original.getId())));
+        assertEquals(4, router.getNodes().size());
+        assertTrue(router.getNodes().contains(original));
+        assertEquals(held, original.getGatePassRepository().count());
+        assertEquals(VEHICLES, router.getTrafficLogs().size());
+    }
+
+    @Test
+    @Story("Rebalancing under load")
+    @Description("Passes requested, approved and completed while nodes join and leave are all found afterwards, each exactly once")
+    void testRebalanceUnderLoad() throws Exception {
+        int threads = 4;
+        int perThread = 3_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> clients = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                clients.add(executor.submit(() -> {
+                    for (int id = offset; id < offset + perThread; id++) {
+                        Vehicle vehicle = new Vehicle(id, "LDR" + id, null, null, true);
+                        router.registerVehicle(vehicle);
+                        router.requestGatePass(new GatePass(id, vehicle, null, GatePassDirection.ENTRY,
+                                GatePassStatus.PENDING, null));
+                        router.approvePass(id);
+                        router.completePass(id);
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 5; i <= 8; i++) {
+                router.addNode(new GateNode("node-" + i));
+                router.removeNode("node-" + (i - 4));
+            }
+            for (Future<?> client : clients) {
+                client.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, router.getTrafficLogs().size());
+        for (int id = 0; id < threads * perThread; id++) {
+            assertEquals(GatePassStatus.COMPLETED, router.getGatePassById(id).getStatus());
+            assertEquals(id, router.findVehicleByPlate("ldr-" + id).getId());
+        }
+    }
+}
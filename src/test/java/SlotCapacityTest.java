@@ -0,0 +1,173 @@
+import com.research.exception.BusinessRuleViolationException;
+import com.research.index.FenwickTree;
+import com.research.model.SlotCapacity;
+import com.research.model.SlotUsage;
+import com.research.model.VisitReservation;
+import com.research.repository.RepositoryListener;
+import com.research.repository.VisitReservationRepository;
+import com.research.service.VisitReservationService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Visitor Management")
+@DisplayName("Slot Capacity Tests")
+class SlotCapacityTest {
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    private VisitReservationRepository repository;
+    private VisitReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new VisitReservationRepository();
+        service = new VisitReservationService(repository);
+        service.setSlotCapacity(new SlotCapacity(2, 5));
+    }
+
+    @Test
+    @Story("Fenwick tree")
+    @Description("Range sums match a brute-force sum after random updates")
+    void testFenwickTreeMatchesBruteForce() {
+        Random random = new Random(7);
+        long[] counts = new long[500];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = random.nextInt(10);
+        }
+        FenwickTree tree = new FenwickTree(counts);
+        for (int round = 0; round < 2_000; round++) {
+            int index = random.nextInt(counts.length);
+            long delta = random.nextInt(7) - 3;
+            counts[index] += delta;
+            tree.add(index, delta);
+
+            int from = random.nextInt(counts.length);
+            int to = from + random.nextInt(counts.length - from);
+            long expected = 0;
+            for (int i = from; i <= to; i++) {
+                expected += counts[i];
+            }
+            assertEquals(expected, tree.rangeSum(from, to));
+        }
+    }
+
+    @Test
+    @Story("Slot vehicle limit")
+    @Description("A third car in the same 15-minute slot is rejected, the next slot still has room")
+    void testVehicleLimitPerSlot() {
+        service.createReservation(new VisitReservation(1, "A", "CAP1", DAY, LocalTime.of(10, 0), 1));
+        service.createReservation(new VisitReservation(2, "B", "CAP2", DAY, LocalTime.of(10, 14), 1));
+
+        assertThrows(BusinessRuleViolationException.class, () -> service.createReservation(
+                new VisitReservation(3, "C", "CAP3", DAY, LocalTime.of(10, 5), 1)));
+        assertDoesNotThrow(() -> service.createReservation(
+                new VisitReservation(3, "C", "CAP3", DAY, LocalTime.of(10, 15), 1)));
+    }
+
+    @Test
+    @Story("Slot passenger limit")
+    @Description("Passengers are capped per slot and cancelling frees capacity")
+    void testPassengerLimitAndRelease() {
+        service.createReservation(new VisitReservation(1, "A", "PAS1", DAY, LocalTime.of(9, 0), 4));
+        assertThrows(BusinessRuleViolationException.class, () -> service.createReservation(
+                new VisitReservation(2, "B", "PAS2", DAY, LocalTime.of(9, 10), 2)));
+
+        service.cancelReservation(1);
+        assertDoesNotThrow(() -> service.createReservation(
+                new VisitReservation(2, "B", "PAS2", DAY, LocalTime.of(9, 10), 2)));
+    }
+
+    @Test
+    @Story("Remaining capacity")
+    @Description("Remaining capacity over a range subtracts bookings from every slot's limit")
+    void testRemainingCapacityOverRange() {
+        service.createReservation(new VisitReservation(1, "A", "REM1", DAY, LocalTime.of(8, 0), 3));
+        service.createReservation(new VisitReservation(2, "B", "REM2", DAY, LocalTime.of(8, 50), 1));
+        service.createReservation(new VisitReservation(3, "C", "REM3", DAY, LocalTime.of(11, 0), 1));
+
+        SlotUsage remaining = service.getRemainingCapacity(DAY.atTime(8, 0), DAY.atTime(8, 59));
+        assertEquals(4 * 2 - 2, remaining.getVehicles());
+        assertEquals(4 * 5 - 4, remaining.getPassengers());
+    }
+
+    @Test
+    @Story("Concurrent booking")
+    @Description("Concurrent bookings for one slot never exceed its vehicle limit")
+    void testConcurrentBookingRespectsLimit() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 64; i++) {
+            int id = i;
+            pool.submit(() -> {
+                start.await();
+                try {
+                    service.createReservation(new VisitReservation(id, "V", "RACE" + id, DAY, LocalTime.of(12, 0), 1));
+                    accepted.incrementAndGet();
+                } catch (BusinessRuleViolationException ignored) {
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(2, accepted.get());
+        assertEquals(2, repository.findScheduledBetween(DAY.atTime(12, 0), DAY.atTime(12, 0)).size());
+        assertEquals(0, service.getRemainingCapacity(DAY.atTime(12, 0), DAY.atTime(12, 14)).getVehicles());
+    }
+
+    @Test
+    @Story("Capacity window growth")
+    @Description("Bookings far apart grow the counted window without losing earlier counts")
+    void testWindowGrowsBothWays() {
+        service.createReservation(new VisitReservation(1, "A", "FAR1", DAY, LocalTime.of(10, 0), 1));
+        service.createReservation(new VisitReservation(2, "B", "FAR2", DAY.plusYears(2), LocalTime.of(10, 0), 1));
+        service.createReservation(new VisitReservation(3, "C", "FAR3", DAY.minusYears(1), LocalTime.of(10, 0), 1));
+
+        assertEquals(1, service.getRemainingCapacity(DAY.atTime(10, 0), DAY.atTime(10, 0)).getVehicles());
+        assertEquals(1, service.getRemainingCapacity(DAY.plusYears(2).atTime(10, 0), DAY.plusYears(2).atTime(10, 0)).getVehicles());
+        assertEquals(1, service.getRemainingCapacity(DAY.minusYears(1).atTime(10, 0), DAY.minusYears(1).atTime(10, 0)).getVehicles());
+    }
+
+    @Test
+    @Story("Capacity window growth")
+    @Description("Bookings beyond the counted window's ten-year reach, saved directly or through the service, are still counted and limited, and the repository's later listeners still run")
+    void testBookingsBeyondWindowReach() {
+        AtomicInteger saved = new AtomicInteger();
+        repository.addListener(new RepositoryListener<>() {
+            @Override
+            public void onSave(VisitReservation reservation) {
+                saved.incrementAndGet();
+            }
+
+            @Override
+            public void onDelete(VisitReservation reservation) {
+            }
+        });
+        LocalDate farDay = DAY.plusYears(40);
+        service.createReservation(new VisitReservation(1, "A", "NEAR1", DAY, LocalTime.of(10, 0), 1));
+        assertDoesNotThrow(() -> repository.save(new VisitReservation(2, "B", "FAR1", farDay, LocalTime.of(10, 0), 2)));
+        service.createReservation(new VisitReservation(3, "C", "FAR2", farDay, LocalTime.of(10, 5), 1));
+
+        assertEquals(3, saved.get());
+        SlotUsage remaining = service.getRemainingCapacity(farDay.atTime(10, 0), farDay.atTime(10, 0));
+        assertEquals(0, remaining.getVehicles());
+        assertEquals(2, remaining.getPassengers());
+        assertThrows(BusinessRuleViolationException.class, () -> service.createReservation(
+                new VisitReservation(4, "D", "FAR3", farDay, LocalTime.of(10, 10), 1)));
+
+        service.cancelReservation(2);
+        assertEquals(1, service.getRemainingCapacity(farDay.atTime(10, 0), farDay.atTime(10, 0)).getVehicles());
+        assertEquals(1, service.getRemainingCapacity(DAY.atTime(10, 0), DAY.atTime(10, 0)).getVehicles());
+    }
+}
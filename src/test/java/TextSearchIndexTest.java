@@ -0,0 +1,101 @@
+import com.research.model.Resident;
+import com.research.model.Vehicle;
+import com.research.repository.ResidentRepository;
+import com.research.repository.VehicleRepository;
+import com.research.service.ResidentService;
+import com.research.service.VehicleService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Resident Management")
+@DisplayName("Type-ahead search Unit Tests")
+class TextSearchIndexTest {
+
+    private ResidentRepository residentRepository;
+    private ResidentService residentService;
+
+    @BeforeEach
+    void setUp() {
+        residentRepository = new ResidentRepository();
+        residentService = new ResidentService(residentRepository);
+        residentService.addResident(new Resident(1, "Mona Hassan", "mona.h@mail.com", "0100", "B-12"));
+        residentService.addResident(new Resident(2, "Omar Monib", "omar@mail.com", "0101", "A-7"));
+        residentService.addResident(new Resident(3, "Sara Ali", "sara@monarch.io", "0102", "B-120"));
+    }
+
+    private static List<Integer> ids(List<Resident> residents) {
+        return residents.stream().map(Resident::getId).toList();
+    }
+
+    @Test
+    @Story("Prefix search on name, unit and email")
+    @Description("Prefixes of any name, unit or email token match, ranked by field weight")
+    void testPrefixSearch() {
+        assertEquals(List.of(1, 2, 3), ids(residentService.searchResidents("mon", 10)));
+        assertEquals(List.of(1, 3), ids(residentService.searchResidents("b-12", 10)));
+        assertEquals(List.of(1), ids(residentService.searchResidents("B12", 1)));
+        assertEquals(List.of(3), ids(residentService.searchResidents("sara monarch", 10)));
+        assertTrue(residentService.searchResidents("zzz", 10).isEmpty());
+    }
+
+    @Test
+    @Story("Index follows add/update/delete")
+    @Description("Updated names are searchable and deleted residents disappear")
+    void testIndexIsMaintained() {
+        Resident sara = residentService.getResidentById(3);
+        sara.setFullName("Sara Youssef");
+        residentService.updateResident(sara);
+        residentService.deleteResident(1);
+
+        assertEquals(List.of(3), ids(residentService.searchResidents("yous", 10)));
+        assertTrue(residentService.searchResidents("ali", 10).isEmpty());
+        assertEquals(List.of(2, 3), ids(residentService.searchResidents("mon", 10)));
+    }
+
+    @Test
+    @Story("Existing residents are indexed")
+    @Description("A service created over a populated repository indexes what is already stored")
+    void testIndexesExistingData() {
+        ResidentService fresh = new ResidentService(residentRepository);
+        assertEquals(List.of(2), ids(fresh.searchResidents("omar", 10)));
+    }
+
+    @Test
+    @Story("Multi-term search with a broad first term")
+    @Description("Thousands of residents matching only one of two terms do not crowd out the few matching both, in either term order")
+    void testBroadTermsDoNotHideMatches() {
+        int id = 100;
+        for (int i = 0; i < 3000; i++, id++) {
+            residentService.addResident(new Resident(id, "Mona Zed", "z" + id + "@mail.com", "0", "Z-" + i));
+        }
+        for (int i = 0; i < 3000; i++, id++) {
+            residentService.addResident(new Resident(id, "Hany Qoq", "q" + id + "@mail.com", "0", "Q-" + i));
+        }
+        for (int i = 0; i < 5; i++, id++) {
+            residentService.addResident(new Resident(id, "Mona Hany", "mh" + id + "@mail.com", "0", "M-" + i));
+        }
+
+        List<Integer> both = List.of(6100, 6101, 6102, 6103, 6104);
+        assertEquals(both, ids(residentService.searchResidents("mona hany", 10)));
+        assertEquals(both, ids(residentService.searchResidents("hany mona", 10)));
+    }
+
+    @Test
+    @Story("Partial plate search")
+    @Description("Any part of a plate finds the vehicle, whole-token matches first")
+    void testPartialPlates() {
+        VehicleService vehicleService = new VehicleService(new VehicleRepository());
+        vehicleService.registerVehicle(new Vehicle(1, "ABC-123", null, null, true));
+        vehicleService.registerVehicle(new Vehicle(2, "XY-1234", null, null, true));
+        vehicleService.registerVehicle(new Vehicle(3, "123-QQ", null, null, true));
+
+        List<Integer> ids = vehicleService.searchVehicles("123", 10).stream().map(Vehicle::getId).toList();
+        assertEquals(List.of(1, 3, 2), ids);
+        assertEquals(1, vehicleService.searchVehicles("bc12", 10).get(0).getId());
+    }
+}
@@ -0,0 +1,128 @@
+import com.research.model.*;
+import com.research.repository.GatePassRepository;
+import com.research.service.TrafficRetentionService;
+import compoundgatetraffic.model.VehicleType;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Traffic Retention")
+@DisplayName("Traffic Retention Tests")
+class TrafficRetentionTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final int PASSES_PER_DAY = 2_000;
+    private static final int RAW_DAYS = 7;
+    private static final int HOURLY_DAYS = 30;
+    // 4 lanes x 2 directions x 3 vehicle types x 2 final statuses
+    private static final int DIMENSIONS = 48;
+
+    private final GateLane[] lanes = new GateLane[4];
+    private final Vehicle[] vehicles = new Vehicle[3];
+    private GatePassRepository repository;
+    private TrafficRetentionService service;
+    private int nextId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new GateLane(i + 1, i + 1, 20, GateLaneStatus.OPEN);
+        }
+        String[] types = {"Car", "Motorcycle", "Truck"};
+        for (int i = 0; i < vehicles.length; i++) {
+            vehicles[i] = new Vehicle(i + 1, "RET" + i, null, new VehicleType(i + 1, types[i], null), true);
+        }
+        repository = new GatePassRepository();
+        service = new TrafficRetentionService(repository,
+                new RetentionPolicy(Duration.ofDays(RAW_DAYS), Duration.ofDays(HOURLY_DAYS)));
+    }
+
+    @Test
+    @Story("Memory stays bounded over a year")
+    @Description("A simulated year of traffic compacted nightly keeps a bounded number of raw passes and counters")
+    void testYearOfTrafficStaysBounded() {
+        Random random = new Random(3);
+        GatePass pending = new GatePass(nextId++, vehicles[0], lanes[0], GatePassDirection.ENTRY,
+                GatePassStatus.PENDING, START.atTime(8, 0));
+        repository.save(pending);
+        long generated = 0;
+        long maxRaw = 0;
+        long maxCells = 0;
+        for (int day = 0; day < 365; day++) {
+            generated += simulateDay(START.plusDays(day), random);
+            service.compact(START.plusDays(day + 1).atStartOfDay());
+            maxRaw = Math.max(maxRaw, repository.count());
+            maxCells = Math.max(maxCells, service.getRollupCellCount());
+        }
+
+        assertTrue(maxRaw <= (RAW_DAYS + 1) * PASSES_PER_DAY + 1, "raw passes kept: " + maxRaw);
+        assertTrue(maxCells <= ((HOURLY_DAYS + 1) * 24 + 365) * DIMENSIONS, "counters kept: " + maxCells);
+        assertTrue(repository.existsById(pending.getId()), "pending passes are never evicted");
+
+        LocalDateTime yearStart = START.atStartOfDay();
+        assertEquals(generated + 1, service.countPasses(yearStart, yearStart.plusYears(2)));
+    }
+
+    @Test
+    @Story("Reports stay answerable after rollup")
+    @Description("Per-dimension counts match the raw data whether served from raw passes, hourly or daily rollups")
+    void testReportsMatchRawCounts() {
+        Random random = new Random(5);
+        int days = 60;
+        long[] expectedByDay = new long[days];
+        for (int day = 0; day < days; day++) {
+            long before = repository.count();
+            simulateDay(START.plusDays(day), random);
+            expectedByDay[day] = repository.count() - before;
+        }
+        LocalDate lastDay = START.plusDays(days - 1);
+        List<TrafficAggregate> before = service.getTrafficReport(START.atStartOfDay(),
+                lastDay.plusDays(1).atStartOfDay(), RollupGranularity.DAILY);
+
+        service.compact(lastDay.plusDays(1).atStartOfDay());
+
+        List<TrafficAggregate> after = service.getTrafficReport(START.atStartOfDay(),
+                lastDay.plusDays(1).atStartOfDay(), RollupGranularity.DAILY);
+        assertEquals(totalsByDimensions(before), totalsByDimensions(after));
+        for (int day = 0; day < days; day++) {
+            LocalDateTime from = START.plusDays(day).atStartOfDay();
+            assertEquals(expectedByDay[day], service.countPasses(from, from.plusDays(1)));
+        }
+
+        // a day still within hourly retention is reported by the hour, an older one only by the day
+        LocalDateTime recent = lastDay.minusDays(10).atStartOfDay();
+        assertTrue(service.getTrafficReport(recent, recent.plusDays(1), RollupGranularity.HOURLY).stream()
+                .allMatch(a -> a.getGranularity() == RollupGranularity.HOURLY));
+        LocalDateTime old = START.atStartOfDay();
+        assertTrue(service.getTrafficReport(old, old.plusDays(1), RollupGranularity.HOURLY).stream()
+                .allMatch(a -> a.getGranularity() == RollupGranularity.DAILY));
+    }
+
+    private int simulateDay(LocalDate date, Random random) {
+        for (int i = 0; i < PASSES_PER_DAY; i++) {
+            LocalDateTime time = date.atStartOfDay().plusSeconds(random.nextInt(86_400));
+            repository.save(new GatePass(nextId++, vehicles[random.nextInt(vehicles.length)],
+                    lanes[random.nextInt(lanes.length)],
+                    random.nextBoolean() ? GatePassDirection.ENTRY : GatePassDirection.EXIT,
+                    random.nextInt(10) == 0 ? GatePassStatus.DENIED : GatePassStatus.COMPLETED, time));
+        }
+        return PASSES_PER_DAY;
+    }
+
+    private static Map<TrafficDimensions, Long> totalsByDimensions(List<TrafficAggregate> aggregates) {
+        Map<TrafficDimensions, Long> totals = new HashMap<>();
+        for (TrafficAggregate aggregate : aggregates) {
+            totals.merge(aggregate.getDimensions(), aggregate.getCount(), Long::sum);
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,155 @@
+import com.research.index.HeavyHitter;
+import com.research.index.HyperLogLog;
+import com.research.index.TrafficSketch;
+import com.research.model.PlateKey;
+import com.research.service.TrafficSketchService;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Compound Gate Traffic System")
+@Feature("Traffic Analytics")
+@DisplayName("Traffic Sketch Tests")
+class TrafficSketchTest {
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final int PLATES = 50_000;
+    private static final int PASSAGES = 400_000;
+    private static final int DAYS = 7;
+    private static final int LANES = 4;
+    private static final int TOP = 50;
+
+    private final String[] plates = new String[PASSAGES];
+    private final int[] days = new int[PASSAGES];
+    private final Map<String, Long> exactCounts = new HashMap<>();
+    private final List<Set<String>> exactVisitorsByDay = new ArrayList<>();
+    private List<String> exactTop;
+
+    @BeforeEach
+    void setUp() {
+        // Zipf(1.1) over 50k plates: a few regulars and a long tail of one-off visitors
+        double[] cdf = new double[PLATES];
+        double sum = 0;
+        for (int rank = 0; rank < PLATES; rank++) {
+            sum += 1 / Math.pow(rank + 1, 1.1);
+            cdf[rank] = sum;
+        }
+        for (int day = 0; day < DAYS; day++) {
+            exactVisitorsByDay.add(new HashSet<>());
+        }
+        Random random = new Random(17);
+        for (int i = 0; i < PASSAGES; i++) {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            rank = rank < 0 ? -rank - 1 : rank;
+            plates[i] = "ZP-" + rank;
+            days[i] = random.nextInt(DAYS);
+            exactCounts.merge(plates[i], 1L, Long::sum);
+            if (isVisitor(rank)) {
+                exactVisitorsByDay.get(days[i]).add(plates[i]);
+            }
+        }
+        exactTop = exactCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP).map(Map.Entry::getKey).collect(Collectors.toList());
+    }
+
+    @Test
+    @Story("Accuracy improves with memory")
+    @Description("Top-50 recall, per-plate counts and distinct visitor counts are compared with exact answers for a small and a large sketch")
+    void testAccuracyVersusMemory() {
+        Accuracy small = measure(new TrafficSketchService(DAYS, () -> new TrafficSketch(64, 256, 3, 8)));
+        Accuracy large = measure(new TrafficSketchService(DAYS, () -> new TrafficSketch(512, 4096, 4, 12)));
+
+        assertTrue(large.memoryBytes > small.memoryBytes);
+        assertTrue(large.topRecall >= 0.95, "large top-50 recall " + large.topRecall);
+        assertTrue(large.topRecall >= small.topRecall);
+        assertTrue(large.countError <= small.countError);
+        // three standard errors of a 2^12-register HyperLogLog
+        assertTrue(large.distinctError <= 3 * 1.04 / Math.sqrt(1 << 12), "large distinct error " + large.distinctError);
+        assertTrue(small.distinctError <= 3 * 1.04 / Math.sqrt(1 << 8), "small distinct error " + small.distinctError);
+        // exact counts would need one entry per distinct plate seen
+        assertTrue(large.memoryBytes / (DAYS * LANES) < exactCounts.size() * 64L);
+    }
+
+    @Test
+    @Story("Sketches merge across days and lanes")
+    @Description("Merging per-day, per-lane windows answers the same as one sketch fed the whole week")
+    void testMergeMatchesSingleSketch() {
+        TrafficSketchService service = new TrafficSketchService(DAYS, () -> new TrafficSketch(512, 4096, 4, 12));
+        TrafficSketch whole = new TrafficSketch(512, 4096, 4, 12);
+        for (int i = 0; i < PASSAGES; i++) {
+            service.record(plates[i], i % LANES, MONDAY.plusDays(days[i]).atTime(12, 0), false);
+            whole.add(PlateKey.of(plates[i]), false);
+        }
+        TrafficSketch week = service.merged(MONDAY, MONDAY.plusDays(DAYS - 1), null);
+
+        assertEquals(whole.getTotalPassages(), week.getTotalPassages());
+        assertEquals(whole.estimateDistinctPlates(), week.estimateDistinctPlates());
+        for (String plate : exactTop) {
+            assertEquals(whole.estimatePassages(PlateKey.of(plate)), week.estimatePassages(PlateKey.of(plate)));
+        }
+        for (HeavyHitter<PlateKey> hitter : week.top(TOP)) {
+            long exact = exactCounts.get("ZP-" + hitter.getKey().text().substring(2));
+            assertTrue(hitter.getGuaranteedCount() <= exact && exact <= hitter.getCount(),
+                    hitter.getKey() + " exact " + exact + " reported " + hitter.getCount() + " - " + hitter.getError());
+        }
+    }
+
+    @Test
+    @Story("HyperLogLog small and large cardinalities")
+    @Description("Distinct counts stay within three standard errors from ten plates to a million")
+    void testHyperLogLogRange() {
+        for (int distinct : new int[]{10, 1_000, 100_000, 1_000_000}) {
+            HyperLogLog hll = new HyperLogLog(12);
+            for (int i = 0; i < distinct; i++) {
+                hll.add(PlateKey.of("HLL" + i).hash64());
+                hll.add(PlateKey.of("HLL" + i).hash64());
+            }
+            double error = Math.abs(hll.estimate() - distinct) / (double) distinct;
+            assertTrue(error <= Math.max(3 * 1.04 / 64, 0.1 / distinct), distinct + ": " + error);
+        }
+    }
+
+    private Accuracy measure(TrafficSketchService service) {
+        for (int i = 0; i < PASSAGES; i++) {
+            int rank = Integer.parseInt(plates[i].substring(3));
+            service.record(plates[i], i % LANES, MONDAY.plusDays(days[i]).atTime(8, 0), isVisitor(rank));
+        }
+        Accuracy accuracy = new Accuracy();
+        accuracy.memoryBytes = service.getMemoryBytes();
+
+        Set<String> reported = service.getTopVehicles(MONDAY, MONDAY.plusDays(DAYS - 1), TOP).stream()
+                .map(hitter -> "ZP-" + hitter.getKey().text().substring(2)).collect(Collectors.toSet());
+        accuracy.topRecall = exactTop.stream().filter(reported::contains).count() / (double) TOP;
+
+        double countError = 0;
+        for (String plate : exactTop) {
+            long estimate = service.estimatePassages(plate, MONDAY, MONDAY.plusDays(DAYS - 1));
+            countError += (estimate - exactCounts.get(plate)) / (double) exactCounts.get(plate);
+        }
+        accuracy.countError = countError / TOP;
+
+        double distinctError = 0;
+        for (int day = 0; day < DAYS; day++) {
+            long exact = exactVisitorsByDay.get(day).size();
+            distinctError += Math.abs(service.getDistinctVisitors(MONDAY.plusDays(day)) - exact) / (double) exact;
+        }
+        accuracy.distinctError = distinctError / DAYS;
+        return accuracy;
+    }
+
+    private static boolean isVisitor(int rank) {
+        return rank % 3 == 0;
+    }
+
+    private static class Accuracy {
+        long memoryBytes;
+        double topRecall;
+        double countError;
+        double distinctError;
+    }
+}
@@ -1,6 +1,7 @@
 
 import com.research.exception.DuplicateIdException;
 import com.research.exception.NotFoundException;
+import com.research.model.Resident;
 import com.research.model.Vehicle;
 import com.research.repository.VehicleRepository;
 import com.research.service.VehicleService;
@@ -111,4 +112,33 @@ class VehicleServiceTest {
         when(vehicleRepository.findByPlateNumber("HELP123")).thenReturn(Optional.of(v));
         assertEquals(v, vehicleService.searchByPlateNumber("HELP123"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Story("Delete a resident's vehicles")
+    @Description("Deletes only the vehicles the owner index returns for the resident")
+    void testDeleteVehiclesByOwner() {
+        Resident owner = new Resident(20, "Owner", "owner@x.com", "0100", "A-1");
+        Vehicle v1 = new Vehicle(21, "OWN21", owner, null, true);
+        Vehicle v2 = new Vehicle(22, "OWN22", owner, null, true);
+        when(vehicleRepository.findByOwnerId(20)).thenReturn(List.of(v1, v2));
+
+        assertEquals(2, vehicleService.deleteVehiclesByOwner(20));
+        verify(vehicleRepository).deleteById(21);
+        verify(vehicleRepository).deleteById(22);
+    }
+
+    @Test
+    @Story("Disable a resident's vehicles")
+    @Description("Revokes access on allowed vehicles and skips ones already disabled")
+    void testDisableVehiclesByOwner() {
+        Resident owner = new Resident(30, "Owner", "owner@x.com", "0100", "A-1");
+        Vehicle allowed = new Vehicle(31, "OWN31", owner, null, true);
+        Vehicle disabled = new Vehicle(32, "OWN32", owner, null, false);
+        when(vehicleRepository.findByOwnerId(30)).thenReturn(List.of(allowed, disabled));
+
+        assertEquals(1, vehicleService.disableVehiclesByOwner(30));
+        assertFalse(allowed.isAllowed());
+        verify(vehicleRepository).update(allowed);
+        verify(vehicleRepository, never()).update(disabled);
+    }
+}
@@ -11,8 +11,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Optional;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -48,7 +48,7 @@ class VisitReservationServiceTest {
         VisitReservation res = new VisitReservation(1, "VisitorA", "PLATE1",
                 LocalDate.now(), LocalTime.of(14, 0), 2);
         when(visitReservationRepository.existsById(1)).thenReturn(false);
-        when(visitReservationRepository.findByVehiclePlate("PLATE1")).thenReturn(Optional.empty());
+        when(visitReservationRepository.findByVehiclePlateBetween(eq("PLATE1"), any(), any())).thenReturn(List.of());
 
         assertDoesNotThrow(() -> visitReservationService.createReservation(res));
         verify(visitReservationRepository, times(1)).save(res);
@@ -66,14 +66,16 @@ class VisitReservationServiceTest {
     }
 
     @Test
-    @Story("Prevent duplicate reservation by vehicle plate")
-    @Description("Throws if same vehicle plate exists for reservation")
+    @Story("Prevent overlapping reservations for a vehicle plate")
+    @Description("Throws if the same plate already has a reservation within two access windows")
     void testCreateReservation_duplicatePlate() {
-        VisitReservation res = new VisitReservation(2, "VisitorC", "DUPPLATE",
-                LocalDate.now(), LocalTime.of(16, 0), 1);
+        LocalDate date = LocalDate.of(2025, 3, 1);
+        VisitReservation existing = new VisitReservation(1, "VisitorC", "DUPPLATE", date, LocalTime.of(15, 0), 1);
+        VisitReservation res = new VisitReservation(2, "VisitorC", "DUPPLATE", date, LocalTime.of(16, 0), 1);
         when(visitReservationRepository.existsById(2)).thenReturn(false);
-        when(visitReservationRepository.findByVehiclePlate("DUPPLATE"))
-                .thenReturn(Optional.of(res));
+        when(visitReservationRepository.findByVehiclePlateBetween("DUPPLATE",
+                LocalDateTime.of(2025, 3, 1, 14, 0), LocalDateTime.of(2025, 3, 1, 18, 0)))
+                .thenReturn(List.of(existing));
 
         assertThrows(DuplicateIdException.class, () -> visitReservationService.createReservation(res));
     }
@@ -117,4 +119,48 @@ class VisitReservationServiceTest {
         when(visitReservationRepository.findAll()).thenReturn(List.of(res1));
         assertEquals(1, visitReservationService.getAllReservations().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Story("Recurring visitor")
+    @Description("The same plate can book again once the access windows no longer overlap")
+    void testCreateReservation_recurringVisitor() {
+        VisitReservation nextWeek = new VisitReservation(7, "Weekly", "WEEKLY1",
+                LocalDate.of(2025, 3, 8), LocalTime.of(10, 0), 1);
+        when(visitReservationRepository.existsById(7)).thenReturn(false);
+        when(visitReservationRepository.findByVehiclePlateBetween(eq("WEEKLY1"), any(), any())).thenReturn(List.of());
+
+        assertDoesNotThrow(() -> visitReservationService.createReservation(nextWeek));
+        verify(visitReservationRepository).save(nextWeek);
+    }
+
+    @Test
+    @Story("Expected visitors")
+    @Description("Widens the query by the access window on both sides")
+    void testGetExpectedVisitors() {
+        VisitReservation res = new VisitReservation(8, "V8", "P8",
+                LocalDate.of(2025, 3, 1), LocalTime.of(9, 30), 2);
+        when(visitReservationRepository.findScheduledBetween(
+                LocalDateTime.of(2025, 3, 1, 7, 0), LocalDateTime.of(2025, 3, 1, 10, 0)))
+                .thenReturn(List.of(res));
+
+        assertEquals(List.of(res), visitReservationService.getExpectedVisitors(
+                LocalDateTime.of(2025, 3, 1, 8, 0), LocalDateTime.of(2025, 3, 1, 9, 0)));
+    }
+
+    @Test
+    @Story("Reservation time index")
+    @Description("Multiple reservations per plate are matched by their own access windows")
+    void testValidateVisitorAccess_withTimeIndex() {
+        VisitReservationService service = new VisitReservationService(new VisitReservationRepository());
+        service.createReservation(new VisitReservation(1, "Weekly", "REC-1", LocalDate.of(2025, 3, 1), LocalTime.of(23, 30), 1));
+        service.createReservation(new VisitReservation(2, "Weekly", "rec1", LocalDate.of(2025, 3, 8), LocalTime.of(10, 0), 1));
+
+        assertTrue(service.validateVisitorAccess("REC1", LocalDate.of(2025, 3, 2), LocalTime.of(0, 15)));
+        assertTrue(service.validateVisitorAccess("REC1", LocalDate.of(2025, 3, 8), LocalTime.of(9, 0)));
+        assertFalse(service.validateVisitorAccess("REC1", LocalDate.of(2025, 3, 8), LocalTime.of(11, 1)));
+        assertThrows(DuplicateIdException.class, () -> service.createReservation(
+                new VisitReservation(3, "Weekly", "REC1", LocalDate.of(2025, 3, 8), LocalTime.of(11, 30), 1)));
+        assertEquals(1, service.getExpectedVisitors(LocalDateTime.of(2025, 3, 8, 10, 45),
+                LocalDateTime.of(2025, 3, 8, 12, 0)).size());
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import com.research.model.Resident;
+import com.research.model.Vehicle;
+import com.research.repository.VehicleRepository;
+import com.research.repository.VisitReservationRepository;
+import com.research.service.GateAccessService;
+import com.research.service.VehicleService;
+import compoundgatetraffic.model.VehicleType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gate read throughput while an admin thread storms {@code VehicleService.updateVehicle} (toggling access and
+ * renaming plates): lock-free allowlist snapshots against reads through the synchronized repository.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Group)
+public class AllowlistBenchmark {
+    @Param({"100000"})
+    public int vehicles;
+
+    private VehicleRepository vehicleRepository;
+    private VehicleService vehicleService;
+    private GateAccessService gateAccessService;
+
+    @Setup
+    public void setUp() {
+        vehicleRepository = new VehicleRepository();
+        Resident owner = Fixtures.resident(0);
+        VehicleType type = Fixtures.vehicleType(0);
+        for (int id = 0; id < vehicles; id++) {
+            vehicleRepository.save(Fixtures.vehicle(id, owner, type));
+        }
+        vehicleService = new VehicleService(vehicleRepository);
+        gateAccessService = new GateAccessService(vehicleRepository, new VisitReservationRepository());
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int value;
+
+        int next(int size) {
+            value = (value + 7919) % size;
+            return value;
+        }
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(3)
+    public boolean snapshotRead(Cursor cursor) {
+        return gateAccessService.getAllowlistSnapshot().contains(Fixtures.plate(cursor.next(vehicles)));
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public void snapshotUpdateStorm(Cursor cursor) {
+        storm(cursor);
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(3)
+    public boolean lockedRead(Cursor cursor) {
+        return vehicleRepository.findByPlateNumber(Fixtures.plate(cursor.next(vehicles)))
+                .map(Vehicle::isAllowed)
+                .orElse(false);
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public void lockedUpdateStorm(Cursor cursor) {
+        storm(cursor);
+    }
+
+    /**
+     * Toggles access on one vehicle and renames another back and forth.
+     */
+    private void storm(Cursor cursor) {
+        Vehicle toggled = vehicleService.getVehicleById(cursor.next(vehicles));
+        toggled.setAllowed(!toggled.isAllowed());
+        vehicleService.updateVehicle(toggled);
+
+        Vehicle renamed = vehicleService.getVehicleById(cursor.next(vehicles));
+        String plate = renamed.getPlateNumber();
+        renamed.setPlateNumber(plate.startsWith("X") ? plate.substring(1) : "X" + plate);
+        vehicleService.updateVehicle(renamed);
+    }
+}
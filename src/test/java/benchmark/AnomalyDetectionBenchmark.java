@@ -0,0 +1,89 @@
+package benchmark;
+
+import com.research.model.*;
+import com.research.service.AnomalyDetectionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detector throughput on a gate event stream: completed entries and exits over 8 lanes, denials and approvals
+ * that no rule looks at, for a pool of plates. Event time advances by one second every
+ * {@code eventsPerSecond} events, so windows slide and state expires as in production.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class AnomalyDetectionBenchmark {
+    private static final int EVENTS = 1 << 16;
+    private static final LocalDateTime START = Fixtures.BASE_DATE.atTime(6, 0);
+
+    @Param({"20000"})
+    public int plates;
+
+    @Param({"50"})
+    public int eventsPerSecond;
+
+    private AnomalyDetectionService detector;
+    private final GatePass[] passes = new GatePass[EVENTS];
+    private final GatePassStatus[] from = new GatePassStatus[EVENTS];
+    private long sequence;
+    private long alerts;
+
+    @Setup
+    public void setUp() {
+        detector = new AnomalyDetectionService(new AnomalyRules(3, Duration.ofMinutes(10), Duration.ofDays(2)));
+        detector.addAlertListener(alert -> alerts++);
+        GateLane[] lanes = new GateLane[8];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new GateLane(i, i + 1, 30, GateLaneStatus.OPEN);
+        }
+        Vehicle[] vehicles = new Vehicle[plates];
+        for (int i = 0; i < plates; i++) {
+            vehicles[i] = new Vehicle(i, Fixtures.plate(i), null, null, true);
+        }
+        Random random = new Random(9);
+        boolean[] inside = new boolean[plates];
+        for (int i = 0; i < EVENTS; i++) {
+            int plate = random.nextInt(plates);
+            double roll = random.nextDouble();
+            GatePassStatus status;
+            GatePassDirection direction;
+            if (roll < 0.7) {
+                status = GatePassStatus.COMPLETED;
+                direction = inside[plate] ? GatePassDirection.EXIT : GatePassDirection.ENTRY;
+                inside[plate] = !inside[plate];
+                from[i] = GatePassStatus.APPROVED;
+            } else if (roll < 0.85) {
+                status = GatePassStatus.DENIED;
+                direction = GatePassDirection.ENTRY;
+                from[i] = GatePassStatus.PENDING;
+            } else {
+                status = GatePassStatus.APPROVED;
+                direction = GatePassDirection.ENTRY;
+                from[i] = GatePassStatus.PENDING;
+            }
+            passes[i] = new GatePass(i, vehicles[plate], lanes[random.nextInt(lanes.length)], direction, status, null);
+        }
+    }
+
+    @Benchmark
+    public void onTransition() {
+        long event = sequence++;
+        GatePass pass = passes[(int) (event & (EVENTS - 1))];
+        pass.setPassTime(START.plusSeconds(event / eventsPerSecond));
+        detector.onTransition(pass, from[(int) (event & (EVENTS - 1))], pass.getStatus());
+    }
+
+    @TearDown
+    public void report() {
+        System.out.printf("%n%d events, %d alerts, %d plates tracked%n", sequence, alerts,
+                detector.getTrackedPlateCount());
+    }
+}
@@ -0,0 +1,103 @@
+package benchmark;
+
+import com.research.audit.AuditEventType;
+import com.research.audit.AuditLog;
+import com.research.model.GatePass;
+import com.research.model.GatePassDirection;
+import com.research.model.GatePassStatus;
+import com.research.repository.GatePassRepository;
+import com.research.service.GatePassService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained audit throughput ({@code append} with the blocking policy, so the rate is bounded by what the writer
+ * gets to disk) and the latency an audited {@code approvePass} adds on the lane's thread. Run the latency one
+ * with {@code -bm sample} percentiles, e.g. {@code -jvmArgs -Daudit.dir=/path/on/real/disk}.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class AuditLogBenchmark {
+    private static final int PASSES = 1024;
+
+    private static Path tempLog() throws IOException {
+        return Files.createTempFile(Path.of(System.getProperty("audit.dir", System.getProperty("java.io.tmpdir"))),
+                "audit-bench", ".log");
+    }
+
+    @State(Scope.Benchmark)
+    public static class LogState {
+        Path file;
+        AuditLog auditLog;
+        int id;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            file = tempLog();
+            auditLog = new AuditLog(file);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            auditLog.close();
+            System.out.printf("%n%d records in %d batches (%.1f per fsync)%n", auditLog.getWrittenCount(),
+                    auditLog.getBatchCount(), (double) auditLog.getWrittenCount() / Math.max(1, auditLog.getBatchCount()));
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+        @Param({"false", "true"})
+        public boolean audited;
+
+        Path file;
+        AuditLog auditLog;
+        GatePassService service;
+        final GatePass[] passes = new GatePass[PASSES];
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            service = new GatePassService(new GatePassRepository());
+            if (audited) {
+                file = tempLog();
+                auditLog = new AuditLog(file);
+                service.addTransitionListener(auditLog::recordTransition);
+            }
+            for (int id = 0; id < PASSES; id++) {
+                passes[id] = new GatePass(id, null, null, GatePassDirection.ENTRY, GatePassStatus.PENDING, null);
+                service.requestGatePass(passes[id]);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            if (auditLog != null) {
+                auditLog.close();
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean append(LogState state) {
+        return state.auditLog.append(AuditEventType.PASS_TRANSITION, "GatePass", state.id++, "PENDING", "APPROVED");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void approvePass(ServiceState state) {
+        GatePass pass = state.passes[state.cursor = (state.cursor + 1) & (PASSES - 1)];
+        pass.setStatus(GatePassStatus.PENDING);
+        state.service.approvePass(pass.getId());
+    }
+}
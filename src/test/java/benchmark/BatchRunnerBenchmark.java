@@ -0,0 +1,73 @@
+package benchmark;
+
+import com.research.batch.BatchRunner;
+import com.research.repository.*;
+import com.research.service.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch mode command throughput: one script of lane and vehicle setup followed by request, approve and complete
+ * for each pass, in text and JSON commands, run against fresh services on every invocation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+// an invocation takes about a third of a second, so iterations run long enough for several
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BatchRunnerBenchmark {
+    private static final int LANES = 8;
+    private static final int VEHICLES = 10_000;
+    private static final int PASSES = 32_000;
+    private static final int COMMANDS = LANES + VEHICLES + 3 * PASSES;
+
+    private String script;
+    private BatchRunner runner;
+
+    @Setup(Level.Trial)
+    public void setUpScript() {
+        StringBuilder builder = new StringBuilder(8 << 20);
+        for (int lane = 1; lane <= LANES; lane++) {
+            builder.append("lane.add id=").append(lane).append(" number=").append(100 + lane)
+                    .append(" capacity=30 status=OPEN\n");
+        }
+        for (int vehicle = 1; vehicle <= VEHICLES; vehicle++) {
+            builder.append("vehicle.add id=").append(vehicle).append(" plate=").append(Fixtures.plate(vehicle))
+                    .append('\n');
+        }
+        for (int id = 1; id <= PASSES; id++) {
+            builder.append("pass.request id=").append(id).append(" vehicle=").append(1 + id % VEHICLES)
+                    .append(" lane=").append(1 + id % LANES).append(" time=2025-03-01T08:00\n");
+            builder.append("{\"cmd\":\"pass.approve\",\"id\":").append(id).append("}\n");
+            builder.append("pass.complete id=").append(id).append('\n');
+        }
+        script = builder.toString();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpServices() {
+        VehicleRepository vehicleRepository = new VehicleRepository();
+        VisitReservationRepository visitReservationRepository = new VisitReservationRepository();
+        runner = new BatchRunner(new ResidentService(new ResidentRepository()),
+                new VehicleTypeService(new VehicleTypeRepository()), new VehicleService(vehicleRepository),
+                new GateLaneService(new GateLaneRepository()), new GatePassService(new GatePassRepository()),
+                new VisitReservationService(visitReservationRepository),
+                new GateAccessService(vehicleRepository, visitReservationRepository));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public long runScript() throws IOException {
+        BatchRunner.Summary summary = runner.run(new StringReader(script), Writer.nullWriter());
+        if (summary.getFailed() != 0) {
+            throw new IllegalStateException(summary.toString());
+        }
+        return summary.getExecuted();
+    }
+}
@@ -0,0 +1,50 @@
+package benchmark;
+
+import com.research.model.*;
+import compoundgatetraffic.model.VehicleType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Deterministic entity factories shared by the benchmarks, so every run works on the same data set.
+ */
+public final class Fixtures {
+    public static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+
+    private Fixtures() {
+    }
+
+    public static Resident resident(int id) {
+        return new Resident(id, "Resident " + id, "resident" + id + "@compound.test",
+                "0100" + id, "U-" + (id % 5000));
+    }
+
+    public static VehicleType vehicleType(int id) {
+        return new VehicleType(id, "Type " + id, "Benchmark vehicle type " + id);
+    }
+
+    public static String plate(int id) {
+        return "ABC" + id;
+    }
+
+    public static Vehicle vehicle(int id, Resident owner, VehicleType type) {
+        return new Vehicle(id, plate(id), owner, type, id % 10 != 0);
+    }
+
+    public static GateLane lane(int id) {
+        return new GateLane(id, 100 + id, 10, id % 2 == 0 ? GateLaneStatus.OPEN : GateLaneStatus.CLOSED);
+    }
+
+    public static GatePass gatePass(int id, Vehicle vehicle, GateLane lane) {
+        return new GatePass(id, vehicle, lane, id % 2 == 0 ? GatePassDirection.ENTRY : GatePassDirection.EXIT,
+                GatePassStatus.PENDING, BASE_DATE.atStartOfDay().plusSeconds(id));
+    }
+
+    public static VisitReservation reservation(int id) {
+        LocalDateTime at = BASE_DATE.atTime(LocalTime.of(8, 0)).plusMinutes(id);
+        return new VisitReservation(id, "Visitor " + id, "VIS" + id, at.toLocalDate(), at.toLocalTime(),
+                1 + id % 4);
+    }
+}
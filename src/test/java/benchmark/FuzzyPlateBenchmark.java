@@ -0,0 +1,65 @@
+package benchmark;
+
+import com.research.index.FuzzyPlateIndex;
+import com.research.index.PlateMatch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OCR-tolerant plate search over 100k plates: the index (skeleton neighbourhood up to distance 3,
+ * BK-tree beyond) versus a brute-force distance scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FuzzyPlateBenchmark {
+    private static final String LETTERS = "ABCDEFGHJKLMNPRSTUVWXYZ";
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"1", "2", "4"})
+    public int maxDistance;
+
+    private FuzzyPlateIndex index;
+    private String[] misreads;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        index = new FuzzyPlateIndex();
+        misreads = new String[1024];
+        for (int i = 0; i < size; i++) {
+            String plate = "" + LETTERS.charAt(random.nextInt(LETTERS.length()))
+                    + LETTERS.charAt(random.nextInt(LETTERS.length()))
+                    + LETTERS.charAt(random.nextInt(LETTERS.length()))
+                    + (1000 + random.nextInt(9000));
+            index.add(plate);
+            if (i < misreads.length) {
+                misreads[i] = plate.replace('B', '8').replace('S', '5');
+            }
+        }
+    }
+
+    private String nextMisread() {
+        cursor = (cursor + 1) & (misreads.length - 1);
+        return misreads[cursor];
+    }
+
+    @Benchmark
+    public List<PlateMatch> indexSearch() {
+        return index.search(nextMisread(), maxDistance, 5);
+    }
+
+    @Benchmark
+    public List<PlateMatch> bruteForceScan() {
+        return index.scan(nextMisread(), maxDistance, 5);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import com.research.model.GateAccessDecision;
+import com.research.model.Resident;
+import com.research.model.Vehicle;
+import com.research.model.VisitReservation;
+import com.research.repository.VehicleRepository;
+import com.research.repository.VisitReservationRepository;
+import com.research.service.GateAccessService;
+import com.research.service.VisitReservationService;
+import compoundgatetraffic.model.VehicleType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gate decisions on a mixed visitor-lane workload ({@code unknownShare} of reads are plates nobody registered
+ * or reserved) with the Bloom pre-filter, against the same decision made straight from the repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class GateAccessBenchmark {
+    private static final int READS = 1 << 16;
+
+    @Param({"100000"})
+    public int vehicles;
+
+    @Param({"0.8"})
+    public double unknownShare;
+
+    private VehicleRepository vehicleRepository;
+    private VisitReservationRepository visitReservationRepository;
+    private GateAccessService service;
+    private final String[] reads = new String[READS];
+    private final LocalDateTime now = Fixtures.BASE_DATE.atTime(10, 0);
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        vehicleRepository = new VehicleRepository();
+        visitReservationRepository = new VisitReservationRepository();
+        Resident owner = Fixtures.resident(0);
+        VehicleType type = Fixtures.vehicleType(0);
+        for (int id = 0; id < vehicles; id++) {
+            vehicleRepository.save(Fixtures.vehicle(id, owner, type));
+        }
+        int reservations = vehicles / 5;
+        for (int id = 0; id < reservations; id++) {
+            visitReservationRepository.save(new VisitReservation(id, "Visitor " + id, "VIS" + id,
+                    Fixtures.BASE_DATE, LocalTime.of(7, 0).plusMinutes(id % 900), 1));
+        }
+        service = new GateAccessService(vehicleRepository, visitReservationRepository);
+
+        Random random = new Random(42);
+        for (int i = 0; i < READS; i++) {
+            double roll = random.nextDouble();
+            if (roll < unknownShare) {
+                reads[i] = "UNK" + random.nextInt(10_000_000);
+            } else if (roll < unknownShare + (1 - unknownShare) / 2) {
+                reads[i] = "VIS" + random.nextInt(reservations);
+            } else {
+                reads[i] = Fixtures.plate(random.nextInt(vehicles));
+            }
+        }
+    }
+
+    private String nextRead() {
+        cursor = (cursor + 1) & (READS - 1);
+        return reads[cursor];
+    }
+
+    @Benchmark
+    public GateAccessDecision decideWithFilter() {
+        return service.decide(nextRead(), now);
+    }
+
+    @Benchmark
+    public GateAccessDecision decideWithoutFilter() {
+        String plate = nextRead();
+        Vehicle vehicle = vehicleRepository.findByPlateNumber(plate).orElse(null);
+        if (vehicle != null) {
+            return vehicle.isAllowed() ? GateAccessDecision.RESIDENT_ALLOWED : GateAccessDecision.DENIED;
+        }
+        if (!visitReservationRepository.findByVehiclePlateBetween(plate,
+                now.minus(VisitReservationService.ACCESS_WINDOW), now.plus(VisitReservationService.ACCESS_WINDOW)).isEmpty()) {
+            return GateAccessDecision.VISITOR_ALLOWED;
+        }
+        return visitReservationRepository.findByVehiclePlate(plate).isPresent()
+                ? GateAccessDecision.DENIED : GateAccessDecision.UNKNOWN_PLATE;
+    }
+
+    @TearDown
+    public void report() {
+        System.out.printf("%nobserved false-positive rate %.4f, filter %d KiB%n",
+                service.getObservedFalsePositiveRate(), service.getFilterMemoryBytes() / 1024);
+    }
+}
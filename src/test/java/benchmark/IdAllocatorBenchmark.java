@@ -0,0 +1,64 @@
+package benchmark;
+
+import com.research.id.IdAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Id allocation throughput under contention: {@link IdAllocator} blocks (including the reservations it forces to
+ * disk) against one shared atomic counter and one lock-guarded counter. Run with several thread counts, e.g.
+ * {@code -t 1}, {@code -t 4}, {@code -t 16}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class IdAllocatorBenchmark {
+    @Param({"64", "256", "4096"})
+    public int blockSize;
+
+    private Path stateFile;
+    private IdAllocator allocator;
+    private final AtomicInteger atomicCounter = new AtomicInteger();
+    private final Object lock = new Object();
+    private int lockedCounter;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        // a fresh allocator per iteration keeps the ids clear of int overflow
+        stateFile = Files.createTempFile("id-bench", ".ids");
+        allocator = new IdAllocator(stateFile, blockSize);
+        atomicCounter.set(0);
+        lockedCounter = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        allocator.close();
+        Files.deleteIfExists(stateFile);
+    }
+
+    @Benchmark
+    public int blockAllocator() {
+        return allocator.nextId();
+    }
+
+    @Benchmark
+    public int sharedAtomic() {
+        return atomicCounter.incrementAndGet();
+    }
+
+    @Benchmark
+    public int lockedCounter() {
+        synchronized (lock) {
+            return ++lockedCounter;
+        }
+    }
+}
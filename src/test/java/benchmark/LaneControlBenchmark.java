@@ -0,0 +1,162 @@
+package benchmark;
+
+import com.research.ipc.LaneControlClient;
+import com.research.ipc.LaneControlServer;
+import com.research.model.GateLane;
+import com.research.model.GateLaneStatus;
+import com.research.model.GatePass;
+import com.research.model.GatePassDirection;
+import com.research.model.GatePassStatus;
+import com.research.repository.GateLaneRepository;
+import com.research.repository.GatePassRepository;
+import com.research.repository.VehicleRepository;
+import com.research.service.GateLaneService;
+import com.research.service.GatePassService;
+import com.research.service.VehicleService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lane controller round trips over the Unix domain socket protocol against the same operations on a loopback
+ * HTTP/1.1 endpoint (JDK HttpServer and HttpClient, keep-alive): a lane status read, a full pass cycle
+ * (admit, approve, complete) and, for the socket only, 64 pipelined status reads per round trip.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// without TCP_NODELAY the HTTP server's small responses wait out delayed ACKs (~40 ms per request)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-Dsun.net.httpserver.nodelay=true"})
+@State(Scope.Benchmark)
+public class LaneControlBenchmark {
+    private static final int PIPELINE = 64;
+
+    private Path directory;
+    private GatePassService gatePassService;
+    private GateLaneService gateLaneService;
+    private LaneControlServer socketServer;
+    private LaneControlClient socketClient;
+    private HttpServer httpServer;
+    private HttpClient httpClient;
+    private HttpRequest laneRequest;
+    private String baseUri;
+    private int nextPassId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        gatePassService = new GatePassService(new GatePassRepository());
+        gateLaneService = new GateLaneService(new GateLaneRepository());
+        gateLaneService.addLane(new GateLane(1, 101, 25, GateLaneStatus.OPEN));
+        directory = Files.createTempDirectory("lane-control");
+        socketServer = new LaneControlServer(directory.resolve("gate.sock"), gatePassService, gateLaneService,
+                new VehicleService(new VehicleRepository()));
+        socketServer.start();
+        socketClient = new LaneControlClient(socketServer.getSocketFile());
+
+        httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        httpServer.setExecutor(Executors.newSingleThreadExecutor());
+        httpServer.createContext("/lanes/", this::lane);
+        httpServer.createContext("/passes/", this::pass);
+        httpServer.start();
+        baseUri = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        laneRequest = HttpRequest.newBuilder(URI.create(baseUri + "/lanes/1")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        socketClient.close();
+        socketServer.close();
+        httpServer.stop(0);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public GateLaneStatus socketLaneStatus() throws IOException {
+        socketClient.laneStatus(1);
+        return socketClient.receive().getLaneStatus();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE)
+    public GateLaneStatus socketLaneStatusPipelined() throws IOException {
+        for (int i = 0; i < PIPELINE; i++) {
+            socketClient.laneStatus(1);
+        }
+        GateLaneStatus status = null;
+        for (int i = 0; i < PIPELINE; i++) {
+            status = socketClient.receive().getLaneStatus();
+        }
+        return status;
+    }
+
+    @Benchmark
+    public String httpLaneStatus() throws Exception {
+        return httpClient.send(laneRequest, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public GatePassStatus socketPassCycle() throws IOException {
+        int id = ++nextPassId;
+        socketClient.admit(id, 1, GatePassDirection.ENTRY, null, null);
+        socketClient.receive();
+        socketClient.approve(id);
+        socketClient.receive();
+        socketClient.complete(id);
+        return socketClient.receive().getPassStatus();
+    }
+
+    @Benchmark
+    public String httpPassCycle() throws Exception {
+        int id = ++nextPassId;
+        post("/passes/" + id + "/admit");
+        post("/passes/" + id + "/approve");
+        return post("/passes/" + id + "/complete");
+    }
+
+    private String post(String path) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(baseUri + path))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private void lane(HttpExchange exchange) throws IOException {
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        GateLane lane = gateLaneService.getLaneById(Integer.parseInt(path[2]));
+        respond(exchange, lane.getStatus() + " " + lane.getCapacityPerMinute());
+    }
+
+    private void pass(HttpExchange exchange) throws IOException {
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        int id = Integer.parseInt(path[2]);
+        switch (path[3]) {
+            case "admit" -> gatePassService.requestGatePass(new GatePass(id, null, gateLaneService.getLaneById(1),
+                    GatePassDirection.ENTRY, GatePassStatus.PENDING, LocalDateTime.now()));
+            case "approve" -> gatePassService.approvePass(id);
+            default -> gatePassService.completePass(id);
+        }
+        respond(exchange, gatePassService.getGatePassById(id).getStatus().name());
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package benchmark;
+
+import com.research.model.GateLane;
+import com.research.model.GateLaneStatus;
+import com.research.repository.GateLaneRepository;
+import com.research.service.GateLaneService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lane controller polling {@code getOpenLanes} while an operator occasionally opens or closes a lane: the
+ * status index against the previous full scan ({@code findAll} + filter) over the same repository. The
+ * {@code polling} group runs three pollers against one writer toggling a lane every {@code toggleEveryMicros}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class LaneStatusBenchmark {
+    @Param({"16", "1000"})
+    public int lanes;
+
+    @Param({"1000"})
+    public int toggleEveryMicros;
+
+    private GateLaneRepository repository;
+    private GateLaneService service;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        repository = new GateLaneRepository();
+        service = new GateLaneService(repository);
+        for (int id = 0; id < lanes; id++) {
+            service.addLane(Fixtures.lane(id));
+        }
+    }
+
+    @Benchmark
+    @Group("polling")
+    @GroupThreads(3)
+    public List<GateLane> getOpenLanes() {
+        return service.getOpenLanes();
+    }
+
+    @Benchmark
+    @Group("polling")
+    @GroupThreads(1)
+    public void toggleLane() {
+        int id = cursor;
+        cursor = (cursor + 1) % lanes;
+        if (repository.findById(id).orElseThrow().getStatus() == GateLaneStatus.OPEN) {
+            service.closeLane(id);
+        } else {
+            service.openLane(id);
+        }
+        LockSupport.parkNanos(toggleEveryMicros * 1000L);
+    }
+
+    @Benchmark
+    @Group("scanning")
+    @GroupThreads(3)
+    public List<GateLane> scanOpenLanes() {
+        return repository.findAll().stream()
+                .filter(lane -> lane.getStatus() == GateLaneStatus.OPEN)
+                .toList();
+    }
+
+    @Benchmark
+    @Group("scanning")
+    @GroupThreads(1)
+    public void toggleLaneWhileScanning() {
+        toggleLane();
+    }
+}
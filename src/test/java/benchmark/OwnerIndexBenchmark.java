@@ -0,0 +1,89 @@
+package benchmark;
+
+import com.research.model.Resident;
+import com.research.model.Vehicle;
+import com.research.repository.ResidentRepository;
+import com.research.repository.VehicleRepository;
+import com.research.service.ResidentService;
+import com.research.service.VehicleService;
+import compoundgatetraffic.model.VehicleType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Owner-scoped vehicle lookups and the cascading resident delete at 100k residents / 300k vehicles,
+ * against the full fleet scan they replace.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class OwnerIndexBenchmark {
+    private static final int VEHICLES_PER_RESIDENT = 3;
+
+    @Param({"100000"})
+    public int residents;
+
+    private ResidentRepository residentRepository;
+    private VehicleRepository vehicleRepository;
+    private ResidentService residentService;
+    private VehicleService vehicleService;
+    private VehicleType type;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        residentRepository = new ResidentRepository();
+        vehicleRepository = new VehicleRepository();
+        type = Fixtures.vehicleType(0);
+        for (int id = 0; id < residents; id++) {
+            Resident resident = Fixtures.resident(id);
+            residentRepository.save(resident);
+            for (int v = 0; v < VEHICLES_PER_RESIDENT; v++) {
+                int vehicleId = id * VEHICLES_PER_RESIDENT + v;
+                vehicleRepository.save(Fixtures.vehicle(vehicleId, resident, type));
+            }
+        }
+        residentService = new ResidentService(residentRepository);
+        vehicleService = new VehicleService(vehicleRepository);
+        vehicleService.cascadeResidentDeletes(residentRepository);
+    }
+
+    private int nextResident() {
+        cursor = (cursor + 7919) % residents;
+        return cursor;
+    }
+
+    @Benchmark
+    public List<Vehicle> vehiclesByOwner() {
+        return vehicleService.getVehiclesByOwner(nextResident());
+    }
+
+    @Benchmark
+    public List<Vehicle> vehiclesByOwnerScan() {
+        int ownerId = nextResident();
+        return vehicleService.getAllVehicles().stream()
+                .filter(vehicle -> vehicle.getOwner() != null && vehicle.getOwner().getId() == ownerId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Deletes a resident (cascading to their vehicles) and restores both, keeping the data set size fixed.
+     */
+    @Benchmark
+    public int deleteResidentCascade() {
+        int id = nextResident();
+        Resident resident = residentService.getResidentById(id);
+        residentService.deleteResident(id);
+        residentRepository.save(resident);
+        for (int v = 0; v < VEHICLES_PER_RESIDENT; v++) {
+            vehicleRepository.save(Fixtures.vehicle(id * VEHICLES_PER_RESIDENT + v, resident, type));
+        }
+        return id;
+    }
+}
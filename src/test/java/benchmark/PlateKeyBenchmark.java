@@ -0,0 +1,77 @@
+package benchmark;
+
+import com.research.index.PlateKeyMap;
+import com.research.model.PlateKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plate lookup by raw camera text: canonical {@link PlateKeyMap} versus the String based paths.
+ * Run with {@code -prof gc}; {@code plateKeyMapGet} should report gc.alloc.rate.norm of ~0 B/op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlateKeyBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private String[] lookups;
+    private String[] stored;
+    private PlateKeyMap<Integer> plateKeyMap;
+    private Map<String, Integer> stringMap;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        stored = new String[size];
+        lookups = new String[size];
+        plateKeyMap = new PlateKeyMap<>();
+        stringMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            stored[i] = "ABC-" + i;
+            // camera reads arrive with other case and spacing
+            lookups[i] = "abc " + i;
+            plateKeyMap.put(PlateKey.of(stored[i]), i);
+            stringMap.put(PlateKey.normalize(stored[i]), i);
+        }
+    }
+
+    private String nextLookup() {
+        cursor = (cursor + 7919) % size;
+        return lookups[cursor];
+    }
+
+    @Benchmark
+    public Integer plateKeyMapGet() {
+        return plateKeyMap.get(nextLookup());
+    }
+
+    @Benchmark
+    public Integer normalizedStringHashMapGet() {
+        return stringMap.get(PlateKey.normalize(nextLookup()));
+    }
+
+    @Benchmark
+    public Integer upperCaseStringHashMapGet() {
+        return stringMap.get(nextLookup().toUpperCase(Locale.ROOT).replace(" ", "").replace("-", ""));
+    }
+
+    @Benchmark
+    public long plateKeyPack() {
+        return PlateKey.pack(nextLookup());
+    }
+
+    @Benchmark
+    public int stringHashCode() {
+        // fresh String so the cached hash is not reused
+        return new String(nextLookup()).hashCode();
+    }
+}
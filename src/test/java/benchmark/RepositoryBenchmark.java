@@ -0,0 +1,244 @@
+package benchmark;
+
+import com.research.model.*;
+import com.research.repository.*;
+import compoundgatetraffic.model.VehicleType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks for every {@link BaseRepository} implementation: save, findById, findAll and the
+ * repository specific secondary lookups, at 1k / 100k / 1M stored entities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RepositoryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Size {
+        @Param({"1000", "100000", "1000000"})
+        public int size;
+
+        int cursor;
+
+        int nextId() {
+            cursor = (cursor + 7919) % size;
+            return cursor;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Residents {
+        ResidentRepository repository;
+
+        @Setup
+        public void setUp(Size size) {
+            repository = new ResidentRepository();
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.resident(id));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class VehicleTypes {
+        VehicleTypeRepository repository;
+
+        @Setup
+        public void setUp(Size size) {
+            repository = new VehicleTypeRepository();
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.vehicleType(id));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vehicles {
+        VehicleRepository repository;
+
+        @Setup
+        public void setUp(Size size) {
+            repository = new VehicleRepository();
+            Resident owner = Fixtures.resident(0);
+            VehicleType type = Fixtures.vehicleType(0);
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.vehicle(id, owner, type));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Lanes {
+        GateLaneRepository repository;
+
+        @Setup
+        public void setUp(Size size) {
+            repository = new GateLaneRepository();
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.lane(id));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class GatePasses {
+        GatePassRepository repository;
+
+        @Setup
+        public void setUp(Size size) {
+            repository = new GatePassRepository();
+            Vehicle vehicle = Fixtures.vehicle(0, Fixtures.resident(0), Fixtures.vehicleType(0));
+            GateLane lane = Fixtures.lane(0);
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.gatePass(id, vehicle, lane));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Reservations {
+        VisitReservationRepository repository;
+
+        @Setup
+        public void setUp(Size size) {
+            repository = new VisitReservationRepository();
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.reservation(id));
+            }
+        }
+    }
+
+    // --- ResidentRepository ---
+
+    @Benchmark
+    public void residentSave(Residents state, Size size) {
+        state.repository.save(Fixtures.resident(size.nextId()));
+    }
+
+    @Benchmark
+    public Optional<Resident> residentFindById(Residents state, Size size) {
+        return state.repository.findById(size.nextId());
+    }
+
+    @Benchmark
+    public List<Resident> residentFindAll(Residents state) {
+        return state.repository.findAll();
+    }
+
+    @Benchmark
+    public Optional<Resident> residentFindByEmail(Residents state, Size size) {
+        return state.repository.findByEmail("resident" + size.nextId() + "@compound.test");
+    }
+
+    // --- VehicleTypeRepository ---
+
+    @Benchmark
+    public void vehicleTypeSave(VehicleTypes state, Size size) {
+        state.repository.save(Fixtures.vehicleType(size.nextId()));
+    }
+
+    @Benchmark
+    public Optional<VehicleType> vehicleTypeFindById(VehicleTypes state, Size size) {
+        return state.repository.findById(size.nextId());
+    }
+
+    @Benchmark
+    public List<VehicleType> vehicleTypeFindAll(VehicleTypes state) {
+        return state.repository.findAll();
+    }
+
+    // --- VehicleRepository ---
+
+    @Benchmark
+    public void vehicleSave(Vehicles state, Size size) {
+        state.repository.save(Fixtures.vehicle(size.nextId(), null, null));
+    }
+
+    @Benchmark
+    public Optional<Vehicle> vehicleFindById(Vehicles state, Size size) {
+        return state.repository.findById(size.nextId());
+    }
+
+    @Benchmark
+    public List<Vehicle> vehicleFindAll(Vehicles state) {
+        return state.repository.findAll();
+    }
+
+    @Benchmark
+    public Optional<Vehicle> vehicleFindByPlateNumber(Vehicles state, Size size) {
+        return state.repository.findByPlateNumber(Fixtures.plate(size.nextId()));
+    }
+
+    @Benchmark
+    public boolean vehicleExistsByPlateNumber(Vehicles state, Size size) {
+        return state.repository.existsByPlateNumber(Fixtures.plate(size.nextId()));
+    }
+
+    // --- GateLaneRepository ---
+
+    @Benchmark
+    public void laneSave(Lanes state, Size size) {
+        state.repository.save(Fixtures.lane(size.nextId()));
+    }
+
+    @Benchmark
+    public Optional<GateLane> laneFindById(Lanes state, Size size) {
+        return state.repository.findById(size.nextId());
+    }
+
+    @Benchmark
+    public List<GateLane> laneFindAll(Lanes state) {
+        return state.repository.findAll();
+    }
+
+    @Benchmark
+    public Optional<GateLane> laneFindByLaneNumber(Lanes state, Size size) {
+        return state.repository.findByLaneNumber(100 + size.nextId());
+    }
+
+    // --- GatePassRepository ---
+
+    @Benchmark
+    public void gatePassSave(GatePasses state, Size size) {
+        state.repository.save(Fixtures.gatePass(size.nextId(), null, null));
+    }
+
+    @Benchmark
+    public Optional<GatePass> gatePassFindById(GatePasses state, Size size) {
+        return state.repository.findById(size.nextId());
+    }
+
+    @Benchmark
+    public List<GatePass> gatePassFindAll(GatePasses state) {
+        return state.repository.findAll();
+    }
+
+    // --- VisitReservationRepository ---
+
+    @Benchmark
+    public void reservationSave(Reservations state, Size size) {
+        state.repository.save(Fixtures.reservation(size.nextId()));
+    }
+
+    @Benchmark
+    public Optional<VisitReservation> reservationFindById(Reservations state, Size size) {
+        return state.repository.findById(size.nextId());
+    }
+
+    @Benchmark
+    public List<VisitReservation> reservationFindAll(Reservations state) {
+        return state.repository.findAll();
+    }
+
+    @Benchmark
+    public Optional<VisitReservation> reservationFindByVehiclePlate(Reservations state, Size size) {
+        return state.repository.findByVehiclePlate("VIS" + size.nextId());
+    }
+}
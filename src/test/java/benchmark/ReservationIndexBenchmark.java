@@ -0,0 +1,107 @@
+package benchmark;
+
+import com.research.model.SlotCapacity;
+import com.research.model.SlotUsage;
+import com.research.model.VisitReservation;
+import com.research.repository.VisitReservationRepository;
+import com.research.service.VisitReservationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Access checks and "expected at the gate" queries over a year of reservations: {@code perDay} visits a day
+ * spread over 07:00-22:00, booked by a pool of recurring visitor plates, with per-slot capacity limits enabled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ReservationIndexBenchmark {
+    private static final int DAYS = 365;
+    private static final int PLATES = 20_000;
+
+    @Param({"300"})
+    public int perDay;
+
+    private VisitReservationService service;
+    private int total;
+    private int cursor;
+    private int nextId;
+
+    @Setup
+    public void setUp() {
+        VisitReservationRepository repository = new VisitReservationRepository();
+        total = DAYS * perDay;
+        for (int id = 0; id < total; id++) {
+            repository.save(reservation(id));
+        }
+        service = new VisitReservationService(repository);
+        service.setSlotCapacity(new SlotCapacity(20, 80));
+        nextId = total;
+    }
+
+    private VisitReservation reservation(int id) {
+        int day = id / perDay;
+        int minute = (id % perDay) * (15 * 60) / perDay;
+        return new VisitReservation(id, "Visitor " + id, "VIS" + (id % PLATES),
+                Fixtures.BASE_DATE.plusDays(day), LocalTime.of(7, 0).plusMinutes(minute), 1 + id % 4);
+    }
+
+    private VisitReservation next() {
+        cursor = (cursor + 7919) % total;
+        return reservation(cursor);
+    }
+
+    @Benchmark
+    public boolean validateVisitorAccess() {
+        VisitReservation reservation = next();
+        return service.validateVisitorAccess(reservation.getVehiclePlate(), reservation.getVisitDate(),
+                reservation.getVisitTime().plusMinutes(20));
+    }
+
+    @Benchmark
+    public List<VisitReservation> expectedVisitorsNextHour() {
+        VisitReservation reservation = next();
+        LocalDateTime from = reservation.getVisitDate().atTime(reservation.getVisitTime());
+        return service.getExpectedVisitors(from, from.plusHours(1));
+    }
+
+    @Benchmark
+    public List<VisitReservation> expectedVisitorsNextHourScan() {
+        VisitReservation reservation = next();
+        LocalDateTime from = reservation.getVisitDate().atTime(reservation.getVisitTime()).minusHours(1);
+        LocalDateTime to = from.plusHours(3);
+        return service.getAllReservations().stream()
+                .filter(r -> {
+                    LocalDateTime slot = r.getVisitDate().atTime(r.getVisitTime());
+                    return !slot.isBefore(from) && !slot.isAfter(to);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public SlotUsage remainingCapacityNextWeek() {
+        LocalDateTime from = next().getVisitDate().atStartOfDay();
+        return service.getRemainingCapacity(from, from.plusDays(7));
+    }
+
+    /**
+     * Books a new non-overlapping slot for an existing plate and cancels it again.
+     */
+    @Benchmark
+    public int createAndCancel() {
+        VisitReservation existing = next();
+        int id = nextId++;
+        service.createReservation(new VisitReservation(id, "Extra", existing.getVehiclePlate(),
+                existing.getVisitDate().plusDays(DAYS), existing.getVisitTime(), 1));
+        service.cancelReservation(id);
+        return id;
+    }
+}
@@ -0,0 +1,61 @@
+package benchmark;
+
+import com.research.model.Resident;
+import com.research.model.Vehicle;
+import com.research.repository.ResidentRepository;
+import com.research.repository.VehicleRepository;
+import com.research.service.ResidentService;
+import com.research.service.VehicleService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranked type-ahead queries over 100k residents and vehicles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    private static final String[] FIRST_NAMES = {"Mona", "Omar", "Sara", "Ahmed", "Laila", "Youssef", "Nour", "Karim"};
+    private static final String[] LAST_NAMES = {"Hassan", "Ali", "Mahmoud", "Fathy", "Saleh", "Nabil", "Kamal"};
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"m", "mon", "mona ha", "b-12", "4711"})
+    public String query;
+
+    private ResidentService residentService;
+    private VehicleService vehicleService;
+
+    @Setup
+    public void setUp() {
+        ResidentRepository residents = new ResidentRepository();
+        VehicleRepository vehicles = new VehicleRepository();
+        residentService = new ResidentService(residents);
+        vehicleService = new VehicleService(vehicles);
+        for (int id = 0; id < size; id++) {
+            String name = FIRST_NAMES[id % FIRST_NAMES.length] + " " + LAST_NAMES[(id / 8) % LAST_NAMES.length]
+                    + " " + id;
+            Resident resident = new Resident(id, name, "r" + id + "@compound.test", "0100" + id,
+                    (char) ('A' + id % 26) + "-" + (id % 500));
+            residents.save(resident);
+            vehicles.save(new Vehicle(id, Fixtures.plate(id), resident, null, true));
+        }
+    }
+
+    @Benchmark
+    public List<Resident> residentTypeAhead() {
+        return residentService.searchResidents(query, 10);
+    }
+
+    @Benchmark
+    public List<Vehicle> vehiclePartialPlate() {
+        return vehicleService.searchVehicles(query, 10);
+    }
+}
@@ -0,0 +1,205 @@
+package benchmark;
+
+import com.research.model.*;
+import com.research.repository.*;
+import com.research.service.*;
+import compoundgatetraffic.model.VehicleType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service operations on top of the in-memory repositories at 1k / 100k / 1M entities.
+ * Data sets are seeded through the repositories; write benchmarks undo their own change in the same
+ * invocation so the data set size stays fixed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Size {
+        @Param({"1000", "100000", "1000000"})
+        public int size;
+
+        int cursor;
+
+        int nextId() {
+            cursor = (cursor + 7919) % size;
+            return cursor;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Residents {
+        ResidentService service;
+
+        @Setup
+        public void setUp(Size size) {
+            ResidentRepository repository = new ResidentRepository();
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.resident(id));
+            }
+            service = new ResidentService(repository);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Vehicles {
+        VehicleService service;
+
+        @Setup
+        public void setUp(Size size) {
+            VehicleRepository repository = new VehicleRepository();
+            Resident owner = Fixtures.resident(0);
+            VehicleType type = Fixtures.vehicleType(0);
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.vehicle(id, owner, type));
+            }
+            service = new VehicleService(repository);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Lanes {
+        GateLaneService service;
+
+        @Setup
+        public void setUp(Size size) {
+            GateLaneRepository repository = new GateLaneRepository();
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.lane(id));
+            }
+            service = new GateLaneService(repository);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class GatePasses {
+        GatePassService service;
+        GatePassRepository repository;
+        Vehicle vehicle;
+        GateLane lane;
+
+        @Setup
+        public void setUp(Size size) {
+            repository = new GatePassRepository();
+            vehicle = Fixtures.vehicle(0, Fixtures.resident(0), Fixtures.vehicleType(0));
+            lane = Fixtures.lane(0);
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.gatePass(id, vehicle, lane));
+            }
+            service = new GatePassService(repository);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Reservations {
+        VisitReservationService service;
+
+        @Setup
+        public void setUp(Size size) {
+            VisitReservationRepository repository = new VisitReservationRepository();
+            for (int id = 0; id < size.size; id++) {
+                repository.save(Fixtures.reservation(id));
+            }
+            service = new VisitReservationService(repository);
+        }
+    }
+
+    // --- ResidentService ---
+
+    @Benchmark
+    public void residentAddAndDelete(Residents state, Size size) {
+        int id = size.size + 1;
+        state.service.addResident(Fixtures.resident(id));
+        state.service.deleteResident(id);
+    }
+
+    @Benchmark
+    public Resident residentGetById(Residents state, Size size) {
+        return state.service.getResidentById(size.nextId());
+    }
+
+    @Benchmark
+    public Resident residentSearchByEmail(Residents state, Size size) {
+        return state.service.searchResidentByEmail("resident" + size.nextId() + "@compound.test");
+    }
+
+    // --- VehicleService ---
+
+    @Benchmark
+    public void vehicleRegisterAndDelete(Vehicles state, Size size) {
+        int id = size.size + 1;
+        state.service.registerVehicle(Fixtures.vehicle(id, null, null));
+        state.service.deleteVehicle(id);
+    }
+
+    @Benchmark
+    public void vehicleUpdate(Vehicles state, Size size) {
+        state.service.updateVehicle(state.service.getVehicleById(size.nextId()));
+    }
+
+    @Benchmark
+    public Vehicle vehicleSearchByPlateNumber(Vehicles state, Size size) {
+        return state.service.searchByPlateNumber(Fixtures.plate(size.nextId()));
+    }
+
+    // --- GateLaneService ---
+
+    @Benchmark
+    public void laneOpenAndClose(Lanes state, Size size) {
+        int id = size.nextId();
+        state.service.openLane(id);
+        state.service.closeLane(id);
+    }
+
+    @Benchmark
+    public List<GateLane> laneGetOpenLanes(Lanes state) {
+        return state.service.getOpenLanes();
+    }
+
+    // --- GatePassService ---
+
+    @Benchmark
+    public GatePass gatePassLifecycle(GatePasses state, Size size) {
+        int id = size.size + 1;
+        state.service.requestGatePass(Fixtures.gatePass(id, state.vehicle, state.lane));
+        state.service.approvePass(id);
+        state.service.completePass(id);
+        GatePass pass = state.service.getGatePassById(id);
+        state.repository.deleteById(id);
+        return pass;
+    }
+
+    @Benchmark
+    public List<GatePass> gatePassTrafficLogs(GatePasses state) {
+        return state.service.getTrafficLogs();
+    }
+
+    // --- VisitReservationService ---
+
+    @Benchmark
+    public void reservationCreateAndCancel(Reservations state, Size size) {
+        int id = size.size + 1;
+        state.service.createReservation(Fixtures.reservation(id));
+        state.service.cancelReservation(id);
+    }
+
+    @Benchmark
+    public boolean reservationValidateVisitorAccess(Reservations state, Size size) {
+        VisitReservation expected = Fixtures.reservation(size.nextId());
+        return state.service.validateVisitorAccess(expected.getVehiclePlate(), expected.getVisitDate(),
+                expected.getVisitTime().plusMinutes(20));
+    }
+
+    @Benchmark
+    public boolean reservationValidateUnknownVisitor(Reservations state) {
+        return state.service.validateVisitorAccess("UNKNOWN", Fixtures.BASE_DATE, LocalTime.NOON);
+    }
+}
@@ -0,0 +1,72 @@
+package benchmark;
+
+import com.research.cluster.GateNode;
+import com.research.cluster.ShardedGatePassRouter;
+import com.research.model.GatePass;
+import com.research.model.GatePassDirection;
+import com.research.model.GatePassStatus;
+import com.research.model.Vehicle;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aggregate gate pass throughput (request, approve, complete) from 4 client threads through the router,
+ * as the number of in-process nodes grows. Client threads only share a node when their plates hash to it, so
+ * throughput can only grow with node count when the client threads have cores of their own.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Threads(4)
+@State(Scope.Benchmark)
+public class ShardingBenchmark {
+    private static final int VEHICLES = 10_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int nodes;
+
+    private ShardedGatePassRouter router;
+    private Vehicle[] vehicles;
+    private final AtomicInteger clients = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        router = new ShardedGatePassRouter();
+        for (int i = 0; i < nodes; i++) {
+            router.addNode(new GateNode("node-" + i));
+        }
+        vehicles = new Vehicle[VEHICLES];
+        for (int id = 0; id < VEHICLES; id++) {
+            vehicles[id] = new Vehicle(id, Fixtures.plate(id), null, null, true);
+            router.registerVehicle(vehicles[id]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        int nextPassId;
+
+        @Setup
+        public void setUp(ShardingBenchmark benchmark) {
+            // a private id range per client thread, so clients share no counter
+            nextPassId = benchmark.clients.getAndIncrement() * 100_000_000;
+        }
+    }
+
+    @Benchmark
+    public int gatePassCycle(Client client) {
+        int id = client.nextPassId++;
+        Vehicle vehicle = vehicles[ThreadLocalRandom.current().nextInt(VEHICLES)];
+        router.requestGatePass(new GatePass(id, vehicle, null, GatePassDirection.ENTRY, GatePassStatus.PENDING,
+                LocalDateTime.now()));
+        router.approvePass(id);
+        router.completePass(id);
+        return id;
+    }
+}
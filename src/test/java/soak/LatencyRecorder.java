@@ -0,0 +1,103 @@
+package soak;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram (16 sub-buckets per power of two, roughly 6% precision).
+ * Writers call {@link #record(long)} concurrently; the reporter reads interval snapshots.
+ */
+public class LatencyRecorder {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private long[] previous = new long[BUCKETS];
+
+    public void record(long nanos) {
+        counts.incrementAndGet(indexOf(Math.max(nanos, 1)));
+    }
+
+    /**
+     * Returns the counts recorded since the previous call.
+     */
+    public synchronized Snapshot intervalSnapshot() {
+        long[] current = new long[BUCKETS];
+        long[] delta = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            current[i] = counts.get(i);
+            delta[i] = current[i] - previous[i];
+        }
+        previous = current;
+        return new Snapshot(delta);
+    }
+
+    public synchronized Snapshot totalSnapshot() {
+        long[] current = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            current[i] = counts.get(i);
+        }
+        return new Snapshot(current);
+    }
+
+    static int indexOf(long value) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    public static class Snapshot {
+        private final long[] counts;
+        private final long total;
+
+        Snapshot(long[] counts) {
+            this.counts = counts;
+            long sum = 0;
+            for (long count : counts) {
+                sum += count;
+            }
+            this.total = sum;
+        }
+
+        public long getCount() {
+            return total;
+        }
+
+        public long percentileNanos(double percentile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBoundOf(i);
+                }
+            }
+            return upperBoundOf(counts.length - 1);
+        }
+
+        public long maxNanos() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return upperBoundOf(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package soak;
+
+import com.research.model.*;
+import com.research.repository.*;
+import com.research.service.*;
+import compoundgatetraffic.model.VehicleType;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rush-hour soak/load harness. Drives the real services from many concurrent simulated lanes for a
+ * configurable wall-clock duration, compressing the simulated morning peak into it, and reports
+ * throughput, tail latency, heap and GC activity per interval plus a leak verdict at the end.
+ *
+ * <p>Configuration (system properties):
+ * <ul>
+ *     <li>{@code soak.lanes} - concurrent lanes (default 8)</li>
+ *     <li>{@code soak.duration} - wall-clock run time, ISO-8601 (default PT2M; PT2H for a real-time peak)</li>
+ *     <li>{@code soak.peak} - simulated period compressed into the run (default PT2H)</li>
+ *     <li>{@code soak.interval} - report interval (default PT10S)</li>
+ *     <li>{@code soak.residents} / {@code soak.visitors} - data set size (default 20000 / 5000)</li>
+ * </ul>
+ * Run with {@code mvn -B -P soak test-compile exec:exec -Dsoak.args="-Dsoak.duration=PT2H"}.
+ */
+public class RushHourSoak {
+    private static final LocalTime PEAK_START = LocalTime.of(7, 0);
+
+    private final Config config;
+    private final LocalDate day = LocalDate.now();
+
+    private final ResidentRepository residentRepository = new ResidentRepository();
+    private final VehicleRepository vehicleRepository = new VehicleRepository();
+    private final GateLaneRepository gateLaneRepository = new GateLaneRepository();
+    private final GatePassRepository gatePassRepository = new GatePassRepository();
+    private final VisitReservationRepository visitReservationRepository = new VisitReservationRepository();
+
+    private final VehicleService vehicleService = new VehicleService(vehicleRepository);
+    private final GateLaneService gateLaneService = new GateLaneService(gateLaneRepository);
+    private final GatePassService gatePassService = new GatePassService(gatePassRepository);
+    private final VisitReservationService visitReservationService =
+            new VisitReservationService(visitReservationRepository);
+
+    private final LatencyRecorder latencies = new LatencyRecorder();
+    private final AtomicInteger passIds = new AtomicInteger();
+    private final AtomicLong errors = new AtomicLong();
+    private final List<Vehicle> residentVehicles = new ArrayList<>();
+    private final List<VisitReservation> reservations = new ArrayList<>();
+
+    private volatile long startNanos;
+    private volatile boolean running;
+
+    public RushHourSoak(Config config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        SoakReport report = new RushHourSoak(Config.fromSystemProperties()).run();
+        System.out.println(report.summary());
+        if (report.isLeakSuspected()) {
+            System.out.println("WARNING: " + report.getLeakDescription());
+        }
+    }
+
+    public SoakReport run() throws InterruptedException {
+        seed();
+        running = true;
+        startNanos = System.nanoTime();
+        List<Thread> lanes = new ArrayList<>();
+        for (int lane = 1; lane <= config.lanes; lane++) {
+            GateLane gateLane = gateLaneService.getLaneById(lane);
+            Thread thread = new Thread(() -> driveLane(gateLane), "soak-lane-" + lane);
+            thread.setDaemon(true);
+            lanes.add(thread);
+            thread.start();
+        }
+
+        SoakReport report = new SoakReport();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long lastGcCount = gcCount();
+        long lastGcMillis = gcMillis();
+        long deadline = startNanos + config.duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            long sleep = Math.min(config.interval.toNanos(), deadline - System.nanoTime());
+            TimeUnit.NANOSECONDS.sleep(Math.max(sleep, 0));
+            long gcCount = gcCount();
+            long gcMillis = gcMillis();
+            SoakReport.Interval interval = new SoakReport.Interval(
+                    Duration.ofNanos(System.nanoTime() - startNanos),
+                    simulatedNow().toLocalTime(),
+                    latencies.intervalSnapshot(),
+                    Math.min(sleep, config.interval.toNanos()),
+                    memory.getHeapMemoryUsage().getUsed(),
+                    gcCount - lastGcCount,
+                    gcMillis - lastGcMillis,
+                    gatePassRepository.count(),
+                    errors.get());
+            lastGcCount = gcCount;
+            lastGcMillis = gcMillis;
+            report.add(interval);
+            if (config.verbose) {
+                System.out.println(interval.format());
+            }
+        }
+        running = false;
+        for (Thread lane : lanes) {
+            lane.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        report.finish(latencies.totalSnapshot(), errors.get());
+        return report;
+    }
+
+    private void seed() {
+        VehicleType car = new VehicleType(1, "Car", "Private car");
+        for (int id = 1; id <= config.residents; id++) {
+            Resident resident = new Resident(id, "Resident " + id, "resident" + id + "@compound.test",
+                    "0100" + id, "U-" + id);
+            residentRepository.save(resident);
+            Vehicle vehicle = new Vehicle(id, "RES-" + id, resident, car, id % 50 != 0);
+            vehicleRepository.save(vehicle);
+            residentVehicles.add(vehicle);
+        }
+        long peakMinutes = Math.max(config.peak.toMinutes(), 1);
+        for (int id = 1; id <= config.visitors; id++) {
+            LocalTime at = PEAK_START.plusMinutes(id % peakMinutes);
+            VisitReservation reservation = new VisitReservation(id, "Visitor " + id, "VIS-" + id, day, at, 1 + id % 4);
+            visitReservationRepository.save(reservation);
+            reservations.add(reservation);
+        }
+        for (int lane = 1; lane <= config.lanes; lane++) {
+            gateLaneService.addLane(new GateLane(lane, lane, 30, GateLaneStatus.OPEN));
+        }
+    }
+
+    private void driveLane(GateLane lane) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            long start = System.nanoTime();
+            try {
+                int roll = random.nextInt(100);
+                if (roll < 55) {
+                    residentPass(lane, residentVehicles.get(random.nextInt(residentVehicles.size())),
+                            GatePassDirection.ENTRY);
+                } else if (roll < 80) {
+                    visitorEntry(lane, reservations.get(random.nextInt(reservations.size())));
+                } else {
+                    residentPass(lane, residentVehicles.get(random.nextInt(residentVehicles.size())),
+                            GatePassDirection.EXIT);
+                }
+            } catch (RuntimeException ex) {
+                errors.incrementAndGet();
+            }
+            latencies.record(System.nanoTime() - start);
+        }
+    }
+
+    private void residentPass(GateLane lane, Vehicle vehicle, GatePassDirection direction) {
+        GatePass pass = new GatePass(passIds.incrementAndGet(), vehicle, lane, direction,
+                GatePassStatus.PENDING, simulatedNow());
+        gatePassService.requestGatePass(pass);
+        if (vehicleService.searchByPlateNumber(vehicle.getPlateNumber()).isAllowed()) {
+            gatePassService.approvePass(pass.getId());
+            gatePassService.completePass(pass.getId());
+        } else {
+            gatePassService.denyPass(pass.getId());
+        }
+    }
+
+    private void visitorEntry(GateLane lane, VisitReservation reservation) {
+        LocalDateTime now = simulatedNow();
+        GatePass pass = new GatePass(passIds.incrementAndGet(), null, lane, GatePassDirection.ENTRY,
+                GatePassStatus.PENDING, now);
+        gatePassService.requestGatePass(pass);
+        if (visitReservationService.validateVisitorAccess(reservation.getVehiclePlate(), now.toLocalDate(),
+                now.toLocalTime())) {
+            gatePassService.approvePass(pass.getId());
+            gatePassService.completePass(pass.getId());
+        } else {
+            gatePassService.denyPass(pass.getId());
+        }
+    }
+
+    private LocalDateTime simulatedNow() {
+        double progress = (double) (System.nanoTime() - startNanos) / config.duration.toNanos();
+        long simulatedSeconds = (long) (progress * config.peak.getSeconds());
+        return day.atTime(PEAK_START).plusSeconds(simulatedSeconds);
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionCount(), 0);
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionTime(), 0);
+        }
+        return total;
+    }
+
+    public static class Config {
+        int lanes = 8;
+        Duration duration = Duration.ofMinutes(2);
+        Duration peak = Duration.ofHours(2);
+        Duration interval = Duration.ofSeconds(10);
+        int residents = 20_000;
+        int visitors = 5_000;
+        boolean verbose = true;
+
+        public static Config fromSystemProperties() {
+            Config config = new Config();
+            config.lanes = Integer.getInteger("soak.lanes", config.lanes);
+            config.duration = Duration.parse(System.getProperty("soak.duration", config.duration.toString()));
+            config.peak = Duration.parse(System.getProperty("soak.peak", config.peak.toString()));
+            config.interval = Duration.parse(System.getProperty("soak.interval", config.interval.toString()));
+            config.residents = Integer.getInteger("soak.residents", config.residents);
+            config.visitors = Integer.getInteger("soak.visitors", config.visitors);
+            return config;
+        }
+
+        public Config lanes(int lanes) {
+            this.lanes = lanes;
+            return this;
+        }
+
+        public Config duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Config interval(Duration interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        public Config dataSet(int residents, int visitors) {
+            this.residents = residents;
+            this.visitors = visitors;
+            return this;
+        }
+
+        public Config quiet() {
+            this.verbose = false;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package soak;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-interval measurements of a soak run plus the end-of-run leak verdict.
+ */
+public class SoakReport {
+    /**
+     * A store is reported as leaking when it grew in at least this share of intervals...
+     */
+    private static final double GROWTH_INTERVAL_SHARE = 0.8;
+    /**
+     * ...and ended up at least this many times larger than after the first interval.
+     */
+    private static final double GROWTH_FACTOR = 1.5;
+
+    private final List<Interval> intervals = new ArrayList<>();
+    private LatencyRecorder.Snapshot total;
+    private long errors;
+    private String leakDescription;
+
+    void add(Interval interval) {
+        intervals.add(interval);
+    }
+
+    void finish(LatencyRecorder.Snapshot total, long errors) {
+        this.total = total;
+        this.errors = errors;
+        this.leakDescription = detectGatePassGrowth();
+    }
+
+    public List<Interval> getIntervals() {
+        return intervals;
+    }
+
+    public long getTotalOperations() {
+        return total.getCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public boolean isLeakSuspected() {
+        return leakDescription != null;
+    }
+
+    public String getLeakDescription() {
+        return leakDescription;
+    }
+
+    /**
+     * Least-squares slope of heap usage over the run, in bytes per second.
+     */
+    public double heapGrowthBytesPerSecond() {
+        int n = intervals.size();
+        if (n < 2) {
+            return 0;
+        }
+        double meanX = 0;
+        double meanY = 0;
+        for (Interval interval : intervals) {
+            meanX += interval.elapsed.toMillis() / 1000.0;
+            meanY += interval.heapUsedBytes;
+        }
+        meanX /= n;
+        meanY /= n;
+        double covariance = 0;
+        double variance = 0;
+        for (Interval interval : intervals) {
+            double dx = interval.elapsed.toMillis() / 1000.0 - meanX;
+            covariance += dx * (interval.heapUsedBytes - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    private String detectGatePassGrowth() {
+        if (intervals.size() < 3) {
+            return null;
+        }
+        int growing = 0;
+        for (int i = 1; i < intervals.size(); i++) {
+            if (intervals.get(i).gatePassCount > intervals.get(i - 1).gatePassCount) {
+                growing++;
+            }
+        }
+        long first = Math.max(intervals.get(0).gatePassCount, 1);
+        long last = intervals.get(intervals.size() - 1).gatePassCount;
+        boolean steadyGrowth = growing >= GROWTH_INTERVAL_SHARE * (intervals.size() - 1);
+        if (!steadyGrowth || last < first * GROWTH_FACTOR) {
+            return null;
+        }
+        Duration span = intervals.get(intervals.size() - 1).elapsed.minus(intervals.get(0).elapsed);
+        double perMinute = (last - first) * 60_000.0 / Math.max(span.toMillis(), 1);
+        return String.format("GatePassRepository grows without bound: %d -> %d passes (+%.0f/min), heap %+.1f MB/min",
+                first, last, perMinute, heapGrowthBytesPerSecond() * 60 / (1024 * 1024));
+    }
+
+    public String summary() {
+        return String.format("ops=%d errors=%d p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus intervals=%d",
+                total.getCount(), errors, micros(total.percentileNanos(50)), micros(total.percentileNanos(99)),
+                micros(total.percentileNanos(99.9)), micros(total.maxNanos()), intervals.size());
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    public static class Interval {
+        final Duration elapsed;
+        final LocalTime simulatedTime;
+        final LatencyRecorder.Snapshot latency;
+        final long lengthNanos;
+        final long heapUsedBytes;
+        final long gcCount;
+        final long gcMillis;
+        final long gatePassCount;
+        final long errors;
+
+        Interval(Duration elapsed, LocalTime simulatedTime, LatencyRecorder.Snapshot latency, long lengthNanos,
+                 long heapUsedBytes, long gcCount, long gcMillis, long gatePassCount, long errors) {
+            this.elapsed = elapsed;
+            this.simulatedTime = simulatedTime;
+            this.latency = latency;
+            this.lengthNanos = lengthNanos;
+            this.heapUsedBytes = heapUsedBytes;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+            this.gatePassCount = gatePassCount;
+            this.errors = errors;
+        }
+
+        public double throughputPerSecond() {
+            return lengthNanos == 0 ? 0 : latency.getCount() * 1e9 / lengthNanos;
+        }
+
+        public long getGatePassCount() {
+            return gatePassCount;
+        }
+
+        String format() {
+            return String.format("[%6ds sim %s] %,10.0f ops/s p99=%8.1fus max=%9.1fus heap=%6.1fMB gc=%d (%dms) passes=%,d errors=%d",
+                    elapsed.getSeconds(), simulatedTime.withNano(0), throughputPerSecond(),
+                    micros(latency.percentileNanos(99)), micros(latency.maxNanos()),
+                    heapUsedBytes / (1024.0 * 1024.0), gcCount, gcMillis, gatePassCount, errors);
+        }
+    }
+}